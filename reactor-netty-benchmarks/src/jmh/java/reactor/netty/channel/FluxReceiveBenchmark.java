@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.channel;
+
+import java.nio.charset.StandardCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+
+/**
+ * Measures {@link FluxReceive} delivering inbound messages to the {@code receive()} subscriber.
+ * With unbounded demand the messages take the fast path, otherwise they are queued
+ * and drained one by one, as with a subscriber requesting one message at a time.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+public class FluxReceiveBenchmark {
+
+	@Param({"1", "16", "256"})
+	int messages;
+
+	@Param({"true", "false"})
+	boolean unboundedDemand;
+
+	EmbeddedChannel channel;
+	Connection connection;
+	ChannelHandlerContext ctx;
+	ByteBuf payload;
+
+	@Setup
+	public void setup() {
+		channel = new EmbeddedChannel(new ChannelHandlerAdapter() {});
+		connection = Connection.from(channel);
+		ctx = channel.pipeline().firstContext();
+		// The same read-only buffer is received again and again, releasing it is a no-op
+		payload = Unpooled.unreleasableBuffer(
+				Unpooled.wrappedBuffer("Hello World!".getBytes(StandardCharsets.UTF_8)).asReadOnly());
+	}
+
+	@TearDown
+	public void tearDown() {
+		channel.finishAndReleaseAll();
+	}
+
+	@Benchmark
+	public long receive(Blackhole blackhole) {
+		ChannelOperations<?, ?> ops = new ChannelOperations<>(connection, ConnectionObserver.emptyListener());
+		ReceiveSubscriber subscriber = new ReceiveSubscriber(blackhole, unboundedDemand);
+		ops.receiveObject()
+		   .subscribe(subscriber);
+		for (int i = 0; i < messages; i++) {
+			ops.onInboundNext(ctx, payload);
+		}
+		ops.onInboundComplete();
+		return subscriber.received;
+	}
+
+	static final class ReceiveSubscriber extends BaseSubscriber<Object> {
+
+		final Blackhole blackhole;
+		final boolean unboundedDemand;
+
+		long received;
+
+		ReceiveSubscriber(Blackhole blackhole, boolean unboundedDemand) {
+			this.blackhole = blackhole;
+			this.unboundedDemand = unboundedDemand;
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			subscription.request(unboundedDemand ? Long.MAX_VALUE : 1);
+		}
+
+		@Override
+		protected void hookOnNext(Object value) {
+			blackhole.consume(value);
+			received++;
+			if (!unboundedDemand) {
+				request(1);
+			}
+		}
+	}
+}
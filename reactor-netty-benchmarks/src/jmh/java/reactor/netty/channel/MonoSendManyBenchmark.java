@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.channel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.function.Predicate;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Flux;
+
+/**
+ * Measures {@link MonoSendMany} writing a {@link Flux} of buffers on an {@link EmbeddedChannel}.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+public class MonoSendManyBenchmark {
+
+	@Param({"1", "16", "256"})
+	int messages;
+
+	@Param({"true", "false"})
+	boolean flushOnEach;
+
+	EmbeddedChannel channel;
+	Flux<ByteBuf> source;
+	Predicate<ByteBuf> predicate;
+
+	@Setup
+	public void setup() {
+		// MonoSendMany writes from the last handler context, so the pipeline cannot be empty
+		channel = new EmbeddedChannel(new ChannelHandlerAdapter() {});
+		// The same read-only buffer is written again and again, releasing it is a no-op
+		ByteBuf payload = Unpooled.unreleasableBuffer(
+				Unpooled.wrappedBuffer("Hello World!".getBytes(StandardCharsets.UTF_8)).asReadOnly());
+		source = Flux.fromIterable(Collections.nCopies(messages, payload));
+		predicate = flushOnEach ? b -> true : b -> false;
+	}
+
+	@TearDown
+	public void tearDown() {
+		channel.finishAndReleaseAll();
+	}
+
+	@Benchmark
+	public boolean sendMany() {
+		MonoSendMany.byteBufSource(source, channel, predicate)
+		            .subscribe();
+		// run the scheduled flush
+		channel.runPendingTasks();
+		return channel.releaseOutbound();
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.DefaultChannelId;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.internal.shaded.reactor.pool.PoolBuilder;
+import reactor.netty.internal.shaded.reactor.pool.PoolConfig;
+import reactor.netty.internal.shaded.reactor.pool.PooledRef;
+
+/**
+ * Measures {@link Http2Pool#acquire()} followed by the release of the stream, when all connections
+ * are already established. A part of the streams is kept acquired, so that the connections
+ * have different numbers of available streams.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+public class Http2PoolBenchmark {
+
+	static final int MAX_CONCURRENT_STREAMS = 100;
+
+	@Param({"1", "4", "16"})
+	int connections;
+
+	Http2Pool pool;
+	List<PooledRef<Connection>> busy;
+	final List<PooledRef<Connection>> acquired = new ArrayList<>(1);
+
+	@Setup
+	public void setup() {
+		PoolBuilder<Connection, PoolConfig<Connection>> poolBuilder =
+				PoolBuilder.from(Mono.fromSupplier(() -> {
+				               EmbeddedChannel channel = new EmbeddedChannel(
+				                   DefaultChannelId.newInstance(),
+				                   Http2FrameCodecBuilder.forClient().build(),
+				                   new Http2MultiplexHandler(new ChannelHandlerAdapter() {}));
+				               return Connection.from(channel);
+				           }))
+				           .idleResourceReuseLruOrder()
+				           .maxPendingAcquireUnbounded()
+				           .sizeBetween(0, connections);
+		Http2AllocationStrategy strategy = Http2AllocationStrategy.builder()
+				.maxConcurrentStreams(MAX_CONCURRENT_STREAMS)
+				.maxConnections(connections)
+				.build();
+		pool = poolBuilder.build(config -> new Http2Pool(config, strategy, -1, -1));
+
+		// open all connections, then keep i * 10 streams active on the i-th connection
+		List<PooledRef<Connection>> refs = new ArrayList<>();
+		for (int i = 0; i < connections * MAX_CONCURRENT_STREAMS; i++) {
+			pool.acquire().subscribe(refs::add);
+			runPendingTasks();
+		}
+		busy = new ArrayList<>();
+		int[] kept = new int[connections];
+		for (PooledRef<Connection> ref : refs) {
+			int index = indexOf(ref.poolable());
+			if (kept[index] < (index * 10) % MAX_CONCURRENT_STREAMS) {
+				kept[index]++;
+				busy.add(ref);
+			}
+			else {
+				ref.release().block();
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		for (PooledRef<Connection> ref : busy) {
+			ref.release().block();
+		}
+		for (Http2Pool.Slot slot : pool.connections.array) {
+			((EmbeddedChannel) slot.connection.channel()).finishAndReleaseAll();
+			slot.connection.dispose();
+		}
+	}
+
+	@Benchmark
+	public Connection acquireAndRelease() {
+		pool.acquire().subscribe(acquired::add);
+		// the stream is delivered on the connection's event loop
+		runPendingTasks();
+		PooledRef<Connection> ref = acquired.remove(0);
+		ref.release().subscribe();
+		return ref.poolable();
+	}
+
+	int indexOf(Connection connection) {
+		Http2Pool.Slot[] slots = pool.connections.array;
+		for (int i = 0; i < slots.length; i++) {
+			if (slots[i].connection == connection) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("Unknown connection " + connection);
+	}
+
+	void runPendingTasks() {
+		for (Http2Pool.Slot slot : pool.connections.array) {
+			((EmbeddedChannel) slot.connection.channel()).runPendingTasks();
+		}
+	}
+}
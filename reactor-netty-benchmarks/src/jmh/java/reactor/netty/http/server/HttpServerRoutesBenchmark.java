@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.util.function.BiFunction;
+
+import io.netty.channel.ChannelHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
+import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+
+import static reactor.netty.http.server.HttpServerFormDecoderProvider.DEFAULT_FORM_DECODER_SPEC;
+
+/**
+ * Measures {@link DefaultHttpServerRoutes#apply(HttpServerRequest, HttpServerResponse)} selecting
+ * a route among a REST like routing table of {@code routeCount} routes, so that the cost of the selection can be
+ * compared as the number of routes grows. The selected route is the one of the first resource, the one of the last
+ * resource, or a catch-all route registered after all the resources.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+public class HttpServerRoutesBenchmark {
+
+	static final int ROUTES_PER_RESOURCE = 5;
+
+	@Param({"10", "100", "1000"})
+	int routeCount;
+
+	@Param({"first", "last", "static"})
+	String target;
+
+	EmbeddedChannel channel;
+	HttpServerRoutes routes;
+	HttpServerOperations request;
+
+	@Setup
+	public void setup() {
+		BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handler = (req, res) -> Mono.empty();
+		routes = HttpServerRoutes.newRoutes();
+		int resources = Math.max(1, routeCount / ROUTES_PER_RESOURCE);
+		for (int i = 0; i < resources; i++) {
+			String resource = "/api/v1/resource" + i;
+			routes.get(resource, handler)
+			      .post(resource, handler)
+			      .get(resource + "/{id}", handler)
+			      .put(resource + "/{id}", handler)
+			      .get(resource + "/{id}/history", handler);
+		}
+		routes.get("/static/**", handler);
+
+		String uri;
+		switch (target) {
+			case "first":
+				uri = "/api/v1/resource0";
+				break;
+			case "last":
+				uri = "/api/v1/resource" + (resources - 1) + "/42/history";
+				break;
+			default:
+				uri = "/static/css/main.css?v=1";
+		}
+
+		channel = new EmbeddedChannel(new ChannelHandlerAdapter() {});
+		request = new HttpServerOperations(Connection.from(channel), ConnectionObserver.emptyListener(),
+				new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri), null, null, null,
+				ServerCookieDecoder.STRICT, ServerCookieEncoder.STRICT, DEFAULT_FORM_DECODER_SPEC, null, false);
+	}
+
+	@TearDown
+	public void tearDown() {
+		channel.finishAndReleaseAll();
+	}
+
+	@Benchmark
+	public Publisher<Void> apply() {
+		return routes.apply(request, request);
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the meter lookups performed by {@link MicrometerHttpServerMetricsRecorder} for every request,
+ * the meters are already registered, so only the cached lookup and the recording are measured.
+ * {@link #recordRequestPrebound()} measures the same recordings when the meters are prebound on the connection,
+ * every URI is served by its own connection.
+ *
+ * @since 1.1.0
+ */
+@State(Scope.Thread)
+public class MicrometerHttpServerMetricsRecorderBenchmark {
+
+	static final Duration TIME = Duration.ofMillis(1);
+
+	static final long TIME_NANOS = TIME.toNanos();
+
+	@Param({"1", "100"})
+	int uriCount;
+
+	MeterRegistry registry;
+	MicrometerHttpServerMetricsRecorder recorder;
+	MicrometerHttpServerMetricsHandler[] handlers;
+	SocketAddress remoteAddress;
+	String[] uris;
+	int index;
+
+	@Setup
+	public void setup() {
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+		recorder = MicrometerHttpServerMetricsRecorder.INSTANCE;
+		remoteAddress = InetSocketAddress.createUnresolved("127.0.0.1", 8080);
+		uris = new String[uriCount];
+		handlers = new MicrometerHttpServerMetricsHandler[uriCount];
+		for (int i = 0; i < uriCount; i++) {
+			uris[i] = "/api/v1/resource" + i;
+			handlers[i] = new MicrometerHttpServerMetricsHandler(recorder, null, true);
+			// register the meters up front
+			record(uris[i]);
+			recordPrebound(handlers[i], uris[i]);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		Metrics.removeRegistry(registry);
+		registry.close();
+	}
+
+	@Benchmark
+	public void recordRequest() {
+		String uri = uris[index];
+		index = index + 1 == uris.length ? 0 : index + 1;
+		record(uri);
+	}
+
+	@Benchmark
+	public void recordRequestPrebound() {
+		int i = index;
+		index = index + 1 == uris.length ? 0 : index + 1;
+		recordPrebound(handlers[i], uris[i]);
+	}
+
+	void record(String uri) {
+		recorder.recordDataReceived(remoteAddress, uri, 128);
+		recorder.recordDataReceivedTime(uri, "GET", TIME);
+		recorder.recordDataSent(remoteAddress, uri, 1024);
+		recorder.recordDataSentTime(uri, "GET", "200", TIME);
+		recorder.recordResponseTime(uri, "GET", "200", TIME);
+	}
+
+	static void recordPrebound(MicrometerHttpServerMetricsHandler handler, String uri) {
+		MicrometerHttpServerMetricsRecorder.RequestMeters request = handler.requestMeters(uri, "GET");
+		request.recordDataReceived(128);
+		request.recordDataReceivedTime(TIME_NANOS);
+		request.recordDataSent(1024);
+		MicrometerHttpServerMetricsRecorder.ResponseMeters response = handler.responseMeters(uri, "GET", "200");
+		response.recordDataSentTime(TIME_NANOS);
+		response.recordResponseTime(TIME_NANOS);
+	}
+}
@@ -101,6 +101,12 @@ public class Metrics {
 	 */
 	public static final String BYTE_BUF_ALLOCATOR_PREFIX = "reactor.netty.bytebuf.allocator";
 
+	/**
+	 * Name prefix that will be used for the outbound flush policies' metrics
+	 * registered in Micrometer's global registry
+	 */
+	public static final String FLUSH_POLICY_PREFIX = "reactor.netty.flush.policy";
+
 
 	// Metrics
 	/**
@@ -128,6 +134,12 @@ public class Metrics {
 	 */
 	public static final String CONNECT_TIME = ".connect.time";
 
+	/**
+	 * Number of the connections established with Happy Eyeballs per address family of the connection attempt
+	 * that won the race
+	 */
+	public static final String CONNECT_FAMILY_WON = ".connect.family.won";
+
 	/**
 	 * Time spent in consuming incoming data
 	 */
@@ -160,6 +172,16 @@ public class Metrics {
 	 */
 	public static final String ADDRESS_RESOLVER = ".address.resolver";
 
+	/**
+	 * The number of the address lookups served by the stale-while-revalidate cache per result (hit, stale or miss)
+	 */
+	public static final String ADDRESS_RESOLVER_CACHE = ".address.resolver.cache";
+
+	/**
+	 * The number of the background refreshes of the stale-while-revalidate cache per status
+	 */
+	public static final String ADDRESS_RESOLVER_REFRESHES = ".address.resolver.refreshes";
+
 
 	// PooledConnectionProvider Metrics
 	/**
@@ -260,12 +282,49 @@ public class Metrics {
 	 */
 	public static final String PENDING_TASKS = ".pending.tasks";
 
+	/**
+	 * The delay between the time a probe task was scheduled to run on an event loop and the time it ran
+	 */
+	public static final String LAG = ".lag";
+
+	/**
+	 * The ratio of the time an event loop was busy during the last probe interval
+	 */
+	public static final String BUSY_RATIO = ".busy.ratio";
+
+	/**
+	 * The ratio of the time an event loop spent processing I/O events during the last probe interval
+	 */
+	public static final String IO_RATIO = ".io.ratio";
+
+	/**
+	 * The ratio of the time an event loop spent running tasks during the last probe interval
+	 */
+	public static final String TASK_RATIO = ".task.ratio";
+
+	/**
+	 * The number of channels registered with an event loop
+	 */
+	public static final String CHANNELS = ".channels";
+
+	// FlushPolicy Metrics
+	/**
+	 * The number of bytes written to a channel per flush
+	 */
+	public static final String FLUSH_BYTES = ".flush.bytes";
+
 	// HttpServer Metrics
 	/**
 	 * The number of active HTTP/2 streams
 	 */
 	public static final String STREAMS_ACTIVE = ".streams.active";
 
+	/**
+	 * Number of the URI tag values that were replaced with {@link #OVERFLOW},
+	 * because the maximum number of distinct URI tag values was reached
+	 */
+	public static final String URI_TAGS_REJECTED = ".uri.tags.rejected";
+
 	// Tags
 	public static final String LOCAL_ADDRESS = "local.address";
 
@@ -283,10 +342,14 @@ public class Metrics {
 
 	public static final String TYPE = "type";
 
+	public static final String ADDRESS_FAMILY = "address.family";
+
 	public static final String SUCCESS = "SUCCESS";
 
 	public static final String ERROR = "ERROR";
 
+	public static final String OVERFLOW = "OVERFLOW";
+
 	@Nullable
 	public static Observation currentObservation(ContextView contextView) {
 		if (contextView.hasKey(OBSERVATION_KEY)) {
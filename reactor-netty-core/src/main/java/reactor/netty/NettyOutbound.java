@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2011-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,6 +40,7 @@ import org.reactivestreams.Subscriber;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.channel.FlushPolicy;
 
 /**
  * An outbound-traffic API delegating to an underlying {@link Channel}.
@@ -100,6 +101,25 @@ public interface NettyOutbound extends Publisher<Void> {
 	 */
 	NettyOutbound send(Publisher<? extends ByteBuf> dataStream, Predicate<ByteBuf> predicate);
 
+	/**
+	 * Sends data to the peer, listens for any error on write and closes on terminal signal
+	 * (complete|error). The writes are batched into fewer flushes according to the given {@link FlushPolicy}.
+	 * <p>A new {@link NettyOutbound} type (or the same) for typed send sequences.</p>
+	 * <p>Note: Nesting any send* method is not supported.</p>
+	 * <p>Note: An outbound which does not support flush policies sends as {@link #send(Publisher)}.</p>
+	 *
+	 * @param dataStream the dataStream publishing OUT items to write on this channel
+	 * @param flushPolicy the policy deciding when the writes are flushed
+	 *
+	 * @return A new {@link NettyOutbound} to append further send. It will emit a complete
+	 * signal successful sequence write (e.g. after "flush") or any error during write.
+	 * @since 1.1.0
+	 */
+	default NettyOutbound send(Publisher<? extends ByteBuf> dataStream, FlushPolicy flushPolicy) {
+		Objects.requireNonNull(flushPolicy, "flushPolicy");
+		return send(dataStream);
+	}
+
 	/**
 	 * Sends bytes to the peer, listens for any error on write and closes on terminal
 	 * signal (complete|error). If more than one publisher is attached (multiple calls to
@@ -260,6 +280,26 @@ public interface NettyOutbound extends Publisher<Void> {
 	 */
 	NettyOutbound sendObject(Publisher<?> dataStream, Predicate<Object> predicate);
 
+	/**
+	 * Sends an object through Netty pipeline. If type of {@link Publisher}, sends all signals,
+	 * the writes are batched into fewer flushes according to the given {@link FlushPolicy}.
+	 * Write occur in FIFO sequence.
+	 * <p>Note: Nesting any send* method is not supported.</p>
+	 * <p>Note: An outbound which does not support flush policies sends as {@link #sendObject(Publisher)}.</p>
+	 *
+	 * @param dataStream the dataStream publishing items to write on this channel
+	 * or a simple pojo supported by configured Netty handlers
+	 * @param flushPolicy the policy deciding when the writes are flushed
+	 *
+	 * @return A Publisher to signal successful sequence write (e.g. after "flush") or any
+	 * error during write
+	 * @since 1.1.0
+	 */
+	default NettyOutbound sendObject(Publisher<?> dataStream, FlushPolicy flushPolicy) {
+		Objects.requireNonNull(flushPolicy, "flushPolicy");
+		return sendObject(dataStream);
+	}
+
 	/**
 	 * Sends data to the peer, listens for any error on write and closes on terminal signal
 	 * (complete|error).
@@ -92,6 +92,7 @@ public interface NettyPipeline {
 	String ChunkedWriter         = LEFT + "chunkedWriter";
 	String CompressionHandler    = LEFT + "compressionHandler";
 	String ConnectMetricsHandler = LEFT + "connectMetricsHandler";
+	String EventLoopIoTimer      = LEFT + "eventLoopIoTimer";
 	String H2CUpgradeHandler     = LEFT + "h2cUpgradeHandler";
 	String H2Flush               = LEFT + "h2Flush";
 	String H2MultiplexHandler    = LEFT + "h2MultiplexHandler";
@@ -121,6 +122,13 @@ public interface NettyPipeline {
 	String ProxyLoggingHandler   = LEFT + "proxyLoggingHandler";
 	String ProxyProtocolDecoder  = LEFT + "proxyProtocolDecoder";
 	String ProxyProtocolReader   = LEFT + "proxyProtocolReader";
+	/**
+	 * Name of the handler that was used for the {@code HttpClient} response timeout.
+	 *
+	 * @deprecated as of 1.1.0. The response timeout is not a channel handler anymore, it is tracked
+	 * by a timer wheel per event loop. This will be removed in 2.0.0.
+	 */
+	@Deprecated
 	String ResponseTimeoutHandler = LEFT + "responseTimeoutHandler";
 	String SslHandler            = LEFT + "sslHandler";
 	String SslLoggingHandler     = LEFT + "sslLoggingHandler";
@@ -55,6 +55,7 @@ import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.SignalType;
+import reactor.netty.channel.FlushPolicy;
 import reactor.pool.AllocationStrategy;
 import reactor.pool.PoolBuilder;
 import reactor.pool.introspection.SamplingAllocationStrategy;
@@ -187,6 +188,47 @@ public final class ReactorNetty {
 	 */
 	public static final String ACCESS_LOG_ENABLED = "reactor.netty.http.server.accessLogEnabled";
 
+	/**
+	 * Specifies whether the Http Server access log entries will be captured on the event loop
+	 * and formatted and written by a dedicated thread.
+	 * By default, it is disabled.
+	 */
+	public static final String ACCESS_LOG_ASYNC = "reactor.netty.http.server.accessLogAsync";
+
+	/**
+	 * Specifies the number of access log entries that can wait to be written when
+	 * {@link #ACCESS_LOG_ASYNC} is enabled, rounded up to a power of two.
+	 * The entries that do not fit are dropped and counted. Default to {@code 8192}.
+	 */
+	public static final String ACCESS_LOG_ASYNC_BUFFER_SIZE = "reactor.netty.http.server.accessLogAsyncBufferSize";
+
+	/**
+	 * Specifies whether the Http Server resolves the Micrometer meters once per URI, method and status
+	 * and keeps the last ones on the connection, instead of looking them up for every request.
+	 * By default, it is disabled.
+	 */
+	public static final String HTTP_SERVER_PREBOUND_METERS = "reactor.netty.http.server.metrics.preboundMeters";
+
+	/**
+	 * Specifies the maximum number of distinct URI tag values per built-in Micrometer Http Server/Client recorder.
+	 * When the maximum is reached, the URIs that follow are recorded with the {@code OVERFLOW} tag value.
+	 * A negative value means no limit. By default, the maximum is 2000.
+	 */
+	public static final String HTTP_METRICS_MAX_URI_TAGS = "reactor.netty.http.metrics.maxUriTags";
+
+	/**
+	 * Specifies whether the event loop metrics include, in addition to the pending tasks, the event loop lag,
+	 * the busy, I/O and task time ratios and the number of channels. A probe task is scheduled periodically
+	 * on every instrumented event loop. By default, it is disabled.
+	 */
+	public static final String EVENT_LOOP_EXTENDED_METRICS = "reactor.netty.eventloop.metrics.extended";
+
+	/**
+	 * Specifies the interval in milliseconds between two probe tasks when the extended event loop metrics are enabled.
+	 * Default to {@code 1000}.
+	 */
+	public static final String EVENT_LOOP_PROBE_INTERVAL = "reactor.netty.eventloop.metrics.probeInterval";
+
 	/**
 	 *  Specifies the zone id used by the access log
 	 */
@@ -745,11 +787,21 @@ public final class ReactorNetty {
 			return then(source.send(dataStream, predicate));
 		}
 
+		@Override
+		public NettyOutbound send(Publisher<? extends ByteBuf> dataStream, FlushPolicy flushPolicy) {
+			return then(source.send(dataStream, flushPolicy));
+		}
+
 		@Override
 		public NettyOutbound sendObject(Publisher<?> dataStream, Predicate<Object> predicate) {
 			return then(source.sendObject(dataStream, predicate));
 		}
 
+		@Override
+		public NettyOutbound sendObject(Publisher<?> dataStream, FlushPolicy flushPolicy) {
+			return then(source.sendObject(dataStream, flushPolicy));
+		}
+
 		@Override
 		public NettyOutbound sendObject(Object message) {
 			return then(source.sendObject(message),
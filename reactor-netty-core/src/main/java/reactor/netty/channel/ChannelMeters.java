@@ -48,6 +48,27 @@ public enum ChannelMeters implements DocumentedMeter {
 		}
 	},
 
+	/**
+	 * Number of the connections established with Happy Eyeballs per address family of the connection attempt
+	 * that won the race.
+	 */
+	CONNECT_FAMILY_WON {
+		@Override
+		public String getName() {
+			return "%s";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ConnectFamilyWonMeterTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
 	/**
 	 * Amount of the data received, in bytes.
 	 */
@@ -116,6 +137,31 @@ public enum ChannelMeters implements DocumentedMeter {
 		public Meter.Type getType() {
 			return Meter.Type.COUNTER;
 		}
+	},
+
+	/**
+	 * The number of bytes written to a channel per flush, when the writes are batched by a {@link FlushPolicy}.
+	 */
+	FLUSH_BYTES {
+		@Override
+		public String getBaseUnit() {
+			return "bytes";
+		}
+
+		@Override
+		public String getName() {
+			return "reactor.netty.flush.policy.flush.bytes";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return FlushBytesMeterTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.DISTRIBUTION_SUMMARY;
+		}
 	};
 
 	public enum ChannelMetersTags implements KeyName {
@@ -141,6 +187,42 @@ public enum ChannelMeters implements DocumentedMeter {
 		}
 	}
 
+	public enum FlushBytesMeterTags implements KeyName {
+
+		/**
+		 * The name of the flush policy.
+		 */
+		NAME {
+			@Override
+			public String asString() {
+				return "name";
+			}
+		}
+	}
+
+	public enum ConnectFamilyWonMeterTags implements KeyName {
+
+		/**
+		 * Address family of the connection attempt that won the race.
+		 */
+		ADDRESS_FAMILY {
+			@Override
+			public String asString() {
+				return "address.family";
+			}
+		},
+
+		/**
+		 * Remote address.
+		 */
+		REMOTE_ADDRESS {
+			@Override
+			public String asString() {
+				return "remote.address";
+			}
+		}
+	}
+
 	public enum ConnectionsTotalMeterTags implements KeyName {
 
 		/**
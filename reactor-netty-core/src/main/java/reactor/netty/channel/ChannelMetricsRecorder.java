@@ -77,6 +77,17 @@ public interface ChannelMetricsRecorder {
 	 */
 	void recordResolveAddressTime(SocketAddress remoteAddress, Duration time, String status);
 
+	/**
+	 * Increments the number of the connections established with Happy Eyeballs, the address family
+	 * is the one of the connection attempt that won the race.
+	 * Relevant only when on the client
+	 *
+	 * @param remoteAddress The remote peer
+	 * @param addressFamily the address family of the connection attempt that won the race ({@code ipv4} or {@code ipv6})
+	 * @since 1.1.0
+	 */
+	default void incrementConnectFamilyWonCount(SocketAddress remoteAddress, String addressFamily) { }
+
 	/**
 	 * Records a just accepted server connection
 	 *
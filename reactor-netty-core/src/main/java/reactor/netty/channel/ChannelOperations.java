@@ -296,6 +296,18 @@ public class ChannelOperations<INBOUND extends NettyInbound, OUTBOUND extends Ne
 		return then(MonoSendMany.byteBufSource(dataStream, channel(), predicate));
 	}
 
+	@Override
+	public NettyOutbound send(Publisher<? extends ByteBuf> dataStream, FlushPolicy flushPolicy) {
+		requireNonNull(flushPolicy, "flushPolicy");
+		if (!channel().isActive()) {
+			return then(Mono.error(AbortedException.beforeSend()));
+		}
+		if (dataStream instanceof Mono) {
+			return send(dataStream);
+		}
+		return then(MonoSendMany.byteBufSource(dataStream, channel(), flushPolicy));
+	}
+
 	@Override
 	public NettyOutbound sendObject(Publisher<?> dataStream, Predicate<Object> predicate) {
 		requireNonNull(predicate, "predicate");
@@ -309,6 +321,18 @@ public class ChannelOperations<INBOUND extends NettyInbound, OUTBOUND extends Ne
 		return then(MonoSendMany.objectSource(dataStream, channel(), predicate));
 	}
 
+	@Override
+	public NettyOutbound sendObject(Publisher<?> dataStream, FlushPolicy flushPolicy) {
+		requireNonNull(flushPolicy, "flushPolicy");
+		if (!channel().isActive()) {
+			return then(Mono.error(AbortedException.beforeSend()));
+		}
+		if (dataStream instanceof Mono) {
+			return sendObject(dataStream);
+		}
+		return then(MonoSendMany.objectSource(dataStream, channel(), flushPolicy));
+	}
+
 	@Override
 	public NettyOutbound sendObject(Object message) {
 		if (!channel().isActive()) {
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.channel;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+import reactor.netty.internal.util.Metrics;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Batches the writes of a {@link org.reactivestreams.Publisher} sent with
+ * {@link reactor.netty.NettyOutbound#send(org.reactivestreams.Publisher, FlushPolicy)} into fewer flushes.
+ * <p>
+ * By default, the writes of a sequence are flushed as soon as no more elements are immediately available,
+ * so that a slow trickle of small elements (Server-Sent Events, streamed JSON) results in one flush, and one system
+ * call, per element. With a {@link FlushPolicy}, the writes are flushed when {@link Builder#maxBytes(int)} bytes or
+ * {@link Builder#maxMessages(int)} messages have been written since the last flush, or at the latest
+ * {@link Builder#maxDelay(Duration)} after the first write which has not been flushed, whichever comes first.
+ * The writes are also flushed when the channel becomes unwritable and when the sequence terminates.
+ * <pre>
+ * {@code
+ * FlushPolicy policy =
+ *         FlushPolicy.builder()
+ *                    .maxBytes(16 * 1024)
+ *                    .maxDelay(Duration.ofMillis(5))
+ *                    .metrics(true)
+ *                    .build();
+ *
+ * HttpServer.create()
+ *           .route(routes -> routes.get("/events", (req, res) -> res.sse().send(events(), policy)))
+ * }
+ * </pre>
+ *
+ * @since 1.1.0
+ */
+public final class FlushPolicy {
+
+	/**
+	 * Default policy name, used as a tag of the meters.
+	 */
+	public static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Default number of bytes written before a flush (16KB, i.e. the maximum size of a TLS record).
+	 */
+	public static final int DEFAULT_MAX_BYTES = 16 * 1024;
+
+	/**
+	 * Default number of messages written before a flush.
+	 */
+	public static final int DEFAULT_MAX_MESSAGES = 32;
+
+	/**
+	 * Default maximum delay of a flush.
+	 */
+	public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(1);
+
+	/**
+	 * Creates a builder for {@link FlushPolicy}.
+	 *
+	 * @return a new {@link FlushPolicy.Builder}
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	final String name;
+	final int maxBytes;
+	final int maxMessages;
+	final long maxDelayNanos;
+
+	@Nullable
+	final LongConsumer flushBytesRecorder;
+
+	FlushPolicy(Builder builder) {
+		this.name = builder.name;
+		this.maxBytes = builder.maxBytes;
+		this.maxMessages = builder.maxMessages;
+		this.maxDelayNanos = builder.maxDelay.toNanos();
+		if (builder.metrics) {
+			if (!Metrics.isMicrometerAvailable()) {
+				throw new UnsupportedOperationException(
+						"To enable metrics, you must add the dependency `io.micrometer:micrometer-core`" +
+								" to the class path first");
+			}
+			this.flushBytesRecorder = MicrometerFlushPolicyMetrics.flushBytesRecorder(name);
+		}
+		else {
+			this.flushBytesRecorder = null;
+		}
+	}
+
+	/**
+	 * Return the name of the policy.
+	 *
+	 * @return the name of the policy
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Return the number of bytes written before a flush.
+	 *
+	 * @return the number of bytes written before a flush
+	 */
+	public int maxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Return the number of messages written before a flush.
+	 *
+	 * @return the number of messages written before a flush
+	 */
+	public int maxMessages() {
+		return maxMessages;
+	}
+
+	/**
+	 * Return the maximum delay of a flush.
+	 *
+	 * @return the maximum delay of a flush
+	 */
+	public Duration maxDelay() {
+		return Duration.ofNanos(maxDelayNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "FlushPolicy{name=" + name + ", maxBytes=" + maxBytes + ", maxMessages=" + maxMessages +
+				", maxDelay=" + maxDelay() + '}';
+	}
+
+	/**
+	 * Builder for {@link FlushPolicy}.
+	 */
+	public static final class Builder {
+
+		String name = DEFAULT_NAME;
+		int maxBytes = DEFAULT_MAX_BYTES;
+		int maxMessages = DEFAULT_MAX_MESSAGES;
+		Duration maxDelay = DEFAULT_MAX_DELAY;
+		boolean metrics;
+
+		Builder() {
+		}
+
+		/**
+		 * Configures the name of the policy, used as a tag of the meters.
+		 * Default to {@link #DEFAULT_NAME}.
+		 *
+		 * @param name the name of the policy
+		 * @return {@code this}
+		 */
+		public Builder name(String name) {
+			this.name = Objects.requireNonNull(name, "name");
+			return this;
+		}
+
+		/**
+		 * Configures the number of bytes written since the last flush which triggers a flush.
+		 * Default to {@link #DEFAULT_MAX_BYTES}.
+		 *
+		 * @param maxBytes the number of bytes written before a flush
+		 * @return {@code this}
+		 */
+		public Builder maxBytes(int maxBytes) {
+			if (maxBytes <= 0) {
+				throw new IllegalArgumentException("maxBytes must be positive");
+			}
+			this.maxBytes = maxBytes;
+			return this;
+		}
+
+		/**
+		 * Configures the number of messages written since the last flush which triggers a flush.
+		 * Default to {@link #DEFAULT_MAX_MESSAGES}.
+		 *
+		 * @param maxMessages the number of messages written before a flush
+		 * @return {@code this}
+		 */
+		public Builder maxMessages(int maxMessages) {
+			if (maxMessages <= 0) {
+				throw new IllegalArgumentException("maxMessages must be positive");
+			}
+			this.maxMessages = maxMessages;
+			return this;
+		}
+
+		/**
+		 * Configures the maximum delay between the first write which has not been flushed and the flush.
+		 * With {@link Duration#ZERO}, the writes are flushed as soon as no more elements are immediately available,
+		 * as without a policy. Default to {@link #DEFAULT_MAX_DELAY}.
+		 *
+		 * @param maxDelay the maximum delay of a flush
+		 * @return {@code this}
+		 */
+		public Builder maxDelay(Duration maxDelay) {
+			Objects.requireNonNull(maxDelay, "maxDelay");
+			if (maxDelay.isNegative()) {
+				throw new IllegalArgumentException("maxDelay must not be negative");
+			}
+			this.maxDelay = maxDelay;
+			return this;
+		}
+
+		/**
+		 * Whether to register the bytes per flush meter of the policy with Micrometer.
+		 * The meter is tagged with the name of the policy.
+		 *
+		 * @param enable {@code true} to register the meter
+		 * @return {@code this}
+		 */
+		public Builder metrics(boolean enable) {
+			this.metrics = enable;
+			return this;
+		}
+
+		/**
+		 * Builds a new {@link FlushPolicy}.
+		 *
+		 * @return a new {@link FlushPolicy}
+		 */
+		public FlushPolicy build() {
+			return new FlushPolicy(this);
+		}
+	}
+}
@@ -30,8 +30,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.LongAdder;
 
+import static reactor.netty.Metrics.ADDRESS_FAMILY;
 import static reactor.netty.Metrics.ADDRESS_RESOLVER;
 import static reactor.netty.Metrics.CONNECTIONS_TOTAL;
+import static reactor.netty.Metrics.CONNECT_FAMILY_WON;
 import static reactor.netty.Metrics.CONNECT_TIME;
 import static reactor.netty.Metrics.DATA_RECEIVED;
 import static reactor.netty.Metrics.DATA_SENT;
@@ -56,6 +58,8 @@ public class MicrometerChannelMetricsRecorder implements ChannelMetricsRecorder
 
 	final ConcurrentMap<MeterKey, Timer> connectTimeCache = new ConcurrentHashMap<>();
 
+	final ConcurrentMap<MeterKey, Counter> connectFamilyWonCache = new ConcurrentHashMap<>();
+
 	final ConcurrentMap<MeterKey, Timer> tlsHandshakeTimeCache = new ConcurrentHashMap<>();
 
 	final ConcurrentMap<MeterKey, Timer> addressResolverTimeCache = new ConcurrentHashMap<>();
@@ -149,6 +153,19 @@ public class MicrometerChannelMetricsRecorder implements ChannelMetricsRecorder
 						.register(REGISTRY)));
 	}
 
+	@Override
+	public void incrementConnectFamilyWonCount(SocketAddress remoteAddress, String addressFamily) {
+		String address = reactor.netty.Metrics.formatSocketAddress(remoteAddress);
+		MeterKey meterKey = new MeterKey(null, address, null, addressFamily);
+		Counter c = MapUtils.computeIfAbsent(connectFamilyWonCache, meterKey,
+				key -> filter(Counter.builder(name + CONNECT_FAMILY_WON)
+				                     .tags(REMOTE_ADDRESS, address, ADDRESS_FAMILY, addressFamily)
+				                     .register(REGISTRY)));
+		if (c != null) {
+			c.increment();
+		}
+	}
+
 	@Override
 	public void recordResolveAddressTime(SocketAddress remoteAddress, Duration time, String status) {
 		String address = reactor.netty.Metrics.formatSocketAddress(remoteAddress);
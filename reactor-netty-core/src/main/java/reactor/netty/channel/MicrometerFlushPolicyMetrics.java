@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.channel;
+
+import java.util.function.LongConsumer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+
+import static reactor.netty.Metrics.FLUSH_BYTES;
+import static reactor.netty.Metrics.FLUSH_POLICY_PREFIX;
+import static reactor.netty.Metrics.NAME;
+import static reactor.netty.Metrics.REGISTRY;
+
+/**
+ * Registers the meters of a {@link FlushPolicy}, tagged with the name of the policy.
+ *
+ * @since 1.1.0
+ */
+final class MicrometerFlushPolicyMetrics {
+
+	private MicrometerFlushPolicyMetrics() {}
+
+	static LongConsumer flushBytesRecorder(String name) {
+		DistributionSummary flushBytes =
+				DistributionSummary.builder(FLUSH_POLICY_PREFIX + FLUSH_BYTES)
+				                   .baseUnit(ChannelMeters.FLUSH_BYTES.getBaseUnit())
+				                   .tags(NAME, name)
+				                   .register(REGISTRY);
+		return flushBytes::record;
+	}
+}
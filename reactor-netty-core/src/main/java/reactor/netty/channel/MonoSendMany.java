@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
@@ -76,25 +77,41 @@ final class MonoSendMany<I, O> extends MonoSend<I, O> implements Scannable {
 	static MonoSendMany<ByteBuf, ByteBuf> byteBufSource(Publisher<? extends ByteBuf> source,
 			Channel channel,
 			Predicate<ByteBuf> predicate) {
-		return new MonoSendMany<>(source, channel, predicate, TRANSFORMATION_FUNCTION_BB, CONSUMER_NOCHECK_CLEANUP, SIZE_OF_BB);
+		return new MonoSendMany<>(source, channel, predicate, null, TRANSFORMATION_FUNCTION_BB, CONSUMER_NOCHECK_CLEANUP, SIZE_OF_BB);
+	}
+
+	static MonoSendMany<ByteBuf, ByteBuf> byteBufSource(Publisher<? extends ByteBuf> source,
+			Channel channel,
+			FlushPolicy flushPolicy) {
+		return new MonoSendMany<>(source, channel, PREDICATE_NO_FLUSH, flushPolicy, TRANSFORMATION_FUNCTION_BB, CONSUMER_NOCHECK_CLEANUP, SIZE_OF_BB);
 	}
 
 	static MonoSendMany<?, ?> objectSource(Publisher<?> source, Channel channel, Predicate<Object> predicate) {
-		return new MonoSendMany<>(source, channel, predicate, TRANSFORMATION_FUNCTION, CONSUMER_NOCHECK_CLEANUP, SIZE_OF);
+		return new MonoSendMany<>(source, channel, predicate, null, TRANSFORMATION_FUNCTION, CONSUMER_NOCHECK_CLEANUP, SIZE_OF);
 	}
 
+	static MonoSendMany<?, ?> objectSource(Publisher<?> source, Channel channel, FlushPolicy flushPolicy) {
+		return new MonoSendMany<>(source, channel, PREDICATE_NO_FLUSH, flushPolicy, TRANSFORMATION_FUNCTION, CONSUMER_NOCHECK_CLEANUP, SIZE_OF);
+	}
+
+	static final Predicate<Object> PREDICATE_NO_FLUSH = o -> false;
+
 	final Publisher<? extends I> source;
-	final Predicate<I> predicate;
+	final Predicate<? super I> predicate;
+	@Nullable
+	final FlushPolicy flushPolicy;
 
 	MonoSendMany(Publisher<? extends I> source,
 			Channel channel,
-			Predicate<I> predicate,
+			Predicate<? super I> predicate,
+			@Nullable FlushPolicy flushPolicy,
 			Function<? super I, ? extends O> transformer,
 			Consumer<? super I> sourceCleanup,
 			ToIntFunction<O> sizeOf) {
 		super(channel, transformer, sourceCleanup, sizeOf);
 		this.source = Objects.requireNonNull(source, "source publisher cannot be null");
 		this.predicate = Objects.requireNonNull(predicate, "predicate cannot be null");
+		this.flushPolicy = flushPolicy;
 	}
 
 	@Override
@@ -125,7 +142,7 @@ final class MonoSendMany<I, O> extends MonoSend<I, O> implements Scannable {
 		final CoreSubscriber<? super Void> actual;
 		final Context                      actualContext;
 		final Runnable                     asyncFlush;
-
+		final Runnable                     delayedFlush;
 
 		@SuppressWarnings("unused")
 		volatile Subscription s;
@@ -142,6 +159,11 @@ final class MonoSendMany<I, O> extends MonoSend<I, O> implements Scannable {
 
 		int nextRequest;
 
+		// the writes which have not been flushed yet, accounted only with a flush policy
+		int     unflushedMessages;
+		long    unflushedBytes;
+		boolean delayedFlushScheduled;
+
 		SendManyInner(MonoSendMany<I, O> parent, CoreSubscriber<? super Void> actual) {
 			this.parent = parent;
 			this.actual = actual;
@@ -151,6 +173,7 @@ final class MonoSendMany<I, O> extends MonoSend<I, O> implements Scannable {
 			this.eventLoop = ctx.channel().eventLoop();
 
 			this.asyncFlush = new AsyncFlush();
+			this.delayedFlush = new DelayedFlush();
 
 			//TODO should also cleanup on complete operation (ChannelOperation.OnTerminate) ?
 			ctx.channel()
@@ -303,7 +326,7 @@ final class MonoSendMany<I, O> extends MonoSend<I, O> implements Scannable {
 							if (parent.predicate.test(sourceMessage)) {
 								nextRequest++;
 								needFlush = false;
-								ctx.flush();
+								flush();
 							}
 							continue;
 						}
@@ -320,9 +343,18 @@ final class MonoSendMany<I, O> extends MonoSend<I, O> implements Scannable {
 						//"FutureReturnValueIgnored" this is deliberate
 						ctx.write(encodedMessage, this);
 
-						if (parent.predicate.test(sourceMessage) || !ctx.channel().isWritable() || readableBytes > ctx.channel().bytesBeforeUnwritable()) {
+						boolean flush = parent.predicate.test(sourceMessage) || !ctx.channel().isWritable() ||
+								readableBytes > ctx.channel().bytesBeforeUnwritable();
+						FlushPolicy flushPolicy = parent.flushPolicy;
+						if (flushPolicy != null) {
+							unflushedMessages++;
+							unflushedBytes += readableBytes;
+							flush = flush || unflushedBytes >= flushPolicy.maxBytes || unflushedMessages >= flushPolicy.maxMessages;
+						}
+
+						if (flush) {
 							needFlush = false;
-							ctx.flush();
+							flush();
 						}
 						else {
 							needFlush = true;
@@ -331,6 +363,18 @@ final class MonoSendMany<I, O> extends MonoSend<I, O> implements Scannable {
 
 					if (needFlush && pending != 0) {
 						needFlush = false;
+						FlushPolicy flushPolicy = parent.flushPolicy;
+						if (flushPolicy == null || flushPolicy.maxDelayNanos == 0 || terminalSignal != null) {
+							eventLoop.execute(asyncFlush);
+						}
+						else if (!delayedFlushScheduled) {
+							delayedFlushScheduled = true;
+							//"FutureReturnValueIgnored" this is deliberate
+							eventLoop.schedule(delayedFlush, flushPolicy.maxDelayNanos, TimeUnit.NANOSECONDS);
+						}
+					}
+					else if (unflushedMessages != 0 && terminalSignal != null) {
+						// the sequence terminated while the writes were waiting for the delayed flush
 						eventLoop.execute(asyncFlush);
 					}
 
@@ -782,11 +826,37 @@ final class MonoSendMany<I, O> extends MonoSend<I, O> implements Scannable {
 		static final AtomicReferenceFieldUpdater<SendManyInner, Subscription> SUBSCRIPTION =
 				AtomicReferenceFieldUpdater.newUpdater(SendManyInner.class, Subscription.class, "s");
 
+		void flush() {
+			FlushPolicy flushPolicy = parent.flushPolicy;
+			if (flushPolicy != null && unflushedMessages != 0) {
+				LongConsumer recorder = flushPolicy.flushBytesRecorder;
+				if (recorder != null) {
+					recorder.accept(unflushedBytes);
+				}
+				unflushedMessages = 0;
+				unflushedBytes = 0;
+			}
+			ctx.flush();
+		}
+
 		final class AsyncFlush implements Runnable {
 			@Override
 			public void run() {
 				if (pending != 0) {
-					ctx.flush();
+					flush();
+				}
+			}
+		}
+
+		/**
+		 * Flushes the writes batched by the {@link FlushPolicy} at the latest after its maximum delay.
+		 */
+		final class DelayedFlush implements Runnable {
+			@Override
+			public void run() {
+				delayedFlushScheduled = false;
+				if (pending != 0 && unflushedMessages != 0) {
+					flush();
 				}
 			}
 		}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.internal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.FastThreadLocal;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+/**
+ * A hashed timer wheel that tracks the timeouts of all connections served by one {@link EventLoop}.
+ * <p>
+ * Scheduling and cancelling a timeout are constant time operations that neither touch the channel pipeline
+ * nor schedule a task on the event loop. A single task ticks the wheel every {@link #TICK_MILLIS} milliseconds,
+ * and only while there are pending timeouts, so a timeout expires at most one tick after its deadline.
+ * All methods must be invoked from the event loop.
+ * <p><strong>Note:</strong> This utility class is for internal use only. It can be removed at any time.
+ *
+ * @since 1.1.0
+ */
+public final class TimeoutWheel implements Runnable {
+
+	static final Logger log = Loggers.getLogger(TimeoutWheel.class);
+
+	/**
+	 * The duration of a tick in milliseconds.
+	 */
+	public static final long TICK_MILLIS = 10;
+
+	static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+	/**
+	 * The number of buckets, must be a power of two. Timeouts longer than a full turn
+	 * of the wheel stay in their bucket until their deadline tick is reached.
+	 */
+	static final int WHEEL_SIZE = 512;
+
+	static final int MASK = WHEEL_SIZE - 1;
+
+	static final FastThreadLocal<TimeoutWheel> WHEEL = new FastThreadLocal<>();
+
+	/**
+	 * Returns the wheel of the given event loop, it is created on first use.
+	 *
+	 * @param eventLoop the current event loop
+	 * @return the wheel of the given event loop
+	 */
+	public static TimeoutWheel get(EventLoop eventLoop) {
+		assert eventLoop.inEventLoop();
+		TimeoutWheel wheel = WHEEL.get();
+		if (wheel == null || wheel.eventLoop != eventLoop) {
+			wheel = new TimeoutWheel(eventLoop);
+			WHEEL.set(wheel);
+		}
+		return wheel;
+	}
+
+	final EventLoop eventLoop;
+	final Timeout[] buckets = new Timeout[WHEEL_SIZE];
+	final List<Timeout> expired = new ArrayList<>();
+	final long startNanos;
+
+	long tick;
+	int size;
+	boolean ticking;
+
+	TimeoutWheel(EventLoop eventLoop) {
+		this.eventLoop = eventLoop;
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Schedules the timeout to expire after the given delay, replacing a previous schedule if any.
+	 *
+	 * @param timeout the timeout
+	 * @param delayNanos the delay in nanoseconds
+	 */
+	public void schedule(Timeout timeout, long delayNanos) {
+		if (timeout.wheel != null) {
+			timeout.wheel.cancel(timeout);
+		}
+		long deadline = System.nanoTime() - startNanos + delayNanos;
+		// round up, the timeout must not expire before its deadline
+		long deadlineTick = (deadline + TICK_NANOS - 1) / TICK_NANOS;
+		timeout.deadlineTick = Math.max(deadlineTick, tick + 1);
+		timeout.wheel = this;
+		int index = (int) (timeout.deadlineTick & MASK);
+		Timeout head = buckets[index];
+		timeout.prev = null;
+		timeout.next = head;
+		if (head != null) {
+			head.prev = timeout;
+		}
+		buckets[index] = timeout;
+		size++;
+		if (!ticking) {
+			ticking = true;
+			scheduleTick();
+		}
+	}
+
+	/**
+	 * Cancels the timeout, it is a no-op if the timeout is not scheduled on this wheel.
+	 *
+	 * @param timeout the timeout
+	 */
+	public void cancel(Timeout timeout) {
+		if (timeout.wheel != this) {
+			return;
+		}
+		timeout.wheel = null;
+		if (timeout.expiring) {
+			// collected by the current tick but not yet notified
+			timeout.expiring = false;
+			return;
+		}
+		unlink(timeout);
+		size--;
+	}
+
+	@Override
+	public void run() {
+		long from = tick;
+		long target = (System.nanoTime() - startNanos) / TICK_NANOS;
+		// timeouts rescheduled while expiring are placed after the target tick
+		tick = target;
+		long steps = Math.min(target - from, WHEEL_SIZE);
+		for (long i = 1; i <= steps; i++) {
+			collect((int) ((from + i) & MASK), target);
+		}
+
+		List<Timeout> expired = this.expired;
+		for (int i = 0; i < expired.size(); i++) {
+			Timeout timeout = expired.get(i);
+			// an expiring timeout might have been cancelled by a previous one
+			if (timeout.expiring) {
+				timeout.expiring = false;
+				timeout.wheel = null;
+				try {
+					timeout.expire();
+				}
+				catch (Throwable t) {
+					log.warn("Unexpected error while expiring a timeout", t);
+				}
+			}
+		}
+		expired.clear();
+
+		if (size > 0) {
+			scheduleTick();
+		}
+		else {
+			ticking = false;
+		}
+	}
+
+	void collect(int index, long target) {
+		Timeout timeout = buckets[index];
+		while (timeout != null) {
+			Timeout next = timeout.next;
+			if (timeout.deadlineTick <= target) {
+				unlink(timeout);
+				size--;
+				timeout.expiring = true;
+				expired.add(timeout);
+			}
+			timeout = next;
+		}
+	}
+
+	void unlink(Timeout timeout) {
+		Timeout prev = timeout.prev;
+		Timeout next = timeout.next;
+		if (prev != null) {
+			prev.next = next;
+		}
+		else {
+			buckets[(int) (timeout.deadlineTick & MASK)] = next;
+		}
+		if (next != null) {
+			next.prev = prev;
+		}
+		timeout.prev = null;
+		timeout.next = null;
+	}
+
+	@SuppressWarnings("FutureReturnValueIgnored")
+	void scheduleTick() {
+		//"FutureReturnValueIgnored" this is deliberate
+		eventLoop.schedule(this, TICK_NANOS, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * A timeout that can be scheduled on a {@link TimeoutWheel}.
+	 */
+	public abstract static class Timeout {
+
+		Timeout prev;
+		Timeout next;
+		long deadlineTick;
+		TimeoutWheel wheel;
+		boolean expiring;
+
+		/**
+		 * Invoked on the event loop when the deadline is reached.
+		 */
+		protected abstract void expire();
+
+		/**
+		 * Cancels the timeout, it is a no-op if the timeout is not scheduled.
+		 * Must be invoked from the event loop.
+		 */
+		public final void cancel() {
+			TimeoutWheel wheel = this.wheel;
+			if (wheel != null) {
+				wheel.cancel(this);
+			}
+		}
+
+		/**
+		 * Returns {@code true} if the timeout is scheduled.
+		 *
+		 * @return {@code true} if the timeout is scheduled
+		 */
+		public final boolean isScheduled() {
+			return wheel != null;
+		}
+	}
+}
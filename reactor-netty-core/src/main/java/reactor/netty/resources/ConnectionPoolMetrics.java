@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -75,4 +75,55 @@ public interface ConnectionPoolMetrics {
 	 */
 	int maxPendingAcquireSize();
 
+	/**
+	 * Get the number of acquisitions that were served by the partition of the caller's event loop.
+	 * <p>
+	 * Always {@code 0} when {@link ConnectionProvider.ConnectionPoolSpec#eventLoopAffinity(boolean)} is not enabled.
+	 *
+	 * @return the number of acquisitions served on the caller's event loop
+	 * @since 1.1.0
+	 */
+	default long affinityHitCount() {
+		return 0;
+	}
+
+	/**
+	 * Get the number of acquisitions that were served by the partition of another event loop,
+	 * because there were no idle connections on the caller's event loop.
+	 * <p>
+	 * Always {@code 0} when {@link ConnectionProvider.ConnectionPoolSpec#eventLoopAffinity(boolean)} is not enabled.
+	 *
+	 * @return the number of acquisitions served on another event loop
+	 * @since 1.1.0
+	 */
+	default long affinityStealCount() {
+		return 0;
+	}
+
+	/**
+	 * Return whether the remote address of this pool is currently ejected by the outlier detection.
+	 * <p>
+	 * Always {@code false} when {@link ConnectionProvider.Builder#outlierDetection(java.util.function.Consumer)}
+	 * is not enabled.
+	 *
+	 * @return true if the remote address of this pool is currently ejected
+	 * @since 1.1.0
+	 */
+	default boolean isEjected() {
+		return false;
+	}
+
+	/**
+	 * Get the number of times the remote address of this pool was ejected by the outlier detection.
+	 * <p>
+	 * Always {@code 0} when {@link ConnectionProvider.Builder#outlierDetection(java.util.function.Consumer)}
+	 * is not enabled.
+	 *
+	 * @return the number of ejections of the remote address of this pool
+	 * @since 1.1.0
+	 */
+	default long ejectionCount() {
+		return 0;
+	}
+
 }
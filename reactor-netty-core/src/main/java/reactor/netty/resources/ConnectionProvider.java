@@ -199,6 +199,22 @@ public interface ConnectionProvider extends Disposable {
 			@Nullable AddressResolverGroup<?> resolverGroup);
 
 
+	/**
+	 * Establish the warm connections configured for the remote hosts, e.g. with
+	 * {@link ConnectionPoolSpec#minConnections(int)}. A failure to connect is logged and does not fail the warmup.
+	 * <p>
+	 * This method has {@code NOOP} default implementation.
+	 * {@link ConnectionProvider} implementations may decide to provide more specific implementation.
+	 *
+	 * @param config the transport configuration of the client
+	 * @param resolverGroup the resolver which will resolve the addresses of the remote hosts
+	 * @return a Mono representing the completion of the warmup
+	 * @since 1.1.0
+	 */
+	default Mono<Void> warmup(TransportConfig config, AddressResolverGroup<?> resolverGroup) {
+		return Mono.empty();
+	}
+
 	/**
 	 * Dispose all connection pools for the specified remote address.
 	 * <p>
@@ -352,11 +368,14 @@ public interface ConnectionProvider extends Disposable {
 	final class Builder extends ConnectionPoolSpec<Builder> {
 
 		static final Duration DISPOSE_INACTIVE_POOLS_IN_BACKGROUND_DISABLED = Duration.ZERO;
+		static final Duration LOAD_BALANCING_DISABLED = Duration.ZERO;
 
 		String name;
 		Duration inactivePoolDisposeInterval = DISPOSE_INACTIVE_POOLS_IN_BACKGROUND_DISABLED;
 		Duration poolInactivity;
 		Duration disposeTimeout;
+		Duration loadBalancingRefreshInterval = LOAD_BALANCING_DISABLED;
+		OutlierDetectionSpec outlierDetection;
 		final Map<SocketAddress, ConnectionPoolSpec<?>> confPerRemoteHost = new HashMap<>();
 
 		/**
@@ -375,6 +394,8 @@ public interface ConnectionProvider extends Disposable {
 			this.inactivePoolDisposeInterval = copy.inactivePoolDisposeInterval;
 			this.poolInactivity = copy.poolInactivity;
 			this.disposeTimeout = copy.disposeTimeout;
+			this.loadBalancingRefreshInterval = copy.loadBalancingRefreshInterval;
+			this.outlierDetection = copy.outlierDetection != null ? new OutlierDetectionSpec(copy.outlierDetection) : null;
 			copy.confPerRemoteHost.forEach((address, spec) -> this.confPerRemoteHost.put(address, new ConnectionPoolSpec<>(spec)));
 		}
 
@@ -445,13 +466,66 @@ public interface ConnectionProvider extends Disposable {
 			return this;
 		}
 
+		/**
+		 * Spread the connections to a remote host over all its resolved addresses.
+		 * A connection pool is created per resolved address and each acquisition chooses the address with
+		 * the power of two choices: of two addresses picked at random, the one with the lowest moving average
+		 * of the lease latency times the number of leased connections is used. The resolved addresses are refreshed
+		 * in the background with the given interval, the configured resolver caches the records per their TTL.
+		 * Default to {@link #LOAD_BALANCING_DISABLED} - the connections to a remote host use the first resolved address.
+		 * Providing an {@code endpointsRefreshInterval} of {@link Duration#ZERO zero} means the load balancing is disabled.
+		 * <p><strong>Note:</strong> The connection pool of each resolved address is configured with the full
+		 * {@code maxConnections}, so the connections to a remote host can reach {@code maxConnections} times
+		 * the number of its resolved addresses. The connection pools of the addresses that are no longer resolved
+		 * are disposed with {@link #disposeInactivePoolsInBackground(Duration, Duration)}. This configuration is not
+		 * applicable when a proxy is configured, nor for {@code HTTP/2} connection pools.
+		 *
+		 * @param endpointsRefreshInterval the interval between two resolutions of a remote host (resolution: ms)
+		 * @return {@literal this}
+		 * @since 1.1.0
+		 */
+		public final Builder loadBalancing(Duration endpointsRefreshInterval) {
+			Objects.requireNonNull(endpointsRefreshInterval, "endpointsRefreshInterval");
+			if (endpointsRefreshInterval.isNegative()) {
+				throw new IllegalArgumentException("endpointsRefreshInterval must not be negative");
+			}
+			this.loadBalancingRefreshInterval = endpointsRefreshInterval;
+			return get();
+		}
+
+		/**
+		 * Track the health of the resolved addresses of the remote hosts and temporarily eject the failing addresses
+		 * from the selection of {@link #loadBalancing(Duration)}. The failures are the failed connection attempts,
+		 * the errors on the leased connections (e.g. timeouts) and the exchanges reported as failed by the protocol,
+		 * see {@link ExchangeOutcome}. The ejection state of each address is exposed via
+		 * {@link ConnectionPoolMetrics#isEjected()} and {@link ConnectionPoolMetrics#ejectionCount()}.
+		 * <p>By default this is not enabled.
+		 * <p><strong>Note:</strong> This configuration is applicable only when {@link #loadBalancing(Duration)} is enabled.
+		 *
+		 * @param spec outlier detection configuration
+		 * @return {@literal this}
+		 * @throws NullPointerException if spec is null
+		 * @since 1.1.0
+		 */
+		public final Builder outlierDetection(Consumer<OutlierDetectionSpec> spec) {
+			Objects.requireNonNull(spec, "spec");
+			OutlierDetectionSpec builder = new OutlierDetectionSpec();
+			spec.accept(builder);
+			this.outlierDetection = builder;
+			return get();
+		}
+
 		/**
 		 * Builds new ConnectionProvider
 		 *
 		 * @return builds new ConnectionProvider
 		 */
 		public ConnectionProvider build() {
-			return new DefaultPooledConnectionProvider(this);
+			DefaultPooledConnectionProvider provider = new DefaultPooledConnectionProvider(this);
+			if (!loadBalancingRefreshInterval.isZero()) {
+				return new LoadBalancingConnectionProvider(provider, loadBalancingRefreshInterval, provider.outlierDetector);
+			}
+			return provider;
 		}
 	}
 
@@ -467,6 +541,7 @@ public interface ConnectionProvider extends Disposable {
 
 		Duration evictionInterval       = EVICT_IN_BACKGROUND_DISABLED;
 		int      maxConnections         = DEFAULT_POOL_MAX_CONNECTIONS;
+		int      minConnections;
 		int      pendingAcquireMaxCount = PENDING_ACQUIRE_MAX_COUNT_NOT_SPECIFIED;
 		Duration pendingAcquireTimeout  = Duration.ofMillis(DEFAULT_POOL_ACQUIRE_TIMEOUT);
 		Duration maxIdleTime;
@@ -476,6 +551,7 @@ public interface ConnectionProvider extends Disposable {
 		Supplier<? extends ConnectionProvider.MeterRegistrar> registrar;
 		BiFunction<Runnable, Duration, Disposable> pendingAcquireTimer;
 		AllocationStrategy<?> allocationStrategy;
+		boolean  eventLoopAffinity;
 
 		/**
 		 * Returns {@link ConnectionPoolSpec} new instance with default properties.
@@ -492,6 +568,7 @@ public interface ConnectionProvider extends Disposable {
 		ConnectionPoolSpec(ConnectionPoolSpec<SPEC> copy) {
 			this.evictionInterval = copy.evictionInterval;
 			this.maxConnections = copy.maxConnections;
+			this.minConnections = copy.minConnections;
 			this.pendingAcquireMaxCount = copy.pendingAcquireMaxCount;
 			this.pendingAcquireTimeout = copy.pendingAcquireTimeout;
 			this.maxIdleTime = copy.maxIdleTime;
@@ -501,6 +578,7 @@ public interface ConnectionProvider extends Disposable {
 			this.registrar = copy.registrar;
 			this.pendingAcquireTimer = copy.pendingAcquireTimer;
 			this.allocationStrategy = copy.allocationStrategy;
+			this.eventLoopAffinity = copy.eventLoopAffinity;
 		}
 
 		/**
@@ -537,6 +615,30 @@ public interface ConnectionProvider extends Disposable {
 			return get();
 		}
 
+		/**
+		 * Set the minimum number of connections kept warm in each connection pool. The connections to the remote hosts
+		 * configured with {@link Builder#forRemoteHost(SocketAddress, Consumer)} are established by the client's
+		 * {@code warmup()}, the connections to the other remote hosts when their connection pool is created.
+		 * The connections closed afterwards (e.g. evicted or closed by the remote peer) are re-established in the background.
+		 * The minimum is capped by {@link #maxConnections(int)}.
+		 * Default to {@code 0}, i.e. no warm connections.
+		 * <p><strong>Note:</strong> This configuration is not applicable with a custom
+		 * {@link #allocationStrategy(AllocationStrategy)} nor with {@link #eventLoopAffinity(boolean)}.
+		 * For {@code HTTP/2} connection pools, see {@code Http2AllocationStrategy}.
+		 *
+		 * @param minConnections the minimum number of connections (per connection pool) kept warm
+		 * @return {@literal this}
+		 * @throws IllegalArgumentException if minConnections is negative
+		 * @since 1.1.0
+		 */
+		public final SPEC minConnections(int minConnections) {
+			if (minConnections < 0) {
+				throw new IllegalArgumentException("Min Connections value must be positive or zero");
+			}
+			this.minConnections = minConnections;
+			return get();
+		}
+
 		/**
 		 * Set the options to use for configuring {@link ConnectionProvider} the maximum number of registered
 		 * requests for acquire to keep in a pending queue
@@ -728,6 +830,28 @@ public interface ConnectionProvider extends Disposable {
 			return get();
 		}
 
+		/**
+		 * Whether to partition each connection pool per event loop.
+		 * When enabled, a connection is acquired preferably from the idle connections registered on the
+		 * caller's event loop and new connections are created on the caller's event loop, so that
+		 * reads and writes do not cross threads. Idle connections from other event loops are used only
+		 * when there are no idle connections on the caller's event loop.
+		 * The maximum connections limit is shared by all partitions.
+		 * The number of acquisitions served locally and from other event loops is exposed via
+		 * {@link ConnectionPoolMetrics#affinityHitCount()} and {@link ConnectionPoolMetrics#affinityStealCount()}.
+		 * <p>By default this is not enabled.
+		 * <p><strong>Note:</strong> This configuration is applicable only when the event loop group is provided
+		 * by {@link LoopResources} with colocation enabled, and it is not applicable for {@code HTTP/2} connection pools.
+		 *
+		 * @param eventLoopAffinity true enables the per event loop partitioning; false disables it
+		 * @return {@literal this}
+		 * @since 1.1.0
+		 */
+		public final SPEC eventLoopAffinity(boolean eventLoopAffinity) {
+			this.eventLoopAffinity = eventLoopAffinity;
+			return get();
+		}
+
 		@Override
 		@SuppressWarnings("unchecked")
 		public SPEC get() {
@@ -743,6 +867,112 @@ public interface ConnectionProvider extends Disposable {
 	final class HostSpecificSpec extends ConnectionPoolSpec<HostSpecificSpec> {
 	}
 
+	/**
+	 * Configuration for the outlier detection of the resolved addresses.
+	 *
+	 * @since 1.1.0
+	 */
+	final class OutlierDetectionSpec {
+
+		static final int DEFAULT_CONSECUTIVE_FAILURES = 5;
+		static final Duration DEFAULT_BASE_EJECTION_TIME = Duration.ofSeconds(30);
+		static final Duration DEFAULT_MAX_EJECTION_TIME = Duration.ofMinutes(5);
+		static final double DEFAULT_MAX_EJECTION_PERCENT = 50;
+
+		int consecutiveFailures = DEFAULT_CONSECUTIVE_FAILURES;
+		Duration baseEjectionTime = DEFAULT_BASE_EJECTION_TIME;
+		Duration maxEjectionTime = DEFAULT_MAX_EJECTION_TIME;
+		double maxEjectionPercent = DEFAULT_MAX_EJECTION_PERCENT;
+
+		OutlierDetectionSpec() {
+		}
+
+		OutlierDetectionSpec(OutlierDetectionSpec copy) {
+			this.consecutiveFailures = copy.consecutiveFailures;
+			this.baseEjectionTime = copy.baseEjectionTime;
+			this.maxEjectionTime = copy.maxEjectionTime;
+			this.maxEjectionPercent = copy.maxEjectionPercent;
+		}
+
+		/**
+		 * Set the number of consecutive failures after which an address is ejected.
+		 * Default to {@link #DEFAULT_CONSECUTIVE_FAILURES}.
+		 *
+		 * @param consecutiveFailures the number of consecutive failures, must be strictly positive
+		 * @return {@literal this}
+		 */
+		public OutlierDetectionSpec consecutiveFailures(int consecutiveFailures) {
+			if (consecutiveFailures <= 0) {
+				throw new IllegalArgumentException("Consecutive failures must be strictly positive");
+			}
+			this.consecutiveFailures = consecutiveFailures;
+			return this;
+		}
+
+		/**
+		 * Set the time an address is ejected for the first time, the time doubles with each consecutive ejection.
+		 * Default to {@link #DEFAULT_BASE_EJECTION_TIME}.
+		 *
+		 * @param baseEjectionTime the time of the first ejection (resolution: ms)
+		 * @return {@literal this}
+		 */
+		public OutlierDetectionSpec baseEjectionTime(Duration baseEjectionTime) {
+			Objects.requireNonNull(baseEjectionTime, "baseEjectionTime");
+			if (baseEjectionTime.isNegative() || baseEjectionTime.isZero()) {
+				throw new IllegalArgumentException("Base ejection time must be strictly positive");
+			}
+			this.baseEjectionTime = baseEjectionTime;
+			return this;
+		}
+
+		/**
+		 * Set the maximum time an address is ejected. Default to {@link #DEFAULT_MAX_EJECTION_TIME}.
+		 *
+		 * @param maxEjectionTime the maximum ejection time (resolution: ms)
+		 * @return {@literal this}
+		 */
+		public OutlierDetectionSpec maxEjectionTime(Duration maxEjectionTime) {
+			Objects.requireNonNull(maxEjectionTime, "maxEjectionTime");
+			if (maxEjectionTime.isNegative() || maxEjectionTime.isZero()) {
+				throw new IllegalArgumentException("Max ejection time must be strictly positive");
+			}
+			this.maxEjectionTime = maxEjectionTime;
+			return this;
+		}
+
+		/**
+		 * Set the maximum percentage of the resolved addresses of a remote host that can be ejected at the same time.
+		 * Default to {@link #DEFAULT_MAX_EJECTION_PERCENT}.
+		 *
+		 * @param maxEjectionPercent the maximum percentage of ejected addresses, between {@code 0} and {@code 100}
+		 * @return {@literal this}
+		 */
+		public OutlierDetectionSpec maxEjectionPercent(double maxEjectionPercent) {
+			if (maxEjectionPercent < 0 || maxEjectionPercent > 100) {
+				throw new IllegalArgumentException("Max ejection percent must be between 0 and 100");
+			}
+			this.maxEjectionPercent = maxEjectionPercent;
+			return this;
+		}
+	}
+
+	/**
+	 * Implemented by the connections of the protocols that can tell whether the last exchange failed because of
+	 * the remote peer, e.g. an {@code HTTP} response with a {@code 5xx} status. The outcome is checked when the connection
+	 * is released, to feed the outlier detection configured with {@link Builder#outlierDetection(Consumer)}.
+	 *
+	 * @since 1.1.0
+	 */
+	interface ExchangeOutcome {
+
+		/**
+		 * Return true if the last exchange on this connection failed because of the remote peer.
+		 *
+		 * @return true if the last exchange on this connection failed because of the remote peer
+		 */
+		boolean isRemoteFailure();
+	}
+
 
 	/**
 	 * A strategy to register which metrics are collected in a particular connection pool.
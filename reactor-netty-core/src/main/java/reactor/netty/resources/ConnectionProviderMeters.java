@@ -47,6 +47,86 @@ enum ConnectionProviderMeters implements DocumentedMeter {
 		}
 	},
 
+	/**
+	 * The number of acquisitions served by the connection pool partition of the caller's event loop.
+	 */
+	AFFINITY_HITS {
+		@Override
+		public String getName() {
+			return "reactor.netty.connection.provider.affinity.hits";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ConnectionProviderMetersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
+	/**
+	 * The number of acquisitions served by the connection pool partition of another event loop.
+	 */
+	AFFINITY_STEALS {
+		@Override
+		public String getName() {
+			return "reactor.netty.connection.provider.affinity.steals";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ConnectionProviderMetersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
+	/**
+	 * Whether the remote address of the connection pool is currently ejected by the outlier detection (1) or not (0).
+	 */
+	EJECTED {
+		@Override
+		public String getName() {
+			return "reactor.netty.connection.provider.ejected";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ConnectionProviderMetersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.GAUGE;
+		}
+	},
+
+	/**
+	 * The number of times the remote address of the connection pool was ejected by the outlier detection.
+	 */
+	EJECTIONS {
+		@Override
+		public String getName() {
+			return "reactor.netty.connection.provider.ejections";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ConnectionProviderMetersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
 	/**
 	 * The number of the idle connections in the connection pool.
 	 */
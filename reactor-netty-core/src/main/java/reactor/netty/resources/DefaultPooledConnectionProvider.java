@@ -27,6 +27,7 @@ import java.util.function.Function;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.resolver.AddressResolverGroup;
 import io.netty.util.AttributeKey;
 import org.reactivestreams.Publisher;
@@ -91,6 +92,13 @@ final class DefaultPooledConnectionProvider extends PooledConnectionProvider<Def
 			PoolFactory<PooledConnection> poolFactory,
 			SocketAddress remoteAddress,
 			AddressResolverGroup<?> resolverGroup) {
+		if (poolFactory.eventLoopAffinity) {
+			EventLoopGroup group = config.loopResources().onClient(config.isPreferNative());
+			if (group instanceof ColocatedEventLoopGroup) {
+				return new EventLoopAffinePool<>((ColocatedEventLoopGroup) group, poolFactory,
+						factory -> new PooledConnectionAllocator(config, factory, remoteAddress, resolverGroup).pool);
+			}
+		}
 		return new PooledConnectionAllocator(config, poolFactory, remoteAddress, resolverGroup).pool;
 	}
 
@@ -552,6 +560,15 @@ final class DefaultPooledConnectionProvider extends PooledConnectionProvider<Def
 
 			@Override
 			public void onNext(Channel channel) {
+				PooledConnection pooledConnection = this.pooledConnection;
+				if (pooledConnection.channel != channel) {
+					// Happy Eyeballs initializes one channel per connection attempt,
+					// take the connection that belongs to the channel that won the race
+					PooledConnection connection = Connection.from(channel).as(PooledConnection.class);
+					if (connection != null) {
+						pooledConnection = connection;
+					}
+				}
 				sink.success(pooledConnection);
 			}
 
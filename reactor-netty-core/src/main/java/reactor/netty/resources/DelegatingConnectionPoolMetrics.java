@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,20 @@
 package reactor.netty.resources;
 
 import reactor.pool.InstrumentedPool;
+import reactor.util.annotation.Nullable;
 
 final class DelegatingConnectionPoolMetrics implements ConnectionPoolMetrics {
 
 	private final InstrumentedPool.PoolMetrics delegate;
+	private final OutlierDetector.EndpointHealth health;
 
 	DelegatingConnectionPoolMetrics(InstrumentedPool.PoolMetrics delegate) {
+		this(delegate, null);
+	}
+
+	DelegatingConnectionPoolMetrics(InstrumentedPool.PoolMetrics delegate, @Nullable OutlierDetector.EndpointHealth health) {
 		this.delegate = delegate;
+		this.health = health;
 	}
 
 	@Override
@@ -54,4 +61,24 @@ final class DelegatingConnectionPoolMetrics implements ConnectionPoolMetrics {
 	public int maxPendingAcquireSize() {
 		return delegate.getMaxPendingAcquireSize();
 	}
+
+	@Override
+	public long affinityHitCount() {
+		return delegate instanceof EventLoopAffinePool ? ((EventLoopAffinePool<?>) delegate).affinityHitCount() : 0;
+	}
+
+	@Override
+	public long affinityStealCount() {
+		return delegate instanceof EventLoopAffinePool ? ((EventLoopAffinePool<?>) delegate).affinityStealCount() : 0;
+	}
+
+	@Override
+	public boolean isEjected() {
+		return health != null && health.isEjected();
+	}
+
+	@Override
+	public long ejectionCount() {
+		return health != null ? health.ejectionCount() : 0;
+	}
 }
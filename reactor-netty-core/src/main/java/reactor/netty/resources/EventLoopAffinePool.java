@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.resources;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.netty.channel.EventLoop;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.Connection;
+import reactor.netty.internal.util.MapUtils;
+import reactor.pool.InstrumentedPool;
+import reactor.pool.PoolAcquirePendingLimitException;
+import reactor.pool.PoolAcquireTimeoutException;
+import reactor.pool.PoolConfig;
+import reactor.pool.PoolShutdownException;
+import reactor.pool.PooledRef;
+import reactor.pool.PooledRefMetadata;
+import reactor.pool.decorators.GracefulShutdownInstrumentedPool;
+import reactor.util.annotation.Nullable;
+
+import static reactor.netty.resources.PooledConnectionProvider.CONTEXT_CALLER_EVENTLOOP;
+
+/**
+ * A connection pool partitioned per {@link EventLoop}.
+ * <p>
+ * Every partition is a regular connection pool which allocates its connections on the partition's event loop.
+ * All partitions share one allocation strategy, so the connections limit applies to the pool as a whole.
+ * On acquire, the partition is selected as follows:
+ * <ul>
+ *     <li>the caller's event loop partition, if it has idle connections (hit)</li>
+ *     <li>another partition that has idle connections (steal)</li>
+ *     <li>the caller's event loop partition, if a new connection can be allocated (hit)</li>
+ * </ul>
+ * Otherwise, the borrower waits in a pending queue shared by all partitions. Whenever a connection is released
+ * in any partition, the borrower waiting for the longest time is woken up and selects a partition again.
+ * The partitions themselves never keep a borrower pending, and the acquire timeout applies to the whole wait.
+ *
+ * @param <T> the poolable resource
+ * @since 1.1.0
+ */
+final class EventLoopAffinePool<T extends Connection> implements InstrumentedPool<T>, InstrumentedPool.PoolMetrics {
+
+	final ColocatedEventLoopGroup group;
+	final PooledConnectionProvider.PoolFactory<T> poolFactory;
+	final Function<PooledConnectionProvider.PoolFactory<T>, InstrumentedPool<T>> poolCreator;
+	final reactor.pool.AllocationStrategy allocationStrategy;
+	final int maxPendingAcquireSize;
+	final ConcurrentMap<EventLoop, InstrumentedPool<T>> partitions = new ConcurrentHashMap<>();
+	final ConcurrentLinkedDeque<Borrower> pending = new ConcurrentLinkedDeque<>();
+	final LongAdder hits = new LongAdder();
+	final LongAdder steals = new LongAdder();
+	final Clock clock;
+	final long creationTimestamp;
+
+	volatile boolean disposed;
+
+	volatile int pendingSize;
+	@SuppressWarnings("rawtypes")
+	static final AtomicIntegerFieldUpdater<EventLoopAffinePool> PENDING_SIZE =
+			AtomicIntegerFieldUpdater.newUpdater(EventLoopAffinePool.class, "pendingSize");
+
+	@Nullable
+	volatile PoolConfig<T> config;
+
+	EventLoopAffinePool(
+			ColocatedEventLoopGroup group,
+			PooledConnectionProvider.PoolFactory<T> poolFactory,
+			Function<PooledConnectionProvider.PoolFactory<T>, InstrumentedPool<T>> poolCreator) {
+		this.group = group;
+		this.poolFactory = poolFactory.withSharedAllocationStrategy();
+		this.poolCreator = poolCreator;
+		this.allocationStrategy = this.poolFactory.sharedAllocationStrategy;
+		this.maxPendingAcquireSize = poolFactory.pendingAcquireMaxCount < 0 ? Integer.MAX_VALUE : poolFactory.pendingAcquireMaxCount;
+		this.clock = poolFactory.clock != null ? poolFactory.clock : Clock.systemUTC();
+		this.creationTimestamp = clock.millis();
+	}
+
+	@Override
+	public Mono<PooledRef<T>> acquire() {
+		return acquire(Duration.ZERO);
+	}
+
+	@Override
+	public Mono<PooledRef<T>> acquire(Duration timeout) {
+		return Mono.deferContextual(ctx -> {
+			if (disposed) {
+				return Mono.error(new PoolShutdownException());
+			}
+			EventLoop caller = ctx.getOrDefault(CONTEXT_CALLER_EVENTLOOP, null);
+			// A zero timeout means no timeout
+			long deadline = timeout.isZero() ? 0 : System.nanoTime() + timeout.toNanos();
+			return acquire(caller != null ? caller : group.next(), timeout, deadline, false);
+		});
+	}
+
+	/**
+	 * Acquires from a partition which has an idle connection or can allocate one. The partitions never keep
+	 * a borrower pending, when a partition cannot serve it at once, e.g. because another borrower took
+	 * the idle connection in between, the borrower waits in the pending queue shared by all partitions.
+	 */
+	Mono<PooledRef<T>> acquire(EventLoop caller, Duration timeout, long deadline, boolean woken) {
+		return Mono.defer(() -> {
+			if (disposed) {
+				return Mono.error(new PoolShutdownException());
+			}
+			Duration remaining = Duration.ZERO;
+			if (deadline != 0) {
+				long remainingNanos = deadline - System.nanoTime();
+				if (remainingNanos <= 0) {
+					return Mono.error(new PoolAcquireTimeoutException(timeout.toMillis()));
+				}
+				remaining = Duration.ofNanos(remainingNanos);
+			}
+			Mono<PooledRef<T>> retry = awaitAndAcquire(caller, timeout, deadline, remaining, woken);
+			// The borrowers which are already waiting are served first
+			Map.Entry<EventLoop, InstrumentedPool<T>> partition = woken || pending.isEmpty() ? select(caller) : null;
+			if (partition == null) {
+				return retry;
+			}
+			EventLoop eventLoop = partition.getKey();
+			return partition.getValue()
+			                .acquire(remaining)
+			                .<PooledRef<T>>map(ref -> new AffinePooledRef<>(ref, this))
+			                .onErrorResume(PoolAcquirePendingLimitException.class, e -> retry)
+			                .contextWrite(c -> c.put(CONTEXT_CALLER_EVENTLOOP, eventLoop));
+		});
+	}
+
+	Mono<PooledRef<T>> awaitAndAcquire(EventLoop caller, Duration timeout, long deadline, Duration remaining,
+			boolean woken) {
+		return Mono.<Void>create(sink -> await(sink, timeout, remaining, woken))
+		           .then(acquire(caller, timeout, deadline, true));
+	}
+
+	@Override
+	public PoolConfig<T> config() {
+		PoolConfig<T> config = this.config;
+		if (config == null) {
+			Iterator<InstrumentedPool<T>> it = partitions.values().iterator();
+			if (it.hasNext()) {
+				return it.next().config();
+			}
+			// No partition yet, all partitions are created with the same configuration
+			// which is taken from a pool that is not used as a partition
+			InstrumentedPool<T> pool = poolCreator.apply(poolFactory);
+			config = pool.config();
+			pool.dispose();
+			this.config = config;
+		}
+		return config;
+	}
+
+	@Override
+	public Mono<Void> disposeLater() {
+		return Mono.defer(() -> {
+			disposed = true;
+			Borrower borrower;
+			while ((borrower = pending.poll()) != null) {
+				PENDING_SIZE.decrementAndGet(this);
+				borrower.fail(new PoolShutdownException());
+			}
+			Duration disposeTimeout = poolFactory.disposeTimeout;
+			List<Mono<Void>> pools = new ArrayList<>(partitions.size());
+			for (InstrumentedPool<T> pool : partitions.values()) {
+				if (disposeTimeout != null && pool instanceof GracefulShutdownInstrumentedPool) {
+					pools.add(((GracefulShutdownInstrumentedPool<T>) pool).disposeGracefully(disposeTimeout));
+				}
+				else {
+					pools.add(pool.disposeLater());
+				}
+			}
+			return Mono.when(pools);
+		});
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed;
+	}
+
+	@Override
+	public PoolMetrics metrics() {
+		return this;
+	}
+
+	@Override
+	public Mono<Integer> warmup() {
+		return Flux.fromIterable(partitions.values())
+		           .flatMap(InstrumentedPool::warmup)
+		           .reduce(0, Integer::sum);
+	}
+
+	@Override
+	public int acquiredSize() {
+		int size = 0;
+		for (InstrumentedPool<T> pool : partitions.values()) {
+			size += pool.metrics().acquiredSize();
+		}
+		return size;
+	}
+
+	@Override
+	public int allocatedSize() {
+		return allocationStrategy.permitGranted();
+	}
+
+	@Override
+	public int idleSize() {
+		int size = 0;
+		for (InstrumentedPool<T> pool : partitions.values()) {
+			size += pool.metrics().idleSize();
+		}
+		return size;
+	}
+
+	@Override
+	public int pendingAcquireSize() {
+		int size = pendingSize;
+		for (InstrumentedPool<T> pool : partitions.values()) {
+			size += pool.metrics().pendingAcquireSize();
+		}
+		return size;
+	}
+
+	@Override
+	public long secondsSinceLastInteraction() {
+		long seconds = (clock.millis() - creationTimestamp) / 1000;
+		for (InstrumentedPool<T> pool : partitions.values()) {
+			seconds = Math.min(seconds, pool.metrics().secondsSinceLastInteraction());
+		}
+		return seconds;
+	}
+
+	@Override
+	public boolean isInactiveForMoreThan(Duration duration) {
+		if (partitions.isEmpty()) {
+			return clock.millis() - creationTimestamp > duration.toMillis();
+		}
+		for (InstrumentedPool<T> pool : partitions.values()) {
+			if (!pool.metrics().isInactiveForMoreThan(duration)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int getMaxAllocatedSize() {
+		return allocationStrategy.permitMaximum();
+	}
+
+	@Override
+	public int getMaxPendingAcquireSize() {
+		return maxPendingAcquireSize;
+	}
+
+	long affinityHitCount() {
+		return hits.sum();
+	}
+
+	long affinityStealCount() {
+		return steals.sum();
+	}
+
+	InstrumentedPool<T> partition(EventLoop eventLoop) {
+		return MapUtils.computeIfAbsent(partitions, eventLoop, loop -> poolCreator.apply(poolFactory));
+	}
+
+	/**
+	 * Returns the partition to acquire from, {@code null} when no partition has idle connections
+	 * and no connection can be allocated.
+	 */
+	@Nullable
+	Map.Entry<EventLoop, InstrumentedPool<T>> select(EventLoop caller) {
+		InstrumentedPool<T> local = partition(caller);
+		if (local.metrics().idleSize() > 0) {
+			hits.increment();
+			return new PartitionEntry<>(caller, local);
+		}
+
+		for (Map.Entry<EventLoop, InstrumentedPool<T>> partition : partitions.entrySet()) {
+			if (partition.getValue() != local && partition.getValue().metrics().idleSize() > 0) {
+				steals.increment();
+				return partition;
+			}
+		}
+
+		if (allocationStrategy.estimatePermitCount() > 0) {
+			hits.increment();
+			return new PartitionEntry<>(caller, local);
+		}
+		return null;
+	}
+
+	/**
+	 * Queues a borrower until a connection is released, a borrower which was woken up but could not acquire
+	 * is queued again in front of the others.
+	 */
+	void await(MonoSink<Void> sink, Duration timeout, Duration remaining, boolean woken) {
+		int maxPending = getMaxPendingAcquireSize();
+		if (PENDING_SIZE.incrementAndGet(this) > maxPending) {
+			PENDING_SIZE.decrementAndGet(this);
+			sink.error(new PoolAcquirePendingLimitException(maxPending));
+			return;
+		}
+		Borrower borrower = new Borrower(sink);
+		if (woken) {
+			pending.offerFirst(borrower);
+		}
+		else {
+			pending.offerLast(borrower);
+		}
+		sink.onCancel(() -> {
+			if (pending.remove(borrower)) {
+				PENDING_SIZE.decrementAndGet(this);
+			}
+			borrower.dispose();
+		});
+		if (!remaining.isZero()) {
+			Runnable onTimeout = () -> {
+				if (pending.remove(borrower)) {
+					PENDING_SIZE.decrementAndGet(this);
+					borrower.fail(new PoolAcquireTimeoutException(timeout.toMillis()));
+				}
+			};
+			borrower.timer = poolFactory.pendingAcquireTimer != null ?
+					poolFactory.pendingAcquireTimer.apply(onTimeout, remaining) :
+					Schedulers.parallel().schedule(onTimeout, remaining.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		// A connection might have been released while the borrower was queued
+		drain();
+	}
+
+	/**
+	 * Wakes up the borrowers waiting for the longest time, as long as a connection is idle in any partition
+	 * or can be allocated.
+	 */
+	void drain() {
+		while (!pending.isEmpty() && (allocationStrategy.estimatePermitCount() > 0 || idleSize() > 0)) {
+			Borrower borrower = pending.poll();
+			if (borrower == null) {
+				return;
+			}
+			PENDING_SIZE.decrementAndGet(this);
+			borrower.wake();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "EventLoopAffinePool{" +
+				"partitions=" + partitions.size() +
+				", poolFactory=" + poolFactory +
+				'}';
+	}
+
+	static final class Borrower implements Disposable {
+
+		final MonoSink<Void> sink;
+
+		@Nullable
+		volatile Disposable timer;
+
+		Borrower(MonoSink<Void> sink) {
+			this.sink = sink;
+		}
+
+		@Override
+		public void dispose() {
+			Disposable timer = this.timer;
+			if (timer != null) {
+				timer.dispose();
+			}
+		}
+
+		void fail(Throwable error) {
+			dispose();
+			sink.error(error);
+		}
+
+		void wake() {
+			dispose();
+			sink.success();
+		}
+	}
+
+	/**
+	 * Wakes up a waiting borrower once the connection is returned to its partition.
+	 */
+	static final class AffinePooledRef<T extends Connection> implements PooledRef<T> {
+
+		final PooledRef<T> delegate;
+		final EventLoopAffinePool<T> pool;
+
+		AffinePooledRef(PooledRef<T> delegate, EventLoopAffinePool<T> pool) {
+			this.delegate = delegate;
+			this.pool = pool;
+		}
+
+		@Override
+		public T poolable() {
+			return delegate.poolable();
+		}
+
+		@Override
+		public PooledRefMetadata metadata() {
+			return delegate.metadata();
+		}
+
+		@Override
+		public Mono<Void> invalidate() {
+			return delegate.invalidate()
+			               .doFinally(s -> pool.drain());
+		}
+
+		@Override
+		public Mono<Void> release() {
+			return delegate.release()
+			               .doFinally(s -> pool.drain());
+		}
+	}
+
+	static final class PartitionEntry<T extends Connection> implements Map.Entry<EventLoop, InstrumentedPool<T>> {
+
+		final EventLoop eventLoop;
+		final InstrumentedPool<T> pool;
+
+		PartitionEntry(EventLoop eventLoop, InstrumentedPool<T> pool) {
+			this.eventLoop = eventLoop;
+			this.pool = pool;
+		}
+
+		@Override
+		public EventLoop getKey() {
+			return eventLoop;
+		}
+
+		@Override
+		public InstrumentedPool<T> getValue() {
+			return pool;
+		}
+
+		@Override
+		public InstrumentedPool<T> setValue(InstrumentedPool<T> value) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
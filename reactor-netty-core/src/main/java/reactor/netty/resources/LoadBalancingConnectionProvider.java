@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.resources;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.FutureListener;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.internal.util.MapUtils;
+import reactor.netty.transport.ClientTransportConfig;
+import reactor.netty.transport.TransportConfig;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ConnectionProvider} that spreads the connections to a remote host over all its resolved addresses.
+ * The pooled connection provider keeps a connection pool per resolved address, the address of each acquisition
+ * is chosen with the power of two choices: two addresses are picked at random and the one with the lowest cost,
+ * the moving average of the lease latency times the number of leased connections, is used.
+ * The resolved addresses are refreshed in the background, the latency statistics of the addresses
+ * which are still resolved are kept.
+ *
+ * @since 1.1.0
+ */
+final class LoadBalancingConnectionProvider implements ConnectionProvider {
+
+	static final Logger log = Loggers.getLogger(LoadBalancingConnectionProvider.class);
+
+	/**
+	 * The time constant of the latency moving average, an observation weighs half after ~7 seconds.
+	 */
+	static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	/**
+	 * The latency recorded for a failed acquisition.
+	 */
+	static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	final ConnectionProvider delegate;
+	final long refreshIntervalNanos;
+	@Nullable
+	final OutlierDetector outlierDetector;
+	final ConcurrentMap<SocketAddress, Endpoints> endpointsPerHost = new ConcurrentHashMap<>();
+
+	LoadBalancingConnectionProvider(ConnectionProvider delegate, Duration refreshInterval,
+			@Nullable OutlierDetector outlierDetector) {
+		this.delegate = delegate;
+		this.refreshIntervalNanos = refreshInterval.toNanos();
+		this.outlierDetector = outlierDetector;
+	}
+
+	@Override
+	public Mono<? extends Connection> acquire(
+			TransportConfig config,
+			ConnectionObserver connectionObserver,
+			@Nullable Supplier<? extends SocketAddress> remote,
+			@Nullable AddressResolverGroup<?> resolverGroup) {
+		Objects.requireNonNull(config, "config");
+		Objects.requireNonNull(connectionObserver, "connectionObserver");
+		Objects.requireNonNull(remote, "remoteAddress");
+		Objects.requireNonNull(resolverGroup, "resolverGroup");
+		return Mono.defer(() -> {
+			SocketAddress remoteAddress = Objects.requireNonNull(remote.get(), "Remote Address supplier returned null");
+			if (!(remoteAddress instanceof InetSocketAddress) || !((InetSocketAddress) remoteAddress).isUnresolved() ||
+					(config instanceof ClientTransportConfig && ((ClientTransportConfig<?>) config).proxyProvider() != null)) {
+				// Nothing to balance, or the address is resolved by the proxy
+				return delegate.acquire(config, connectionObserver, () -> remoteAddress, resolverGroup);
+			}
+			Endpoints endpoints = MapUtils.computeIfAbsent(endpointsPerHost, remoteAddress,
+					address -> new Endpoints((InetSocketAddress) address, refreshIntervalNanos, outlierDetector));
+			return endpoints.select(config, resolverGroup)
+			                .flatMap(endpoint -> endpoints.acquire(endpoint, delegate, config, connectionObserver, resolverGroup));
+		});
+	}
+
+	@Override
+	public Mono<Void> warmup(TransportConfig config, AddressResolverGroup<?> resolverGroup) {
+		return delegate.warmup(config, resolverGroup);
+	}
+
+	@Override
+	public Mono<Void> disposeLater() {
+		return Mono.defer(() -> {
+			endpointsPerHost.clear();
+			return delegate.disposeLater();
+		});
+	}
+
+	@Override
+	public void disposeWhen(SocketAddress address) {
+		endpointsPerHost.remove(address);
+		// The pools of the resolved addresses keep the host name, they are matched too
+		delegate.disposeWhen(address);
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return delegate.isDisposed();
+	}
+
+	@Override
+	public int maxConnections() {
+		return delegate.maxConnections();
+	}
+
+	@Override
+	public Map<SocketAddress, Integer> maxConnectionsPerHost() {
+		return delegate.maxConnectionsPerHost();
+	}
+
+	@Override
+	@Nullable
+	public Builder mutate() {
+		return delegate.mutate();
+	}
+
+	@Override
+	@Nullable
+	public String name() {
+		return delegate.name();
+	}
+
+	/**
+	 * The resolved addresses of a remote host.
+	 */
+	static final class Endpoints {
+
+		final InetSocketAddress unresolved;
+		final long refreshIntervalNanos;
+		@Nullable
+		final OutlierDetector outlierDetector;
+		final AtomicBoolean refreshing = new AtomicBoolean();
+
+		volatile List<Endpoint> endpoints = Collections.emptyList();
+		volatile long resolvedAt;
+
+		Endpoints(InetSocketAddress unresolved, long refreshIntervalNanos, @Nullable OutlierDetector outlierDetector) {
+			this.unresolved = unresolved;
+			this.refreshIntervalNanos = refreshIntervalNanos;
+			this.outlierDetector = outlierDetector;
+		}
+
+		Mono<? extends Connection> acquire(Endpoint endpoint, ConnectionProvider delegate, TransportConfig config,
+				ConnectionObserver connectionObserver, AddressResolverGroup<?> resolverGroup) {
+			return Mono.defer(() -> {
+				Lease lease = new Lease(this, endpoint, connectionObserver);
+				return delegate.acquire(config, lease, () -> endpoint.address, resolverGroup)
+				               .doOnError(lease::fail)
+				               .doOnCancel(lease::cancel);
+			});
+		}
+
+		void onLeaseEnd(Endpoint endpoint, boolean failed) {
+			OutlierDetector detector = outlierDetector;
+			OutlierDetector.EndpointHealth health = endpoint.health();
+			if (detector == null || health == null) {
+				return;
+			}
+			if (failed) {
+				List<Endpoint> current = endpoints;
+				List<OutlierDetector.EndpointHealth> peers = new ArrayList<>(current.size());
+				for (Endpoint e : current) {
+					OutlierDetector.EndpointHealth peer = e.health();
+					if (peer != null) {
+						peers.add(peer);
+					}
+				}
+				detector.onFailure(health, peers);
+			}
+			else {
+				detector.onSuccess(health);
+			}
+		}
+
+		Mono<Endpoint> select(TransportConfig config, AddressResolverGroup<?> resolverGroup) {
+			List<Endpoint> current = endpoints;
+			if (current.isEmpty()) {
+				return resolve(config, resolverGroup).map(Endpoints::choose);
+			}
+			if (System.nanoTime() - resolvedAt >= refreshIntervalNanos && refreshing.compareAndSet(false, true)) {
+				// The current addresses are used while the refresh is in progress
+				resolve(config, resolverGroup)
+				        .doFinally(s -> refreshing.set(false))
+				        .subscribe(null, t -> {
+				            if (log.isDebugEnabled()) {
+				                log.debug("Failed to refresh the resolved addresses of [{}], keeping {}", unresolved, endpoints, t);
+				            }
+				        });
+			}
+			return Mono.just(choose(current));
+		}
+
+		@SuppressWarnings({"unchecked", "FutureReturnValueIgnored"})
+		Mono<List<Endpoint>> resolve(TransportConfig config, AddressResolverGroup<?> resolverGroup) {
+			return Mono.create(sink -> {
+				AddressResolver<SocketAddress> resolver = (AddressResolver<SocketAddress>)
+						resolverGroup.getResolver(config.loopResources().onClient(config.isPreferNative()).next());
+				// "FutureReturnValueIgnored" this is deliberate
+				resolver.resolveAll(unresolved).addListener((FutureListener<List<SocketAddress>>) future -> {
+					if (future.isSuccess()) {
+						List<Endpoint> resolved = update(future.getNow());
+						if (resolved.isEmpty()) {
+							sink.error(new UnknownHostException(unresolved.getHostString()));
+						}
+						else {
+							sink.success(resolved);
+						}
+					}
+					else {
+						sink.error(future.cause());
+					}
+				});
+			});
+		}
+
+		/**
+		 * Replace the resolved addresses, keeping the statistics of the addresses still resolved.
+		 *
+		 * @param addresses the resolved addresses
+		 * @return the endpoints of the resolved addresses
+		 */
+		synchronized List<Endpoint> update(List<SocketAddress> addresses) {
+			List<Endpoint> previous = endpoints;
+			List<Endpoint> next = new ArrayList<>(addresses.size());
+			for (SocketAddress address : addresses) {
+				InetSocketAddress resolved = withHostName((InetSocketAddress) address);
+				if (resolved == null || contains(next, resolved)) {
+					continue;
+				}
+				Endpoint endpoint = null;
+				for (Endpoint e : previous) {
+					if (e.address.equals(resolved)) {
+						endpoint = e;
+						break;
+					}
+				}
+				next.add(endpoint != null ? endpoint : new Endpoint(resolved, outlierDetector));
+			}
+			if (next.isEmpty()) {
+				return previous;
+			}
+			if (log.isDebugEnabled() && (next.size() != previous.size() || !next.containsAll(previous))) {
+				log.debug("Resolved addresses of [{}] changed from {} to {}", unresolved, previous, next);
+			}
+			endpoints = Collections.unmodifiableList(next);
+			resolvedAt = System.nanoTime();
+			return next;
+		}
+
+		/**
+		 * Keep the host name with the resolved address, it is used for SNI.
+		 */
+		@Nullable
+		InetSocketAddress withHostName(InetSocketAddress address) {
+			InetAddress inetAddress = address.getAddress();
+			if (inetAddress == null) {
+				return null;
+			}
+			try {
+				return new InetSocketAddress(InetAddress.getByAddress(unresolved.getHostString(), inetAddress.getAddress()),
+						address.getPort());
+			}
+			catch (UnknownHostException e) {
+				return address;
+			}
+		}
+
+		static boolean contains(List<Endpoint> endpoints, InetSocketAddress address) {
+			for (Endpoint endpoint : endpoints) {
+				if (endpoint.address.equals(address)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		static Endpoint choose(List<Endpoint> endpoints) {
+			long now = System.nanoTime();
+			for (Endpoint endpoint : endpoints) {
+				if (endpoint.isEjected(now)) {
+					List<Endpoint> available = new ArrayList<>(endpoints.size());
+					for (Endpoint e : endpoints) {
+						if (!e.isEjected(now)) {
+							available.add(e);
+						}
+					}
+					// All addresses can be ejected only with a maximum ejection percentage of 100
+					if (!available.isEmpty()) {
+						endpoints = available;
+					}
+					break;
+				}
+			}
+			int size = endpoints.size();
+			if (size == 1) {
+				return endpoints.get(0);
+			}
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int first = random.nextInt(size);
+			int second = random.nextInt(size - 1);
+			if (second >= first) {
+				second++;
+			}
+			Endpoint a = endpoints.get(first);
+			Endpoint b = endpoints.get(second);
+			return a.cost() <= b.cost() ? a : b;
+		}
+
+		@Override
+		public String toString() {
+			return "Endpoints{unresolved=" + unresolved + ", endpoints=" + endpoints + '}';
+		}
+	}
+
+	/**
+	 * A resolved address with the peak sensitive moving average of its lease latency: a latency above the average
+	 * replaces it, so that a degraded address is avoided at once, a lower latency is blended in with a weight
+	 * growing with the time elapsed since the previous observation. As in Finagle, the average decays towards zero
+	 * with the time elapsed since the previous observation when it is read, so that an address which is avoided
+	 * after a slow or failed lease is eventually selected again and observed anew.
+	 */
+	static final class Endpoint {
+
+		final InetSocketAddress address;
+		@Nullable
+		final OutlierDetector outlierDetector;
+		final AtomicInteger inflight = new AtomicInteger();
+
+		volatile double latencyNanos;
+		volatile long stamp = System.nanoTime();
+
+		Endpoint(InetSocketAddress address) {
+			this(address, null);
+		}
+
+		Endpoint(InetSocketAddress address, @Nullable OutlierDetector outlierDetector) {
+			this.address = address;
+			this.outlierDetector = outlierDetector;
+		}
+
+		/**
+		 * Return the health of the address, it is looked up as it is discarded when the pool of the address is disposed.
+		 *
+		 * @return the health of the address, or null without outlier detection
+		 */
+		@Nullable
+		OutlierDetector.EndpointHealth health() {
+			return outlierDetector != null ? outlierDetector.health(address) : null;
+		}
+
+		boolean isEjected(long now) {
+			OutlierDetector.EndpointHealth health = health();
+			return health != null && health.isEjected(now);
+		}
+
+		double cost() {
+			int leased = inflight.get();
+			// An address without observations costs nothing, it is probed first
+			return (decayed(System.nanoTime()) + 1) * (leased + 1);
+		}
+
+		synchronized void observe(long nanos) {
+			long now = System.nanoTime();
+			double latency = decayed(now);
+			if (nanos > latency) {
+				latencyNanos = nanos;
+			}
+			else {
+				double weight = Math.exp(-Math.max(0, now - stamp) / (double) DECAY_NANOS);
+				latencyNanos = latency * weight + nanos * (1 - weight);
+			}
+			stamp = now;
+		}
+
+		double decayed(long now) {
+			return latencyNanos * Math.exp(-Math.max(0, now - stamp) / (double) DECAY_NANOS);
+		}
+
+		@Override
+		public String toString() {
+			return address.toString();
+		}
+	}
+
+	/**
+	 * Tracks a leased connection until it is released, the lease latency is observed by the endpoint
+	 * and its outcome by the outlier detection.
+	 */
+	static final class Lease implements ConnectionObserver {
+
+		final Endpoints owner;
+		final Endpoint endpoint;
+		final ConnectionObserver actual;
+		final AtomicBoolean ended = new AtomicBoolean();
+		final long start = System.nanoTime();
+
+		volatile boolean failed;
+
+		Lease(Endpoints owner, Endpoint endpoint, ConnectionObserver actual) {
+			this.owner = owner;
+			this.endpoint = endpoint;
+			this.actual = actual;
+			endpoint.inflight.incrementAndGet();
+		}
+
+		@Override
+		public Context currentContext() {
+			return actual.currentContext();
+		}
+
+		@Override
+		public void onUncaughtException(Connection connection, Throwable error) {
+			// e.g. a read timeout or a connection reset
+			failed = true;
+			actual.onUncaughtException(connection, error);
+		}
+
+		@Override
+		public void onStateChange(Connection connection, State newState) {
+			actual.onStateChange(connection, newState);
+			if (newState == State.RELEASED || newState == State.DISCONNECTING) {
+				if (connection instanceof ExchangeOutcome && ((ExchangeOutcome) connection).isRemoteFailure()) {
+					failed = true;
+				}
+				if (ended.compareAndSet(false, true)) {
+					end(System.nanoTime() - start, failed);
+				}
+			}
+		}
+
+		void fail(Throwable error) {
+			if (ended.compareAndSet(false, true)) {
+				end(FAILURE_PENALTY_NANOS, OutlierDetector.isEndpointFailure(error));
+			}
+		}
+
+		void cancel() {
+			if (ended.compareAndSet(false, true)) {
+				endpoint.inflight.decrementAndGet();
+			}
+		}
+
+		void end(long latencyNanos, boolean failed) {
+			endpoint.inflight.decrementAndGet();
+			endpoint.observe(latencyNanos);
+			owner.onLeaseEnd(endpoint, failed);
+		}
+	}
+}
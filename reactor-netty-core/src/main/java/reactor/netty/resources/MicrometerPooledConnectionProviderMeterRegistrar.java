@@ -17,6 +17,7 @@ package reactor.netty.resources;
 
 import java.net.SocketAddress;
 
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Tags;
 import reactor.netty.Metrics;
@@ -24,9 +25,13 @@ import reactor.pool.InstrumentedPool;
 
 import static reactor.netty.Metrics.REGISTRY;
 import static reactor.netty.resources.ConnectionProviderMeters.ACTIVE_CONNECTIONS;
+import static reactor.netty.resources.ConnectionProviderMeters.AFFINITY_HITS;
+import static reactor.netty.resources.ConnectionProviderMeters.AFFINITY_STEALS;
 import static reactor.netty.resources.ConnectionProviderMeters.ConnectionProviderMetersTags.ID;
 import static reactor.netty.resources.ConnectionProviderMeters.ConnectionProviderMetersTags.NAME;
 import static reactor.netty.resources.ConnectionProviderMeters.ConnectionProviderMetersTags.REMOTE_ADDRESS;
+import static reactor.netty.resources.ConnectionProviderMeters.EJECTED;
+import static reactor.netty.resources.ConnectionProviderMeters.EJECTIONS;
 import static reactor.netty.resources.ConnectionProviderMeters.IDLE_CONNECTIONS;
 import static reactor.netty.resources.ConnectionProviderMeters.MAX_CONNECTIONS;
 import static reactor.netty.resources.ConnectionProviderMeters.MAX_PENDING_CONNECTIONS;
@@ -75,5 +80,28 @@ final class MicrometerPooledConnectionProviderMeterRegistrar {
 		Gauge.builder(MAX_PENDING_CONNECTIONS.getName(), metrics, InstrumentedPool.PoolMetrics::getMaxPendingAcquireSize)
 		     .tags(tags)
 		     .register(REGISTRY);
+
+		if (metrics instanceof EventLoopAffinePool) {
+			EventLoopAffinePool<?> pool = (EventLoopAffinePool<?>) metrics;
+			FunctionCounter.builder(AFFINITY_HITS.getName(), pool, EventLoopAffinePool::affinityHitCount)
+			               .tags(tags)
+			               .register(REGISTRY);
+
+			FunctionCounter.builder(AFFINITY_STEALS.getName(), pool, EventLoopAffinePool::affinityStealCount)
+			               .tags(tags)
+			               .register(REGISTRY);
+		}
+	}
+
+	void registerEjectionMetrics(String poolName, String id, SocketAddress remoteAddress, OutlierDetector.EndpointHealth health) {
+		String addressAsString = Metrics.formatSocketAddress(remoteAddress);
+		Tags tags = Tags.of(ID.asString(), id, REMOTE_ADDRESS.asString(), addressAsString, NAME.asString(), poolName);
+		Gauge.builder(EJECTED.getName(), health, h -> h.isEjected() ? 1 : 0)
+		     .tags(tags)
+		     .register(REGISTRY);
+
+		FunctionCounter.builder(EJECTIONS.getName(), health, OutlierDetector.EndpointHealth::ejectionCount)
+		               .tags(tags)
+		               .register(REGISTRY);
 	}
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.resources;
+
+import reactor.netty.internal.util.MapUtils;
+import reactor.pool.PoolAcquirePendingLimitException;
+import reactor.pool.PoolAcquireTimeoutException;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Passive health tracking of the resolved addresses of the remote hosts. An address whose consecutive failures
+ * reach the configured threshold is ejected from the selection of {@link LoadBalancingConnectionProvider},
+ * for an ejection time doubling with each consecutive ejection, unless too many addresses of the remote host
+ * are already ejected.
+ *
+ * @since 1.1.0
+ */
+final class OutlierDetector {
+
+	static final Logger log = Loggers.getLogger(OutlierDetector.class);
+
+	final int consecutiveFailures;
+	final long baseEjectionNanos;
+	final long maxEjectionNanos;
+	final double maxEjectionPercent;
+	final ConcurrentMap<SocketAddress, EndpointHealth> healthPerAddress = new ConcurrentHashMap<>();
+
+	OutlierDetector(ConnectionProvider.OutlierDetectionSpec spec) {
+		this.consecutiveFailures = spec.consecutiveFailures;
+		this.baseEjectionNanos = spec.baseEjectionTime.toNanos();
+		this.maxEjectionNanos = spec.maxEjectionTime.toNanos();
+		this.maxEjectionPercent = spec.maxEjectionPercent;
+	}
+
+	/**
+	 * Return the health of a resolved address, or null for an unresolved address.
+	 *
+	 * @param address the remote address
+	 * @return the health of a resolved address, or null for an unresolved address
+	 */
+	@Nullable
+	EndpointHealth health(SocketAddress address) {
+		if (address instanceof InetSocketAddress && ((InetSocketAddress) address).isUnresolved()) {
+			return null;
+		}
+		return MapUtils.computeIfAbsent(healthPerAddress, address, EndpointHealth::new);
+	}
+
+	/**
+	 * Discard the health of an address, when its connection pool is disposed.
+	 *
+	 * @param address the remote address
+	 */
+	void remove(SocketAddress address) {
+		healthPerAddress.remove(address);
+	}
+
+	synchronized void onSuccess(EndpointHealth health) {
+		health.consecutiveFailures = 0;
+		if (!health.isEjected(System.nanoTime())) {
+			health.consecutiveEjections = 0;
+		}
+	}
+
+	/**
+	 * Record a failure, ejecting the address when the threshold is reached and the ejected addresses
+	 * of the remote host stay within the maximum ejection percentage.
+	 *
+	 * @param health the health of the failed address
+	 * @param peers the health of all resolved addresses of the remote host
+	 */
+	synchronized void onFailure(EndpointHealth health, List<EndpointHealth> peers) {
+		long now = System.nanoTime();
+		if (health.isEjected(now) || ++health.consecutiveFailures < consecutiveFailures) {
+			return;
+		}
+		int ejected = 0;
+		for (EndpointHealth peer : peers) {
+			if (peer.isEjected(now)) {
+				ejected++;
+			}
+		}
+		if ((ejected + 1) * 100d > maxEjectionPercent * peers.size()) {
+			if (log.isDebugEnabled()) {
+				log.debug("Not ejecting [{}] after {} consecutive failures, {} of {} addresses are already ejected",
+						health.address, health.consecutiveFailures, ejected, peers.size());
+			}
+			return;
+		}
+		long ejectionNanos = baseEjectionNanos;
+		for (int i = 0; i < health.consecutiveEjections && ejectionNanos < maxEjectionNanos; i++) {
+			ejectionNanos *= 2;
+		}
+		ejectionNanos = Math.min(ejectionNanos, maxEjectionNanos);
+		health.consecutiveEjections++;
+		health.consecutiveFailures = 0;
+		health.ejectedUntil = now + ejectionNanos;
+		health.ejections.incrementAndGet();
+		if (log.isDebugEnabled()) {
+			log.debug("Ejecting [{}] for {}ms after {} consecutive failures",
+					health.address, ejectionNanos / 1_000_000, consecutiveFailures);
+		}
+	}
+
+	/**
+	 * Whether the failure of an acquisition is caused by the remote address.
+	 * A pending acquisition limit or timeout is caused by the pool capacity.
+	 *
+	 * @param error the failure of an acquisition
+	 * @return true if the failure is caused by the remote address
+	 */
+	static boolean isEndpointFailure(Throwable error) {
+		return !(error instanceof PoolAcquireTimeoutException) && !(error instanceof PoolAcquirePendingLimitException);
+	}
+
+	static final class EndpointHealth {
+
+		final SocketAddress address;
+		final AtomicLong ejections = new AtomicLong();
+
+		// guarded by the OutlierDetector
+		int consecutiveFailures;
+		int consecutiveEjections;
+		volatile long ejectedUntil;
+
+		EndpointHealth(SocketAddress address) {
+			this.address = address;
+		}
+
+		boolean isEjected(long now) {
+			long until = ejectedUntil;
+			return until != 0 && now - until < 0;
+		}
+
+		boolean isEjected() {
+			return isEjected(System.nanoTime());
+		}
+
+		long ejectionCount() {
+			return ejections.get();
+		}
+	}
+}
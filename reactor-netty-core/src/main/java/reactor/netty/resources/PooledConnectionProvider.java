@@ -22,6 +22,7 @@ import io.netty.resolver.AddressResolverGroup;
 import org.reactivestreams.Publisher;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
 import reactor.core.scheduler.Schedulers;
@@ -50,6 +51,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +59,7 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -90,6 +93,9 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 	final Duration poolInactivity;
 	final Duration disposeTimeout;
 	final Map<SocketAddress, Integer> maxConnections = new HashMap<>();
+	@Nullable
+	final OutlierDetector outlierDetector;
+	final Disposable.Swap warmConnectionsMaintenance = Disposables.swap();
 	Mono<Void> onDispose;
 
 	protected PooledConnectionProvider(Builder builder) {
@@ -104,12 +110,17 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 		this.poolInactivity = builder.poolInactivity;
 		this.disposeTimeout = builder.disposeTimeout;
 		this.defaultPoolFactory = new PoolFactory<>(builder, builder.disposeTimeout, clock);
+		this.outlierDetector = builder.outlierDetection != null ? new OutlierDetector(builder.outlierDetection) : null;
 		for (Map.Entry<SocketAddress, ConnectionPoolSpec<?>> entry : builder.confPerRemoteHost.entrySet()) {
 			poolFactoryPerRemoteHost.put(entry.getKey(), new PoolFactory<>(entry.getValue(), builder.disposeTimeout));
 			maxConnections.put(entry.getKey(), entry.getValue().maxConnections);
 		}
 		this.onDispose = Mono.empty();
 		scheduleInactivePoolsDisposal();
+		if (defaultPoolFactory.minConnections > 0 ||
+				poolFactoryPerRemoteHost.values().stream().anyMatch(poolFactory -> poolFactory.minConnections > 0)) {
+			scheduleWarmConnectionsMaintenance();
+		}
 	}
 
 	@Override
@@ -124,31 +135,8 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 		Objects.requireNonNull(resolverGroup, "resolverGroup");
 		return Mono.create(sink -> {
 			SocketAddress remoteAddress = Objects.requireNonNull(remote.get(), "Remote Address supplier returned null");
-			PoolKey holder = new PoolKey(remoteAddress, config.channelHash());
 			PoolFactory<T> poolFactory = poolFactory(remoteAddress);
-			InstrumentedPool<T> pool = MapUtils.computeIfAbsent(channelPools, holder, poolKey -> {
-				if (log.isDebugEnabled()) {
-					log.debug("Creating a new [{}] client pool [{}] for [{}]", name, poolFactory, remoteAddress);
-				}
-
-				InstrumentedPool<T> newPool = createPool(config, poolFactory, remoteAddress, resolverGroup);
-
-				if (poolFactory.metricsEnabled || config.metricsRecorder() != null) {
-					// registrar is null when metrics are enabled on HttpClient level or
-					// with the `metrics(boolean metricsEnabled)` method on ConnectionProvider
-					String id = poolKey.hashCode() + "";
-					if (poolFactory.registrar != null) {
-						poolFactory.registrar.get().registerMetrics(name, id, remoteAddress,
-								new DelegatingConnectionPoolMetrics(newPool.metrics()));
-					}
-					else if (Metrics.isMicrometerAvailable()) {
-						// work directly with the pool otherwise a weak reference is needed to ConnectionPoolMetrics
-						// we don't want to keep another map with weak references
-						registerDefaultMetrics(id, remoteAddress, newPool.metrics());
-					}
-				}
-				return newPool;
-			});
+			InstrumentedPool<T> pool = getOrCreatePool(config, poolFactory, remoteAddress, resolverGroup);
 
 			EventLoop eventLoop;
 			if (sink.contextView().hasKey(CONTEXT_CALLER_EVENTLOOP)) {
@@ -181,9 +169,38 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 		});
 	}
 
+	@Override
+	public final Mono<Void> warmup(TransportConfig config, AddressResolverGroup<?> resolverGroup) {
+		Objects.requireNonNull(config, "config");
+		Objects.requireNonNull(resolverGroup, "resolverGroup");
+		return Mono.defer(() -> {
+			List<Mono<Integer>> warmups = new ArrayList<>();
+			for (Map.Entry<SocketAddress, PoolFactory<T>> entry : poolFactoryPerRemoteHost.entrySet()) {
+				if (entry.getValue().minConnections > 0) {
+					SocketAddress remoteAddress = entry.getKey();
+					InstrumentedPool<T> pool = getOrCreatePool(config, entry.getValue(), remoteAddress, resolverGroup);
+					warmups.add(pool.warmup()
+					                .doOnNext(count -> {
+					                	if (log.isDebugEnabled()) {
+					                		log.debug("ConnectionProvider[name={}]: Established {} warm connections to [{}]",
+					                				name, count, remoteAddress);
+					                	}
+					                })
+					                .onErrorResume(t -> {
+					                	log.warn("ConnectionProvider[name={}]: Failed to establish the warm connections to [{}]",
+					                			name, remoteAddress, t);
+					                	return Mono.empty();
+					                }));
+				}
+			}
+			return Mono.when(warmups);
+		});
+	}
+
 	@Override
 	public final Mono<Void> disposeLater() {
 		return Mono.defer(() -> {
+			warmConnectionsMaintenance.dispose();
 			List<Mono<Void>> pools;
 			pools = channelPools.entrySet()
 			                    .stream()
@@ -204,6 +221,9 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 				return onDispose;
 			}
 			channelPools.clear();
+			if (outlierDetector != null) {
+				outlierDetector.healthPerAddress.clear();
+			}
 			return onDispose.and(Mono.when(pools));
 		});
 	}
@@ -223,6 +243,7 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 					log.debug("ConnectionProvider[name={}]: Disposing pool for [{}]", name, e.getKey().fqdn);
 				}
 				e.getValue().dispose();
+				discardEndpointHealth(e.getKey().holder);
 			}
 		});
 	}
@@ -276,8 +297,59 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 		return poolFactoryPerRemoteHost.getOrDefault(remoteAddress, defaultPoolFactory);
 	}
 
+	final InstrumentedPool<T> getOrCreatePool(
+			TransportConfig config,
+			PoolFactory<T> poolFactory,
+			SocketAddress remoteAddress,
+			AddressResolverGroup<?> resolverGroup) {
+		PoolKey holder = new PoolKey(remoteAddress, config.channelHash());
+		return MapUtils.computeIfAbsent(channelPools, holder, poolKey -> {
+			if (log.isDebugEnabled()) {
+				log.debug("Creating a new [{}] client pool [{}] for [{}]", name, poolFactory, remoteAddress);
+			}
+
+			InstrumentedPool<T> newPool = createPool(config, poolFactory, remoteAddress, resolverGroup);
+
+			if (poolFactory.metricsEnabled || config.metricsRecorder() != null) {
+				// registrar is null when metrics are enabled on HttpClient level or
+				// with the `metrics(boolean metricsEnabled)` method on ConnectionProvider
+				String id = poolKey.hashCode() + "";
+				if (poolFactory.registrar != null) {
+					poolFactory.registrar.get().registerMetrics(name, id, remoteAddress,
+							new DelegatingConnectionPoolMetrics(newPool.metrics(), endpointHealth(remoteAddress)));
+				}
+				else if (Metrics.isMicrometerAvailable()) {
+					// work directly with the pool otherwise a weak reference is needed to ConnectionPoolMetrics
+					// we don't want to keep another map with weak references
+					registerDefaultMetrics(id, remoteAddress, newPool.metrics());
+				}
+			}
+			return newPool;
+		});
+	}
+
 	protected void registerDefaultMetrics(String id, SocketAddress remoteAddress, InstrumentedPool.PoolMetrics metrics) {
 		MicrometerPooledConnectionProviderMeterRegistrar.INSTANCE.registerMetrics(name, id, remoteAddress, metrics);
+		OutlierDetector.EndpointHealth health = endpointHealth(remoteAddress);
+		if (health != null) {
+			MicrometerPooledConnectionProviderMeterRegistrar.INSTANCE.registerEjectionMetrics(name, id, remoteAddress, health);
+		}
+	}
+
+	@Nullable
+	final OutlierDetector.EndpointHealth endpointHealth(SocketAddress remoteAddress) {
+		return outlierDetector != null ? outlierDetector.health(remoteAddress) : null;
+	}
+
+	/**
+	 * Discard the health of an address once none of its pools remains.
+	 *
+	 * @param remoteAddress the remote address of a disposed pool
+	 */
+	final void discardEndpointHealth(SocketAddress remoteAddress) {
+		if (outlierDetector != null && channelPools.keySet().stream().noneMatch(key -> key.holder.equals(remoteAddress))) {
+			outlierDetector.remove(remoteAddress);
+		}
 	}
 
 	final boolean compareAddresses(SocketAddress origin, SocketAddress target) {
@@ -323,7 +395,9 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 
 			toDispose = channelPools.entrySet()
 			                        .stream()
-			                        .filter(p -> p.getValue().metrics().isInactiveForMoreThan(poolInactivity))
+			                        // the pools keeping warm connections are never inactive
+			                        .filter(p -> poolFactory(p.getKey().holder).minConnections == 0 &&
+			                                p.getValue().metrics().isInactiveForMoreThan(poolInactivity))
 			                        .collect(Collectors.toList());
 
 			toDispose.forEach(e -> {
@@ -332,12 +406,41 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 						log.debug("ConnectionProvider[name={}]: Disposing inactive pool for [{}]", name, e.getKey().fqdn);
 					}
 					e.getValue().dispose();
+					discardEndpointHealth(e.getKey().holder);
 				}
 			});
 		}
 		scheduleInactivePoolsDisposal();
 	}
 
+	final void scheduleWarmConnectionsMaintenance() {
+		// Once the provider is disposed, the swap disposes the task right away so that it is not rescheduled
+		warmConnectionsMaintenance.update(
+				Schedulers.parallel()
+				          .schedule(this::maintainWarmConnectionsInBackground, WARM_CONNECTIONS_CHECK_INTERVAL.toMillis(), TimeUnit.MILLISECONDS));
+	}
+
+	final void maintainWarmConnectionsInBackground() {
+		channelPools.forEach((poolKey, pool) -> {
+			if (!pool.isDisposed() && poolFactory(poolKey.holder).minConnections > 0) {
+				// Establishes the connections missing to reach the minimum, if any
+				pool.warmup()
+				    .subscribe(null, t -> {
+				    	if (log.isDebugEnabled()) {
+				    		log.debug("ConnectionProvider[name={}]: Failed to re-establish the warm connections to [{}]",
+				    				name, poolKey.fqdn, t);
+				    	}
+				    });
+			}
+		});
+		scheduleWarmConnectionsMaintenance();
+	}
+
+	/**
+	 * The interval of the background checks of the warm connections.
+	 */
+	static final Duration WARM_CONNECTIONS_CHECK_INTERVAL = Duration.ofSeconds(5);
+
 	static final Logger log = Loggers.getLogger(PooledConnectionProvider.class);
 
 	protected static final class PoolFactory<T extends Connection> {
@@ -372,6 +475,7 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 		final Duration evictionInterval;
 		final String leasingStrategy;
 		final int maxConnections;
+		final int minConnections;
 		final long maxIdleTime;
 		final long maxLifeTime;
 		final boolean metricsEnabled;
@@ -382,6 +486,9 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 		final Duration disposeTimeout;
 		final BiFunction<Runnable, Duration, Disposable> pendingAcquireTimer;
 		final AllocationStrategy<?> allocationStrategy;
+		final boolean eventLoopAffinity;
+		@Nullable
+		final reactor.pool.AllocationStrategy sharedAllocationStrategy;
 
 		PoolFactory(ConnectionPoolSpec<?> conf, Duration disposeTimeout) {
 			this(conf, disposeTimeout, null);
@@ -392,6 +499,9 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 			this.evictionInterval = conf.evictionInterval;
 			this.leasingStrategy = conf.leasingStrategy;
 			this.maxConnections = conf.maxConnections;
+			// The minimum is applied by the default allocation strategy only
+			this.minConnections = conf.allocationStrategy != null || conf.eventLoopAffinity ? 0 :
+					Math.min(conf.minConnections, conf.maxConnections);
 			this.maxIdleTime = conf.maxIdleTime != null ? conf.maxIdleTime.toMillis() : -1;
 			this.maxLifeTime = conf.maxLifeTime != null ? conf.maxLifeTime.toMillis() : -1;
 			this.metricsEnabled = conf.metricsEnabled;
@@ -403,6 +513,52 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 			this.disposeTimeout = disposeTimeout;
 			this.pendingAcquireTimer = conf.pendingAcquireTimer;
 			this.allocationStrategy = conf.allocationStrategy;
+			this.eventLoopAffinity = conf.eventLoopAffinity;
+			this.sharedAllocationStrategy = null;
+		}
+
+		PoolFactory(PoolFactory<T> parent, reactor.pool.AllocationStrategy sharedAllocationStrategy,
+				int pendingAcquireMaxCount) {
+			this.evictionInterval = parent.evictionInterval;
+			this.leasingStrategy = parent.leasingStrategy;
+			this.maxConnections = parent.maxConnections;
+			this.minConnections = sharedAllocationStrategy != null ? 0 : parent.minConnections;
+			this.maxIdleTime = parent.maxIdleTime;
+			this.maxLifeTime = parent.maxLifeTime;
+			this.metricsEnabled = parent.metricsEnabled;
+			this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+			this.pendingAcquireTimeout = parent.pendingAcquireTimeout;
+			this.registrar = parent.registrar;
+			this.clock = parent.clock;
+			this.disposeTimeout = parent.disposeTimeout;
+			this.pendingAcquireTimer = parent.pendingAcquireTimer;
+			this.allocationStrategy = parent.allocationStrategy;
+			this.eventLoopAffinity = parent.eventLoopAffinity;
+			this.sharedAllocationStrategy = sharedAllocationStrategy;
+		}
+
+		/**
+		 * Returns a copy of this factory where all pools created by the copy share one allocation strategy,
+		 * i.e. the connections limit applies to all these pools together. The pools created by the copy fail
+		 * an acquisition at once when no connection is immediately available, the borrowers wait in a pending queue
+		 * shared by all these pools instead.
+		 *
+		 * @return a copy of this factory with a shared allocation strategy
+		 */
+		PoolFactory<T> withSharedAllocationStrategy() {
+			reactor.pool.AllocationStrategy shared;
+			if (allocationStrategy != null) {
+				shared = new DelegatingAllocationStrategy(allocationStrategy.copy());
+			}
+			else if (isSamplingEnabled()) {
+				// The permits are counted atomically, the strategy can be shared by several pools
+				shared = SamplingAllocationStrategy.sizeBetweenWithSampling(0, maxConnections,
+						DEFAULT_POOL_GET_PERMITS_SAMPLING_RATE, DEFAULT_POOL_RETURN_PERMITS_SAMPLING_RATE);
+			}
+			else {
+				shared = new SizeBasedAllocationStrategy(maxConnections);
+			}
+			return new PoolFactory<>(this, shared, 0);
 		}
 
 		public InstrumentedPool<T> newPool(
@@ -443,17 +599,19 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 					           .maxPendingAcquire(pendingAcquireMaxCount)
 					           .evictInBackground(evictionInterval);
 
-			if (DEFAULT_POOL_GET_PERMITS_SAMPLING_RATE > 0d && DEFAULT_POOL_GET_PERMITS_SAMPLING_RATE <= 1d
-					&& DEFAULT_POOL_RETURN_PERMITS_SAMPLING_RATE > 0d && DEFAULT_POOL_RETURN_PERMITS_SAMPLING_RATE <= 1d) {
+			if (sharedAllocationStrategy != null) {
+				poolBuilder = poolBuilder.allocationStrategy(sharedAllocationStrategy);
+			}
+			else if (isSamplingEnabled()) {
 				poolBuilder = poolBuilder.allocationStrategy(SamplingAllocationStrategy.sizeBetweenWithSampling(
-						0,
+						minConnections,
 						maxConnections,
 						DEFAULT_POOL_GET_PERMITS_SAMPLING_RATE,
 						DEFAULT_POOL_RETURN_PERMITS_SAMPLING_RATE));
 			}
 			else {
 				if (allocationStrategy == null) {
-					poolBuilder = poolBuilder.sizeBetween(0, maxConnections);
+					poolBuilder = poolBuilder.sizeBetween(minConnections, maxConnections);
 				}
 				else {
 					poolBuilder = poolBuilder.allocationStrategy(new DelegatingAllocationStrategy(allocationStrategy.copy()));
@@ -478,6 +636,11 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 			return poolBuilder;
 		}
 
+		static boolean isSamplingEnabled() {
+			return DEFAULT_POOL_GET_PERMITS_SAMPLING_RATE > 0d && DEFAULT_POOL_GET_PERMITS_SAMPLING_RATE <= 1d
+					&& DEFAULT_POOL_RETURN_PERMITS_SAMPLING_RATE > 0d && DEFAULT_POOL_RETURN_PERMITS_SAMPLING_RATE <= 1d;
+		}
+
 		@Nullable
 		public AllocationStrategy<?> allocationStrategy() {
 			return allocationStrategy;
@@ -497,11 +660,13 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 					"evictionInterval=" + evictionInterval +
 					", leasingStrategy=" + leasingStrategy +
 					", maxConnections=" + maxConnections +
+					", minConnections=" + minConnections +
 					", maxIdleTime=" + maxIdleTime +
 					", maxLifeTime=" + maxLifeTime +
 					", metricsEnabled=" + metricsEnabled +
 					", pendingAcquireMaxCount=" + pendingAcquireMaxCount +
 					", pendingAcquireTimeout=" + pendingAcquireTimeout +
+					", eventLoopAffinity=" + eventLoopAffinity +
 					'}';
 		}
 
@@ -543,6 +708,73 @@ public abstract class PooledConnectionProvider<T extends Connection> implements
 				delegate.returnPermits(returned);
 			}
 		}
+
+		/**
+		 * An allocation strategy with a maximum number of permits that can be safely shared by several pools.
+		 */
+		static final class SizeBasedAllocationStrategy implements reactor.pool.AllocationStrategy {
+
+			final int max;
+
+			volatile int permits;
+			static final AtomicIntegerFieldUpdater<SizeBasedAllocationStrategy> PERMITS =
+					AtomicIntegerFieldUpdater.newUpdater(SizeBasedAllocationStrategy.class, "permits");
+
+			SizeBasedAllocationStrategy(int max) {
+				this.max = max;
+			}
+
+			@Override
+			public int estimatePermitCount() {
+				return max - permits;
+			}
+
+			@Override
+			public int getPermits(int desired) {
+				if (desired < 0) {
+					return 0;
+				}
+				for (;;) {
+					int p = permits;
+					int granted = Math.min(desired, max - p);
+					if (granted <= 0) {
+						return 0;
+					}
+					if (PERMITS.compareAndSet(this, p, p + granted)) {
+						return granted;
+					}
+				}
+			}
+
+			@Override
+			public int permitGranted() {
+				return permits;
+			}
+
+			@Override
+			public int permitMinimum() {
+				return 0;
+			}
+
+			@Override
+			public int permitMaximum() {
+				return max;
+			}
+
+			@Override
+			public void returnPermits(int returned) {
+				for (;;) {
+					int p = permits;
+					if (p - returned < 0) {
+						throw new IllegalArgumentException("Too many permits returned: returned=" + returned +
+								", would bring to " + (p - returned) + "/" + max);
+					}
+					if (PERMITS.compareAndSet(this, p, p - returned)) {
+						return;
+					}
+				}
+			}
+		}
 	}
 
 	static final class PoolKey {
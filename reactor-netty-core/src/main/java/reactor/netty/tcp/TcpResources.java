@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2011-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -234,6 +234,11 @@ public class TcpResources implements ConnectionProvider, LoopResources {
 		return defaultProvider.maxConnectionsPerHost();
 	}
 
+	@Override
+	public Mono<Void> warmup(TransportConfig config, AddressResolverGroup<?> resolverGroup) {
+		return defaultProvider.warmup(config, resolverGroup);
+	}
+
 	@Override
 	public Builder mutate() {
 		return defaultProvider.mutate();
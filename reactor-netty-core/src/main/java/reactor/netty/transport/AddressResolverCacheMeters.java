@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.transport;
+
+import io.micrometer.common.docs.KeyName;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.docs.DocumentedMeter;
+
+/**
+ * Meters of the stale-while-revalidate cache of the {@link NameResolverProvider} resolvers.
+ *
+ * @since 1.1.0
+ */
+enum AddressResolverCacheMeters implements DocumentedMeter {
+
+	/**
+	 * The number of the address lookups served by the cache per result.
+	 */
+	ADDRESS_RESOLVER_CACHE {
+		@Override
+		public String getName() {
+			return "%s";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return AddressResolverCacheMeterTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
+	/**
+	 * The number of the background refreshes of the cached host names per status.
+	 */
+	ADDRESS_RESOLVER_REFRESHES {
+		@Override
+		public String getName() {
+			return "%s";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return AddressResolverRefreshesMeterTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	};
+
+	enum AddressResolverCacheMeterTags implements KeyName {
+
+		/**
+		 * The lookup result: hit, stale or miss.
+		 */
+		RESULT {
+			@Override
+			public String asString() {
+				return "result";
+			}
+		}
+	}
+
+	enum AddressResolverRefreshesMeterTags implements KeyName {
+
+		/**
+		 * STATUS.
+		 */
+		STATUS {
+			@Override
+			public String asString() {
+				return "status";
+			}
+		}
+	}
+}
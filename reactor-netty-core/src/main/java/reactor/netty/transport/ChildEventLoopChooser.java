@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.transport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Chooses the event loop with which an accepted channel is registered.
+ * By default, the server registers the accepted channels with the event loops in a round-robin fashion.
+ * With long-lived connections of different weights (e.g. HTTP/2, WebSocket), the heavy connections may cluster
+ * on a few event loops, a chooser which relies on the live load of the event loops balances the load across them.
+ *
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface ChildEventLoopChooser {
+
+	/**
+	 * Chooses the event loop with the least number of registered channels.
+	 *
+	 * @return a {@link ChildEventLoopChooser} choosing the event loop with the least number of registered channels
+	 */
+	static ChildEventLoopChooser leastConnections() {
+		return LeastLoadedChildEventLoopChooser.LEAST_CONNECTIONS;
+	}
+
+	/**
+	 * Chooses the event loop with the least lag, i.e. the least delay before a periodic probe task runs
+	 * on the event loop, then with the least number of registered channels.
+	 *
+	 * @return a {@link ChildEventLoopChooser} choosing the event loop with the least lag
+	 */
+	static ChildEventLoopChooser leastLag() {
+		return LeastLoadedChildEventLoopChooser.LEAST_LAG;
+	}
+
+	/**
+	 * Chooses the event loop in a round-robin fashion, this is the default.
+	 *
+	 * @return a {@link ChildEventLoopChooser} choosing the event loop in a round-robin fashion
+	 */
+	static ChildEventLoopChooser roundRobin() {
+		return LeastLoadedChildEventLoopChooser.ROUND_ROBIN;
+	}
+
+	/**
+	 * Chooses the event loop with which the accepted channel will be registered.
+	 *
+	 * @param channel the accepted channel
+	 * @param loads the live load of the child event loops
+	 * @return the load of the chosen event loop, one of the provided loads
+	 */
+	EventLoopLoad choose(Channel channel, List<? extends EventLoopLoad> loads);
+
+	/**
+	 * The live load of a child event loop. The lag and the busy ratio are updated by a probe task
+	 * scheduled periodically on the event loop, see {@link reactor.netty.ReactorNetty#EVENT_LOOP_PROBE_INTERVAL}.
+	 */
+	interface EventLoopLoad {
+
+		/**
+		 * Return the event loop.
+		 *
+		 * @return the event loop
+		 */
+		EventLoop eventLoop();
+
+		/**
+		 * Return the number of the instrumented channels registered with the event loop: the channels accepted
+		 * by the servers choosing the event loop with the live load and, with the extended event loop metrics,
+		 * the channels with metrics enabled. The other channels registered with the event loop are not counted.
+		 *
+		 * @return the number of the instrumented channels registered with the event loop
+		 */
+		int channels();
+
+		/**
+		 * Return the lag measured by the last probe task.
+		 *
+		 * @return the lag measured by the last probe task
+		 */
+		Duration lag();
+
+		/**
+		 * Return the ratio of the time the event loop was busy during the last probe interval.
+		 *
+		 * @return the ratio of the time the event loop was busy during the last probe interval
+		 */
+		double busyRatio();
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -192,6 +192,58 @@ public abstract class ClientTransport<T extends ClientTransport<T, CONF>,
 		return dup;
 	}
 
+	/**
+	 * Enables/disables <a href="https://datatracker.ietf.org/doc/html/rfc8305">Happy Eyeballs</a>
+	 * with the default delay of {@code 250ms} between two consecutive connection attempts.
+	 *
+	 * @param enable true enables Happy Eyeballs, false disables it
+	 * @return a new {@link ClientTransport} reference
+	 * @see #happyEyeballs(Duration)
+	 * @since 1.1.0
+	 */
+	public final T happyEyeballs(boolean enable) {
+		if (enable) {
+			return happyEyeballs(DEFAULT_HAPPY_EYEBALLS_ATTEMPT_DELAY);
+		}
+		if (configuration().happyEyeballsAttemptDelay == null) {
+			@SuppressWarnings("unchecked")
+			T dup = (T) this;
+			return dup;
+		}
+		T dup = duplicate();
+		dup.configuration().happyEyeballsAttemptDelay = null;
+		return dup;
+	}
+
+	/**
+	 * Enables <a href="https://datatracker.ietf.org/doc/html/rfc8305">Happy Eyeballs</a>.
+	 * When the remote address is resolved to more than one address, the addresses are interleaved by address family
+	 * (starting with the family of the first resolved address) and the connection attempts are raced:
+	 * a new attempt is started when the previous one fails or when the given delay elapses, whichever comes first.
+	 * The first successful attempt wins and all other attempts are cancelled.
+	 * By default, the addresses are tried one after another, each attempt waiting for the previous one to fail.
+	 * <p>Note: the resolver has to return the addresses of both address families, for example
+	 * {@code resolver(spec -> spec.resolvedAddressTypes(ResolvedAddressTypes.IPV6_PREFERRED).completeOncePreferredResolved(false))}.
+	 *
+	 * @param attemptDelay the delay between two consecutive connection attempts
+	 * @return a new {@link ClientTransport} reference
+	 * @since 1.1.0
+	 */
+	public final T happyEyeballs(Duration attemptDelay) {
+		Objects.requireNonNull(attemptDelay, "attemptDelay");
+		if (attemptDelay.isNegative()) {
+			throw new IllegalArgumentException("attemptDelay must be positive or zero");
+		}
+		if (attemptDelay.equals(configuration().happyEyeballsAttemptDelay)) {
+			@SuppressWarnings("unchecked")
+			T dup = (T) this;
+			return dup;
+		}
+		T dup = duplicate();
+		dup.configuration().happyEyeballsAttemptDelay = attemptDelay;
+		return dup;
+	}
+
 	/**
 	 * The host to which this client should connect.
 	 *
@@ -361,6 +413,7 @@ public abstract class ClientTransport<T extends ClientTransport<T, CONF>,
 	 *     <li>an initialization of the event loop group</li>
 	 *     <li>an initialization of the host name resolver</li>
 	 *     <li>loads the necessary native libraries for the transport</li>
+	 *     <li>an establishment of the minimum connections configured per remote host on the {@link reactor.netty.resources.ConnectionProvider}</li>
 	 * </ul>
 	 * By default, when method is not used, the {@code connect operation} absorbs the extra time needed to initialize and
 	 * load the resources.
@@ -369,11 +422,15 @@ public abstract class ClientTransport<T extends ClientTransport<T, CONF>,
 	 * @since 1.0.3
 	 */
 	public Mono<Void> warmup() {
-		return Mono.fromRunnable(() -> {
-			configuration().eventLoopGroup();
+		return Mono.<Void>fromRunnable(() -> {
+		               configuration().eventLoopGroup();
 
-			// By default, the host name resolver uses the event loop group configured on client level
-			configuration().resolverInternal();
-		});
+		               // By default, the host name resolver uses the event loop group configured on client level
+		               configuration().resolverInternal();
+		           })
+		           .then(Mono.defer(() -> configuration().connectionProvider()
+		                                                 .warmup(configuration(), configuration().resolverInternal())));
 	}
-}
\ No newline at end of file
+
+	static final Duration DEFAULT_HAPPY_EYEBALLS_ATTEMPT_DELAY = Duration.ofMillis(250);
+}
@@ -16,6 +16,7 @@
 package reactor.netty.transport;
 
 import java.net.SocketAddress;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -95,6 +96,18 @@ public abstract class ClientTransportConfig<CONF extends TransportConfig> extend
 		return doOnDisconnected;
 	}
 
+	/**
+	 * Return the delay between two consecutive connection attempts when
+	 * <a href="https://datatracker.ietf.org/doc/html/rfc8305">Happy Eyeballs</a> is enabled, or null.
+	 *
+	 * @return the delay between two consecutive connection attempts or null
+	 * @since 1.1.0
+	 */
+	@Nullable
+	public final Duration happyEyeballsAttemptDelay() {
+		return happyEyeballsAttemptDelay;
+	}
+
 	/**
 	 * Return true if that {@link ClientTransportConfig} is configured with a proxy
 	 *
@@ -152,6 +165,7 @@ public abstract class ClientTransportConfig<CONF extends TransportConfig> extend
 	Consumer<? super CONF>                   doOnConnect;
 	Consumer<? super Connection>             doOnConnected;
 	Consumer<? super Connection>             doOnDisconnected;
+	Duration                                 happyEyeballsAttemptDelay;
 	Consumer<? super Connection>                doOnResolve;
 	BiConsumer<? super Connection, ? super SocketAddress> doAfterResolve;
 	BiConsumer<? super Connection, ? super Throwable> doOnResolveError;
@@ -173,6 +187,7 @@ public abstract class ClientTransportConfig<CONF extends TransportConfig> extend
 		this.doOnConnect = parent.doOnConnect;
 		this.doOnConnected = parent.doOnConnected;
 		this.doOnDisconnected = parent.doOnDisconnected;
+		this.happyEyeballsAttemptDelay = parent.happyEyeballsAttemptDelay;
 		this.doOnResolve = parent.doOnResolve;
 		this.doAfterResolve = parent.doAfterResolve;
 		this.doOnResolveError = parent.doOnResolveError;
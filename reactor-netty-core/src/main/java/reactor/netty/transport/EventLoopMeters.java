@@ -41,6 +41,106 @@ enum EventLoopMeters implements DocumentedMeter {
 			return EventLoopMetersTags.values();
 		}
 
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.GAUGE;
+		}
+	},
+
+	/**
+	 * Event loop lag, the delay before a periodic probe task runs on the event loop.
+	 */
+	LAG {
+		@Override
+		public String getName() {
+			return "reactor.netty.eventloop.lag";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return EventLoopMetersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.TIMER;
+		}
+	},
+
+	/**
+	 * The ratio of the time the event loop was busy during the last probe interval.
+	 */
+	BUSY_RATIO {
+		@Override
+		public String getName() {
+			return "reactor.netty.eventloop.busy.ratio";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return EventLoopMetersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.GAUGE;
+		}
+	},
+
+	/**
+	 * The ratio of the time the event loop spent processing I/O events during the last probe interval.
+	 */
+	IO_RATIO {
+		@Override
+		public String getName() {
+			return "reactor.netty.eventloop.io.ratio";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return EventLoopMetersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.GAUGE;
+		}
+	},
+
+	/**
+	 * The ratio of the time the event loop spent running tasks during the last probe interval.
+	 */
+	TASK_RATIO {
+		@Override
+		public String getName() {
+			return "reactor.netty.eventloop.task.ratio";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return EventLoopMetersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.GAUGE;
+		}
+	},
+
+	/**
+	 * The number of instrumented channels registered with the event loop.
+	 */
+	CHANNELS {
+		@Override
+		public String getName() {
+			return "reactor.netty.eventloop.channels";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return EventLoopMetersTags.values();
+		}
+
 		@Override
 		public Meter.Type getType() {
 			return Meter.Type.GAUGE;
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.transport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
+import reactor.netty.NettyPipeline;
+import reactor.netty.ReactorNetty;
+import reactor.netty.internal.util.MapUtils;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Collects live statistics of an {@link EventLoop}:
+ * <ul>
+ *     <li>the lag, i.e. the delay before a probe task, scheduled periodically, runs on the event loop</li>
+ *     <li>the busy ratio, i.e. the CPU time of the event loop thread during the last probe interval,
+ *     as the event loop thread does not consume CPU while waiting for I/O events</li>
+ *     <li>the I/O ratio, i.e. the time spent processing the inbound events of the instrumented channels
+ *     during the last probe interval, the remaining busy time is accounted as task time</li>
+ *     <li>the number of the instrumented channels registered with the event loop</li>
+ * </ul>
+ * The statistics are updated on the event loop itself, once per probe interval.
+ *
+ * @since 1.1.0
+ */
+final class EventLoopProbe implements ChildEventLoopChooser.EventLoopLoad, Runnable {
+
+	static final Logger log = Loggers.getLogger(EventLoopProbe.class);
+
+	static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(
+			Long.parseLong(System.getProperty(ReactorNetty.EVENT_LOOP_PROBE_INTERVAL, "1000")));
+
+	static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+	static final ConcurrentMap<EventLoop, EventLoopProbe> PROBES = new ConcurrentHashMap<>();
+
+	final EventLoop eventLoop;
+	final long intervalNanos;
+	final IoTimer ioTimer = new IoTimer(this);
+	final AtomicInteger channels = new AtomicInteger();
+
+	@Nullable
+	volatile LongConsumer lagRecorder;
+
+	volatile long lagNanos;
+	volatile double busyRatio;
+	volatile double ioRatio;
+
+	// accessed only on the event loop
+	long ioNanos;
+	long deadline;
+	long lastRunNanos;
+	long lastCpuNanos = -1;
+	long lastIoNanos;
+
+	EventLoopProbe(EventLoop eventLoop, long intervalNanos) {
+		this.eventLoop = eventLoop;
+		this.intervalNanos = intervalNanos;
+	}
+
+	/**
+	 * Return the probe of the given {@link EventLoop}, the first call starts the periodic probe task.
+	 *
+	 * @param eventLoop the event loop
+	 * @return the probe of the given {@link EventLoop}
+	 */
+	static EventLoopProbe getOrStart(EventLoop eventLoop) {
+		return MapUtils.computeIfAbsent(PROBES, eventLoop, key -> {
+			EventLoopProbe probe = new EventLoopProbe(key, PROBE_INTERVAL_NANOS);
+			key.terminationFuture().addListener(f -> PROBES.remove(key));
+			probe.start();
+			return probe;
+		});
+	}
+
+	/**
+	 * Count the channel until it is closed and time its inbound events.
+	 * Registering the same channel again has no effect.
+	 *
+	 * @param channel the channel registered, or about to be registered, with the probed event loop
+	 */
+	void register(Channel channel) {
+		if (channel.pipeline().get(NettyPipeline.EventLoopIoTimer) != null) {
+			return;
+		}
+		channel.pipeline().addFirst(NettyPipeline.EventLoopIoTimer, ioTimer);
+		channels.incrementAndGet();
+		channel.closeFuture().addListener(f -> channels.decrementAndGet());
+	}
+
+	/**
+	 * Move the I/O timer of an instrumented channel in front of the handlers added since its registration,
+	 * e.g. the TLS, proxy and logging handlers added when the channel is initialized, so that they are timed as well.
+	 *
+	 * @param channel the channel
+	 */
+	static void ioTimerFirst(Channel channel) {
+		ChannelPipeline pipeline = channel.pipeline();
+		ChannelHandler ioTimer = pipeline.get(NettyPipeline.EventLoopIoTimer);
+		if (ioTimer != null && pipeline.first() != ioTimer) {
+			pipeline.remove(ioTimer);
+			pipeline.addFirst(NettyPipeline.EventLoopIoTimer, ioTimer);
+		}
+	}
+
+	@Override
+	public EventLoop eventLoop() {
+		return eventLoop;
+	}
+
+	@Override
+	public int channels() {
+		return channels.get();
+	}
+
+	@Override
+	public Duration lag() {
+		return Duration.ofNanos(lagNanos);
+	}
+
+	long lagNanos() {
+		return lagNanos;
+	}
+
+	@Override
+	public double busyRatio() {
+		return busyRatio;
+	}
+
+	double ioRatio() {
+		return ioRatio;
+	}
+
+	double taskRatio() {
+		return Math.max(0d, busyRatio - ioRatio);
+	}
+
+	void start() {
+		eventLoop.execute(() -> {
+			lastRunNanos = System.nanoTime();
+			lastCpuNanos = currentThreadCpuTime();
+			schedule(lastRunNanos);
+		});
+	}
+
+	@Override
+	public void run() {
+		long now = System.nanoTime();
+		long lag = Math.max(0L, now - deadline);
+		lagNanos = lag;
+		LongConsumer recorder = lagRecorder;
+		if (recorder != null) {
+			recorder.accept(lag);
+		}
+
+		long elapsed = now - lastRunNanos;
+		if (elapsed > 0) {
+			long cpuNanos = currentThreadCpuTime();
+			if (cpuNanos != -1 && lastCpuNanos != -1) {
+				busyRatio = ratio(cpuNanos - lastCpuNanos, elapsed);
+			}
+			lastCpuNanos = cpuNanos;
+			ioRatio = ratio(ioNanos - lastIoNanos, elapsed);
+		}
+		lastIoNanos = ioNanos;
+		lastRunNanos = now;
+
+		schedule(now);
+	}
+
+	void schedule(long now) {
+		if (eventLoop.isShuttingDown()) {
+			return;
+		}
+		deadline = now + intervalNanos;
+		try {
+			eventLoop.schedule(this, intervalNanos, TimeUnit.NANOSECONDS);
+		}
+		catch (RuntimeException e) {
+			// the event loop is shutting down
+			if (log.isDebugEnabled()) {
+				log.debug("Failed to schedule the event loop probe.", e);
+			}
+		}
+	}
+
+	static double ratio(long nanos, long elapsedNanos) {
+		return Math.min(1d, Math.max(0d, (double) nanos / elapsedNanos));
+	}
+
+	static long currentThreadCpuTime() {
+		try {
+			return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+		}
+		catch (UnsupportedOperationException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Times the inbound events of a channel, i.e. the I/O processing time of the event loop.
+	 * The handler is shared by all channels of one event loop.
+	 */
+	@ChannelHandler.Sharable
+	static final class IoTimer extends ChannelInboundHandlerAdapter {
+
+		final EventLoopProbe probe;
+
+		IoTimer(EventLoopProbe probe) {
+			this.probe = probe;
+		}
+
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			long start = System.nanoTime();
+			try {
+				ctx.fireChannelRead(msg);
+			}
+			finally {
+				probe.ioNanos += System.nanoTime() - start;
+			}
+		}
+
+		@Override
+		public void channelReadComplete(ChannelHandlerContext ctx) {
+			long start = System.nanoTime();
+			try {
+				ctx.fireChannelReadComplete();
+			}
+			finally {
+				probe.ioNanos += System.nanoTime() - start;
+			}
+		}
+	}
+}
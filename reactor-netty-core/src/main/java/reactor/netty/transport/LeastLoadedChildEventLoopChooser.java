@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.transport;
+
+import io.netty.channel.Channel;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ChildEventLoopChooser} choosing the least loaded event loop according to a {@link Comparator}.
+ * The scan starts from a rotating index, so that the event loops with an equal load are chosen in turn.
+ *
+ * @since 1.1.0
+ */
+final class LeastLoadedChildEventLoopChooser implements ChildEventLoopChooser {
+
+	static final LeastLoadedChildEventLoopChooser LEAST_CONNECTIONS =
+			new LeastLoadedChildEventLoopChooser("leastConnections",
+					Comparator.comparingInt(EventLoopLoad::channels));
+
+	static final LeastLoadedChildEventLoopChooser LEAST_LAG =
+			new LeastLoadedChildEventLoopChooser("leastLag",
+					Comparator.comparingLong(LeastLoadedChildEventLoopChooser::lagNanos).thenComparingInt(EventLoopLoad::channels));
+
+	/**
+	 * The round-robin chooser is applied by the child {@link io.netty.channel.EventLoopGroup} itself.
+	 */
+	static final LeastLoadedChildEventLoopChooser ROUND_ROBIN =
+			new LeastLoadedChildEventLoopChooser("roundRobin", (load1, load2) -> 0);
+
+	final String name;
+	final Comparator<EventLoopLoad> comparator;
+	final AtomicInteger index = new AtomicInteger();
+
+	LeastLoadedChildEventLoopChooser(String name, Comparator<EventLoopLoad> comparator) {
+		this.name = name;
+		this.comparator = comparator;
+	}
+
+	@Override
+	public EventLoopLoad choose(Channel channel, List<? extends EventLoopLoad> loads) {
+		int size = loads.size();
+		int start = Math.abs(index.getAndIncrement() % size);
+		EventLoopLoad chosen = loads.get(start);
+		for (int i = 1; i < size; i++) {
+			EventLoopLoad load = loads.get((start + i) % size);
+			if (comparator.compare(load, chosen) < 0) {
+				chosen = load;
+			}
+		}
+		return chosen;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	/**
+	 * Return the lag of an event loop in nanoseconds, without allocating a {@link java.time.Duration}
+	 * for the probes of the server.
+	 */
+	static long lagNanos(EventLoopLoad load) {
+		return load instanceof EventLoopProbe ? ((EventLoopProbe) load).lagNanos() : load.lag().toNanos();
+	}
+}
@@ -16,6 +16,7 @@
 package reactor.netty.transport;
 
 import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.observation.Observation;
 import io.netty.resolver.AddressResolver;
@@ -32,14 +33,19 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import static reactor.netty.Metrics.ADDRESS_RESOLVER;
+import static reactor.netty.Metrics.ADDRESS_RESOLVER_CACHE;
+import static reactor.netty.Metrics.ADDRESS_RESOLVER_REFRESHES;
 import static reactor.netty.Metrics.ERROR;
 import static reactor.netty.Metrics.OBSERVATION_KEY;
 import static reactor.netty.Metrics.OBSERVATION_REGISTRY;
+import static reactor.netty.Metrics.REGISTRY;
 import static reactor.netty.Metrics.SUCCESS;
 import static reactor.netty.Metrics.formatSocketAddress;
+import static reactor.netty.transport.AddressResolverCacheMeters.AddressResolverCacheMeterTags.RESULT;
 import static reactor.netty.transport.HostnameResolutionObservations.HostnameResolutionTimeHighCardinalityTags.REACTOR_NETTY_PROTOCOL;
 import static reactor.netty.transport.HostnameResolutionObservations.HostnameResolutionTimeHighCardinalityTags.REACTOR_NETTY_STATUS;
 import static reactor.netty.transport.HostnameResolutionObservations.HostnameResolutionTimeHighCardinalityTags.REACTOR_NETTY_TYPE;
@@ -53,6 +59,10 @@ import static reactor.netty.transport.HostnameResolutionObservations.HostnameRes
  */
 final class MicrometerAddressResolverGroupMetrics<T extends SocketAddress> extends AddressResolverGroupMetrics<T> {
 
+	static final String HIT = "hit";
+	static final String STALE = "stale";
+	static final String MISS = "miss";
+
 	static final ConcurrentMap<Integer, MicrometerAddressResolverGroupMetrics<?>> cache = new ConcurrentHashMap<>();
 
 	static MicrometerAddressResolverGroupMetrics<?> getOrCreate(
@@ -63,6 +73,24 @@ final class MicrometerAddressResolverGroupMetrics<T extends SocketAddress> exten
 
 	MicrometerAddressResolverGroupMetrics(AddressResolverGroup<T> resolverGroup, MicrometerChannelMetricsRecorder recorder) {
 		super(resolverGroup, recorder);
+		if (resolverGroup instanceof StaleWhileRevalidateDnsAddressResolverGroup) {
+			registerCacheMetrics(recorder.name(), (StaleWhileRevalidateDnsAddressResolverGroup) resolverGroup);
+		}
+	}
+
+	static void registerCacheMetrics(String name, StaleWhileRevalidateDnsAddressResolverGroup resolverGroup) {
+		String refreshStatus = AddressResolverCacheMeters.AddressResolverRefreshesMeterTags.STATUS.asString();
+		registerCounter(name + ADDRESS_RESOLVER_CACHE, RESULT.asString(), HIT, resolverGroup.hits);
+		registerCounter(name + ADDRESS_RESOLVER_CACHE, RESULT.asString(), STALE, resolverGroup.stale);
+		registerCounter(name + ADDRESS_RESOLVER_CACHE, RESULT.asString(), MISS, resolverGroup.misses);
+		registerCounter(name + ADDRESS_RESOLVER_REFRESHES, refreshStatus, SUCCESS, resolverGroup.refreshes);
+		registerCounter(name + ADDRESS_RESOLVER_REFRESHES, refreshStatus, ERROR, resolverGroup.refreshErrors);
+	}
+
+	static void registerCounter(String name, String tagKey, String tagValue, LongAdder counter) {
+		FunctionCounter.builder(name, counter, LongAdder::sum)
+		               .tag(tagKey, tagValue)
+		               .register(REGISTRY);
 	}
 
 	@Override
@@ -16,14 +16,22 @@
 package reactor.netty.transport;
 
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
 import io.netty.channel.EventLoop;
 import io.netty.util.concurrent.SingleThreadEventExecutor;
 import reactor.netty.internal.util.MapUtils;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+import static reactor.netty.ReactorNetty.EVENT_LOOP_EXTENDED_METRICS;
+import static reactor.netty.transport.EventLoopMeters.BUSY_RATIO;
+import static reactor.netty.transport.EventLoopMeters.CHANNELS;
+import static reactor.netty.transport.EventLoopMeters.IO_RATIO;
+import static reactor.netty.transport.EventLoopMeters.LAG;
 import static reactor.netty.transport.EventLoopMeters.PENDING_TASKS;
+import static reactor.netty.transport.EventLoopMeters.TASK_RATIO;
 import static reactor.netty.transport.EventLoopMeters.EventLoopMetersTags.NAME;
 
 import static reactor.netty.Metrics.REGISTRY;
@@ -32,6 +40,8 @@ import static reactor.netty.Metrics.REGISTRY;
  * Registers gauges for a given {@link EventLoop}.
  *
  * Every gauge uses thread name as tag.
+ * When the extended metrics are enabled, the lag, the busy, I/O and task time ratios and the number of channels
+ * are registered as well, see {@link reactor.netty.ReactorNetty#EVENT_LOOP_EXTENDED_METRICS}.
  *
  * @author Pierre De Rop
  * @author Violeta Georgieva
@@ -43,9 +53,15 @@ final class MicrometerEventLoopMeterRegistrar {
 
 	private final ConcurrentMap<String, EventLoop> cache = new ConcurrentHashMap<>();
 
+	static final boolean EXTENDED_METRICS = Boolean.parseBoolean(System.getProperty(EVENT_LOOP_EXTENDED_METRICS, "false"));
+
 	private MicrometerEventLoopMeterRegistrar() {}
 
 	void registerMetrics(EventLoop eventLoop) {
+		registerMetrics(eventLoop, EXTENDED_METRICS);
+	}
+
+	void registerMetrics(EventLoop eventLoop, boolean extendedMetrics) {
 		if (eventLoop instanceof SingleThreadEventExecutor) {
 			SingleThreadEventExecutor singleThreadEventExecutor = (SingleThreadEventExecutor) eventLoop;
 			String executorName = singleThreadEventExecutor.threadProperties().name();
@@ -53,8 +69,34 @@ final class MicrometerEventLoopMeterRegistrar {
 				Gauge.builder(PENDING_TASKS.getName(), singleThreadEventExecutor::pendingTasks)
 				     .tag(NAME.asString(), executorName)
 				     .register(REGISTRY);
+				if (extendedMetrics) {
+					registerExtendedMetrics(EventLoopProbe.getOrStart(eventLoop), executorName);
+				}
 				return eventLoop;
 			});
 		}
 	}
+
+	static void registerExtendedMetrics(EventLoopProbe probe, String executorName) {
+		Timer lag = Timer.builder(LAG.getName())
+		                 .tag(NAME.asString(), executorName)
+		                 .register(REGISTRY);
+		probe.lagRecorder = nanos -> lag.record(nanos, TimeUnit.NANOSECONDS);
+
+		Gauge.builder(BUSY_RATIO.getName(), probe::busyRatio)
+		     .tag(NAME.asString(), executorName)
+		     .register(REGISTRY);
+
+		Gauge.builder(IO_RATIO.getName(), probe::ioRatio)
+		     .tag(NAME.asString(), executorName)
+		     .register(REGISTRY);
+
+		Gauge.builder(TASK_RATIO.getName(), probe::taskRatio)
+		     .tag(NAME.asString(), executorName)
+		     .register(REGISTRY);
+
+		Gauge.builder(CHANNELS.getName(), probe::channels)
+		     .tag(NAME.asString(), executorName)
+		     .register(REGISTRY);
+	}
 }
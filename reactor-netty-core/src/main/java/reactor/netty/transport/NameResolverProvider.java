@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -68,6 +68,20 @@ public final class NameResolverProvider {
 		 */
 		NameResolverSpec cacheMaxTimeToLive(Duration cacheMaxTimeToLive);
 
+		/**
+		 * Sets the max time the cached addresses of a host name are served after their time to live expired
+		 * (resolution: milliseconds). An expired host name is refreshed in the background while the stale addresses
+		 * are served, and they keep being served when the refresh fails until this max stale time elapses.
+		 * A host name looked up during the last quarter of its time to live is refreshed before it expires.
+		 * Default to {@link Build#DEFAULT_CACHE_MAX_STALE_TIME} which disables serving stale addresses.
+		 *
+		 * @param cacheMaxStaleTime the max time the expired addresses are served (resolution: milliseconds)
+		 * @return {@code this}
+		 * @throws IllegalArgumentException if {@code cacheMaxStaleTime} is negative
+		 * @since 1.1.0
+		 */
+		NameResolverSpec cacheMaxStaleTime(Duration cacheMaxStaleTime);
+
 		/**
 		 * Sets the min time to live of the cached DNS resource records (resolution: seconds).
 		 * If the time to live of the DNS resource record returned by the DNS server is less
@@ -258,6 +272,16 @@ public final class NameResolverProvider {
 		return new Build();
 	}
 
+	/**
+	 * Returns the configured max time the cached addresses are served after their time to live expired.
+	 *
+	 * @return the configured max time the cached addresses are served after their time to live expired
+	 * @since 1.1.0
+	 */
+	public Duration cacheMaxStaleTime() {
+		return cacheMaxStaleTime;
+	}
+
 	/**
 	 * Returns the configured max time to live of the cached DNS resource records.
 	 *
@@ -439,6 +463,7 @@ public final class NameResolverProvider {
 				preferNative == that.preferNative &&
 				roundRobinSelection == that.roundRobinSelection &&
 				Objects.equals(loggingFactory, that.loggingFactory) &&
+				cacheMaxStaleTime.equals(that.cacheMaxStaleTime) &&
 				cacheMaxTimeToLive.equals(that.cacheMaxTimeToLive) &&
 				cacheMinTimeToLive.equals(that.cacheMinTimeToLive) &&
 				cacheNegativeTimeToLive.equals(that.cacheNegativeTimeToLive) &&
@@ -452,7 +477,7 @@ public final class NameResolverProvider {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(cacheMaxTimeToLive, cacheMinTimeToLive, cacheNegativeTimeToLive, completeOncePreferredResolved,
+		return Objects.hash(cacheMaxStaleTime, cacheMaxTimeToLive, cacheMinTimeToLive, cacheNegativeTimeToLive, completeOncePreferredResolved,
 				disableRecursionDesired, disableOptionalRecord, loggingFactory, loopResources, maxPayloadSize,
 				maxQueriesPerResolve, ndots, preferNative, queryTimeout, resolvedAddressTypes, bindAddressSupplier, roundRobinSelection,
 				searchDomains);
@@ -476,9 +501,12 @@ public final class NameResolverProvider {
 			loop = loopResources;
 			group = loop.onClient(preferNative);
 		}
+		int minTtl = Math.toIntExact(cacheMinTimeToLive.getSeconds());
+		int maxTtl = Math.toIntExact(cacheMaxTimeToLive.getSeconds());
+		int negativeTtl = Math.toIntExact(cacheNegativeTimeToLive.getSeconds());
 		DnsNameResolverBuilder builder = new DnsNameResolverBuilder()
-				.ttl(Math.toIntExact(cacheMinTimeToLive.getSeconds()), Math.toIntExact(cacheMaxTimeToLive.getSeconds()))
-				.negativeTtl(Math.toIntExact(cacheNegativeTimeToLive.getSeconds()))
+				.ttl(minTtl, maxTtl)
+				.negativeTtl(negativeTtl)
 				.completeOncePreferredResolved(completeOncePreferredResolved)
 				.optResourceEnabled(!disableOptionalRecord)
 				.recursionDesired(!disableRecursionDesired)
@@ -506,9 +534,15 @@ public final class NameResolverProvider {
 		if (searchDomains != null) {
 			builder.searchDomains(searchDomains);
 		}
+		if (!cacheMaxStaleTime.isZero()) {
+			return new StaleWhileRevalidateDnsAddressResolverGroup(builder,
+					new StaleWhileRevalidateDnsAddressResolverGroup.TtlRecordingDnsCache(minTtl, maxTtl, negativeTtl),
+					cacheMaxStaleTime.toNanos(), roundRobinSelection);
+		}
 		return roundRobinSelection ? new RoundRobinDnsAddressResolverGroup(builder) : new DnsAddressResolverGroup(builder);
 	}
 
+	final Duration cacheMaxStaleTime;
 	final Duration cacheMaxTimeToLive;
 	final Duration cacheMinTimeToLive;
 	final Duration cacheNegativeTimeToLive;
@@ -529,6 +563,7 @@ public final class NameResolverProvider {
 	final Iterable<String> searchDomains;
 
 	NameResolverProvider(Build build) {
+		this.cacheMaxStaleTime = build.cacheMaxStaleTime;
 		this.cacheMaxTimeToLive = build.cacheMaxTimeToLive;
 		this.cacheMinTimeToLive = build.cacheMinTimeToLive;
 		this.cacheNegativeTimeToLive = build.cacheNegativeTimeToLive;
@@ -550,6 +585,7 @@ public final class NameResolverProvider {
 	}
 
 	static final class Build implements NameResolverSpec {
+		static final Duration DEFAULT_CACHE_MAX_STALE_TIME = Duration.ZERO;
 		static final Duration DEFAULT_CACHE_MAX_TIME_TO_LIVE = Duration.ofSeconds(Integer.MAX_VALUE);
 		static final Duration DEFAULT_CACHE_MIN_TIME_TO_LIVE = Duration.ofSeconds(0);
 		static final Duration DEFAULT_CACHE_NEGATIVE_TIME_TO_LIVE = Duration.ofSeconds(0);
@@ -559,6 +595,7 @@ public final class NameResolverProvider {
 		static final int DEFAULT_NDOTS = -1;
 		static final Duration DEFAULT_QUERY_TIMEOUT = Duration.ofSeconds(5);
 
+		Duration cacheMaxStaleTime = DEFAULT_CACHE_MAX_STALE_TIME;
 		Duration cacheMaxTimeToLive = DEFAULT_CACHE_MAX_TIME_TO_LIVE;
 		Duration cacheMinTimeToLive = DEFAULT_CACHE_MIN_TIME_TO_LIVE;
 		Duration cacheNegativeTimeToLive = DEFAULT_CACHE_NEGATIVE_TIME_TO_LIVE;
@@ -578,6 +615,16 @@ public final class NameResolverProvider {
 		boolean roundRobinSelection;
 		Iterable<String> searchDomains;
 
+		@Override
+		public NameResolverSpec cacheMaxStaleTime(Duration cacheMaxStaleTime) {
+			Objects.requireNonNull(cacheMaxStaleTime, "cacheMaxStaleTime");
+			if (cacheMaxStaleTime.isNegative()) {
+				throw new IllegalArgumentException("cacheMaxStaleTime must not be negative");
+			}
+			this.cacheMaxStaleTime = cacheMaxStaleTime;
+			return this;
+		}
+
 		@Override
 		public NameResolverSpec cacheMaxTimeToLive(Duration cacheMaxTimeToLive) {
 			this.cacheMaxTimeToLive = Objects.requireNonNull(cacheMaxTimeToLive);
@@ -23,24 +23,31 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.channel.unix.UnixChannelOption;
 import io.netty.handler.codec.DecoderException;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.Operators;
@@ -48,6 +55,7 @@ import reactor.netty.ChannelBindException;
 import reactor.netty.Connection;
 import reactor.netty.ConnectionObserver;
 import reactor.netty.DisposableServer;
+import reactor.netty.FutureMono;
 import reactor.netty.channel.AbortedException;
 import reactor.netty.channel.ChannelOperations;
 import reactor.netty.resources.ConnectionProvider;
@@ -106,10 +114,20 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 
 			ConnectionObserver childObs =
 					new ChildObserver(config.defaultChildObserver().then(config.childObserver()));
-			Acceptor acceptor = new Acceptor(config.childEventLoopGroup(), config.channelInitializer(childObs, null, true),
-					config.childOptions, config.childAttrs, isDomainSocket);
-			TransportConnector.bind(config, new AcceptorInitializer(acceptor), local, isDomainSocket)
-			                  .subscribe(disposableServer);
+			EventLoopGroup childGroup = config.childEventLoopGroup();
+			ChannelHandler childHandler = config.channelInitializer(childObs, null, true);
+			List<EventLoopProbe> childLoads = childLoads(childGroup, config.childEventLoopChooser);
+			boolean reusePort = !isDomainSocket && config.acceptors > 1;
+			final boolean domainSocket = isDomainSocket;
+			Supplier<AcceptorInitializer> acceptorInitializer = () ->
+					new AcceptorInitializer(new Acceptor(childGroup, childHandler, config.childOptions, config.childAttrs,
+							domainSocket, config.childEventLoopChooser, childLoads), reusePort);
+
+			Mono<Channel> bind = TransportConnector.bind(config, acceptorInitializer.get(), local, isDomainSocket);
+			if (reusePort) {
+				bind = bind.flatMap(channel -> bindAcceptors(config, channel, acceptorInitializer, disposableServer));
+			}
+			bind.subscribe(disposableServer);
 		});
 
 		if (config.doOnBind() != null) {
@@ -200,6 +218,47 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 		return dup;
 	}
 
+	/**
+	 * Set the {@link ChildEventLoopChooser} choosing the event loop with which each remote connection is registered.
+	 * By default, the remote connections are registered with the event loops in a round-robin fashion,
+	 * see {@link ChildEventLoopChooser#leastConnections()} and {@link ChildEventLoopChooser#leastLag()}
+	 * for choosers relying on the live load of the event loops.
+	 *
+	 * @param chooser the {@link ChildEventLoopChooser}
+	 * @return a new {@link ServerTransport} reference
+	 * @since 1.1.0
+	 */
+	public T childEventLoopChooser(ChildEventLoopChooser chooser) {
+		Objects.requireNonNull(chooser, "chooser");
+		T dup = duplicate();
+		dup.configuration().childEventLoopChooser = chooser;
+		return dup;
+	}
+
+	/**
+	 * Set the number of the listening sockets bound to the same address with {@code SO_REUSEPORT}, each one with
+	 * its own acceptor registered with an event loop of the select event loop group, so that the operating system
+	 * spreads the new connections across them. This is applicable only with the native transports supporting
+	 * {@code SO_REUSEPORT} (i.e. {@code Epoll} and {@code io_uring}), otherwise only one listening socket is bound.
+	 * The {@link DisposableServer} represents all listening sockets.
+	 * Default to {@code 1}, i.e. one listening socket bound without {@code SO_REUSEPORT}.
+	 * <p><strong>Note:</strong> With {@code SO_REUSEPORT}, other sockets of the same user can be bound to the same
+	 * address. The select event loop group should have at least as many event loops as listening sockets.
+	 *
+	 * @param acceptors the number of the listening sockets
+	 * @return a new {@link ServerTransport} reference
+	 * @throws IllegalArgumentException if acceptors is less than 1
+	 * @since 1.1.0
+	 */
+	public T acceptors(int acceptors) {
+		if (acceptors < 1) {
+			throw new IllegalArgumentException("acceptors must be greater or equal to 1");
+		}
+		T dup = duplicate();
+		dup.configuration().acceptors = acceptors;
+		return dup;
+	}
+
 	/**
 	 * Set or add the given {@link ConnectionObserver} for each remote connection
 	 *
@@ -346,6 +405,42 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 		});
 	}
 
+	// Binds the additional listening sockets to the address of the first one, which is bound with SO_REUSEPORT
+	@SuppressWarnings("FutureReturnValueIgnored")
+	static Mono<Channel> bindAcceptors(ServerTransportConfig<?> config, Channel channel,
+			Supplier<AcceptorInitializer> acceptorInitializer, DisposableBind disposableServer) {
+		if (!AcceptorInitializer.isReusePort(channel)) {
+			log.warn(format(channel, "SO_REUSEPORT is not supported by the transport, only one listening socket is bound."));
+			return Mono.just(channel);
+		}
+		SocketAddress local = channel.localAddress();
+		return Flux.range(1, config.acceptors - 1)
+		           .flatMap(i -> TransportConnector.bind(config, acceptorInitializer.get(), local, false))
+		           .doOnNext(disposableServer.acceptors::add)
+		           .then(Mono.just(channel))
+		           .onErrorResume(t -> {
+		               //"FutureReturnValueIgnored" this is deliberate
+		               channel.close();
+		               disposableServer.acceptors.forEach(Channel::close);
+		               return Mono.error(t);
+		           });
+	}
+
+	// The live load of the child event loops, null when the child event loop group chooses the event loop itself
+	@Nullable
+	static List<EventLoopProbe> childLoads(EventLoopGroup childGroup, ChildEventLoopChooser chooser) {
+		if (chooser == ChildEventLoopChooser.roundRobin()) {
+			return null;
+		}
+		List<EventLoopProbe> childLoads = new ArrayList<>();
+		for (EventExecutor executor : childGroup) {
+			if (executor instanceof EventLoop) {
+				childLoads.add(EventLoopProbe.getOrStart((EventLoop) executor));
+			}
+		}
+		return childLoads.isEmpty() ? null : childLoads;
+	}
+
 	static final Logger log = Loggers.getLogger(ServerTransport.class);
 
 	static class Acceptor extends ChannelInboundHandlerAdapter {
@@ -355,17 +450,23 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 		final Map<ChannelOption<?>, ?> childOptions;
 		final Map<AttributeKey<?>, ?> childAttrs;
 		final boolean isDomainSocket;
+		final ChildEventLoopChooser childEventLoopChooser;
+		@Nullable
+		final List<EventLoopProbe> childLoads;
 
 		Runnable enableAutoReadTask;
 
 		Acceptor(EventLoopGroup childGroup, ChannelHandler childHandler,
 				Map<ChannelOption<?>, ?> childOptions, Map<AttributeKey<?>, ?> childAttrs,
-				boolean isDomainSocket) {
+				boolean isDomainSocket, ChildEventLoopChooser childEventLoopChooser,
+				@Nullable List<EventLoopProbe> childLoads) {
 			this.childGroup = childGroup;
 			this.childHandler = childHandler;
 			this.childOptions = childOptions;
 			this.childAttrs = childAttrs;
 			this.isDomainSocket = isDomainSocket;
+			this.childEventLoopChooser = childEventLoopChooser;
+			this.childLoads = childLoads;
 		}
 
 		@Override
@@ -378,7 +479,7 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 			TransportConnector.setAttributes(child, childAttrs);
 
 			try {
-				childGroup.register(child).addListener((ChannelFutureListener) future -> {
+				register(child).addListener((ChannelFutureListener) future -> {
 					if (!future.isSuccess()) {
 						forceClose(child, future.cause());
 					}
@@ -389,6 +490,23 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 			}
 		}
 
+		ChannelFuture register(Channel child) {
+			if (childLoads == null) {
+				return childGroup.register(child);
+			}
+			EventLoop eventLoop = childEventLoopChooser.choose(child, childLoads).eventLoop();
+			// Count the channel before the registration, so that the next accepted channels see the updated load
+			EventLoopProbe probe = EventLoopProbe.getOrStart(eventLoop);
+			probe.register(child);
+			return eventLoop.register(child)
+			                .addListener(future -> {
+			                    if (!future.isSuccess()) {
+			                        // the channel is closed forcibly, the close future is not completed
+			                        probe.channels.decrementAndGet();
+			                    }
+			                });
+		}
+
 		@Override
 		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
 			ChannelConfig config = ctx.channel().config();
@@ -429,15 +547,30 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 	static final class AcceptorInitializer extends ChannelInitializer<Channel> {
 
 		final Acceptor acceptor;
+		final boolean reusePort;
 
-		AcceptorInitializer(Acceptor acceptor) {
+		AcceptorInitializer(Acceptor acceptor, boolean reusePort) {
 			this.acceptor = acceptor;
+			this.reusePort = reusePort;
 		}
 
 		@Override
 		public void initChannel(final Channel ch) {
+			if (reusePort && !ch.config().setOption(UnixChannelOption.SO_REUSEPORT, true) && log.isDebugEnabled()) {
+				// The channel is not bound yet
+				log.debug(format(ch, "SO_REUSEPORT is not supported by the transport."));
+			}
 			ch.eventLoop().execute(() -> ch.pipeline().addLast(acceptor));
 		}
+
+		static boolean isReusePort(Channel channel) {
+			try {
+				return Boolean.TRUE.equals(channel.config().getOption(UnixChannelOption.SO_REUSEPORT));
+			}
+			catch (RuntimeException e) {
+				return false;
+			}
+		}
 	}
 
 	static final class ChildObserver implements ConnectionObserver {
@@ -485,6 +618,8 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 		final Context                    currentContext;
 		final TransportConfig            config;
 		final SocketAddress              bindAddress;
+		// the additional listening sockets bound with SO_REUSEPORT
+		final List<Channel>              acceptors = new CopyOnWriteArrayList<>();
 
 		Channel channel;
 		Subscription subscription;
@@ -510,6 +645,8 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 		@SuppressWarnings("FutureReturnValueIgnored")
 		public final void dispose() {
 			if (channel != null) {
+				//"FutureReturnValueIgnored" this is deliberate
+				acceptors.forEach(Channel::close);
 				if (channel.isActive()) {
 					//"FutureReturnValueIgnored" this is deliberate
 					channel.close();
@@ -564,6 +701,32 @@ public abstract class ServerTransport<T extends ServerTransport<T, CONF>,
 			}
 		}
 
+		@Override
+		public boolean isDisposed() {
+			if (!channel.isActive()) {
+				for (Channel acceptor : acceptors) {
+					if (acceptor.isActive()) {
+						return false;
+					}
+				}
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public Mono<Void> onDispose() {
+			if (acceptors.isEmpty()) {
+				return FutureMono.from(channel.closeFuture());
+			}
+			List<Mono<Void>> closeFutures = new ArrayList<>(acceptors.size() + 1);
+			closeFutures.add(FutureMono.from(channel.closeFuture()));
+			for (Channel acceptor : acceptors) {
+				closeFutures.add(FutureMono.from(acceptor.closeFuture()));
+			}
+			return Mono.when(closeFutures);
+		}
+
 		@Override
 		public void onComplete() {
 		}
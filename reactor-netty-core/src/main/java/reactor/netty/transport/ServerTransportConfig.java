@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,16 @@ import static reactor.netty.ReactorNetty.format;
  */
 public abstract class ServerTransportConfig<CONF extends TransportConfig> extends TransportConfig {
 
+	/**
+	 * Return the number of the listening sockets bound with {@code SO_REUSEPORT}
+	 *
+	 * @return the number of the listening sockets bound with {@code SO_REUSEPORT}
+	 * @since 1.1.0
+	 */
+	public final int acceptors() {
+		return acceptors;
+	}
+
 	/**
 	 * Return the read-only default channel attributes for each remote connection
 	 *
@@ -59,6 +69,16 @@ public abstract class ServerTransportConfig<CONF extends TransportConfig> extend
 		return Collections.unmodifiableMap(childAttrs);
 	}
 
+	/**
+	 * Return the configured {@link ChildEventLoopChooser} or {@link ChildEventLoopChooser#roundRobin()}
+	 *
+	 * @return the configured {@link ChildEventLoopChooser} or {@link ChildEventLoopChooser#roundRobin()}
+	 * @since 1.1.0
+	 */
+	public final ChildEventLoopChooser childEventLoopChooser() {
+		return childEventLoopChooser;
+	}
+
 	/**
 	 * Return the configured {@link ConnectionObserver} if any or
 	 * {@link ConnectionObserver#emptyListener()} for each remote connection
@@ -125,7 +145,9 @@ public abstract class ServerTransportConfig<CONF extends TransportConfig> extend
 
 	// Protected/Package private write API
 
+	int                                acceptors;
 	Map<AttributeKey<?>, ?>            childAttrs;
+	ChildEventLoopChooser              childEventLoopChooser;
 	ConnectionObserver                 childObserver;
 	Map<ChannelOption<?>, ?>           childOptions;
 	Consumer<? super CONF>             doOnBind;
@@ -143,14 +165,18 @@ public abstract class ServerTransportConfig<CONF extends TransportConfig> extend
 	protected ServerTransportConfig(Map<ChannelOption<?>, ?> options, Map<ChannelOption<?>, ?> childOptions,
 				Supplier<? extends SocketAddress> bindAddress) {
 		super(options, bindAddress);
+		this.acceptors = 1;
 		this.childAttrs = Collections.emptyMap();
+		this.childEventLoopChooser = ChildEventLoopChooser.roundRobin();
 		this.childObserver = ConnectionObserver.emptyListener();
 		this.childOptions = Objects.requireNonNull(childOptions, "childOptions");
 	}
 
 	protected ServerTransportConfig(ServerTransportConfig<CONF> parent) {
 		super(parent);
+		this.acceptors = parent.acceptors;
 		this.childAttrs = parent.childAttrs;
+		this.childEventLoopChooser = parent.childEventLoopChooser;
 		this.childObserver = parent.childObserver;
 		this.childOptions = parent.childOptions;
 		this.doOnBind = parent.doOnBind;
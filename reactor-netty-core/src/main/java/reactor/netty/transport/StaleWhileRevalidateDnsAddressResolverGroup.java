@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.transport;
+
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.dns.DnsRecord;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.InetSocketAddressResolver;
+import io.netty.resolver.NameResolver;
+import io.netty.resolver.RoundRobinInetAddressResolver;
+import io.netty.resolver.dns.DefaultDnsCache;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsCache;
+import io.netty.resolver.dns.DnsCacheEntry;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.net.IDN;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link DnsAddressResolverGroup} that serves the addresses of a host name after their time to live expired,
+ * for a bounded stale time, while they are refreshed in the background. The stale addresses are served
+ * as well when the refresh fails. A host name looked up during the last quarter of its time to live
+ * is refreshed before it expires, so that the host names used frequently are never resolved on the connect path.
+ * <p>The resolved addresses are cached by this group instead of the {@link DnsCache} of the resolvers,
+ * which only records the time to live of the DNS resource records and caches the failed DNS queries.
+ *
+ * @since 1.1.0
+ */
+final class StaleWhileRevalidateDnsAddressResolverGroup extends DnsAddressResolverGroup {
+
+	static final Logger log = Loggers.getLogger(StaleWhileRevalidateDnsAddressResolverGroup.class);
+
+	static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	final TtlRecordingDnsCache dnsCache;
+	final long maxStaleNanos;
+	final boolean roundRobinSelection;
+
+	final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+	final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+	final LongAdder hits = new LongAdder();
+	final LongAdder stale = new LongAdder();
+	final LongAdder misses = new LongAdder();
+	final LongAdder refreshes = new LongAdder();
+	final LongAdder refreshErrors = new LongAdder();
+
+	volatile long sweptAt = System.nanoTime();
+
+	StaleWhileRevalidateDnsAddressResolverGroup(DnsNameResolverBuilder builder, TtlRecordingDnsCache dnsCache,
+			long maxStaleNanos, boolean roundRobinSelection) {
+		super(builder.resolveCache(dnsCache));
+		this.dnsCache = dnsCache;
+		this.maxStaleNanos = maxStaleNanos;
+		this.roundRobinSelection = roundRobinSelection;
+	}
+
+	@Override
+	protected AddressResolver<InetSocketAddress> newAddressResolver(EventLoop eventLoop, NameResolver<InetAddress> resolver) {
+		NameResolver<InetAddress> cachingResolver = new CachingNameResolver(eventLoop, resolver, this);
+		return roundRobinSelection ?
+				new RoundRobinInetAddressResolver(eventLoop, cachingResolver).asAddressResolver() :
+				new InetSocketAddressResolver(eventLoop, cachingResolver);
+	}
+
+	@SuppressWarnings("FutureReturnValueIgnored")
+	void refresh(String key, String inetHost, NameResolver<InetAddress> resolver) {
+		if (!refreshing.add(key)) {
+			return;
+		}
+		// "FutureReturnValueIgnored" this is deliberate
+		resolver.resolveAll(inetHost).addListener((FutureListener<List<InetAddress>>) future -> {
+			refreshing.remove(key);
+			if (future.isSuccess()) {
+				refreshes.increment();
+				store(key, future.getNow());
+			}
+			else {
+				refreshErrors.increment();
+				if (log.isDebugEnabled()) {
+					log.debug("Failed to refresh the addresses of [{}], the cached addresses are served until they are too stale",
+							inetHost, future.cause());
+				}
+			}
+		});
+	}
+
+	void store(String key, List<InetAddress> addresses) {
+		long now = System.nanoTime();
+		if (entries.put(key, new Entry(addresses, now, dnsCache.ttlNanos(key, addresses))) == null &&
+				now - sweptAt >= SWEEP_INTERVAL_NANOS) {
+			// Remove the host names which are not looked up anymore, checked only when a new host name is cached
+			sweptAt = now;
+			entries.values().removeIf(entry -> entry.isTooStale(now, maxStaleNanos));
+		}
+	}
+
+	/**
+	 * The addresses of a host name, with the time they were resolved.
+	 */
+	static final class Entry {
+
+		final List<InetAddress> addresses;
+		final long resolvedAt;
+		final long ttlNanos;
+
+		Entry(List<InetAddress> addresses, long resolvedAt, long ttlNanos) {
+			this.addresses = addresses;
+			this.resolvedAt = resolvedAt;
+			this.ttlNanos = ttlNanos;
+		}
+
+		boolean isExpired(long now) {
+			return now - resolvedAt >= ttlNanos;
+		}
+
+		boolean isTooStale(long now, long maxStaleNanos) {
+			return now - resolvedAt - ttlNanos >= maxStaleNanos;
+		}
+
+		boolean shouldRefresh(long now) {
+			return now - resolvedAt >= ttlNanos / 4 * 3;
+		}
+	}
+
+	/**
+	 * Serves the addresses cached by the group, resolves the host names on a miss
+	 * and refreshes them in the background otherwise.
+	 */
+	static final class CachingNameResolver extends InetNameResolver {
+
+		final NameResolver<InetAddress> resolver;
+		final StaleWhileRevalidateDnsAddressResolverGroup group;
+
+		CachingNameResolver(EventExecutor executor, NameResolver<InetAddress> resolver,
+				StaleWhileRevalidateDnsAddressResolverGroup group) {
+			super(executor);
+			this.resolver = resolver;
+			this.group = group;
+		}
+
+		@Override
+		@SuppressWarnings("FutureReturnValueIgnored")
+		protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+			Promise<List<InetAddress>> all = executor().newPromise();
+			// "FutureReturnValueIgnored" this is deliberate
+			all.addListener((FutureListener<List<InetAddress>>) future -> {
+				if (future.isSuccess()) {
+					// The addresses are sorted by preference as with DnsNameResolver#resolve
+					promise.trySuccess(future.getNow().get(0));
+				}
+				else {
+					promise.tryFailure(future.cause());
+				}
+			});
+			doResolveAll(inetHost, all);
+		}
+
+		@Override
+		@SuppressWarnings("FutureReturnValueIgnored")
+		protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+			String key = inetHost.toLowerCase(Locale.ROOT);
+			Entry entry = group.entries.get(key);
+			if (entry != null) {
+				long now = System.nanoTime();
+				if (!entry.isExpired(now)) {
+					group.hits.increment();
+					if (entry.shouldRefresh(now)) {
+						group.refresh(key, inetHost, resolver);
+					}
+					promise.trySuccess(entry.addresses);
+					return;
+				}
+				if (!entry.isTooStale(now, group.maxStaleNanos)) {
+					group.stale.increment();
+					group.refresh(key, inetHost, resolver);
+					promise.trySuccess(entry.addresses);
+					return;
+				}
+				group.entries.remove(key, entry);
+			}
+			group.misses.increment();
+			// "FutureReturnValueIgnored" this is deliberate
+			resolver.resolveAll(inetHost).addListener((FutureListener<List<InetAddress>>) future -> {
+				if (future.isSuccess()) {
+					group.store(key, future.getNow());
+					promise.trySuccess(future.getNow());
+				}
+				else {
+					promise.tryFailure(future.cause());
+				}
+			});
+		}
+
+		@Override
+		public void close() {
+			resolver.close();
+		}
+	}
+
+	/**
+	 * Records the time to live of the resolved DNS resource records per host name, until the addresses of the host name
+	 * are cached by the group. The failed DNS queries are cached as configured.
+	 */
+	static final class TtlRecordingDnsCache implements DnsCache {
+
+		final int minTtl;
+		final int maxTtl;
+		final DnsCache negativeCache;
+		final ConcurrentMap<String, ConcurrentMap<InetAddress, Long>> ttls = new ConcurrentHashMap<>();
+
+		TtlRecordingDnsCache(int minTtl, int maxTtl, int negativeTtl) {
+			this.minTtl = minTtl;
+			this.maxTtl = maxTtl;
+			this.negativeCache = new DefaultDnsCache(0, 0, negativeTtl);
+		}
+
+		/**
+		 * Return the time to live of the addresses just resolved for a host name: the smallest time to live recorded
+		 * for the host name, or the max time to live when nothing was recorded, e.g. for the hosts file entries
+		 * and the IP literals, which do not change. All the time to live recorded for the host name are discarded.
+		 *
+		 * @param hostname the resolved host name
+		 * @param addresses the resolved addresses
+		 * @return the time to live of the addresses in nanoseconds
+		 */
+		long ttlNanos(String hostname, List<InetAddress> addresses) {
+			// The host name is normalized as when the time to live are recorded, with or without the trailing dot
+			Map<InetAddress, Long> recorded = ttls.remove(key(hostname));
+			long ttl = Long.MAX_VALUE;
+			if (recorded != null) {
+				for (InetAddress address : addresses) {
+					Long addressTtl = recorded.get(address);
+					if (addressTtl != null) {
+						ttl = Math.min(ttl, addressTtl);
+					}
+				}
+			}
+			ttl = ttl == Long.MAX_VALUE ? maxTtl : Math.min(maxTtl, Math.max(minTtl, ttl));
+			return TimeUnit.SECONDS.toNanos(ttl);
+		}
+
+		static String key(String hostname) {
+			String key = IDN.toASCII(hostname).toLowerCase(Locale.ROOT);
+			return key.endsWith(".") ? key.substring(0, key.length() - 1) : key;
+		}
+
+		@Override
+		public void clear() {
+			ttls.clear();
+			negativeCache.clear();
+		}
+
+		@Override
+		public boolean clear(String hostname) {
+			return negativeCache.clear(hostname);
+		}
+
+		@Override
+		public List<? extends DnsCacheEntry> get(String hostname, DnsRecord[] additionals) {
+			return negativeCache.get(hostname, additionals);
+		}
+
+		@Override
+		public DnsCacheEntry cache(String hostname, DnsRecord[] additionals, InetAddress address, long originalTtl,
+				EventLoop loop) {
+			ttls.compute(key(hostname), (key, recorded) -> {
+				ConcurrentMap<InetAddress, Long> ttl = recorded != null ? recorded : new ConcurrentHashMap<>();
+				ttl.merge(address, originalTtl, Math::min);
+				return ttl;
+			});
+			return new ResolvedEntry(address);
+		}
+
+		@Override
+		public DnsCacheEntry cache(String hostname, DnsRecord[] additionals, Throwable cause, EventLoop loop) {
+			return negativeCache.cache(hostname, additionals, cause, loop);
+		}
+	}
+
+	static final class ResolvedEntry implements DnsCacheEntry {
+
+		final InetAddress address;
+
+		ResolvedEntry(InetAddress address) {
+			this.address = address;
+		}
+
+		@Override
+		public InetAddress address() {
+			return address;
+		}
+
+		@Override
+		@Nullable
+		public Throwable cause() {
+			return null;
+		}
+	}
+}
@@ -386,6 +386,9 @@ public abstract class TransportConfig {
 						}
 
 						MicrometerEventLoopMeterRegistrar.INSTANCE.registerMetrics(channel.eventLoop());
+						if (MicrometerEventLoopMeterRegistrar.EXTENDED_METRICS) {
+							EventLoopProbe.getOrStart(channel.eventLoop()).register(channel);
+						}
 					}
 					catch (RuntimeException e) {
 						log.warn("Exception caught while recording metrics.", e);
@@ -404,6 +407,8 @@ public abstract class TransportConfig {
 			      .then(config.doOnChannelInit)
 			      .onChannelInit(connectionObserver, channel, remoteAddress);
 
+			EventLoopProbe.ioTimerFirst(channel);
+
 			pipeline.remove(this);
 
 			if (log.isDebugEnabled()) {
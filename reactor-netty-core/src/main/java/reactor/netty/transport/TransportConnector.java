@@ -30,9 +30,11 @@ import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
 import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 import reactor.netty.Connection;
 import reactor.util.Logger;
 import reactor.util.Loggers;
@@ -41,7 +43,11 @@ import reactor.util.context.Context;
 import reactor.util.context.ContextView;
 import reactor.util.retry.Retry;
 
+import java.net.Inet6Address;
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -159,7 +165,7 @@ public final class TransportConnector {
 
 		boolean isDomainAddress = remoteAddress instanceof DomainSocketAddress;
 		return doInitAndRegister(config, channelInitializer, isDomainAddress, eventLoop)
-				.flatMap(channel -> doResolveAndConnect(channel, config, remoteAddress, resolverGroup, contextView)
+				.flatMap(channel -> doResolveAndConnect(channel, config, remoteAddress, resolverGroup, contextView, channelInitializer)
 						.onErrorResume(RetryConnectException.class,
 								t -> {
 									AtomicInteger index = new AtomicInteger(1);
@@ -306,7 +312,8 @@ public final class TransportConnector {
 
 	@SuppressWarnings({"unchecked", "FutureReturnValueIgnored", "try"})
 	static Mono<Channel> doResolveAndConnect(Channel channel, TransportConfig config,
-			SocketAddress remoteAddress, AddressResolverGroup<?> resolverGroup, ContextView contextView) {
+			SocketAddress remoteAddress, AddressResolverGroup<?> resolverGroup, ContextView contextView,
+			ChannelInitializer<Channel> channelInitializer) {
 		try {
 			AddressResolver<SocketAddress> resolver;
 			try {
@@ -363,6 +370,23 @@ public final class TransportConnector {
 				}
 			}
 
+			Duration attemptDelay = config instanceof ClientTransportConfig ?
+					((ClientTransportConfig<?>) config).happyEyeballsAttemptDelay : null;
+			if (attemptDelay != null) {
+				return Mono.create(sink ->
+						resolveFuture.addListener((FutureListener<List<SocketAddress>>) future -> {
+							if (future.cause() != null) {
+								// "FutureReturnValueIgnored" this is deliberate
+								channel.close();
+								sink.error(future.cause());
+							}
+							else {
+								new HappyEyeballsConnect(config, channelInitializer, remoteAddress, future.getNow(),
+										attemptDelay, sink).connect(channel);
+							}
+						}));
+			}
+
 			if (resolveFuture.isDone()) {
 				Throwable cause = resolveFuture.cause();
 				if (cause != null) {
@@ -395,6 +419,202 @@ public final class TransportConnector {
 		}
 	}
 
+	/**
+	 * Races the connection attempts to the resolved addresses as described in
+	 * <a href="https://datatracker.ietf.org/doc/html/rfc8305">RFC 8305</a>.
+	 * All connection attempts are performed on the event loop of the first channel, so that
+	 * once an attempt succeeds, the other attempts are cancelled before they can complete.
+	 */
+	static final class HappyEyeballsConnect {
+
+		final List<SocketAddress> addresses;
+		final Duration attemptDelay;
+		final Supplier<? extends SocketAddress> bindAddress;
+		final ChannelInitializer<Channel> channelInitializer;
+		final TransportConfig config;
+		final SocketAddress remoteAddress;
+		final MonoSink<Channel> sink;
+		final List<Channel> attempts = new ArrayList<>();
+
+		EventLoop eventLoop;
+		boolean done;
+		Throwable lastError;
+		int next;
+		int pending;
+		ScheduledFuture<?> timer;
+
+		HappyEyeballsConnect(TransportConfig config, ChannelInitializer<Channel> channelInitializer,
+				SocketAddress remoteAddress, List<SocketAddress> addresses, Duration attemptDelay, MonoSink<Channel> sink) {
+			this.addresses = interleave(addresses);
+			this.attemptDelay = attemptDelay;
+			this.bindAddress = config.bindAddress();
+			this.channelInitializer = channelInitializer;
+			this.config = config;
+			this.remoteAddress = remoteAddress;
+			this.sink = sink;
+		}
+
+		void connect(Channel channel) {
+			eventLoop = channel.eventLoop();
+			sink.onCancel(() -> eventLoop.execute(this::cancel));
+			if (eventLoop.inEventLoop()) {
+				connect(channel, next++);
+			}
+			else {
+				eventLoop.execute(() -> connect(channel, next++));
+			}
+		}
+
+		@SuppressWarnings("FutureReturnValueIgnored")
+		void connect(Channel channel, int index) {
+			if (done) {
+				// "FutureReturnValueIgnored" this is deliberate
+				channel.close();
+				return;
+			}
+
+			SocketAddress address = addresses.get(index);
+			if (log.isDebugEnabled()) {
+				log.debug(format(channel, "Connecting to [" + address + "]."));
+			}
+
+			attempts.add(channel);
+			pending++;
+
+			ChannelFuture f;
+			if (bindAddress == null) {
+				f = channel.connect(address);
+			}
+			else {
+				SocketAddress local = Objects.requireNonNull(bindAddress.get(), "bindAddress");
+				f = channel.connect(address, local);
+			}
+			f.addListener(future -> onConnect(channel, address, future));
+
+			if (next < addresses.size()) {
+				timer = eventLoop.schedule(this::nextAttempt, attemptDelay.toNanos(), TimeUnit.NANOSECONDS);
+			}
+		}
+
+		void nextAttempt() {
+			if (timer != null) {
+				timer.cancel(false);
+				timer = null;
+			}
+			if (done || next >= addresses.size()) {
+				return;
+			}
+			int index = next++;
+			doInitAndRegister(config, channelInitializer, false, eventLoop)
+					.subscribe(channel -> connect(channel, index), this::onError);
+		}
+
+		@SuppressWarnings("FutureReturnValueIgnored")
+		void onConnect(Channel channel, SocketAddress address, Future<? super Void> future) {
+			pending--;
+			if (future.isSuccess()) {
+				if (done) {
+					// "FutureReturnValueIgnored" this is deliberate
+					channel.close();
+					return;
+				}
+				done = true;
+				cancelAttempts(channel);
+				if (config.metricsRecorder != null) {
+					config.metricsRecorder.incrementConnectFamilyWonCount(remoteAddress, family(address));
+				}
+				sink.success(channel);
+				return;
+			}
+
+			// "FutureReturnValueIgnored" this is deliberate
+			channel.close();
+			if (log.isDebugEnabled()) {
+				log.debug(format(channel, "Connect attempt to [" + address + "] failed."), future.cause());
+			}
+			onError(future.cause());
+		}
+
+		void onError(Throwable error) {
+			if (done) {
+				return;
+			}
+			lastError = error;
+			if (next < addresses.size()) {
+				// do not wait for the delay, start the next attempt immediately
+				nextAttempt();
+			}
+			else if (pending == 0) {
+				done = true;
+				sink.error(lastError);
+			}
+		}
+
+		void cancel() {
+			if (!done) {
+				done = true;
+				cancelAttempts(null);
+			}
+		}
+
+		@SuppressWarnings("FutureReturnValueIgnored")
+		void cancelAttempts(@Nullable Channel winner) {
+			if (timer != null) {
+				timer.cancel(false);
+				timer = null;
+			}
+			for (Channel channel : attempts) {
+				if (channel != winner) {
+					// "FutureReturnValueIgnored" this is deliberate
+					channel.close();
+				}
+			}
+			attempts.clear();
+		}
+
+		static String family(SocketAddress address) {
+			return address instanceof InetSocketAddress && ((InetSocketAddress) address).getAddress() instanceof Inet6Address ?
+					IPV6 : IPV4;
+		}
+
+		/**
+		 * Interleaves the addresses by address family, starting with the family of the first address
+		 * and keeping the order of the addresses within a family.
+		 */
+		static List<SocketAddress> interleave(List<SocketAddress> addresses) {
+			if (addresses.size() < 2) {
+				return addresses;
+			}
+			String firstFamily = family(addresses.get(0));
+			List<SocketAddress> first = new ArrayList<>(addresses.size());
+			List<SocketAddress> second = new ArrayList<>(addresses.size());
+			for (SocketAddress address : addresses) {
+				if (firstFamily.equals(family(address))) {
+					first.add(address);
+				}
+				else {
+					second.add(address);
+				}
+			}
+			if (second.isEmpty()) {
+				return addresses;
+			}
+			List<SocketAddress> result = new ArrayList<>(addresses.size());
+			for (int i = 0; i < Math.max(first.size(), second.size()); i++) {
+				if (i < first.size()) {
+					result.add(first.get(i));
+				}
+				if (i < second.size()) {
+					result.add(second.get(i));
+				}
+			}
+			return result;
+		}
+
+		static final String IPV4 = "ipv4";
+		static final String IPV6 = "ipv6";
+	}
+
 	static final class MonoChannelPromise extends Mono<Channel> implements ChannelPromise, Subscription {
 
 		final Channel channel;
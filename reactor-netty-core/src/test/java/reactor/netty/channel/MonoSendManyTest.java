@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2019-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package reactor.netty.channel;
 
 import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
@@ -25,13 +26,19 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerAdapter;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.ReferenceCounted;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.reactivestreams.Subscription;
@@ -259,6 +266,82 @@ class MonoSendManyTest {
 		}
 	}
 
+	@Test
+	void flushPolicyBatchesWritesByMessagesAndBytes() {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+		try {
+			FlushPolicy policy = FlushPolicy.builder()
+			                                .name("batchesWrites")
+			                                .maxMessages(3)
+			                                .maxBytes(8)
+			                                .maxDelay(Duration.ofMinutes(1))
+			                                .metrics(true)
+			                                .build();
+			EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandlerAdapter() {});
+			Sinks.Many<ByteBuf> source = Sinks.many().unicast().onBackpressureBuffer();
+			StepVerifier.Step<Void> step = StepVerifier.create(MonoSendMany.byteBufSource(source.asFlux(), channel, policy));
+
+			step.then(() -> {
+			        // 3 messages of 2 bytes
+			        source.emitNext(Unpooled.wrappedBuffer(new byte[2]), Sinks.EmitFailureHandler.FAIL_FAST);
+			        source.emitNext(Unpooled.wrappedBuffer(new byte[2]), Sinks.EmitFailureHandler.FAIL_FAST);
+			        channel.runPendingTasks();
+			        assertThat(channel.outboundMessages()).isEmpty();
+			        source.emitNext(Unpooled.wrappedBuffer(new byte[2]), Sinks.EmitFailureHandler.FAIL_FAST);
+			        assertThat(channel.outboundMessages()).hasSize(3);
+
+			        // 1 message of 8 bytes
+			        source.emitNext(Unpooled.wrappedBuffer(new byte[8]), Sinks.EmitFailureHandler.FAIL_FAST);
+			        assertThat(channel.outboundMessages()).hasSize(4);
+
+			        // the last writes are flushed on completion
+			        source.emitNext(Unpooled.wrappedBuffer(new byte[1]), Sinks.EmitFailureHandler.FAIL_FAST);
+			        channel.runPendingTasks();
+			        assertThat(channel.outboundMessages()).hasSize(4);
+			        source.emitComplete(Sinks.EmitFailureHandler.FAIL_FAST);
+			        channel.runPendingTasks();
+			    })
+			    .expectComplete()
+			    .verify(Duration.ofSeconds(5));
+
+			assertThat(channel.outboundMessages()).hasSize(5);
+			channel.outboundMessages().forEach(ReferenceCountUtil::release);
+
+			DistributionSummary flushBytes = registry.find("reactor.netty.flush.policy.flush.bytes")
+			                                         .tags("name", "batchesWrites")
+			                                         .summary();
+			assertThat(flushBytes).isNotNull();
+			assertThat(flushBytes.count()).isEqualTo(3);
+			assertThat(flushBytes.totalAmount()).isEqualTo(15);
+		}
+		finally {
+			Metrics.removeRegistry(registry);
+			registry.close();
+		}
+	}
+
+	@Test
+	void flushPolicyFlushesAfterMaxDelay() throws Exception {
+		FlushPolicy policy = FlushPolicy.builder()
+		                                .maxDelay(Duration.ofMillis(10))
+		                                .build();
+		EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandlerAdapter() {});
+		Sinks.Many<ByteBuf> source = Sinks.many().unicast().onBackpressureBuffer();
+		MonoSendMany.byteBufSource(source.asFlux(), channel, policy)
+		            .subscribe();
+
+		source.emitNext(Unpooled.wrappedBuffer(new byte[2]), Sinks.EmitFailureHandler.FAIL_FAST);
+		channel.runPendingTasks();
+		assertThat(channel.outboundMessages()).isEmpty();
+
+		Thread.sleep(50);
+		channel.runPendingTasks();
+		assertThat(channel.outboundMessages()).hasSize(1);
+		channel.outboundMessages().forEach(ReferenceCountUtil::release);
+		source.emitComplete(Sinks.EmitFailureHandler.FAIL_FAST);
+	}
+
 	static void wait(WeakReference<Subscription> ref) {
 		int duration = 5_000;
 		int spins = duration / 100;
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
@@ -36,6 +37,7 @@ import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.handler.logging.LoggingHandler;
@@ -71,6 +73,7 @@ import reactor.test.StepVerifier;
 import reactor.test.scheduler.VirtualTimeScheduler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.awaitility.Awaitility.await;
 
 class DefaultPooledConnectionProviderTest {
@@ -528,6 +531,194 @@ class DefaultPooledConnectionProviderTest {
 		}
 	}
 
+	@Test
+	void testEventLoopAffinity() throws Exception {
+		LoopResources loop = LoopResources.create("testEventLoopAffinity", 4, true);
+		DefaultPooledConnectionProvider provider =
+				(DefaultPooledConnectionProvider) ConnectionProvider.builder("testEventLoopAffinity")
+				                                                    .maxConnections(4)
+				                                                    .eventLoopAffinity(true)
+				                                                    .build();
+		DisposableServer disposableServer =
+				TcpServer.create()
+				         .port(0)
+				         .wiretap(true)
+				         .bindNow();
+
+		Connection connection = null;
+		try {
+			EventLoop caller = loop.onClient(false).next();
+			CompletableFuture<Connection> future = new CompletableFuture<>();
+			caller.execute(() ->
+					TcpClient.create(provider)
+					         .port(disposableServer.port())
+					         .runOn(loop, false)
+					         .wiretap(true)
+					         .connect()
+					         .subscribe(future::complete, future::completeExceptionally));
+			connection = future.get(5, TimeUnit.SECONDS);
+
+			assertThat(connection.channel().eventLoop()).isSameAs(caller);
+			assertThat(provider.channelPools).hasSize(1);
+
+			InstrumentedPool<PooledConnection> channelPool = provider.channelPools.values().iterator().next();
+			assertThat(channelPool).isInstanceOf(EventLoopAffinePool.class);
+			assertThat(channelPool.metrics()).isSameAs(channelPool);
+			assertThat(channelPool.metrics().allocatedSize()).isEqualTo(1);
+			assertThat(channelPool.metrics().getMaxAllocatedSize()).isEqualTo(4);
+
+			ConnectionPoolMetrics metrics = new DelegatingConnectionPoolMetrics(channelPool.metrics());
+			assertThat(metrics.affinityHitCount()).isEqualTo(1);
+			assertThat(metrics.affinityStealCount()).isEqualTo(0);
+		}
+		finally {
+			if (connection != null) {
+				connection.disposeNow();
+			}
+			disposableServer.disposeNow();
+			provider.disposeLater()
+			        .block(Duration.ofSeconds(5));
+			loop.disposeLater()
+			    .block(Duration.ofSeconds(5));
+		}
+	}
+
+	@Test
+	void testEventLoopAffinityPendingAcquireServedByAnyPartition() throws Exception {
+		LoopResources loop = LoopResources.create("testEventLoopAffinityPending", 3, true);
+		DefaultPooledConnectionProvider provider =
+				(DefaultPooledConnectionProvider) ConnectionProvider.builder("testEventLoopAffinityPending")
+				                                                    .maxConnections(2)
+				                                                    .pendingAcquireTimeout(Duration.ofSeconds(2))
+				                                                    .eventLoopAffinity(true)
+				                                                    .build();
+		DisposableServer disposableServer =
+				TcpServer.create()
+				         .port(0)
+				         .wiretap(true)
+				         .bindNow();
+
+		PooledConnection c1 = null;
+		PooledConnection c2 = null;
+		try {
+			EventLoopGroup group = loop.onClient(false);
+			InetSocketAddress address = AddressUtils.createUnresolved("localhost", disposableServer.port());
+			Supplier<? extends SocketAddress> remoteAddress = () -> address;
+			ClientTransportConfigImpl config = new ClientTransportConfigImpl(group, provider, Collections.emptyMap(),
+					remoteAddress, DefaultAddressResolverGroup.INSTANCE);
+			EventLoop loop1 = group.next();
+			EventLoop loop2 = group.next();
+			EventLoop loop3 = group.next();
+
+			c1 = acquire(provider, config, loop1);
+			c2 = acquire(provider, config, loop2);
+			EventLoopAffinePool<?> channelPool = (EventLoopAffinePool<?>) provider.channelPools.values().iterator().next();
+			assertThat(channelPool.partitions).hasSize(2);
+			// The borrowers wait in the queue shared by the partitions, never in a partition
+			assertThat(channelPool.config().maxPending()).isEqualTo(0);
+			assertThat(channelPool.partitions).hasSize(2);
+
+			CompletableFuture<Connection> pending =
+					provider.acquire(config, ConnectionObserver.emptyListener(), remoteAddress, config.resolverInternal())
+					        .contextWrite(ctx -> ctx.put(PooledConnectionProvider.CONTEXT_CALLER_EVENTLOOP, loop3))
+					        .toFuture();
+			await().atMost(Duration.ofSeconds(5))
+			       .until(() -> channelPool.metrics().pendingAcquireSize() == 1);
+			assertThat(pending).isNotDone();
+
+			// Released in the partition of loop2, the connection is given to the borrower waiting on loop3
+			c2.onStateChange(c2, ConnectionObserver.State.DISCONNECTING);
+			assertThat(pending.get(5, TimeUnit.SECONDS)).isEqualTo(c2);
+			assertThat(channelPool.metrics().pendingAcquireSize()).isEqualTo(0);
+
+			StepVerifier.create(provider.acquire(config, ConnectionObserver.emptyListener(), remoteAddress,
+			                            config.resolverInternal())
+			                            .contextWrite(ctx -> ctx.put(PooledConnectionProvider.CONTEXT_CALLER_EVENTLOOP, loop3)))
+			            .expectError(TimeoutException.class)
+			            .verify(Duration.ofSeconds(5));
+			assertThat(channelPool.metrics().pendingAcquireSize()).isEqualTo(0);
+		}
+		finally {
+			if (c1 != null) {
+				c1.disposeNow();
+			}
+			if (c2 != null) {
+				c2.disposeNow();
+			}
+			disposableServer.disposeNow();
+			provider.disposeLater()
+			        .block(Duration.ofSeconds(5));
+			loop.disposeLater()
+			    .block(Duration.ofSeconds(5));
+		}
+	}
+
+	static PooledConnection acquire(DefaultPooledConnectionProvider provider, ClientTransportConfigImpl config,
+			EventLoop caller) {
+		return (PooledConnection) provider.acquire(config, ConnectionObserver.emptyListener(), config.remoteAddress(),
+				config.resolverInternal())
+				.contextWrite(ctx -> ctx.put(PooledConnectionProvider.CONTEXT_CALLER_EVENTLOOP, caller))
+				.block(Duration.ofSeconds(5));
+	}
+
+	@Test
+	void testWarmupEstablishesMinConnections() {
+		DisposableServer disposableServer =
+				TcpServer.create()
+				         .port(0)
+				         .wiretap(true)
+				         .bindNow();
+
+		SocketAddress address = AddressUtils.createUnresolved("localhost", disposableServer.port());
+		DefaultPooledConnectionProvider provider =
+				(DefaultPooledConnectionProvider) ConnectionProvider.builder("testWarmupEstablishesMinConnections")
+				                                                    .forRemoteHost(address, spec -> spec.maxConnections(4).minConnections(2))
+				                                                    .build();
+		Connection connection = null;
+		try {
+			TcpClient client =
+					TcpClient.create(provider)
+					         .remoteAddress(() -> address)
+					         .wiretap(true);
+
+			client.warmup()
+			      .block(Duration.ofSeconds(5));
+
+			assertThat(provider.channelPools).hasSize(1);
+			InstrumentedPool<PooledConnection> channelPool = provider.channelPools.values().iterator().next();
+			assertThat(channelPool.metrics().allocatedSize()).isEqualTo(2);
+			assertThat(channelPool.metrics().idleSize()).isEqualTo(2);
+
+			connection = client.connectNow();
+			assertThat(provider.channelPools).hasSize(1);
+			assertThat(channelPool.metrics().acquiredSize()).isEqualTo(1);
+			assertThat(channelPool.metrics().allocatedSize()).isEqualTo(2);
+
+			// The closed connection is re-established in the background
+			connection.channel().close().syncUninterruptibly();
+			await().atMost(Duration.ofSeconds(5))
+			       .untilAsserted(() -> assertThat(channelPool.metrics().allocatedSize()).isEqualTo(1));
+			provider.maintainWarmConnectionsInBackground();
+			await().atMost(Duration.ofSeconds(5))
+			       .untilAsserted(() -> assertThat(channelPool.metrics().idleSize()).isEqualTo(2));
+		}
+		finally {
+			if (connection != null) {
+				connection.disposeNow();
+			}
+			disposableServer.disposeNow();
+			provider.disposeLater()
+			        .block(Duration.ofSeconds(5));
+		}
+		assertThat(provider.warmConnectionsMaintenance.isDisposed()).isTrue();
+	}
+
+	@Test
+	void testMinConnectionsCannotBeNegative() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> ConnectionProvider.builder("testMinConnectionsCannotBeNegative").minConnections(-1));
+	}
+
 	static final class PoolImpl extends AtomicInteger implements InstrumentedPool<PooledConnection> {
 
 		@Override
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.resources;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.resolver.AbstractAddressResolver;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.Test;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.tcp.TcpClient;
+import reactor.netty.tcp.TcpServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class LoadBalancingConnectionProviderTest {
+
+	static final InetSocketAddress ADDRESS_1 = new InetSocketAddress("127.0.0.1", 8081);
+	static final InetSocketAddress ADDRESS_2 = new InetSocketAddress("127.0.0.1", 8082);
+	static final InetSocketAddress ADDRESS_3 = new InetSocketAddress("127.0.0.1", 8083);
+
+	@Test
+	void leastLoadedEndpointIsChosen() {
+		LoadBalancingConnectionProvider.Endpoint loaded = new LoadBalancingConnectionProvider.Endpoint(ADDRESS_1);
+		LoadBalancingConnectionProvider.Endpoint idle = new LoadBalancingConnectionProvider.Endpoint(ADDRESS_2);
+		List<LoadBalancingConnectionProvider.Endpoint> endpoints = Arrays.asList(loaded, idle);
+
+		loaded.inflight.set(3);
+		for (int i = 0; i < 10; i++) {
+			assertThat(LoadBalancingConnectionProvider.Endpoints.choose(endpoints)).isSameAs(idle);
+		}
+
+		// The peak latency is taken into account at once
+		loaded.inflight.set(0);
+		loaded.observe(TimeUnit.MILLISECONDS.toNanos(500));
+		idle.observe(TimeUnit.MILLISECONDS.toNanos(5));
+		for (int i = 0; i < 10; i++) {
+			assertThat(LoadBalancingConnectionProvider.Endpoints.choose(endpoints)).isSameAs(idle);
+		}
+		assertThat(loaded.cost()).isGreaterThan(idle.cost());
+	}
+
+	@Test
+	void lowerLatencyIsBlendedIntoTheAverage() {
+		LoadBalancingConnectionProvider.Endpoint endpoint = new LoadBalancingConnectionProvider.Endpoint(ADDRESS_1);
+		long peak = TimeUnit.MILLISECONDS.toNanos(500);
+
+		endpoint.observe(peak);
+		assertThat(endpoint.latencyNanos).isEqualTo(peak);
+
+		// Right after the peak, a lower latency barely moves the average
+		endpoint.observe(TimeUnit.MILLISECONDS.toNanos(5));
+		assertThat(endpoint.latencyNanos).isLessThan(peak).isGreaterThan(peak * 0.99);
+
+		// When it is read, the average decays with the time elapsed since the previous observation
+		endpoint.stamp -= LoadBalancingConnectionProvider.DECAY_NANOS * 10;
+		assertThat(endpoint.cost()).isLessThan(peak * 0.001);
+
+		// After a long time, a lower latency replaces the average
+		endpoint.observe(TimeUnit.MILLISECONDS.toNanos(5));
+		assertThat(endpoint.latencyNanos).isLessThan(TimeUnit.MILLISECONDS.toNanos(6));
+	}
+
+	@Test
+	void penalizedEndpointIsChosenAgainAfterTheDecay() {
+		LoadBalancingConnectionProvider.Endpoint penalized = new LoadBalancingConnectionProvider.Endpoint(ADDRESS_1);
+		LoadBalancingConnectionProvider.Endpoint healthy = new LoadBalancingConnectionProvider.Endpoint(ADDRESS_2);
+		List<LoadBalancingConnectionProvider.Endpoint> endpoints = Arrays.asList(penalized, healthy);
+
+		penalized.observe(LoadBalancingConnectionProvider.FAILURE_PENALTY_NANOS);
+		healthy.observe(TimeUnit.MILLISECONDS.toNanos(5));
+		for (int i = 0; i < 10; i++) {
+			assertThat(LoadBalancingConnectionProvider.Endpoints.choose(endpoints)).isSameAs(healthy);
+		}
+
+		// Not selected anymore, the penalized address is not observed, its cost decays until it is selected again
+		penalized.stamp -= LoadBalancingConnectionProvider.DECAY_NANOS * 10;
+		assertThat(penalized.cost()).isLessThan(healthy.cost());
+		assertThat(LoadBalancingConnectionProvider.Endpoints.choose(endpoints)).isSameAs(penalized);
+	}
+
+	@Test
+	void refreshKeepsTheStatisticsOfTheAddressesStillResolved() {
+		LoadBalancingConnectionProvider.Endpoints endpoints =
+				new LoadBalancingConnectionProvider.Endpoints(InetSocketAddress.createUnresolved("lb.example", 80), 0, null);
+
+		List<LoadBalancingConnectionProvider.Endpoint> first = endpoints.update(Arrays.<SocketAddress>asList(ADDRESS_1, ADDRESS_2, ADDRESS_2));
+		assertThat(first).hasSize(2);
+		assertThat(first.get(0).address.getHostString()).isEqualTo("lb.example");
+		first.get(1).observe(TimeUnit.MILLISECONDS.toNanos(100));
+
+		List<LoadBalancingConnectionProvider.Endpoint> second = endpoints.update(Arrays.<SocketAddress>asList(ADDRESS_2, ADDRESS_3));
+		assertThat(second).hasSize(2);
+		assertThat(second.get(0)).isSameAs(first.get(1));
+		assertThat(second.get(0).latencyNanos).isGreaterThan(0);
+		assertThat(second.get(1).address.getPort()).isEqualTo(ADDRESS_3.getPort());
+		assertThat(endpoints.endpoints).isEqualTo(second);
+	}
+
+	@Test
+	void connectionsAreSpreadOverTheResolvedAddresses() {
+		DisposableServer server1 = TcpServer.create().port(0).wiretap(true).bindNow();
+		DisposableServer server2 = TcpServer.create().port(0).wiretap(true).bindNow();
+		ConnectionProvider provider =
+				ConnectionProvider.builder("connectionsAreSpreadOverTheResolvedAddresses")
+				                  .loadBalancing(Duration.ofSeconds(30))
+				                  .build();
+		Connection connection1 = null;
+		Connection connection2 = null;
+		try {
+			assertThat(provider).isInstanceOf(LoadBalancingConnectionProvider.class);
+			TcpClient client =
+					TcpClient.create(provider)
+					         .resolver(new StaticAddressResolverGroup(
+					                 new InetSocketAddress("127.0.0.1", server1.port()),
+					                 new InetSocketAddress("127.0.0.1", server2.port())))
+					         .remoteAddress(() -> InetSocketAddress.createUnresolved("lb.example", 80))
+					         .wiretap(true);
+
+			// The first connection is still leased, the second one goes to the other address
+			connection1 = client.connectNow();
+			connection2 = client.connectNow();
+
+			int port1 = ((InetSocketAddress) connection1.channel().remoteAddress()).getPort();
+			int port2 = ((InetSocketAddress) connection2.channel().remoteAddress()).getPort();
+			assertThat(Arrays.asList(port1, port2)).containsExactlyInAnyOrder(server1.port(), server2.port());
+		}
+		finally {
+			if (connection1 != null) {
+				connection1.disposeNow();
+			}
+			if (connection2 != null) {
+				connection2.disposeNow();
+			}
+			provider.disposeLater().block(Duration.ofSeconds(5));
+			server1.disposeNow();
+			server2.disposeNow();
+		}
+	}
+
+	@Test
+	void loadBalancingValidatesTheRefreshInterval() {
+		assertThat(ConnectionProvider.builder("loadBalancingDisabled").build())
+				.isNotInstanceOf(LoadBalancingConnectionProvider.class);
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> ConnectionProvider.builder("loadBalancingNegative").loadBalancing(Duration.ofSeconds(-1)));
+	}
+
+	static final class StaticAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+		final List<InetSocketAddress> addresses;
+
+		StaticAddressResolverGroup(InetSocketAddress... addresses) {
+			this.addresses = Arrays.asList(addresses);
+		}
+
+		@Override
+		protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+			return new AbstractAddressResolver<InetSocketAddress>(executor) {
+				@Override
+				protected boolean doIsResolved(InetSocketAddress address) {
+					return !address.isUnresolved();
+				}
+
+				@Override
+				protected void doResolve(InetSocketAddress unresolved, Promise<InetSocketAddress> promise) {
+					promise.setSuccess(addresses.get(0));
+				}
+
+				@Override
+				protected void doResolveAll(InetSocketAddress unresolved, Promise<List<InetSocketAddress>> promise) {
+					promise.setSuccess(addresses);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.resources;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import reactor.pool.PoolAcquireTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class OutlierDetectorTest {
+
+	static final InetSocketAddress ADDRESS_1 = new InetSocketAddress("127.0.0.1", 8081);
+	static final InetSocketAddress ADDRESS_2 = new InetSocketAddress("127.0.0.1", 8082);
+	static final InetSocketAddress ADDRESS_3 = new InetSocketAddress("127.0.0.1", 8083);
+
+	@Test
+	void addressIsEjectedAfterConsecutiveFailures() {
+		OutlierDetector detector = detector(spec -> spec.consecutiveFailures(3));
+		OutlierDetector.EndpointHealth health = detector.health(ADDRESS_1);
+		List<OutlierDetector.EndpointHealth> peers = Arrays.asList(health, detector.health(ADDRESS_2));
+		assertThat(health).isNotNull();
+
+		detector.onFailure(health, peers);
+		detector.onFailure(health, peers);
+		// A success resets the consecutive failures
+		detector.onSuccess(health);
+		detector.onFailure(health, peers);
+		detector.onFailure(health, peers);
+		assertThat(health.isEjected()).isFalse();
+
+		detector.onFailure(health, peers);
+		assertThat(health.isEjected()).isTrue();
+		assertThat(health.ejectionCount()).isEqualTo(1);
+		assertThat(detector.health(ADDRESS_1)).isSameAs(health);
+		assertThat(detector.health(InetSocketAddress.createUnresolved("example.com", 80))).isNull();
+
+		// The health is discarded with the pool of the address
+		detector.remove(ADDRESS_1);
+		assertThat(detector.healthPerAddress).doesNotContainKey(ADDRESS_1);
+		assertThat(detector.health(ADDRESS_1)).isNotSameAs(health);
+	}
+
+	@Test
+	void ejectionTimeDoublesUpToTheMaximum() {
+		OutlierDetector detector = detector(spec -> spec.consecutiveFailures(1)
+		                                                .baseEjectionTime(Duration.ofSeconds(10))
+		                                                .maxEjectionTime(Duration.ofSeconds(30))
+		                                                .maxEjectionPercent(100));
+		OutlierDetector.EndpointHealth health = detector.health(ADDRESS_1);
+		List<OutlierDetector.EndpointHealth> peers = Arrays.asList(health, detector.health(ADDRESS_2));
+
+		long[] expected = {10, 20, 30, 30};
+		for (long seconds : expected) {
+			long now = System.nanoTime();
+			detector.onFailure(health, peers);
+			long ejectionNanos = health.ejectedUntil - now;
+			assertThat(ejectionNanos).isBetween(Duration.ofSeconds(seconds).toNanos(),
+					Duration.ofSeconds(seconds + 1).toNanos());
+			// End the ejection, the next failure ejects the address again
+			health.ejectedUntil = now;
+		}
+		assertThat(health.ejectionCount()).isEqualTo(4);
+	}
+
+	@Test
+	void maxEjectionPercentIsRespected() {
+		OutlierDetector detector = detector(spec -> spec.consecutiveFailures(1).maxEjectionPercent(50));
+		OutlierDetector.EndpointHealth health1 = detector.health(ADDRESS_1);
+		OutlierDetector.EndpointHealth health2 = detector.health(ADDRESS_2);
+		OutlierDetector.EndpointHealth health3 = detector.health(ADDRESS_3);
+		List<OutlierDetector.EndpointHealth> peers = Arrays.asList(health1, health2, health3);
+
+		detector.onFailure(health1, peers);
+		detector.onFailure(health2, peers);
+		assertThat(health1.isEjected()).isTrue();
+		assertThat(health2.isEjected()).isFalse();
+		assertThat(health2.ejectionCount()).isEqualTo(0);
+	}
+
+	@Test
+	void ejectedAddressIsNotChosen() {
+		OutlierDetector detector = detector(spec -> spec.consecutiveFailures(1));
+		LoadBalancingConnectionProvider.Endpoint ejected =
+				new LoadBalancingConnectionProvider.Endpoint(ADDRESS_1, detector);
+		LoadBalancingConnectionProvider.Endpoint healthy =
+				new LoadBalancingConnectionProvider.Endpoint(ADDRESS_2, detector);
+		List<LoadBalancingConnectionProvider.Endpoint> endpoints = Arrays.asList(ejected, healthy);
+
+		// The ejected address would be the least loaded one
+		healthy.inflight.set(3);
+		detector.onFailure(ejected.health(), Arrays.asList(ejected.health(), healthy.health()));
+		for (int i = 0; i < 10; i++) {
+			assertThat(LoadBalancingConnectionProvider.Endpoints.choose(endpoints)).isSameAs(healthy);
+		}
+	}
+
+	@Test
+	void poolCapacityErrorsAreNotEndpointFailures() {
+		assertThat(OutlierDetector.isEndpointFailure(new IOException("Connection refused"))).isTrue();
+		assertThat(OutlierDetector.isEndpointFailure(new PoolAcquireTimeoutException(100))).isFalse();
+	}
+
+	@Test
+	void outlierDetectionValidatesTheConfiguration() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> new ConnectionProvider.OutlierDetectionSpec().consecutiveFailures(0));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> new ConnectionProvider.OutlierDetectionSpec().maxEjectionPercent(101));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> new ConnectionProvider.OutlierDetectionSpec().baseEjectionTime(Duration.ofSeconds(-1)));
+	}
+
+	static OutlierDetector detector(Consumer<ConnectionProvider.OutlierDetectionSpec> configurer) {
+		ConnectionProvider.OutlierDetectionSpec spec = new ConnectionProvider.OutlierDetectionSpec();
+		configurer.accept(spec);
+		return new OutlierDetector(spec);
+	}
+}
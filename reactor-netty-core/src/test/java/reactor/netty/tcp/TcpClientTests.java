@@ -51,10 +51,14 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.codec.LineBasedFrameDecoder;
+import io.netty.resolver.AbstractAddressResolver;
+import io.netty.resolver.AddressResolver;
 import io.netty.resolver.AddressResolverGroup;
 import io.netty.resolver.DefaultAddressResolverGroup;
 import io.netty.util.AttributeKey;
 import io.netty.util.NetUtil;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -613,6 +617,36 @@ public class TcpClientTests {
 		}
 	}
 
+	static final class TestAddressResolverGroup extends AddressResolverGroup<SocketAddress> {
+
+		final List<SocketAddress> addresses;
+
+		TestAddressResolverGroup(List<SocketAddress> addresses) {
+			this.addresses = addresses;
+		}
+
+		@Override
+		protected AddressResolver<SocketAddress> newResolver(EventExecutor executor) {
+			return new AbstractAddressResolver<SocketAddress>(executor) {
+
+				@Override
+				protected boolean doIsResolved(SocketAddress address) {
+					return !((InetSocketAddress) address).isUnresolved();
+				}
+
+				@Override
+				protected void doResolve(SocketAddress unresolvedAddress, Promise<SocketAddress> promise) {
+					promise.setSuccess(addresses.get(0));
+				}
+
+				@Override
+				protected void doResolveAll(SocketAddress unresolvedAddress, Promise<List<SocketAddress>> promise) {
+					promise.setSuccess(addresses);
+				}
+			};
+		}
+	}
+
 	private static final class ConnectionAbortServer extends CountDownLatch implements Runnable {
 
 		final         int                 port;
@@ -1376,6 +1410,79 @@ public class TcpClientTests {
 		}
 	}
 
+	@Test
+	void testHappyEyeballsConfiguration() {
+		TcpClient client = TcpClient.create();
+		assertThat(client.configuration().happyEyeballsAttemptDelay()).isNull();
+
+		TcpClient enabled = client.happyEyeballs(true);
+		assertThat(enabled.configuration().happyEyeballsAttemptDelay()).isEqualTo(Duration.ofMillis(250));
+		assertThat(enabled.happyEyeballs(Duration.ofMillis(250))).isSameAs(enabled);
+		assertThat(enabled.happyEyeballs(Duration.ofMillis(50)).configuration().happyEyeballsAttemptDelay())
+				.isEqualTo(Duration.ofMillis(50));
+		assertThat(enabled.happyEyeballs(false).configuration().happyEyeballsAttemptDelay()).isNull();
+		assertThat(client.happyEyeballs(false)).isSameAs(client);
+
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> client.happyEyeballs(Duration.ofMillis(-1)));
+	}
+
+	@Test
+	void testHappyEyeballsUnreachableAddressFirst() {
+		DisposableServer server =
+				TcpServer.create()
+				         .port(0)
+				         .handle((in, out) -> out.sendString(Mono.just("testHappyEyeballs")))
+				         .wiretap(true)
+				         .bindNow();
+
+		// 10.255.255.1 is not routable, the connection attempt either fails immediately or waits for the connect timeout
+		InetSocketAddress unreachable = new InetSocketAddress("10.255.255.1", server.port());
+		InetSocketAddress reachable = new InetSocketAddress("127.0.0.1", server.port());
+		Connection conn = null;
+		try {
+			conn = TcpClient.create(ConnectionProvider.newConnection())
+			                .remoteAddress(() -> InetSocketAddress.createUnresolved("happy.eyeballs", server.port()))
+			                .resolver(new TestAddressResolverGroup(Arrays.asList(unreachable, reachable)))
+			                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30_000)
+			                .happyEyeballs(Duration.ofMillis(100))
+			                .wiretap(true)
+			                .connectNow(Duration.ofSeconds(10));
+
+			assertThat(conn.channel().remoteAddress()).isEqualTo(reachable);
+
+			String result =
+					conn.inbound()
+					    .receive()
+					    .asString()
+					    .blockFirst(Duration.ofSeconds(5));
+
+			assertThat(result).isEqualTo("testHappyEyeballs");
+		}
+		finally {
+			if (conn != null) {
+				conn.disposeNow();
+			}
+			server.disposeNow();
+		}
+	}
+
+	@Test
+	void testHappyEyeballsAllAddressesFail() {
+		int port = SocketUtils.findAvailableTcpPort();
+		List<SocketAddress> addresses = Arrays.asList(
+				new InetSocketAddress("127.0.0.1", port),
+				new InetSocketAddress("127.0.0.1", port));
+		TcpClient.create(ConnectionProvider.newConnection())
+		         .remoteAddress(() -> InetSocketAddress.createUnresolved("happy.eyeballs", port))
+		         .resolver(new TestAddressResolverGroup(addresses))
+		         .happyEyeballs(Duration.ofMillis(100))
+		         .connect()
+		         .as(StepVerifier::create)
+		         .expectError(IOException.class)
+		         .verify(Duration.ofSeconds(10));
+	}
+
 	/* https://github.com/reactor/reactor-netty/issues/1765 */
 	@Test
 	void noSystemProxySettings() {
@@ -36,6 +36,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -85,6 +86,22 @@ class ClientTransportTest {
 				.isThrownBy(() -> new TestClientTransport(Mono.just(EmbeddedChannel::new)).connectNow().disposeNow(Duration.ofMillis(Long.MAX_VALUE)));
 	}
 
+	@Test
+	void testHappyEyeballsAddressesInterleaved() {
+		SocketAddress ipv6a = new InetSocketAddress("::1", 1);
+		SocketAddress ipv6b = new InetSocketAddress("::2", 2);
+		SocketAddress ipv6c = new InetSocketAddress("::3", 3);
+		SocketAddress ipv4a = new InetSocketAddress("127.0.0.1", 4);
+		SocketAddress ipv4b = new InetSocketAddress("127.0.0.2", 5);
+
+		assertThat(TransportConnector.HappyEyeballsConnect.interleave(Arrays.asList(ipv6a, ipv6b, ipv6c, ipv4a, ipv4b)))
+				.containsExactly(ipv6a, ipv4a, ipv6b, ipv4b, ipv6c);
+		assertThat(TransportConnector.HappyEyeballsConnect.interleave(Arrays.asList(ipv4a, ipv6a, ipv6b, ipv4b)))
+				.containsExactly(ipv4a, ipv6a, ipv4b, ipv6b);
+		assertThat(TransportConnector.HappyEyeballsConnect.interleave(Arrays.asList(ipv4a, ipv4b)))
+				.containsExactly(ipv4a, ipv4b);
+	}
+
 	@Test
 	void testDefaultResolverWithCustomEventLoop() throws Exception {
 		final LoopResources loop1 = LoopResources.create("test", 1, true);
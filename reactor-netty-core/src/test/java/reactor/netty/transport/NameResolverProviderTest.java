@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import java.util.function.Supplier;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assumptions.assumeThat;
+import static reactor.netty.transport.NameResolverProvider.Build.DEFAULT_CACHE_MAX_STALE_TIME;
 import static reactor.netty.transport.NameResolverProvider.Build.DEFAULT_CACHE_MAX_TIME_TO_LIVE;
 import static reactor.netty.transport.NameResolverProvider.Build.DEFAULT_CACHE_MIN_TIME_TO_LIVE;
 import static reactor.netty.transport.NameResolverProvider.Build.DEFAULT_CACHE_NEGATIVE_TIME_TO_LIVE;
@@ -55,6 +56,28 @@ class NameResolverProviderTest {
 		builder = new NameResolverProvider.Build();
 	}
 
+	@Test
+	void cacheMaxStaleTime() {
+		assertThat(builder.build().cacheMaxStaleTime()).isEqualTo(DEFAULT_CACHE_MAX_STALE_TIME);
+		assertThat(builder.build().newNameResolverGroup(TcpResources.get(), LoopResources.DEFAULT_NATIVE))
+				.isNotInstanceOf(StaleWhileRevalidateDnsAddressResolverGroup.class);
+
+		Duration cacheMaxStaleTime = Duration.ofSeconds(30);
+		builder.cacheMaxStaleTime(cacheMaxStaleTime);
+		assertThat(builder.build().cacheMaxStaleTime()).isEqualTo(cacheMaxStaleTime);
+		assertThat(builder.build().newNameResolverGroup(TcpResources.get(), LoopResources.DEFAULT_NATIVE))
+				.isInstanceOf(StaleWhileRevalidateDnsAddressResolverGroup.class);
+	}
+
+	@Test
+	void cacheMaxStaleTimeBadValues() {
+		assertThatExceptionOfType(NullPointerException.class)
+				.isThrownBy(() -> builder.cacheMaxStaleTime(null));
+
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> builder.cacheMaxStaleTime(Duration.ofSeconds(-1)));
+	}
+
 	@Test
 	void cacheMaxTimeToLive() {
 		assertThat(builder.build().cacheMaxTimeToLive()).isEqualTo(DEFAULT_CACHE_MAX_TIME_TO_LIVE);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,17 +15,31 @@
  */
 package reactor.netty.transport;
 
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.epoll.Epoll;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.logging.LoggingHandler;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
 import reactor.netty.DisposableServer;
+import reactor.netty.NettyPipeline;
 import reactor.netty.channel.ChannelMetricsRecorder;
 import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpClient;
+import reactor.netty.tcp.TcpServer;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assumptions.assumeThat;
 
 /**
  * @author Violeta Georgieva
@@ -62,6 +76,152 @@ class ServerTransportTest {
 				.isThrownBy(() -> new TestServerTransport(Mono.just(EmbeddedChannel::new)).bindNow().disposeNow(Duration.ofMillis(Long.MAX_VALUE)));
 	}
 
+	@Test
+	void testLeastConnectionsChildEventLoopChooser() throws Exception {
+		LoopResources loop = LoopResources.create("testLeastConnectionsChildEventLoopChooser", 1, 2, true);
+		BlockingQueue<EventLoop> serverLoops = new ArrayBlockingQueue<>(3);
+		BlockingQueue<String> firstHandlers = new ArrayBlockingQueue<>(3);
+		DisposableServer server = null;
+		Connection connection1 = null;
+		Connection connection2 = null;
+		Connection connection3 = null;
+		try {
+			server =
+					TcpServer.create()
+					         .port(0)
+					         .runOn(loop)
+					         .childEventLoopChooser(ChildEventLoopChooser.leastConnections())
+					         .wiretap(true)
+					         .doOnConnection(c -> {
+					             firstHandlers.add(c.channel().pipeline().names().get(0));
+					             serverLoops.add(c.channel().eventLoop());
+					         })
+					         .bindNow();
+
+			TcpClient client = TcpClient.newConnection().port(server.port());
+			connection1 = client.connectNow();
+			EventLoop loop1 = serverLoops.poll(5, TimeUnit.SECONDS);
+			connection2 = client.connectNow();
+			EventLoop loop2 = serverLoops.poll(5, TimeUnit.SECONDS);
+			assertThat(loop1).isNotNull().isNotSameAs(loop2);
+			// The inbound events are timed in front of the handlers added when the channel is initialized
+			assertThat(firstHandlers.poll(5, TimeUnit.SECONDS)).isEqualTo(NettyPipeline.EventLoopIoTimer);
+
+			// The next connection goes to the event loop which does not serve any connection,
+			// a round-robin chooser would choose the event loop of the first connection
+			connection2.disposeNow();
+			EventLoopProbe probe2 = EventLoopProbe.getOrStart(loop2);
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (probe2.channels() != 0 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertThat(probe2.channels()).isEqualTo(0);
+
+			connection3 = client.connectNow();
+			assertThat(serverLoops.poll(5, TimeUnit.SECONDS)).isSameAs(loop2);
+		}
+		finally {
+			for (Connection connection : Arrays.asList(connection1, connection2, connection3)) {
+				if (connection != null) {
+					connection.disposeNow();
+				}
+			}
+			if (server != null) {
+				server.disposeNow();
+			}
+			loop.disposeLater()
+			    .block(Duration.ofSeconds(10));
+		}
+	}
+
+	@Test
+	void testLeastLagChildEventLoopChooser() {
+		EmbeddedChannel channel = new EmbeddedChannel();
+		EventLoopProbe probe1 = new EventLoopProbe(channel.eventLoop(), TimeUnit.SECONDS.toNanos(1));
+		EventLoopProbe probe2 = new EventLoopProbe(channel.eventLoop(), TimeUnit.SECONDS.toNanos(1));
+		EventLoopProbe probe3 = new EventLoopProbe(channel.eventLoop(), TimeUnit.SECONDS.toNanos(1));
+		List<EventLoopProbe> loads = Arrays.asList(probe1, probe2, probe3);
+
+		probe1.lagNanos = TimeUnit.MILLISECONDS.toNanos(10);
+		probe2.lagNanos = TimeUnit.MILLISECONDS.toNanos(1);
+		probe3.lagNanos = TimeUnit.MILLISECONDS.toNanos(1);
+		probe2.channels.set(5);
+		for (int i = 0; i < 6; i++) {
+			assertThat(ChildEventLoopChooser.leastLag().choose(channel, loads)).isSameAs(probe3);
+		}
+		assertThat(ChildEventLoopChooser.leastConnections().choose(channel, loads)).isNotSameAs(probe2);
+
+		assertThatExceptionOfType(NullPointerException.class)
+				.isThrownBy(() -> new TestServerTransport(Mono.never()).childEventLoopChooser(null));
+	}
+
+	@Test
+	void testAcceptorsWithReusePort() {
+		assumeThat(Epoll.isAvailable()).isTrue();
+		doTestAcceptors(true, 2);
+	}
+
+	@Test
+	void testAcceptorsWithoutReusePortSupport() {
+		doTestAcceptors(false, 1);
+	}
+
+	private void doTestAcceptors(boolean preferNative, int expectedListeningSockets) {
+		LoopResources loop = LoopResources.create("testAcceptors", 2, 2, true);
+		DisposableServer server = null;
+		try {
+			server =
+					TcpServer.create()
+					         .port(0)
+					         .runOn(loop, preferNative)
+					         .acceptors(2)
+					         .handle((in, out) -> out.send(in.receive().retain()))
+					         .bindNow();
+
+			List<Channel> acceptors = ((ServerTransport.DisposableBind) server).acceptors;
+			assertThat(acceptors).hasSize(expectedListeningSockets - 1);
+			for (Channel acceptor : acceptors) {
+				assertThat(acceptor.localAddress()).isEqualTo(server.address());
+			}
+
+			for (int i = 0; i < 4; i++) {
+				Connection connection =
+						TcpClient.newConnection()
+						         .remoteAddress(server::address)
+						         .connectNow();
+				String response =
+						connection.outbound()
+						          .sendString(Mono.just("test"))
+						          .then(connection.inbound()
+						                          .receive()
+						                          .asString()
+						                          .next())
+						          .block(Duration.ofSeconds(5));
+				assertThat(response).isEqualTo("test");
+				connection.disposeNow();
+			}
+
+			server.disposeNow();
+			assertThat(server.isDisposed()).isTrue();
+			for (Channel acceptor : acceptors) {
+				assertThat(acceptor.isActive()).isFalse();
+			}
+		}
+		finally {
+			if (server != null) {
+				server.disposeNow();
+			}
+			loop.disposeLater()
+			    .block(Duration.ofSeconds(10));
+		}
+	}
+
+	@Test
+	void testAcceptorsBadValues() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> new TestServerTransport(Mono.never()).acceptors(0));
+	}
+
 	static final class TestServerTransport extends ServerTransport<TestServerTransport, TestServerTransportConfig> {
 
 		final Mono<? extends DisposableServer> bind;
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.transport;
+
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaleWhileRevalidateDnsAddressResolverGroupTest {
+
+	static final String HOST = "example.com";
+
+	InetAddress address1;
+	InetAddress address2;
+	StaleWhileRevalidateDnsAddressResolverGroup.TtlRecordingDnsCache dnsCache;
+	StaleWhileRevalidateDnsAddressResolverGroup group;
+	ScriptedNameResolver dns;
+	StaleWhileRevalidateDnsAddressResolverGroup.CachingNameResolver resolver;
+
+	@BeforeEach
+	void setUp() throws UnknownHostException {
+		address1 = InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, 1});
+		address2 = InetAddress.getByAddress(HOST, new byte[] {10, 0, 0, 2});
+		dnsCache = new StaleWhileRevalidateDnsAddressResolverGroup.TtlRecordingDnsCache(0, 3600, 0);
+		group = new StaleWhileRevalidateDnsAddressResolverGroup(new DnsNameResolverBuilder(), dnsCache,
+				TimeUnit.SECONDS.toNanos(60), false);
+		dns = new ScriptedNameResolver(dnsCache);
+		resolver = new StaleWhileRevalidateDnsAddressResolverGroup.CachingNameResolver(ImmediateEventExecutor.INSTANCE, dns, group);
+	}
+
+	@Test
+	void addressesAreCachedForTheirTimeToLive() {
+		dns.respond(address1, 60);
+
+		assertThat(resolveAll()).containsExactly(address1);
+		assertThat(resolveAll()).containsExactly(address1);
+		assertThat(resolver.resolve(HOST).getNow()).isEqualTo(address1);
+
+		assertThat(dns.queries).isEqualTo(1);
+		assertThat(group.misses.sum()).isEqualTo(1);
+		assertThat(group.hits.sum()).isEqualTo(2);
+		assertThat(group.entries.get(HOST).ttlNanos).isEqualTo(TimeUnit.SECONDS.toNanos(60));
+		assertThat(dnsCache.ttls).isEmpty();
+	}
+
+	@Test
+	void staleAddressesAreServedWhileRefreshing() {
+		dns.respond(address1, 0);
+		dns.respond(address2, 0);
+
+		assertThat(resolveAll()).containsExactly(address1);
+		// Expired, served stale and refreshed in the background
+		assertThat(resolveAll()).containsExactly(address1);
+		assertThat(resolveAll()).containsExactly(address2);
+
+		assertThat(group.stale.sum()).isEqualTo(2);
+		assertThat(group.refreshes.sum()).isEqualTo(1);
+	}
+
+	@Test
+	void staleAddressesAreServedWhenTheRefreshFails() {
+		dns.respond(address1, 0);
+		dns.fail();
+		dns.fail();
+
+		assertThat(resolveAll()).containsExactly(address1);
+		assertThat(resolveAll()).containsExactly(address1);
+		assertThat(resolveAll()).containsExactly(address1);
+
+		assertThat(group.refreshErrors.sum()).isEqualTo(2);
+		assertThat(group.entries).containsKey(HOST);
+	}
+
+	@Test
+	void tooStaleAddressesAreResolvedAgain() {
+		long resolvedAt = System.nanoTime() - TimeUnit.SECONDS.toNanos(120);
+		group.entries.put(HOST, new StaleWhileRevalidateDnsAddressResolverGroup.Entry(
+				Collections.singletonList(address1), resolvedAt, TimeUnit.SECONDS.toNanos(30)));
+		dns.fail();
+
+		Future<List<InetAddress>> future = resolver.resolveAll(HOST);
+		assertThat(future.isSuccess()).isFalse();
+		assertThat(future.cause()).isInstanceOf(UnknownHostException.class);
+		assertThat(group.misses.sum()).isEqualTo(1);
+		assertThat(group.entries).doesNotContainKey(HOST);
+	}
+
+	@Test
+	void addressesAreRefreshedBeforeTheyExpire() {
+		long resolvedAt = System.nanoTime() - TimeUnit.SECONDS.toNanos(50);
+		group.entries.put(HOST, new StaleWhileRevalidateDnsAddressResolverGroup.Entry(
+				Collections.singletonList(address1), resolvedAt, TimeUnit.SECONDS.toNanos(60)));
+		dns.respond(address2, 60);
+
+		// Still valid, in the last quarter of the time to live
+		assertThat(resolveAll()).containsExactly(address1);
+		assertThat(resolveAll()).containsExactly(address2);
+
+		assertThat(group.hits.sum()).isEqualTo(2);
+		assertThat(group.refreshes.sum()).isEqualTo(1);
+		assertThat(group.stale.sum()).isEqualTo(0);
+	}
+
+	@Test
+	void timeToLiveIsRecordedPerHostName() {
+		// Another host name with the same address, which is not looked up through the group
+		dnsCache.cache("other.example.com", null, address1, 5, null);
+		dns.respond(address1, 60);
+
+		assertThat(resolveAll()).containsExactly(address1);
+
+		assertThat(group.entries.get(HOST).ttlNanos).isEqualTo(TimeUnit.SECONDS.toNanos(60));
+		assertThat(dnsCache.ttls).containsOnlyKeys("other.example.com");
+	}
+
+	@Test
+	void timeToLiveIsLookedUpByTheExactHostName() {
+		// A host name that starts with the resolved host name
+		dnsCache.cache(HOST + ".internal", null, address1, 5, null);
+		dns.respond(address1, 60);
+
+		assertThat(resolveAll()).containsExactly(address1);
+
+		assertThat(group.entries.get(HOST).ttlNanos).isEqualTo(TimeUnit.SECONDS.toNanos(60));
+		assertThat(dnsCache.ttls).containsOnlyKeys(HOST + ".internal");
+
+		// The fully qualified host name is recorded as the host name
+		dnsCache.cache(HOST + ".", null, address2, 30, null);
+		assertThat(dnsCache.ttlNanos(HOST, Collections.singletonList(address2))).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+		assertThat(dnsCache.ttls).containsOnlyKeys(HOST + ".internal");
+	}
+
+	@Test
+	void addressesWithoutTimeToLiveAreCachedForTheMaxTimeToLive() {
+		dns.respondFromHostsFile(address1);
+
+		assertThat(resolveAll()).containsExactly(address1);
+		assertThat(resolveAll()).containsExactly(address1);
+
+		assertThat(dns.queries).isEqualTo(1);
+		assertThat(group.entries.get(HOST).ttlNanos).isEqualTo(TimeUnit.SECONDS.toNanos(3600));
+		assertThat(group.refreshes.sum()).isEqualTo(0);
+	}
+
+	List<InetAddress> resolveAll() {
+		Future<List<InetAddress>> future = resolver.resolveAll(HOST);
+		assertThat(future.isSuccess()).isTrue();
+		return future.getNow();
+	}
+
+	static final class ScriptedNameResolver extends InetNameResolver {
+
+		final StaleWhileRevalidateDnsAddressResolverGroup.TtlRecordingDnsCache dnsCache;
+		final Queue<Object[]> responses = new ArrayDeque<>();
+
+		int queries;
+
+		ScriptedNameResolver(StaleWhileRevalidateDnsAddressResolverGroup.TtlRecordingDnsCache dnsCache) {
+			super(ImmediateEventExecutor.INSTANCE);
+			this.dnsCache = dnsCache;
+		}
+
+		void respond(InetAddress address, long ttl) {
+			responses.add(new Object[] {address, ttl});
+		}
+
+		void respondFromHostsFile(InetAddress address) {
+			responses.add(new Object[] {address, null});
+		}
+
+		void fail() {
+			responses.add(new Object[] {null, 0L});
+		}
+
+		@Override
+		protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+			queries++;
+			Object[] response = responses.poll();
+			if (response == null || response[0] == null) {
+				promise.setFailure(new UnknownHostException(inetHost));
+				return;
+			}
+			InetAddress address = (InetAddress) response[0];
+			if (response[1] != null) {
+				// As the DNS resolver does for the resolved DNS resource records
+				dnsCache.cache(inetHost, null, address, (Long) response[1], null);
+			}
+			promise.setSuccess(Collections.singletonList(address));
+		}
+	}
+}
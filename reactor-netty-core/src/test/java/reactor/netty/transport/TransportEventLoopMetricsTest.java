@@ -19,15 +19,18 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.config.MeterFilter;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.util.concurrent.SingleThreadEventExecutor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.netty.Connection;
 import reactor.netty.DisposableServer;
+import reactor.netty.NettyPipeline;
 import reactor.netty.resources.LoopResources;
 import reactor.netty.tcp.TcpClient;
 import reactor.netty.tcp.TcpServer;
@@ -38,7 +41,11 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static reactor.netty.Metrics.BUSY_RATIO;
+import static reactor.netty.Metrics.CHANNELS;
 import static reactor.netty.Metrics.EVENT_LOOP_PREFIX;
+import static reactor.netty.Metrics.LAG;
 import static reactor.netty.Metrics.NAME;
 import static reactor.netty.Metrics.PENDING_TASKS;
 
@@ -163,6 +170,56 @@ class TransportEventLoopMetricsTest {
 		}
 	}
 
+	@Test
+	void testEventLoopExtendedMetrics() {
+		LoopResources loop = LoopResources.create("testEventLoopExtendedMetrics", 1, true);
+		try {
+			EventLoop eventLoop = loop.onServer(false).next();
+			assertThat(eventLoop).isInstanceOf(SingleThreadEventExecutor.class);
+
+			MicrometerEventLoopMeterRegistrar.INSTANCE.registerMetrics(eventLoop, true);
+			String[] tags = new String[]{NAME, ((SingleThreadEventExecutor) eventLoop).threadProperties().name()};
+			assertThat(getGaugeValue(EVENT_LOOP_PREFIX + CHANNELS, tags)).isEqualTo(0);
+
+			// Keep the event loop busy longer than the probe interval
+			eventLoop.execute(() -> {
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+				long spins = 0;
+				while (System.nanoTime() < deadline) {
+					spins++;
+				}
+				assertThat(spins).isPositive();
+			});
+
+			await().atMost(Duration.ofSeconds(10))
+			       .untilAsserted(() -> {
+			           Timer lag = registry.find(EVENT_LOOP_PREFIX + LAG).tags(tags).timer();
+			           assertThat(lag).isNotNull();
+			           assertThat(lag.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+			           assertThat(getGaugeValue(EVENT_LOOP_PREFIX + BUSY_RATIO, tags)).isGreaterThan(0.5);
+			       });
+		}
+		finally {
+			loop.disposeLater().block(Duration.ofSeconds(10));
+		}
+	}
+
+	@Test
+	void testEventLoopProbeCountsChannels() {
+		EmbeddedChannel channel = new EmbeddedChannel();
+		EventLoopProbe probe = new EventLoopProbe(channel.eventLoop(), TimeUnit.SECONDS.toNanos(1));
+
+		probe.register(channel);
+		assertThat(probe.channels()).isEqualTo(1);
+		assertThat(channel.pipeline().get(NettyPipeline.EventLoopIoTimer)).isSameAs(probe.ioTimer);
+
+		channel.writeInbound("test");
+		assertThat((String) channel.readInbound()).isEqualTo("test");
+
+		channel.close();
+		assertThat(probe.channels()).isEqualTo(0);
+	}
+
 	private double getGaugeValue(String name, String... tags) {
 		Gauge gauge = registry.find(name).tags(tags).gauge();
 		double result = -1;
@@ -52,6 +52,7 @@ import reactor.netty.NettyPipeline;
 import reactor.netty.ReactorNetty;
 import reactor.netty.channel.AbortedException;
 import reactor.netty.channel.ChannelOperations;
+import reactor.netty.channel.FlushPolicy;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 import reactor.util.annotation.Nullable;
@@ -479,6 +480,16 @@ public abstract class HttpOperations<INBOUND extends NettyInbound, OUTBOUND exte
 			return parent.sendObject(dataStream, predicate);
 		}
 
+		@Override
+		public NettyOutbound send(Publisher<? extends ByteBuf> dataStream, FlushPolicy flushPolicy) {
+			return parent.send(dataStream, flushPolicy);
+		}
+
+		@Override
+		public NettyOutbound sendObject(Publisher<?> dataStream, FlushPolicy flushPolicy) {
+			return parent.sendObject(dataStream, flushPolicy);
+		}
+
 		@Override
 		public NettyOutbound sendObject(Object message) {
 			return parent.sendObject(message);
@@ -27,11 +27,14 @@ import reactor.netty.internal.util.MapUtils;
 import java.net.SocketAddress;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static reactor.netty.Metrics.DATA_RECEIVED;
 import static reactor.netty.Metrics.DATA_SENT;
 import static reactor.netty.Metrics.ERRORS;
 import static reactor.netty.Metrics.REGISTRY;
+import static reactor.netty.Metrics.URI_TAGS_REJECTED;
+import static reactor.netty.ReactorNetty.HTTP_METRICS_MAX_URI_TAGS;
 import static reactor.netty.channel.ChannelMeters.ChannelMetersTags.REMOTE_ADDRESS;
 import static reactor.netty.channel.ChannelMeters.ChannelMetersTags.URI;
 
@@ -42,6 +45,8 @@ import static reactor.netty.channel.ChannelMeters.ChannelMetersTags.URI;
  * @since 0.9
  */
 public class MicrometerHttpMetricsRecorder extends MicrometerChannelMetricsRecorder implements HttpMetricsRecorder {
+	static final int MAX_URI_TAGS = Integer.parseInt(System.getProperty(HTTP_METRICS_MAX_URI_TAGS, "2000"));
+
 	protected final ConcurrentMap<MeterKey, Timer> dataReceivedTimeCache = new ConcurrentHashMap<>();
 
 	protected final ConcurrentMap<MeterKey, Timer> dataSentTimeCache = new ConcurrentHashMap<>();
@@ -54,18 +59,40 @@ public class MicrometerHttpMetricsRecorder extends MicrometerChannelMetricsRecor
 
 	private final ConcurrentMap<MeterKey, Counter> errorsCache = new ConcurrentHashMap<>();
 
+	private final ConcurrentMap<String, Boolean> uriTags = new ConcurrentHashMap<>();
+
+	private final AtomicInteger uriTagsCount = new AtomicInteger();
+
+	private final int maxUriTags;
+
+	private volatile Counter uriTagsRejected;
+
 	protected MicrometerHttpMetricsRecorder(String name, String protocol) {
+		this(name, protocol, MAX_URI_TAGS);
+	}
+
+	/**
+	 * Creates a recorder that records at most {@code maxUriTags} distinct URI tag values.
+	 *
+	 * @param name the name prefix of the meters
+	 * @param protocol the protocol
+	 * @param maxUriTags the maximum number of distinct URI tag values, a negative value means no limit
+	 * @since 1.1.0
+	 */
+	protected MicrometerHttpMetricsRecorder(String name, String protocol, int maxUriTags) {
 		super(name, protocol);
+		this.maxUriTags = maxUriTags;
 	}
 
 	@Override
 	public void recordDataReceived(SocketAddress remoteAddress, String uri, long bytes) {
 		String address = Metrics.formatSocketAddress(remoteAddress);
-		MeterKey meterKey = new MeterKey(uri, address, null, null);
+		String uriTag = uriTag(uri);
+		MeterKey meterKey = new MeterKey(uriTag, address, null, null);
 		DistributionSummary dataReceived = MapUtils.computeIfAbsent(dataReceivedCache, meterKey,
 				key -> filter(DistributionSummary.builder(name() + DATA_RECEIVED)
 				                                 .baseUnit(ChannelMeters.DATA_RECEIVED.getBaseUnit())
-				                                 .tags(REMOTE_ADDRESS.asString(), address, URI.asString(), uri)
+				                                 .tags(REMOTE_ADDRESS.asString(), address, URI.asString(), uriTag)
 				                                 .register(REGISTRY)));
 		if (dataReceived != null) {
 			dataReceived.record(bytes);
@@ -75,11 +102,12 @@ public class MicrometerHttpMetricsRecorder extends MicrometerChannelMetricsRecor
 	@Override
 	public void recordDataSent(SocketAddress remoteAddress, String uri, long bytes) {
 		String address = Metrics.formatSocketAddress(remoteAddress);
-		MeterKey meterKey = new MeterKey(uri, address, null, null);
+		String uriTag = uriTag(uri);
+		MeterKey meterKey = new MeterKey(uriTag, address, null, null);
 		DistributionSummary dataSent = MapUtils.computeIfAbsent(dataSentCache, meterKey,
 				key -> filter(DistributionSummary.builder(name() + DATA_SENT)
 				                                 .baseUnit(ChannelMeters.DATA_SENT.getBaseUnit())
-				                                 .tags(REMOTE_ADDRESS.asString(), address, URI.asString(), uri)
+				                                 .tags(REMOTE_ADDRESS.asString(), address, URI.asString(), uriTag)
 				                                 .register(REGISTRY)));
 		if (dataSent != null) {
 			dataSent.record(bytes);
@@ -89,13 +117,58 @@ public class MicrometerHttpMetricsRecorder extends MicrometerChannelMetricsRecor
 	@Override
 	public void incrementErrorsCount(SocketAddress remoteAddress, String uri) {
 		String address = Metrics.formatSocketAddress(remoteAddress);
-		MeterKey meterKey = new MeterKey(uri, address, null, null);
+		String uriTag = uriTag(uri);
+		MeterKey meterKey = new MeterKey(uriTag, address, null, null);
 		Counter errors = MapUtils.computeIfAbsent(errorsCache, meterKey,
 				key -> filter(Counter.builder(name() + ERRORS)
-				                     .tags(REMOTE_ADDRESS.asString(), address, URI.asString(), uri)
+				                     .tags(REMOTE_ADDRESS.asString(), address, URI.asString(), uriTag)
 				                     .register(REGISTRY)));
 		if (errors != null) {
 			errors.increment();
 		}
 	}
+
+	/**
+	 * Returns the URI tag value for the given URI. The URI is used as is, as long as the maximum number
+	 * of distinct URI tag values is not reached. Once it is reached, the URIs that are not known yet are
+	 * replaced with {@link Metrics#OVERFLOW} and the rejection is counted, so that the meters and their caches
+	 * stay bounded even when the URIs are not templated. A URI tag value returned by this method is returned
+	 * as is, so that the rejection of a request is counted once when its URI tag value is resolved again.
+	 *
+	 * @param uri the URI
+	 * @return the URI tag value
+	 * @since 1.1.0
+	 */
+	public final String uriTag(String uri) {
+		if (maxUriTags < 0 || uriTags.containsKey(uri) || Metrics.OVERFLOW.equals(uri)) {
+			return uri;
+		}
+		for (;;) {
+			int count = uriTagsCount.get();
+			if (count >= maxUriTags) {
+				incrementUriTagsRejected();
+				return Metrics.OVERFLOW;
+			}
+			if (uriTagsCount.compareAndSet(count, count + 1)) {
+				if (uriTags.putIfAbsent(uri, Boolean.TRUE) != null) {
+					// added concurrently, release the reserved slot
+					uriTagsCount.decrementAndGet();
+				}
+				return uri;
+			}
+		}
+	}
+
+	void incrementUriTagsRejected() {
+		Counter counter = uriTagsRejected;
+		if (counter == null) {
+			counter = filter(Counter.builder(name() + URI_TAGS_REJECTED)
+			                        .register(REGISTRY));
+			if (counter == null) {
+				return;
+			}
+			uriTagsRejected = counter;
+		}
+		counter.increment();
+	}
 }
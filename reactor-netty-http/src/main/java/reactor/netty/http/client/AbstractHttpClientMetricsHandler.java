@@ -62,6 +62,9 @@ abstract class AbstractHttpClientMetricsHandler extends ChannelDuplexHandler {
 
 	final Function<String, String> uriTagValue;
 
+	HttpClientOperations uriTagOps;
+	String uriTag;
+
 	protected AbstractHttpClientMetricsHandler(@Nullable Function<String, String> uriTagValue) {
 		this.uriTagValue = uriTagValue;
 	}
@@ -76,6 +79,8 @@ abstract class AbstractHttpClientMetricsHandler extends ChannelDuplexHandler {
 		this.path = copy.path;
 		this.status = copy.status;
 		this.uriTagValue = copy.uriTagValue;
+		this.uriTagOps = copy.uriTagOps;
+		this.uriTag = copy.uriTag;
 	}
 
 	@Override
@@ -153,7 +158,7 @@ abstract class AbstractHttpClientMetricsHandler extends ChannelDuplexHandler {
 		ChannelOperations<?, ?> channelOps = ChannelOperations.get(ctx.channel());
 		if (channelOps instanceof HttpClientOperations) {
 			HttpClientOperations ops = (HttpClientOperations) channelOps;
-			path = uriTagValue == null ? ops.path : uriTagValue.apply(ops.path);
+			path = resolveUriTag(uriTagValue == null ? ops.path : uriTagValue.apply(ops.path));
 			contextView = ops.currentContextView();
 		}
 
@@ -172,6 +177,17 @@ abstract class AbstractHttpClientMetricsHandler extends ChannelDuplexHandler {
 
 	protected abstract HttpClientMetricsRecorder recorder();
 
+	/**
+	 * Returns the URI tag value recorded for the given URI, it is resolved once per request
+	 * and reused by all meters of the request.
+	 *
+	 * @param uri the URI, possibly templated
+	 * @return the URI tag value recorded for the given URI
+	 */
+	String resolveUriTag(String uri) {
+		return uri;
+	}
+
 	protected void recordException(ChannelHandlerContext ctx) {
 		recorder().incrementErrorsCount(ctx.channel().remoteAddress(),
 				path != null ? path : resolveUri(ctx));
@@ -219,8 +235,13 @@ abstract class AbstractHttpClientMetricsHandler extends ChannelDuplexHandler {
 	private String resolveUri(ChannelHandlerContext ctx) {
 		ChannelOperations<?, ?> channelOps = ChannelOperations.get(ctx.channel());
 		if (channelOps instanceof HttpClientOperations) {
-			String path = ((HttpClientOperations) channelOps).uri();
-			return uriTagValue == null ? path : uriTagValue.apply(path);
+			HttpClientOperations ops = (HttpClientOperations) channelOps;
+			if (ops != uriTagOps) {
+				String uri = ops.uri();
+				uriTag = resolveUriTag(uriTagValue == null ? uri : uriTagValue.apply(uri));
+				uriTagOps = ops;
+			}
+			return uriTag;
 		}
 		else {
 			return "unknown";
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.client;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.cookie.ClientCookieDecoder;
+import io.netty.handler.codec.http.cookie.Cookie;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.Cookies;
+import reactor.netty.http.HttpOperations;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * An implementation of {@link HttpClientResponse} for the responses received from a {@link HttpClientCache},
+ * without any connection.
+ *
+ * @since 1.1.0
+ */
+final class CachedHttpClientResponse implements HttpClientResponse {
+
+	final ContextView         contextView;
+	final ClientCookieDecoder cookieDecoder;
+	final HttpHeaders         requestHeaders;
+	final HttpHeaders         responseHeaders;
+	final String              path;
+	final String              resourceUrl;
+	final HttpResponseStatus  status;
+	final String              uri;
+
+	CachedHttpClientResponse(ContextView contextView, HttpClientConfig c, HttpClientCache.CacheEntry entry,
+			long nowNanos) {
+		this.contextView = contextView;
+		this.cookieDecoder = c.cookieDecoder;
+		this.requestHeaders = c.headers;
+		this.responseHeaders = entry.headers.copy()
+		                                    .set(HttpHeaderNames.AGE,
+		                                         Long.toString(TimeUnit.NANOSECONDS.toSeconds(entry.ageNanos(nowNanos))));
+		this.resourceUrl = entry.url;
+		this.status = entry.status;
+		String uri = entry.url;
+		int authority = uri.indexOf("://");
+		int pathStart = authority != -1 ? uri.indexOf('/', authority + 3) : -1;
+		this.uri = pathStart != -1 ? uri.substring(pathStart) : "/";
+		this.path = HttpOperations.resolvePath(this.uri);
+	}
+
+	@Override
+	public Map<CharSequence, Set<Cookie>> cookies() {
+		return Cookies.newClientResponseHolder(responseHeaders, cookieDecoder)
+		              .getCachedCookies();
+	}
+
+	@Override
+	@SuppressWarnings("deprecation")
+	public Context currentContext() {
+		return Context.of(contextView);
+	}
+
+	@Override
+	public ContextView currentContextView() {
+		return contextView;
+	}
+
+	@Override
+	public String fullPath() {
+		return path;
+	}
+
+	@Override
+	public String requestId() {
+		return "";
+	}
+
+	@Override
+	public boolean isKeepAlive() {
+		return true;
+	}
+
+	@Override
+	public boolean isWebsocket() {
+		return false;
+	}
+
+	@Override
+	public HttpMethod method() {
+		return HttpMethod.GET;
+	}
+
+	@Override
+	public String[] redirectedFrom() {
+		return FailedHttpClientRequest.EMPTY;
+	}
+
+	@Override
+	public HttpHeaders requestHeaders() {
+		return requestHeaders;
+	}
+
+	@Override
+	public String resourceUrl() {
+		return resourceUrl;
+	}
+
+	@Override
+	public HttpHeaders responseHeaders() {
+		return responseHeaders;
+	}
+
+	@Override
+	public HttpResponseStatus status() {
+		return status;
+	}
+
+	@Override
+	public Mono<HttpHeaders> trailerHeaders() {
+		return Mono.just(EmptyHttpHeaders.INSTANCE);
+	}
+
+	@Override
+	public String uri() {
+		return uri;
+	}
+
+	@Override
+	public HttpVersion version() {
+		return HttpVersion.HTTP_1_1;
+	}
+
+	@Override
+	public String toString() {
+		return "CachedHttpClientResponse{" +
+				"resourceUrl=" + resourceUrl +
+				", status=" + status +
+				'}';
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.client;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A configuration builder for the hedged requests of {@link HttpClient}.
+ * <p>
+ * When the response to a request with an idempotent method has not been received after the hedging delay,
+ * a second attempt of the request is sent on another connection. The first response received wins,
+ * the connection of the other attempt is disposed. The delay is either fixed, or derived from a percentile
+ * of the latencies observed by the client. The number of hedged requests is bounded by a budget, a fraction
+ * of the number of requests.
+ *
+ * @since 1.1.0
+ */
+public final class HedgingSpec {
+
+	/**
+	 * Default hedging delay, also used with a percentile until enough latencies have been observed.
+	 */
+	public static final Duration DEFAULT_DELAY = Duration.ofMillis(50);
+
+	/**
+	 * Default maximum extra load of the hedged requests, as a fraction of the number of requests (5%).
+	 */
+	public static final double DEFAULT_MAX_EXTRA_LOAD = 0.05;
+
+	public interface Builder {
+
+		/**
+		 * Build a new {@link HedgingSpec}
+		 *
+		 * @return a new {@link HedgingSpec}
+		 */
+		HedgingSpec build();
+
+		/**
+		 * Sets the delay after which a request is hedged. When a percentile is configured, the delay is used
+		 * until enough latencies have been observed. Default to {@link #DEFAULT_DELAY}.
+		 *
+		 * @param delay the delay after which a request is hedged
+		 * @return {@code this}
+		 */
+		Builder delay(Duration delay);
+
+		/**
+		 * Sets the percentile of the observed latencies after which a request is hedged, e.g. {@code 0.95}.
+		 * By default, the delay is fixed.
+		 *
+		 * @param percentile the percentile of the observed latencies, between {@code 0} and {@code 1} exclusive
+		 * @return {@code this}
+		 */
+		Builder percentile(double percentile);
+
+		/**
+		 * Sets the maximum extra load of the hedged requests, as a fraction of the number of requests,
+		 * e.g. {@code 0.1} for at most one hedged request every ten requests, {@code 0} to disable the hedging.
+		 * Default to {@link #DEFAULT_MAX_EXTRA_LOAD}.
+		 *
+		 * @param maxExtraLoad the maximum extra load, between {@code 0} and {@code 1}
+		 * @return {@code this}
+		 */
+		Builder maxExtraLoad(double maxExtraLoad);
+	}
+
+	/**
+	 * Creates a builder for {@link HedgingSpec}.
+	 *
+	 * @return a new {@link HedgingSpec.Builder}
+	 */
+	public static Builder builder() {
+		return new Build();
+	}
+
+	/**
+	 * Returns the configured delay after which a request is hedged.
+	 *
+	 * @return the configured delay after which a request is hedged
+	 */
+	public Duration delay() {
+		return delay;
+	}
+
+	/**
+	 * Returns the configured percentile of the observed latencies or null if the delay is fixed.
+	 *
+	 * @return the configured percentile of the observed latencies or null if the delay is fixed
+	 */
+	@Nullable
+	public Double percentile() {
+		return percentile;
+	}
+
+	/**
+	 * Returns the configured maximum extra load of the hedged requests.
+	 *
+	 * @return the configured maximum extra load of the hedged requests
+	 */
+	public double maxExtraLoad() {
+		return maxExtraLoad;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof HedgingSpec)) {
+			return false;
+		}
+		HedgingSpec that = (HedgingSpec) o;
+		return delay.equals(that.delay) &&
+				Objects.equals(percentile, that.percentile) &&
+				Double.compare(maxExtraLoad, that.maxExtraLoad) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(delay, percentile, maxExtraLoad);
+	}
+
+	final Duration delay;
+	final Double percentile;
+	final double maxExtraLoad;
+
+	HedgingSpec(Build build) {
+		this.delay = build.delay;
+		this.percentile = build.percentile;
+		this.maxExtraLoad = build.maxExtraLoad;
+	}
+
+	static final class Build implements Builder {
+
+		Duration delay = DEFAULT_DELAY;
+		Double percentile;
+		double maxExtraLoad = DEFAULT_MAX_EXTRA_LOAD;
+
+		@Override
+		public HedgingSpec build() {
+			return new HedgingSpec(this);
+		}
+
+		@Override
+		public Builder delay(Duration delay) {
+			Objects.requireNonNull(delay, "delay");
+			if (delay.isNegative()) {
+				throw new IllegalArgumentException("delay must not be negative");
+			}
+			this.delay = delay;
+			return this;
+		}
+
+		@Override
+		public Builder percentile(double percentile) {
+			if (!(percentile > 0 && percentile < 1)) {
+				throw new IllegalArgumentException("percentile must be between 0 and 1 exclusive");
+			}
+			this.percentile = percentile;
+			return this;
+		}
+
+		@Override
+		public Builder maxExtraLoad(double maxExtraLoad) {
+			if (!(maxExtraLoad >= 0 && maxExtraLoad <= 1)) {
+				throw new IllegalArgumentException("maxExtraLoad must be between 0 and 1");
+			}
+			this.maxExtraLoad = maxExtraLoad;
+			return this;
+		}
+	}
+}
@@ -17,10 +17,10 @@ package reactor.netty.http.client;
 
 import java.time.Clock;
 import java.time.Duration;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -99,10 +99,17 @@ import static reactor.netty.ReactorNetty.format;
  *     to be used but is required to stay in the pool).</li>
  *     <li>{@link PoolConfig#metricsRecorder()} - no pool instrumentation.</li>
  *     <li>{@link PoolConfig#releaseHandler()} - release functionality works as invalidate.</li>
- *     <li>{@link PoolConfig#reuseIdleResourcesInLruOrder()} - FIFO is used when checking the connections.</li>
+ *     <li>{@link PoolConfig#reuseIdleResourcesInLruOrder()} - the connection is selected based on
+ *     the available stream capacity, see below.</li>
  *     <li>FIFO is used when obtaining the pending borrowers</li>
  *     <li>Warm up functionality is not supported</li>
  * </ul>
+ * <p>
+ * The connections stay in the pool for their whole life, acquiring a stream does not remove/add the connection.
+ * On acquire, two connections are chosen at random and the one with more available streams
+ * (max concurrent streams - active streams) is used (power of two choices). When none of the two can open a stream,
+ * all connections are checked and the one with the most available streams is used.
+ * The stream is reserved at selection time so that concurrent acquires are spread across the connections.
  * <p>This class is based on
  * https://github.com/reactor/reactor-pool/blob/v0.2.7/src/main/java/reactor/pool/SimpleDequePool.java
  *
@@ -116,14 +123,9 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 	static final AtomicIntegerFieldUpdater<Http2Pool> ACQUIRED =
 			AtomicIntegerFieldUpdater.newUpdater(Http2Pool.class, "acquired");
 
-	volatile ConcurrentLinkedQueue<Slot> connections;
-	@SuppressWarnings("rawtypes")
-	static final AtomicReferenceFieldUpdater<Http2Pool, ConcurrentLinkedQueue> CONNECTIONS =
-			AtomicReferenceFieldUpdater.newUpdater(Http2Pool.class, ConcurrentLinkedQueue.class, "connections");
-
-	volatile int idleSize;
-	private static final AtomicIntegerFieldUpdater<Http2Pool> IDLE_SIZE =
-			AtomicIntegerFieldUpdater.newUpdater(Http2Pool.class, "idleSize");
+	volatile Slots connections;
+	static final AtomicReferenceFieldUpdater<Http2Pool, Slots> CONNECTIONS =
+			AtomicReferenceFieldUpdater.newUpdater(Http2Pool.class, Slots.class, "connections");
 
 	/**
 	 * Pending borrowers queue. Never invoke directly the poll/add/remove methods and instead of that,
@@ -168,7 +170,7 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 	Http2Pool(PoolConfig<Connection> poolConfig, @Nullable ConnectionProvider.AllocationStrategy<?> allocationStrategy,
 			long maxIdleTime, long maxLifeTime) {
 		this.clock = poolConfig.clock();
-		this.connections = new ConcurrentLinkedQueue<>();
+		this.connections = new Slots();
 		this.lastInteractionTimestamp = clock.millis();
 		this.maxConcurrentStreams = allocationStrategy instanceof Http2AllocationStrategy ?
 				((Http2AllocationStrategy) allocationStrategy).maxConcurrentStreams() : -1;
@@ -223,16 +225,12 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 					p.fail(new PoolShutdownException());
 				}
 
-				@SuppressWarnings("unchecked")
-				ConcurrentLinkedQueue<Slot> slots = CONNECTIONS.getAndSet(this, null);
+				Slots slots = CONNECTIONS.getAndSet(this, null);
 				if (slots != null) {
 					Mono<Void> closeMonos = Mono.empty();
-					while (!slots.isEmpty()) {
-						Slot slot = pollSlot(slots);
-						if (slot != null) {
-							slot.invalidate();
-							closeMonos = closeMonos.and(DEFAULT_DESTROY_HANDLER.apply(slot.connection));
-						}
+					for (Slot slot : slots.array) {
+						slot.invalidate();
+						closeMonos = closeMonos.and(DEFAULT_DESTROY_HANDLER.apply(slot.connection));
 					}
 					return closeMonos;
 				}
@@ -253,7 +251,8 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 
 	@Override
 	public int idleSize() {
-		return idleSize;
+		Slots slots = connections;
+		return slots == null ? 0 : slots.size();
 	}
 
 	@Override
@@ -360,8 +359,7 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 		int maxPending = poolConfig.maxPending();
 
 		for (;;) {
-			@SuppressWarnings("unchecked")
-			ConcurrentLinkedQueue<Slot> resources = CONNECTIONS.get(this);
+			Slots resources = CONNECTIONS.get(this);
 			@SuppressWarnings("unchecked")
 			ConcurrentLinkedDeque<Borrower> borrowers = PENDING.get(this);
 			if (resources == null || borrowers == TERMINATED) {
@@ -379,7 +377,6 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 				if (slot != null) {
 					Borrower borrower = pollPending(borrowers, true);
 					if (borrower == null) {
-						offerSlot(resources, slot);
 						continue;
 					}
 					if (isDisposed()) {
@@ -390,6 +387,8 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 					if (log.isDebugEnabled()) {
 						log.debug(format(slot.connection.channel(), "Channel activated"));
 					}
+					// reserve the stream now, so that the next selection sees the updated capacity
+					slot.incrementConcurrencyAndGet();
 					ACQUIRED.incrementAndGet(this);
 					slot.connection.channel().eventLoop().execute(() -> {
 						borrower.deliver(new Http2PooledRef(slot));
@@ -397,7 +396,7 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 					});
 				}
 				else {
-					int resourcesCount = idleSize;
+					int resourcesCount = resources.size();
 					if (minConnections > 0 &&
 							poolConfig.allocationStrategy().permitGranted() >= minConnections &&
 							resourcesCount == 0) {
@@ -441,6 +440,8 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 									                 if (log.isDebugEnabled()) {
 									                     log.debug(format(newInstance.channel(), "Channel activated"));
 									                 }
+									                 newSlot.incrementConcurrencyAndGet();
+									                 addSlot(newSlot);
 									                 ACQUIRED.incrementAndGet(this);
 									                 borrower.deliver(new Http2PooledRef(newSlot));
 									             }
@@ -468,8 +469,7 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 
 	@SuppressWarnings("FutureReturnValueIgnored")
 	void evictInBackground() {
-		@SuppressWarnings("unchecked")
-		ConcurrentLinkedQueue<Slot> resources = CONNECTIONS.get(this);
+		Slots resources = CONNECTIONS.get(this);
 		if (resources == null) {
 			//no need to schedule the task again, pool has been disposed
 			return;
@@ -477,17 +477,14 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 
 		if (WIP.getAndIncrement(this) == 0) {
 			if (pendingSize == 0) {
-				Iterator<Slot> slots = resources.iterator();
-				while (slots.hasNext()) {
-					Slot slot = slots.next();
+				for (Slot slot : resources.array) {
 					if (slot.concurrency() == 0) {
 						if (!slot.connection.channel().isActive()) {
 							if (log.isDebugEnabled()) {
 								log.debug(format(slot.connection.channel(), "Channel is closed, remove from pool"));
 							}
 							recordInteractionTimestamp();
-							slots.remove();
-							IDLE_SIZE.decrementAndGet(this);
+							resources.remove(slot);
 							slot.invalidate();
 							continue;
 						}
@@ -497,8 +494,7 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 								log.debug(format(slot.connection.channel(), "Channel received GO_AWAY, remove from pool"));
 							}
 							recordInteractionTimestamp();
-							slots.remove();
-							IDLE_SIZE.decrementAndGet(this);
+							resources.remove(slot);
 							slot.invalidate();
 							continue;
 						}
@@ -510,8 +506,7 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 							//"FutureReturnValueIgnored" this is deliberate
 							slot.connection.channel().close();
 							recordInteractionTimestamp();
-							slots.remove();
-							IDLE_SIZE.decrementAndGet(this);
+							resources.remove(slot);
 							slot.invalidate();
 							continue;
 						}
@@ -523,8 +518,7 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 						//"FutureReturnValueIgnored" this is deliberate
 						slot.connection.channel().close();
 						recordInteractionTimestamp();
-						slots.remove();
-						IDLE_SIZE.decrementAndGet(this);
+						resources.remove(slot);
 						slot.invalidate();
 					}
 				}
@@ -539,100 +533,123 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 	}
 
 	@Nullable
-	@SuppressWarnings("FutureReturnValueIgnored")
-	Slot findConnection(ConcurrentLinkedQueue<Slot> resources) {
-		int resourcesCount = idleSize;
-		while (resourcesCount > 0) {
-			// There are connections in the queue
-
-			resourcesCount--;
+	Slot findConnection(Slots resources) {
+		Slot[] slots = resources.array;
+		int size = slots.length;
+		if (size > 2) {
+			// power of two choices, in most cases one of the two connections can open a stream
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int i = random.nextInt(size);
+			int j = random.nextInt(size - 1);
+			if (j >= i) {
+				j++;
+			}
+			Slot slot = moreAvailableStreams(
+					canOpenStream(resources, slots[i]) ? slots[i] : null,
+					canOpenStream(resources, slots[j]) ? slots[j] : null);
+			if (slot != null) {
+				return slot;
+			}
+		}
 
-			// get the connection
-			Slot slot = pollSlot(resources);
-			if (slot == null) {
-				continue;
+		// check all connections and take the one with the most available streams
+		Slot slot = null;
+		for (Slot candidate : slots) {
+			if (canOpenStream(resources, candidate)) {
+				slot = moreAvailableStreams(slot, candidate);
 			}
+		}
+		return slot;
+	}
 
-			// check the connection is active
-			if (!slot.connection.channel().isActive()) {
-				if (slot.concurrency() > 0) {
-					if (log.isDebugEnabled()) {
-						log.debug(format(slot.connection.channel(), "Channel is closed, {} active streams"),
-								slot.concurrency());
-					}
-					offerSlot(resources, slot);
+	/**
+	 * Checks whether a stream can be opened on this connection,
+	 * removes the connection from the pool if it cannot be used anymore.
+	 */
+	@SuppressWarnings("FutureReturnValueIgnored")
+	boolean canOpenStream(Slots resources, Slot slot) {
+		// the connection has been removed from the pool
+		if (slot.get()) {
+			return false;
+		}
+
+		// check the connection is active
+		if (!slot.connection.channel().isActive()) {
+			if (slot.concurrency() > 0) {
+				if (log.isDebugEnabled()) {
+					log.debug(format(slot.connection.channel(), "Channel is closed, {} active streams"),
+							slot.concurrency());
 				}
-				else {
-					if (log.isDebugEnabled()) {
-						log.debug(format(slot.connection.channel(), "Channel is closed, remove from pool"));
-					}
-					slot.invalidate();
+			}
+			else {
+				if (log.isDebugEnabled()) {
+					log.debug(format(slot.connection.channel(), "Channel is closed, remove from pool"));
 				}
-				continue;
+				resources.remove(slot);
+				slot.invalidate();
 			}
+			return false;
+		}
 
-			// check the connection received GO_AWAY
-			if (slot.goAwayReceived()) {
-				if (slot.concurrency() > 0) {
-					if (log.isDebugEnabled()) {
-						log.debug(format(slot.connection.channel(), "Channel received GO_AWAY, {} active streams"),
-								slot.concurrency());
-					}
-					offerSlot(resources, slot);
-				}
-				else {
-					if (log.isDebugEnabled()) {
-						log.debug(format(slot.connection.channel(), "Channel received GO_AWAY, remove from pool"));
-					}
-					slot.invalidate();
+		// check the connection received GO_AWAY
+		if (slot.goAwayReceived()) {
+			if (slot.concurrency() > 0) {
+				if (log.isDebugEnabled()) {
+					log.debug(format(slot.connection.channel(), "Channel received GO_AWAY, {} active streams"),
+							slot.concurrency());
 				}
-				continue;
 			}
-
-			// check whether the connection's idle time has been reached
-			if (maxIdleReached(slot)) {
+			else {
 				if (log.isDebugEnabled()) {
-					log.debug(format(slot.connection.channel(), "Idle time is reached, remove from pool"));
+					log.debug(format(slot.connection.channel(), "Channel received GO_AWAY, remove from pool"));
 				}
-				//"FutureReturnValueIgnored" this is deliberate
-				slot.connection.channel().close();
+				resources.remove(slot);
 				slot.invalidate();
-				continue;
 			}
+			return false;
+		}
 
-			// check whether the connection's max lifetime has been reached
-			if (maxLifeReached(slot)) {
-				if (slot.concurrency() > 0) {
-					if (log.isDebugEnabled()) {
-						log.debug(format(slot.connection.channel(), "Max life time is reached, {} active streams"),
-								slot.concurrency());
-					}
-					offerSlot(resources, slot);
-				}
-				else {
-					if (log.isDebugEnabled()) {
-						log.debug(format(slot.connection.channel(), "Max life time is reached, remove from pool"));
-					}
-					//"FutureReturnValueIgnored" this is deliberate
-					slot.connection.channel().close();
-					slot.invalidate();
-				}
-				continue;
+		// check whether the connection's idle time has been reached
+		if (maxIdleReached(slot)) {
+			if (log.isDebugEnabled()) {
+				log.debug(format(slot.connection.channel(), "Idle time is reached, remove from pool"));
 			}
+			//"FutureReturnValueIgnored" this is deliberate
+			slot.connection.channel().close();
+			resources.remove(slot);
+			slot.invalidate();
+			return false;
+		}
 
-			// check that the connection's max active streams has not been reached
-			if (!slot.canOpenStream()) {
-				offerSlot(resources, slot);
+		// check whether the connection's max lifetime has been reached
+		if (maxLifeReached(slot)) {
+			if (slot.concurrency() > 0) {
 				if (log.isDebugEnabled()) {
-					log.debug(format(slot.connection.channel(), "Max active streams is reached"));
+					log.debug(format(slot.connection.channel(), "Max life time is reached, {} active streams"),
+							slot.concurrency());
 				}
-				continue;
 			}
+			else {
+				if (log.isDebugEnabled()) {
+					log.debug(format(slot.connection.channel(), "Max life time is reached, remove from pool"));
+				}
+				//"FutureReturnValueIgnored" this is deliberate
+				slot.connection.channel().close();
+				resources.remove(slot);
+				slot.invalidate();
+			}
+			return false;
+		}
 
-			return slot;
+		// check that the connection's max active streams has not been reached
+		if (!slot.canOpenStream()) {
+			if (log.isDebugEnabled()) {
+				log.debug(format(slot.connection.channel(), "Max active streams is reached"));
+			}
+			return false;
 		}
 
-		return null;
+		return true;
 	}
 
 	boolean maxIdleReached(Slot slot) {
@@ -665,8 +682,8 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 		int postOffer = addPending(pendingQueue, borrower, false);
 
 		if (WIP.getAndIncrement(this) == 0) {
-			ConcurrentLinkedQueue<Slot> ir = connections;
-			if (maxPending >= 0 && postOffer > maxPending && ir.isEmpty() && poolConfig.allocationStrategy().estimatePermitCount() == 0) {
+			Slots ir = connections;
+			if (maxPending >= 0 && postOffer > maxPending && ir != null && ir.isEmpty() && poolConfig.allocationStrategy().estimatePermitCount() == 0) {
 				Borrower toCull = pollPending(pendingQueue, false);
 				if (toCull != null) {
 					pendingAcquireLimitReached(toCull, maxPending);
@@ -711,29 +728,17 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 		return PENDING_SIZE.incrementAndGet(this);
 	}
 
-	void offerSlot(@Nullable ConcurrentLinkedQueue<Slot> slots, Slot slot) {
-		if (slots != null && slots.offer(slot)) {
-			IDLE_SIZE.incrementAndGet(this);
+	void addSlot(Slot slot) {
+		Slots slots = CONNECTIONS.get(this);
+		if (slots != null) {
+			slots.add(slot);
 		}
 	}
 
-	@Nullable
-	Slot pollSlot(@Nullable ConcurrentLinkedQueue<Slot> slots) {
-		if (slots == null) {
-			return null;
-		}
-		Slot slot = slots.poll();
-		if (slot != null) {
-			IDLE_SIZE.decrementAndGet(this);
-		}
-		return slot;
-	}
-
 	void removeSlot(Slot slot) {
-		@SuppressWarnings("unchecked")
-		ConcurrentLinkedQueue<Slot> q = CONNECTIONS.get(slot.pool);
-		if (q != null && q.remove(slot)) {
-			IDLE_SIZE.decrementAndGet(this);
+		Slots slots = CONNECTIONS.get(slot.pool);
+		if (slots != null) {
+			slots.remove(slot);
 		}
 	}
 
@@ -748,6 +753,17 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 		}
 	}
 
+	@Nullable
+	static Slot moreAvailableStreams(@Nullable Slot slot1, @Nullable Slot slot2) {
+		if (slot1 == null) {
+			return slot2;
+		}
+		if (slot2 == null) {
+			return slot1;
+		}
+		return slot2.availableStreams() > slot1.availableStreams() ? slot2 : slot1;
+	}
+
 	static final Function<Connection, Publisher<Void>> DEFAULT_DESTROY_HANDLER =
 			connection -> {
 				if (!connection.channel().isActive()) {
@@ -830,8 +846,6 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 
 		void deliver(Http2PooledRef poolSlot) {
 			assert poolSlot.slot.connection.channel().eventLoop().inEventLoop();
-			poolSlot.slot.incrementConcurrencyAndGet();
-			poolSlot.slot.deactivate();
 			if (get()) {
 				//CANCELLED or timeout reached
 				poolSlot.invalidate().subscribe(aVoid -> {}, e -> Operators.onErrorDropped(e, Context.empty()));
@@ -997,17 +1011,12 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 			return false;
 		}
 
-		int concurrency() {
-			return concurrency;
+		long availableStreams() {
+			return maxConcurrentStreams - concurrency;
 		}
 
-		void deactivate() {
-			if (log.isDebugEnabled()) {
-				log.debug(format(connection.channel(), "Channel deactivated"));
-			}
-			@SuppressWarnings("unchecked")
-			ConcurrentLinkedQueue<Slot> slots = CONNECTIONS.get(pool);
-			pool.offerSlot(slots, this);
+		int concurrency() {
+			return concurrency;
 		}
 
 		int decrementConcurrencyAndGet() {
@@ -1080,4 +1089,44 @@ final class Http2Pool implements InstrumentedPool<Connection>, InstrumentedPool.
 			return pool.clock.millis() - creationTimestamp;
 		}
 	}
+
+	/**
+	 * The connections in the pool. The array is replaced on add/remove, which happen only when a connection
+	 * is allocated or removed from the pool, so that the selection on acquire works on a snapshot without locking.
+	 */
+	static final class Slots {
+
+		static final Slot[] EMPTY = new Slot[0];
+
+		volatile Slot[] array = EMPTY;
+
+		synchronized void add(Slot slot) {
+			Slot[] a = array;
+			Slot[] newArray = Arrays.copyOf(a, a.length + 1);
+			newArray[a.length] = slot;
+			array = newArray;
+		}
+
+		boolean isEmpty() {
+			return array.length == 0;
+		}
+
+		synchronized boolean remove(Slot slot) {
+			Slot[] a = array;
+			for (int i = 0; i < a.length; i++) {
+				if (a[i] == slot) {
+					Slot[] newArray = new Slot[a.length - 1];
+					System.arraycopy(a, 0, newArray, 0, i);
+					System.arraycopy(a, i + 1, newArray, i, a.length - i - 1);
+					array = newArray;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		int size() {
+			return array.length;
+		}
+	}
 }
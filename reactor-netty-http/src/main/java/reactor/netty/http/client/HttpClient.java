@@ -502,6 +502,24 @@ public abstract class HttpClient extends ClientTransport<HttpClient, HttpClientC
 		return dup;
 	}
 
+	/**
+	 * Configure the {@link HttpClientCache} through which the {@code GET} requests are sent.
+	 * A fresh cached response is received without acquiring a connection, a stale cached response
+	 * is revalidated with a conditional request. The cache can be shared by several clients.
+	 *
+	 * @param cache the {@link HttpClientCache}, or null to disable the caching
+	 * @return a new {@link HttpClient}
+	 * @since 1.1.0
+	 */
+	public final HttpClient cache(@Nullable HttpClientCache cache) {
+		if (cache == configuration().cache) {
+			return this;
+		}
+		HttpClient dup = duplicate();
+		dup.configuration().cache = cache;
+		return dup;
+	}
+
 	/**
 	 * Specifies whether GZip compression is enabled.
 	 *
@@ -1053,6 +1071,31 @@ public abstract class HttpClient extends ClientTransport<HttpClient, HttpClientC
 		return dup;
 	}
 
+	/**
+	 * Apply hedging configuration. A request with an idempotent method ({@code GET}, {@code HEAD},
+	 * {@code OPTIONS}, {@code TRACE}, {@code PUT}, {@code DELETE}) whose response has not been received
+	 * after the hedging delay is sent a second time on another connection, within the configured budget.
+	 * The first response received wins and the connection of the other attempt is disposed.
+	 * <p>Note: The request body is sent by each attempt, the send function must support being invoked twice.
+	 *
+	 * @param hedgingSpec configures {@link HedgingSpec} before requesting
+	 * @return a new {@link HttpClient}
+	 * @since 1.1.0
+	 */
+	public final HttpClient hedging(Consumer<HedgingSpec.Builder> hedgingSpec) {
+		Objects.requireNonNull(hedgingSpec, "hedgingSpec");
+		HedgingSpec.Builder builder = HedgingSpec.builder();
+		hedgingSpec.accept(builder);
+		HedgingSpec spec = builder.build();
+		HttpClientHedging hedging = configuration().hedging;
+		if (hedging != null && spec.equals(hedging.spec)) {
+			return this;
+		}
+		HttpClient dup = duplicate();
+		dup.configuration().hedging = new HttpClientHedging(spec);
+		return dup;
+	}
+
 	/**
 	 * Apply HTTP/2 configuration
 	 *
@@ -1310,8 +1353,11 @@ public abstract class HttpClient extends ClientTransport<HttpClient, HttpClientC
 
 	/**
 	 * Specifies the maximum duration allowed between each network-level read operation while reading a given response
-	 * (resolution: ms). In other words, {@link io.netty.handler.timeout.ReadTimeoutHandler} is added to the channel
-	 * pipeline after sending the request and is removed when the response is fully received.
+	 * (resolution: ms). The timeout starts after sending the request, it is reset on every read and stops when
+	 * the response is fully received. When it expires, the response fails with
+	 * {@link io.netty.handler.timeout.ReadTimeoutException} and the connection is closed.
+	 * The timeouts of all requests served by an event loop are tracked by a single timer wheel, the channel
+	 * pipeline is not modified.
 	 * If the {@code maxReadOperationInterval} is {@code null}, any previous setting will be removed and no
 	 * {@code maxReadOperationInterval} will be applied.
 	 * If the {@code maxReadOperationInterval} is less than {@code 1ms}, then {@code 1ms} will be the
@@ -1323,7 +1369,7 @@ public abstract class HttpClient extends ClientTransport<HttpClient, HttpClientC
 	 *                                 (resolution: ms).
 	 * @return a new {@link HttpClient}
 	 * @since 0.9.11
-	 * @see io.netty.handler.timeout.ReadTimeoutHandler
+	 * @see io.netty.handler.timeout.ReadTimeoutException
 	 */
 	public final HttpClient responseTimeout(@Nullable Duration maxReadOperationInterval) {
 		if (Objects.equals(maxReadOperationInterval, configuration().responseTimeout)) {
@@ -0,0 +1,807 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.channel.ChannelMetricsRecorder;
+import reactor.netty.http.HttpOperations;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A private, in-memory HTTP cache for {@link HttpClient}, following
+ * <a href="https://datatracker.ietf.org/doc/html/rfc9111">RFC 9111</a>.
+ * <p>
+ * The {@code GET} requests of a client configured with {@link HttpClient#cache(HttpClientCache)} are looked up in
+ * the cache before a connection is acquired, a fresh response is received without any network round-trip.
+ * A stale response with an {@code ETag} or a {@code Last-Modified} validator is revalidated with a conditional
+ * request, and is received again when the server answers {@code 304 Not Modified}.
+ * <p>
+ * The freshness lifetime of a response is given by its {@code max-age} directive, otherwise by its {@code Expires}
+ * header, otherwise it is 10% of the time since its {@code Last-Modified} date, at most one day. The responses with
+ * a {@code no-cache} directive are stored and always revalidated, those with a {@code no-store} directive are not
+ * stored. The responses are keyed by the request URL and the values of the request headers named by the
+ * {@code Vary} response header, as configured with {@link HttpClient#headers(java.util.function.Consumer)}.
+ * The requests with a body, an {@code Authorization} header or their own conditional headers are not cached.
+ * The successful responses to the unsafe requests (e.g. {@code POST}) invalidate the responses cached for their URL.
+ * <p>
+ * The bodies are stored in direct buffers of the client allocator. The least recently used responses are evicted
+ * when the memory used by the cached bodies exceeds the limit, the larger bodies are not cached.
+ * The cache is used by {@link HttpClient.ResponseReceiver#response()},
+ * {@link HttpClient.ResponseReceiver#response(BiFunction)}, {@link HttpClient.ResponseReceiver#responseSingle(BiFunction)}
+ * and {@link HttpClient.ResponseReceiver#responseContent()}, the body of a cacheable response is copied while it is
+ * received, and is stored once it is completely received unless it exceeds the maximum size of a cached body.
+ * <p>
+ * The outcome of each lookup is reported to
+ * {@link HttpClientMetricsRecorder#recordCacheResult(java.net.SocketAddress, String, String)} when the metrics are
+ * enabled.
+ *
+ * @since 1.1.0
+ */
+public final class HttpClientCache {
+
+	/**
+	 * Default maximum memory used by the cached bodies (32MB).
+	 */
+	public static final long DEFAULT_MAX_MEMORY = 32 * 1024 * 1024;
+
+	/**
+	 * Default maximum size of a cached body (1MB).
+	 */
+	public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+	/**
+	 * The result of a lookup that receives a fresh cached response.
+	 */
+	public static final String HIT = "hit";
+
+	/**
+	 * The result of a lookup that receives a response from the network.
+	 */
+	public static final String MISS = "miss";
+
+	/**
+	 * The result of a lookup that receives a stale cached response, validated with a conditional request.
+	 */
+	public static final String REVALIDATED = "revalidated";
+
+	static final long MAX_HEURISTIC_FRESHNESS_NANOS = TimeUnit.DAYS.toNanos(1);
+
+	/**
+	 * The status codes that are heuristically cacheable
+	 * (<a href="https://datatracker.ietf.org/doc/html/rfc9110#section-15.1">RFC 9110</a>).
+	 */
+	static final Set<Integer> CACHEABLE_STATUS = Collections.unmodifiableSet(new HashSet<>(
+			Arrays.asList(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501)));
+
+	/**
+	 * The headers that describe the connection or the transfer and are not cached.
+	 */
+	static final List<CharSequence> UNCACHED_HEADERS = Collections.unmodifiableList(Arrays.asList(
+			HttpHeaderNames.CONNECTION, HttpHeaderNames.KEEP_ALIVE, HttpHeaderNames.TRANSFER_ENCODING,
+			HttpHeaderNames.TRAILER, HttpHeaderNames.UPGRADE, HttpHeaderNames.PROXY_AUTHENTICATE,
+			HttpHeaderNames.CONTENT_LENGTH));
+
+	/**
+	 * Creates a builder for {@link HttpClientCache}.
+	 *
+	 * @return a new {@link HttpClientCache.Builder}
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	final long maxMemory;
+	final int maxEntrySize;
+
+	/**
+	 * The cached responses, in access order, and the variants of the cached responses per URL,
+	 * guarded by {@code entries}.
+	 */
+	final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+	final Map<String, Variants> variants = new HashMap<>();
+
+	long memoryUsed;
+
+	HttpClientCache(Builder builder) {
+		this.maxMemory = builder.maxMemory;
+		this.maxEntrySize = builder.maxEntrySize;
+	}
+
+	/**
+	 * Removes all the cached responses.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			for (CacheEntry entry : entries.values()) {
+				entry.body.release();
+			}
+			entries.clear();
+			variants.clear();
+			memoryUsed = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of cached responses, including the stale responses.
+	 *
+	 * @return the number of cached responses
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Returns the memory used by the cached bodies, in bytes.
+	 *
+	 * @return the memory used by the cached bodies, in bytes
+	 */
+	public long memoryUsed() {
+		synchronized (entries) {
+			return memoryUsed;
+		}
+	}
+
+	/**
+	 * Sends the request of the client through the cache and applies the receiver to the response.
+	 *
+	 * @param client the client, configured with this cache
+	 * @param receiver the receiver of the response and its body
+	 * @param store whether a cacheable response received from the network is stored, its body is then copied
+	 * @return the result of the receiver
+	 */
+	<V> Flux<V> exchange(HttpClientFinalizer client,
+			BiFunction<? super HttpClientResponse, ? super ByteBufFlux, ? extends Publisher<V>> receiver, boolean store) {
+		HttpClientConfig config = client.configuration();
+		if (config.deferredConf == null) {
+			return Flux.defer(() -> exchange(config, receiver, store));
+		}
+		return config.deferredConf.apply(Mono.just(new HttpClientConfig(config)))
+		                          .flatMapMany(resolved -> {
+		                              resolved.deferredConf = null;
+		                              return exchange(resolved, receiver, store);
+		                          });
+	}
+
+	<V> Flux<V> exchange(HttpClientConfig config,
+			BiFunction<? super HttpClientResponse, ? super ByteBufFlux, ? extends Publisher<V>> receiver, boolean store) {
+		HttpHeaders requestHeaders = config.headers;
+		CacheControl requestCacheControl = CacheControl.parse(requestHeaders);
+		if (!HttpMethod.GET.equals(config.method) || config.body != null || config.websocketClientSpec != null ||
+				requestCacheControl.noStore ||
+				requestHeaders.contains(HttpHeaderNames.AUTHORIZATION) ||
+				requestHeaders.contains(HttpHeaderNames.IF_NONE_MATCH) ||
+				requestHeaders.contains(HttpHeaderNames.IF_MODIFIED_SINCE) ||
+				requestHeaders.contains(HttpHeaderNames.RANGE)) {
+			return new HttpClientFinalizer(config)._connect()
+			                                      .flatMapMany(ops -> receive(ops, receiver));
+		}
+
+		HttpClientConnect.HttpClientHandler target = new HttpClientConnect.HttpClientHandler(config);
+		String url = target.resourceUrl;
+		long now = System.nanoTime();
+		CacheEntry entry = lookup(url, requestHeaders);
+		if (entry == null) {
+			record(config, target, MISS);
+			return fetch(config, url, receiver, store, now);
+		}
+
+		if (!requestCacheControl.noCache && entry.isFresh(now, requestCacheControl.maxAgeNanos)) {
+			record(config, target, HIT);
+			return Flux.deferContextual(ctx -> receive(new CachedHttpClientResponse(ctx, config, entry, now), entry.body,
+			                                           alloc(config), receiver))
+			           .doFinally(s -> entry.body.release());
+		}
+
+		if (entry.etag == null && entry.lastModified == null) {
+			entry.body.release();
+			record(config, target, MISS);
+			return fetch(config, url, receiver, store, now);
+		}
+
+		HttpClientConfig conditional = new HttpClientConfig(config);
+		conditional.headers = requestHeaders.copy();
+		if (entry.etag != null) {
+			conditional.headers.set(HttpHeaderNames.IF_NONE_MATCH, entry.etag);
+		}
+		if (entry.lastModified != null) {
+			conditional.headers.set(HttpHeaderNames.IF_MODIFIED_SINCE, entry.lastModified);
+		}
+		return new HttpClientFinalizer(conditional)
+				._connect()
+				.flatMapMany(ops -> {
+				    if (ops.status().code() != HttpResponseStatus.NOT_MODIFIED.code()) {
+				        record(config, target, MISS);
+				        return store(config, url, ops, receiver, store, now);
+				    }
+				    HttpClientFinalizer.discard(ops);
+				    record(config, target, REVALIDATED);
+				    long responseNanos = System.nanoTime();
+				    CacheEntry updated = refresh(entry, ops.responseHeaders(), now, responseNanos);
+				    return receive(new CachedHttpClientResponse(ops.currentContextView(), config, updated, responseNanos),
+				                   entry.body, alloc(config), receiver);
+				})
+				.doFinally(s -> entry.body.release());
+	}
+
+	<V> Flux<V> fetch(HttpClientConfig config, String url,
+			BiFunction<? super HttpClientResponse, ? super ByteBufFlux, ? extends Publisher<V>> receiver,
+			boolean store, long requestNanos) {
+		return new HttpClientFinalizer(config)._connect()
+		                                      .flatMapMany(ops -> store(config, url, ops, receiver, store, requestNanos));
+	}
+
+	/**
+	 * Receives a response from the network, storing it first if it is cacheable.
+	 */
+	<V> Flux<V> store(HttpClientConfig config, String url, HttpClientOperations ops,
+			BiFunction<? super HttpClientResponse, ? super ByteBufFlux, ? extends Publisher<V>> receiver,
+			boolean store, long requestNanos) {
+		CacheControl responseCacheControl = CacheControl.parse(ops.responseHeaders());
+		List<String> varyNames = store && ops.redirectedFrom().length == 0 ?
+				storable(ops.status(), ops.responseHeaders(), responseCacheControl) : null;
+		if (varyNames == null) {
+			return receive(ops, receiver);
+		}
+
+		long responseNanos = System.nanoTime();
+		long responseMillis = System.currentTimeMillis();
+		ByteBufAllocator alloc = alloc(config);
+		BodyCapture capture = new BodyCapture(alloc, maxEntrySize, contentLength(ops.responseHeaders()));
+		Flux<ByteBuf> content =
+				ops.receive()
+				   .doOnNext(capture::add)
+				   .doOnComplete(() -> {
+				       ByteBuf body = capture.complete();
+				       if (body != null) {
+				           store(new CacheEntry(url, varyNames, config.headers, ops.status(), ops.responseHeaders(), body,
+				                   responseCacheControl, requestNanos, responseNanos, responseMillis));
+				       }
+				   });
+		return Flux.from(receiver.apply(ops, ByteBufFlux.fromInbound(content, alloc)))
+		           .doFinally(s -> {
+		               capture.release();
+		               HttpClientFinalizer.discard(ops);
+		           });
+	}
+
+	/**
+	 * Invalidates the responses cached for the URL of a successful response to an unsafe request.
+	 */
+	void invalidate(HttpClientOperations ops) {
+		HttpMethod method = ops.method();
+		if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) ||
+				HttpMethod.OPTIONS.equals(method) || HttpMethod.TRACE.equals(method) ||
+				ops.status().code() >= 400) {
+			return;
+		}
+		String url = ops.resourceUrl();
+		if (url == null) {
+			return;
+		}
+		synchronized (entries) {
+			Variants urlVariants = variants.remove(url);
+			if (urlVariants != null) {
+				for (String key : urlVariants.keys) {
+					CacheEntry entry = entries.remove(key);
+					if (entry != null) {
+						discard(entry);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the cached response with a retained body, {@code null} if there is none.
+	 */
+	@Nullable
+	CacheEntry lookup(String url, HttpHeaders requestHeaders) {
+		synchronized (entries) {
+			Variants urlVariants = variants.get(url);
+			if (urlVariants == null) {
+				return null;
+			}
+			CacheEntry entry = entries.get(key(url, urlVariants.varyNames, requestHeaders));
+			if (entry != null) {
+				entry.body.retain();
+			}
+			return entry;
+		}
+	}
+
+	void store(CacheEntry entry) {
+		synchronized (entries) {
+			Variants urlVariants = variants.get(entry.url);
+			if (urlVariants == null || !urlVariants.varyNames.equals(entry.varyNames)) {
+				if (urlVariants != null) {
+					// the responses cached with other Vary headers are no longer reachable
+					for (String key : urlVariants.keys) {
+						CacheEntry previous = entries.remove(key);
+						if (previous != null) {
+							discard(previous);
+						}
+					}
+				}
+				urlVariants = new Variants(entry.varyNames);
+				variants.put(entry.url, urlVariants);
+			}
+			CacheEntry previous = entries.put(entry.key, entry);
+			if (previous != null) {
+				discard(previous);
+			}
+			urlVariants.keys.add(entry.key);
+			memoryUsed += entry.body.capacity();
+
+			Iterator<CacheEntry> it = entries.values().iterator();
+			while (memoryUsed > maxMemory && it.hasNext()) {
+				CacheEntry eldest = it.next();
+				it.remove();
+				discard(eldest);
+				Variants eldestVariants = variants.get(eldest.url);
+				if (eldestVariants != null && eldestVariants.keys.remove(eldest.key) && eldestVariants.keys.isEmpty()) {
+					variants.remove(eldest.url);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates a cached response with the headers of a {@code 304 Not Modified} response
+	 * (<a href="https://datatracker.ietf.org/doc/html/rfc9111#section-4.3.4">RFC 9111</a>).
+	 */
+	CacheEntry refresh(CacheEntry entry, HttpHeaders notModifiedHeaders, long requestNanos, long responseNanos) {
+		HttpHeaders headers = entry.headers.copy().remove(HttpHeaderNames.AGE);
+		for (String name : notModifiedHeaders.names()) {
+			headers.set(name, notModifiedHeaders.getAll(name));
+		}
+		for (CharSequence name : UNCACHED_HEADERS) {
+			headers.remove(name);
+		}
+		headers.setInt(HttpHeaderNames.CONTENT_LENGTH, entry.body.readableBytes());
+		CacheEntry updated = new CacheEntry(entry.url, entry.varyNames, entry.key, entry.status, headers,
+				entry.body, CacheControl.parse(headers), requestNanos, responseNanos, System.currentTimeMillis());
+		synchronized (entries) {
+			if (entries.get(entry.key) == entry) {
+				entry.body.retain();
+				entries.put(entry.key, updated);
+				// the body is shared, only the reference of the previous entry is released
+				entry.body.release();
+			}
+		}
+		return updated;
+	}
+
+	void discard(CacheEntry entry) {
+		memoryUsed -= entry.body.capacity();
+		entry.body.release();
+	}
+
+	/**
+	 * Returns the request headers named by the {@code Vary} header of the response, {@code null} if the response
+	 * cannot be stored.
+	 */
+	@Nullable
+	List<String> storable(HttpResponseStatus status, HttpHeaders responseHeaders, CacheControl cacheControl) {
+		if (!CACHEABLE_STATUS.contains(status.code()) || cacheControl.noStore ||
+				responseHeaders.contains(HttpHeaderNames.SET_COOKIE) ||
+				contentLength(responseHeaders) > maxEntrySize) {
+			return null;
+		}
+		boolean validatable = responseHeaders.contains(HttpHeaderNames.LAST_MODIFIED) ||
+				responseHeaders.contains(HttpHeaderNames.ETAG);
+		if (!validatable && (cacheControl.noCache ||
+				(cacheControl.maxAgeNanos < 0 && !responseHeaders.contains(HttpHeaderNames.EXPIRES)))) {
+			// can be neither fresh nor revalidated
+			return null;
+		}
+		List<String> values = responseHeaders.getAll(HttpHeaderNames.VARY);
+		if (values.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> names = new ArrayList<>();
+		for (String value : values) {
+			for (String name : value.split(",")) {
+				name = name.trim().toLowerCase(Locale.ROOT);
+				if ("*".equals(name)) {
+					return null;
+				}
+				if (!name.isEmpty() && !names.contains(name)) {
+					names.add(name);
+				}
+			}
+		}
+		Collections.sort(names);
+		return names;
+	}
+
+	static long contentLength(HttpHeaders headers) {
+		String value = headers.get(HttpHeaderNames.CONTENT_LENGTH);
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim());
+			}
+			catch (NumberFormatException e) {
+				return Long.MAX_VALUE;
+			}
+		}
+		return -1;
+	}
+
+	static String key(String url, List<String> varyNames, HttpHeaders requestHeaders) {
+		if (varyNames.isEmpty()) {
+			return url;
+		}
+		StringBuilder key = new StringBuilder(url);
+		for (String name : varyNames) {
+			key.append('\u0000');
+			List<String> values = requestHeaders.getAll(name);
+			for (int i = 0; i < values.size(); i++) {
+				if (i > 0) {
+					key.append(',');
+				}
+				key.append(values.get(i));
+			}
+		}
+		return key.toString();
+	}
+
+	static ByteBufAllocator alloc(HttpClientConfig config) {
+		ByteBufAllocator alloc = (ByteBufAllocator) config.options().get(ChannelOption.ALLOCATOR);
+		return alloc != null ? alloc : ByteBufAllocator.DEFAULT;
+	}
+
+	static void record(HttpClientConfig config, HttpClientConnect.HttpClientHandler target, String result) {
+		Supplier<? extends ChannelMetricsRecorder> recorder = config.metricsRecorder();
+		if (recorder != null) {
+			ChannelMetricsRecorder metricsRecorder = recorder.get();
+			if (metricsRecorder instanceof HttpClientMetricsRecorder) {
+				String path = HttpOperations.resolvePath(target.toURI.getPathAndQuery());
+				((HttpClientMetricsRecorder) metricsRecorder).recordCacheResult(target.toURI.getRemoteAddress(),
+						config.uriTagValue == null ? path : config.uriTagValue.apply(path), result);
+			}
+		}
+	}
+
+	static <V> Flux<V> receive(HttpClientOperations ops,
+			BiFunction<? super HttpClientResponse, ? super ByteBufFlux, ? extends Publisher<V>> receiver) {
+		return Flux.from(receiver.apply(ops, ops.receive()))
+		           .doFinally(s -> HttpClientFinalizer.discard(ops));
+	}
+
+	/**
+	 * Applies the receiver to a response whose body is held by the caller. The body is emitted as a retained
+	 * duplicate, released once it has been received, so that it can be received as an inbound body.
+	 */
+	static <V> Flux<V> receive(HttpClientResponse response, ByteBuf body, ByteBufAllocator alloc,
+			BiFunction<? super HttpClientResponse, ? super ByteBufFlux, ? extends Publisher<V>> receiver) {
+		Flux<ByteBuf> content = body.isReadable() ?
+				Mono.fromSupplier(body::retainedDuplicate)
+				    .doOnDiscard(ByteBuf.class, ByteBuf::release)
+				    .flux()
+				    .doAfterNext(ByteBuf::release) :
+				Flux.empty();
+		return Flux.from(receiver.apply(response, ByteBufFlux.fromInbound(content, alloc)));
+	}
+
+	/**
+	 * Builder for {@link HttpClientCache}.
+	 */
+	public static final class Builder {
+
+		long maxMemory = DEFAULT_MAX_MEMORY;
+		int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+		Builder() {
+		}
+
+		/**
+		 * Configures the maximum memory used by the cached bodies, in bytes. The least recently used
+		 * responses are evicted when it is exceeded. Default to {@link #DEFAULT_MAX_MEMORY}.
+		 *
+		 * @param maxMemory the maximum memory used by the cached bodies, in bytes
+		 * @return {@code this}
+		 */
+		public Builder maxMemory(long maxMemory) {
+			if (maxMemory <= 0) {
+				throw new IllegalArgumentException("maxMemory must be positive");
+			}
+			this.maxMemory = maxMemory;
+			return this;
+		}
+
+		/**
+		 * Configures the maximum size of a cached body, in bytes. The larger responses are not cached.
+		 * Default to {@link #DEFAULT_MAX_ENTRY_SIZE}.
+		 *
+		 * @param maxEntrySize the maximum size of a cached body, in bytes
+		 * @return {@code this}
+		 */
+		public Builder maxEntrySize(int maxEntrySize) {
+			if (maxEntrySize <= 0) {
+				throw new IllegalArgumentException("maxEntrySize must be positive");
+			}
+			this.maxEntrySize = maxEntrySize;
+			return this;
+		}
+
+		/**
+		 * Builds a new {@link HttpClientCache}.
+		 *
+		 * @return a new {@link HttpClientCache}
+		 */
+		public HttpClientCache build() {
+			if (maxEntrySize > maxMemory) {
+				throw new IllegalArgumentException("maxEntrySize must not exceed maxMemory");
+			}
+			return new HttpClientCache(this);
+		}
+	}
+
+	/**
+	 * The {@code Cache-Control} directives used by the cache.
+	 */
+	static final class CacheControl {
+
+		boolean noCache;
+		boolean noStore;
+		long maxAgeNanos = -1;
+
+		static CacheControl parse(HttpHeaders headers) {
+			CacheControl cacheControl = new CacheControl();
+			List<String> values = headers.getAll(HttpHeaderNames.CACHE_CONTROL);
+			if (values.isEmpty()) {
+				// Pragma is only considered without Cache-Control
+				cacheControl.noCache = headers.contains(HttpHeaderNames.PRAGMA, HttpHeaderValues.NO_CACHE, true);
+				return cacheControl;
+			}
+			for (String value : values) {
+				for (String directive : value.split(",")) {
+					directive = directive.trim().toLowerCase(Locale.ROOT);
+					if (directive.startsWith(HttpHeaderValues.NO_CACHE.toString())) {
+						cacheControl.noCache = true;
+					}
+					else if (directive.equals(HttpHeaderValues.NO_STORE.toString())) {
+						cacheControl.noStore = true;
+					}
+					else if (directive.startsWith(HttpHeaderValues.MAX_AGE.toString())) {
+						int equals = directive.indexOf('=');
+						if (equals != -1) {
+							try {
+								long seconds = Long.parseLong(directive.substring(equals + 1).replace("\"", "").trim());
+								cacheControl.maxAgeNanos = TimeUnit.SECONDS.toNanos(Math.max(0, seconds));
+							}
+							catch (NumberFormatException e) {
+								// an invalid max-age makes the response stale
+								cacheControl.maxAgeNanos = 0;
+							}
+						}
+					}
+				}
+			}
+			return cacheControl;
+		}
+	}
+
+	/**
+	 * A cached response, the headers are shared and must not be mutated.
+	 */
+	static final class CacheEntry {
+
+		final String url;
+		final List<String> varyNames;
+		final String key;
+		final HttpResponseStatus status;
+		final HttpHeaders headers;
+		final ByteBuf body;
+		final String etag;
+		final String lastModified;
+		final boolean noCache;
+		final long responseNanos;
+		final long initialAgeNanos;
+		final long freshnessLifetimeNanos;
+
+		CacheEntry(String url, List<String> varyNames, HttpHeaders requestHeaders, HttpResponseStatus status,
+				HttpHeaders responseHeaders, ByteBuf body, CacheControl cacheControl, long requestNanos,
+				long responseNanos, long responseMillis) {
+			this(url, varyNames, key(url, varyNames, requestHeaders), status, headers(responseHeaders, body), body,
+					cacheControl, requestNanos, responseNanos, responseMillis);
+		}
+
+		CacheEntry(String url, List<String> varyNames, String key, HttpResponseStatus status, HttpHeaders headers,
+				ByteBuf body, CacheControl cacheControl, long requestNanos, long responseNanos, long responseMillis) {
+			this.url = url;
+			this.varyNames = varyNames;
+			this.key = key;
+			this.status = status;
+			this.headers = headers;
+			this.body = body;
+			this.etag = headers.get(HttpHeaderNames.ETAG);
+			this.lastModified = headers.get(HttpHeaderNames.LAST_MODIFIED);
+			this.noCache = cacheControl.noCache;
+			this.responseNanos = responseNanos;
+
+			// https://datatracker.ietf.org/doc/html/rfc9111#section-4.2.3
+			long dateMillis = dateMillis(headers, HttpHeaderNames.DATE, responseMillis);
+			long apparentAgeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, responseMillis - dateMillis));
+			long ageNanos = 0;
+			String age = headers.get(HttpHeaderNames.AGE);
+			if (age != null) {
+				try {
+					ageNanos = TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(age.trim())));
+				}
+				catch (NumberFormatException e) {
+					// ignore an invalid Age
+				}
+			}
+			this.initialAgeNanos = Math.max(apparentAgeNanos, ageNanos + (responseNanos - requestNanos));
+
+			// https://datatracker.ietf.org/doc/html/rfc9111#section-4.2.1
+			if (cacheControl.maxAgeNanos >= 0) {
+				this.freshnessLifetimeNanos = cacheControl.maxAgeNanos;
+			}
+			else if (headers.contains(HttpHeaderNames.EXPIRES)) {
+				long expiresMillis = dateMillis(headers, HttpHeaderNames.EXPIRES, dateMillis);
+				this.freshnessLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresMillis - dateMillis));
+			}
+			else if (lastModified != null) {
+				long lastModifiedMillis = dateMillis(headers, HttpHeaderNames.LAST_MODIFIED, dateMillis);
+				long heuristicNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, dateMillis - lastModifiedMillis)) / 10;
+				this.freshnessLifetimeNanos = Math.min(heuristicNanos, MAX_HEURISTIC_FRESHNESS_NANOS);
+			}
+			else {
+				this.freshnessLifetimeNanos = 0;
+			}
+		}
+
+		long ageNanos(long nowNanos) {
+			return initialAgeNanos + (nowNanos - responseNanos);
+		}
+
+		boolean isFresh(long nowNanos, long maxAgeNanos) {
+			long age = ageNanos(nowNanos);
+			return !noCache && age < freshnessLifetimeNanos && (maxAgeNanos < 0 || age <= maxAgeNanos);
+		}
+
+		static HttpHeaders headers(HttpHeaders responseHeaders, ByteBuf body) {
+			HttpHeaders headers = new DefaultHttpHeaders(false).set(responseHeaders);
+			for (CharSequence name : UNCACHED_HEADERS) {
+				headers.remove(name);
+			}
+			headers.setInt(HttpHeaderNames.CONTENT_LENGTH, body.readableBytes());
+			return headers;
+		}
+
+		/**
+		 * Returns the date of a header in milliseconds, {@code 0} if the date is invalid and {@code defaultMillis}
+		 * if the header is absent.
+		 */
+		static long dateMillis(HttpHeaders headers, CharSequence name, long defaultMillis) {
+			String value = headers.get(name);
+			if (value == null) {
+				return defaultMillis;
+			}
+			Date date = DateFormatter.parseHttpDate(value);
+			return date != null ? date.getTime() : 0;
+		}
+	}
+
+	/**
+	 * Copies the body of a response as it is received, until it exceeds the maximum size of a cached body.
+	 * Past the maximum size, the copy is released and the rest of the body is only streamed through.
+	 */
+	static final class BodyCapture {
+
+		final ByteBufAllocator alloc;
+		final int maxSize;
+		final long contentLength;
+
+		ByteBuf body;
+		boolean overflow;
+
+		BodyCapture(ByteBufAllocator alloc, int maxSize, long contentLength) {
+			this.alloc = alloc;
+			this.maxSize = maxSize;
+			this.contentLength = contentLength;
+		}
+
+		synchronized void add(ByteBuf buf) {
+			if (overflow) {
+				return;
+			}
+			int size = body != null ? body.readableBytes() : 0;
+			if (size + buf.readableBytes() > maxSize) {
+				overflow = true;
+				release();
+				return;
+			}
+			if (body == null) {
+				body = alloc.directBuffer(contentLength > 0 ? (int) Math.min(contentLength, maxSize) : buf.readableBytes(),
+						maxSize);
+			}
+			body.writeBytes(buf, buf.readerIndex(), buf.readableBytes());
+		}
+
+		/**
+		 * Returns the copy of a complete body to be cached, {@code null} if the body exceeded the maximum size.
+		 */
+		@Nullable
+		synchronized ByteBuf complete() {
+			if (overflow) {
+				return null;
+			}
+			ByteBuf complete = body;
+			body = null;
+			if (complete == null) {
+				return Unpooled.EMPTY_BUFFER;
+			}
+			// the memory used by the cached bodies is accounted with their capacity
+			return complete.capacity(complete.readableBytes());
+		}
+
+		synchronized void release() {
+			if (body != null) {
+				body.release();
+				body = null;
+			}
+		}
+	}
+
+	/**
+	 * The request headers named by the {@code Vary} header of the responses cached for a URL,
+	 * and the keys of these responses.
+	 */
+	static final class Variants {
+
+		final List<String> varyNames;
+		final Set<String> keys = new HashSet<>();
+
+		Variants(List<String> varyNames) {
+			this.varyNames = varyNames;
+		}
+	}
+}
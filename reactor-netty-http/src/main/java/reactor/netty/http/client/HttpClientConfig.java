@@ -21,7 +21,6 @@ import java.nio.charset.Charset;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
@@ -58,7 +57,6 @@ import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslHandler;
-import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.resolver.AddressResolverGroup;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
@@ -105,6 +103,17 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 		return baseUrl;
 	}
 
+	/**
+	 * Return the configured {@link HttpClientCache} or null.
+	 *
+	 * @return the configured {@link HttpClientCache} or null
+	 * @since 1.1.0
+	 */
+	@Nullable
+	public HttpClientCache cache() {
+		return cache;
+	}
+
 	@Override
 	public int channelHash() {
 		return Objects.hash(super.channelHash(), acceptGzip, decoder, _protocols, sslProvider, uriTagValue);
@@ -161,6 +170,17 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 		return headers.copy();
 	}
 
+	/**
+	 * Return the configured hedging or null.
+	 *
+	 * @return the configured hedging or null
+	 * @since 1.1.0
+	 */
+	@Nullable
+	public HedgingSpec hedgingSpec() {
+		return hedging != null ? hedging.spec : null;
+	}
+
 	/**
 	 * Return the HTTP/2 configuration
 	 *
@@ -293,6 +313,7 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 	boolean acceptGzip;
 	String baseUrl;
 	BiFunction<? super HttpClientRequest, ? super NettyOutbound, ? extends Publisher<Void>> body;
+	HttpClientCache cache;
 	Function<? super Mono<? extends Connection>, ? extends Mono<? extends Connection>> connector;
 	ClientCookieDecoder cookieDecoder;
 	ClientCookieEncoder cookieEncoder;
@@ -307,6 +328,7 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 	BiConsumer<? super HttpClientResponse, ? super Throwable> doOnResponseError;
 	BiPredicate<HttpClientRequest, HttpClientResponse> followRedirectPredicate;
 	HttpHeaders headers;
+	HttpClientHedging hedging;
 	Http2SettingsSpec http2Settings;
 	HttpMethod method;
 	HttpProtocol[] protocols;
@@ -340,6 +362,7 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 		this.acceptGzip = parent.acceptGzip;
 		this.baseUrl = parent.baseUrl;
 		this.body = parent.body;
+		this.cache = parent.cache;
 		this.connector = parent.connector;
 		this.cookieDecoder = parent.cookieDecoder;
 		this.cookieEncoder = parent.cookieEncoder;
@@ -354,6 +377,7 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 		this.doOnResponseError = parent.doOnResponseError;
 		this.followRedirectPredicate = parent.followRedirectPredicate;
 		this.headers = parent.headers;
+		this.hedging = parent.hedging;
 		this.http2Settings = parent.http2Settings;
 		this.method = parent.method;
 		this.protocols = parent.protocols;
@@ -558,11 +582,6 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 			}
 		}
 
-		if (responseTimeoutMillis > -1) {
-			Connection.from(ch).addHandlerFirst(NettyPipeline.ResponseTimeoutHandler,
-					new ReadTimeoutHandler(responseTimeoutMillis, TimeUnit.MILLISECONDS));
-		}
-
 		if (log.isDebugEnabled()) {
 			log.debug(format(ch, "Initialized HTTP/2 stream pipeline {}"), ch.pipeline());
 		}
@@ -570,6 +589,10 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 		ChannelOperations<?, ?> ops = opsFactory.create(Connection.from(ch), obs, null);
 		if (ops != null) {
 			ops.bind();
+			// The response of the upgrade request is received on this stream
+			if (responseTimeoutMillis > -1 && ops instanceof HttpClientOperations) {
+				((HttpClientOperations) ops).startResponseTimeout(responseTimeoutMillis);
+			}
 		}
 	}
 
@@ -753,8 +776,13 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 		@Override
 		public void handlerAdded(ChannelHandlerContext ctx) {
 			ChannelPipeline pipeline = ctx.pipeline();
-			ReadTimeoutHandler responseTimeoutHandler =
-					(ReadTimeoutHandler) pipeline.get(NettyPipeline.ResponseTimeoutHandler);
+			long responseTimeoutMillis = -1;
+			ChannelOperations<?, ?> upgradeOps = ChannelOperations.get(ctx.channel());
+			if (upgradeOps instanceof HttpClientOperations) {
+				// The response timeout of the upgrade request moves to the upgrade stream
+				responseTimeoutMillis = ((HttpClientOperations) upgradeOps).responseTimeoutMillis();
+				((HttpClientOperations) upgradeOps).cancelResponseTimeout();
+			}
 			Http2MultiplexHandler http2MultiplexHandler;
 			ConnectionObserver channelOwner = ctx.channel().attr(OWNER).get();
 			Http2ConnectionProvider.DisposableAcquire owner = null;
@@ -763,11 +791,10 @@ public final class HttpClientConfig extends ClientTransportConfig<HttpClientConf
 				owner = (Http2ConnectionProvider.DisposableAcquire) channelOwner;
 				obs = owner.obs;
 			}
-			if (responseTimeoutHandler != null) {
-				pipeline.remove(NettyPipeline.ResponseTimeoutHandler);
+			if (responseTimeoutMillis > -1) {
 				http2MultiplexHandler = new Http2MultiplexHandler(new H2Codec(opsFactory, acceptGzip),
 						new H2Codec(owner, obs, opsFactory, acceptGzip, metricsRecorder,
-								responseTimeoutHandler.getReaderIdleTimeInMillis(), uriTagValue));
+								responseTimeoutMillis, uriTagValue));
 			}
 			else {
 				http2MultiplexHandler = new Http2MultiplexHandler(new H2Codec(opsFactory, acceptGzip),
@@ -112,10 +112,10 @@ class HttpClientConnect extends HttpClient {
 		Mono<? extends Connection> mono;
 		if (config.deferredConf != null) {
 			return config.deferredConf.apply(Mono.just(config))
-			           .flatMap(MonoHttpConnect::new);
+			           .flatMap(HttpClientConnect::httpConnect);
 		}
 		else {
-			mono = new MonoHttpConnect(config);
+			mono = httpConnect(config);
 		}
 
 		if (config.doOnConnect() != null) {
@@ -135,6 +135,13 @@ class HttpClientConnect extends HttpClient {
 		return mono;
 	}
 
+	static Mono<Connection> httpConnect(HttpClientConfig config) {
+		if (config.hedging != null) {
+			return config.hedging.connect(config);
+		}
+		return new MonoHttpConnect(config);
+	}
+
 	@Override
 	protected HttpClient duplicate() {
 		return new HttpClientConnect(new HttpClientConfig(config));
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2017-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,11 +87,19 @@ final class HttpClientFinalizer extends HttpClientConnect implements HttpClient.
 
 	@Override
 	public Mono<HttpClientResponse> response() {
+		HttpClientCache cache = configuration().cache;
+		if (cache != null) {
+			return Mono.from(cache.exchange(this, (resp, body) -> Mono.just(resp), false));
+		}
 		return _connect().map(RESPONSE_ONLY);
 	}
 
 	@Override
 	public <V> Flux<V> response(BiFunction<? super HttpClientResponse, ? super ByteBufFlux, ? extends Publisher<V>> receiver) {
+		HttpClientCache cache = configuration().cache;
+		if (cache != null) {
+			return cache.exchange(this, receiver, true);
+		}
 		return _connect().flatMapMany(resp -> Flux.from(receiver.apply(resp, resp.receive()))
 		                                          .doFinally(s -> discard(resp)));
 	}
@@ -109,6 +117,11 @@ final class HttpClientFinalizer extends HttpClientConnect implements HttpClient.
 			alloc = ByteBufAllocator.DEFAULT;
 		}
 
+		HttpClientCache cache = configuration().cache;
+		if (cache != null) {
+			return ByteBufFlux.fromInbound(cache.exchange(this, (resp, body) -> body, true), alloc);
+		}
+
 		@SuppressWarnings("unchecked")
 		Mono<ChannelOperations<?, ?>> connector = (Mono<ChannelOperations<?, ?>>) connect();
 		return ByteBufFlux.fromInbound(connector.flatMapMany(contentReceiver), alloc);
@@ -116,6 +129,10 @@ final class HttpClientFinalizer extends HttpClientConnect implements HttpClient.
 
 	@Override
 	public <V> Mono<V> responseSingle(BiFunction<? super HttpClientResponse, ? super ByteBufMono, ? extends Mono<V>> receiver) {
+		HttpClientCache cache = configuration().cache;
+		if (cache != null) {
+			return Mono.from(cache.exchange(this, (resp, body) -> receiver.apply(resp, body.aggregate()), true));
+		}
 		return _connect().flatMap(resp -> receiver.apply(resp, resp.receive().aggregate())
 		                                          .doFinally(s -> discard(resp)));
 	}
@@ -153,7 +170,9 @@ final class HttpClientFinalizer extends HttpClientConnect implements HttpClient.
 
 	@SuppressWarnings("unchecked")
 	Mono<HttpClientOperations> _connect() {
-		return (Mono<HttpClientOperations>) connect();
+		Mono<HttpClientOperations> connect = (Mono<HttpClientOperations>) connect();
+		HttpClientCache cache = configuration().cache;
+		return cache != null ? connect.doOnNext(cache::invalidate) : connect;
 	}
 
 	static void discard(HttpClientOperations c) {
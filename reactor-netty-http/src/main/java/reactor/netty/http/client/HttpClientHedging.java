@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.client;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.netty.handler.codec.http.HttpMethod;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.Connection;
+import reactor.netty.channel.ChannelMetricsRecorder;
+import reactor.netty.http.HttpOperations;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+import static reactor.netty.ReactorNetty.format;
+
+/**
+ * The state of the hedging configured with {@link HttpClient#hedging(java.util.function.Consumer)}:
+ * the budget of hedged requests and the latencies observed to derive a percentile delay.
+ * The state is shared by the clients derived from the one where the hedging was configured.
+ *
+ * @since 1.1.0
+ */
+final class HttpClientHedging {
+
+	static final Logger log = Loggers.getLogger(HttpClientHedging.class);
+
+	/**
+	 * The number of latencies kept to compute the percentile delay.
+	 */
+	static final int SAMPLES = 256;
+
+	/**
+	 * The number of latencies observed before the percentile delay is used, and between two computations.
+	 */
+	static final int MIN_SAMPLES = 32;
+
+	/**
+	 * One hedged request, in thousandths of a token.
+	 */
+	static final long TOKEN = 1000;
+
+	/**
+	 * The maximum number of hedged requests that can be saved in the budget, bounding the bursts.
+	 */
+	static final long MAX_TOKENS = 10 * TOKEN;
+
+	final HedgingSpec spec;
+	final long deposit;
+	final AtomicLong tokens = new AtomicLong();
+	final long[] latencies = new long[SAMPLES];
+	final AtomicLong samples = new AtomicLong();
+
+	volatile long percentileNanos = -1;
+
+	HttpClientHedging(HedgingSpec spec) {
+		this.spec = spec;
+		this.deposit = (long) (spec.maxExtraLoad * TOKEN);
+	}
+
+	/**
+	 * Return the connection of a request hedged if its method is idempotent.
+	 *
+	 * @param config the request configuration
+	 * @return the connection of a request hedged if its method is idempotent
+	 */
+	Mono<Connection> connect(HttpClientConfig config) {
+		if (deposit == 0 || config.websocketClientSpec != null || !isIdempotent(config.method)) {
+			return new HttpClientConnect.MonoHttpConnect(config);
+		}
+		return new MonoHedgedConnect(this, config);
+	}
+
+	long delayNanos() {
+		long percentile = percentileNanos;
+		return percentile >= 0 ? percentile : spec.delay.toNanos();
+	}
+
+	void deposit() {
+		long t;
+		do {
+			t = tokens.get();
+			if (t >= MAX_TOKENS) {
+				return;
+			}
+		}
+		while (!tokens.compareAndSet(t, Math.min(MAX_TOKENS, t + deposit)));
+	}
+
+	boolean tryAcquire() {
+		long t;
+		do {
+			t = tokens.get();
+			if (t < TOKEN) {
+				return false;
+			}
+		}
+		while (!tokens.compareAndSet(t, t - TOKEN));
+		return true;
+	}
+
+	/**
+	 * Record the latency of a response. The ring buffer is written without locking,
+	 * a sample overwritten concurrently only skews the percentile by one observation.
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	void recordLatency(long nanos) {
+		if (spec.percentile == null) {
+			return;
+		}
+		long n = samples.incrementAndGet();
+		latencies[(int) ((n - 1) % SAMPLES)] = nanos;
+		if (n >= MIN_SAMPLES && n % MIN_SAMPLES == 0) {
+			long[] copy = Arrays.copyOf(latencies, (int) Math.min(n, SAMPLES));
+			Arrays.sort(copy);
+			int index = (int) Math.ceil(spec.percentile * copy.length) - 1;
+			percentileNanos = copy[Math.max(0, index)];
+		}
+	}
+
+	static boolean isIdempotent(HttpMethod method) {
+		return HttpMethod.GET.equals(method) ||
+				HttpMethod.HEAD.equals(method) ||
+				HttpMethod.OPTIONS.equals(method) ||
+				HttpMethod.TRACE.equals(method) ||
+				HttpMethod.PUT.equals(method) ||
+				HttpMethod.DELETE.equals(method);
+	}
+
+	static final class MonoHedgedConnect extends Mono<Connection> {
+
+		final HttpClientHedging hedging;
+		final HttpClientConfig config;
+
+		MonoHedgedConnect(HttpClientHedging hedging, HttpClientConfig config) {
+			this.hedging = hedging;
+			this.config = config;
+		}
+
+		@Override
+		public void subscribe(CoreSubscriber<? super Connection> actual) {
+			hedging.deposit();
+			HedgedSubscription parent = new HedgedSubscription(actual, hedging, config);
+			actual.onSubscribe(parent);
+			parent.start();
+		}
+	}
+
+	/**
+	 * Races the original request with a hedged request sent after the hedging delay.
+	 * The first connection emitted, once the response is received, wins; the other attempt is cancelled
+	 * which disposes its connection.
+	 */
+	static final class HedgedSubscription implements Subscription {
+
+		final CoreSubscriber<? super Connection> actual;
+		final HttpClientHedging hedging;
+		final HttpClientConfig config;
+		final AtomicBoolean done = new AtomicBoolean();
+		final AtomicBoolean emitted = new AtomicBoolean();
+		final AtomicInteger running = new AtomicInteger(1);
+		final long start = System.nanoTime();
+
+		volatile Attempt primary;
+		volatile Attempt hedge;
+		volatile Disposable timer;
+		volatile Connection value;
+		volatile boolean requested;
+		volatile boolean cancelled;
+
+		HedgedSubscription(CoreSubscriber<? super Connection> actual, HttpClientHedging hedging, HttpClientConfig config) {
+			this.actual = actual;
+			this.hedging = hedging;
+			this.config = config;
+		}
+
+		void start() {
+			if (done.get()) {
+				return;
+			}
+			primary = new Attempt(this, false);
+			new HttpClientConnect.MonoHttpConnect(config).subscribe(primary);
+			if (!done.get()) {
+				timer = Schedulers.parallel().schedule(this::hedge, hedging.delayNanos(), TimeUnit.NANOSECONDS);
+				if (done.get()) {
+					timer.dispose();
+				}
+			}
+		}
+
+		void hedge() {
+			if (done.get() || !hedging.tryAcquire()) {
+				return;
+			}
+			running.incrementAndGet();
+			// The original request keeps the retry on connection reset, the hedged request is the retry
+			HttpClientConfig hedgeConfig = new HttpClientConfig(config);
+			hedgeConfig.retryDisabled = true;
+			Attempt attempt = new Attempt(this, true);
+			hedge = attempt;
+			if (done.get()) {
+				// The original request completed in the meantime, the hedged request is not sent
+				return;
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Hedging the request to {} after {}ns", config.uri != null ? config.uri : config.uriStr,
+						System.nanoTime() - start);
+			}
+			record(false);
+			new HttpClientConnect.MonoHttpConnect(hedgeConfig).subscribe(attempt);
+			if (done.get()) {
+				attempt.dispose();
+			}
+		}
+
+		void onWinner(Attempt winner, Connection connection) {
+			if (!done.compareAndSet(false, true)) {
+				// The other attempt won or the subscription was cancelled
+				connection.dispose();
+				return;
+			}
+			dispose(timer);
+			dispose(winner.hedged ? primary : hedge);
+			hedging.recordLatency(System.nanoTime() - start);
+			if (winner.hedged) {
+				if (log.isDebugEnabled()) {
+					log.debug(format(connection.channel(), "The hedged request won"));
+				}
+				record(true);
+			}
+			value = connection;
+			tryEmit();
+		}
+
+		void onError(Throwable error) {
+			if (done.get()) {
+				Operators.onErrorDropped(error, actual.currentContext());
+				return;
+			}
+			// Wait for the other attempt when both are running, fail when none is left,
+			// the hedged request is not sent after the original request failed
+			if (running.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+				dispose(timer);
+				actual.onError(error);
+			}
+			else if (log.isDebugEnabled()) {
+				log.debug("One of the hedged attempts failed, waiting for the other one", error);
+			}
+		}
+
+		void tryEmit() {
+			Connection connection = value;
+			if (connection == null) {
+				return;
+			}
+			if (cancelled) {
+				if (emitted.compareAndSet(false, true)) {
+					connection.dispose();
+				}
+			}
+			else if (requested && emitted.compareAndSet(false, true)) {
+				actual.onNext(connection);
+				actual.onComplete();
+			}
+		}
+
+		void record(boolean won) {
+			Supplier<? extends ChannelMetricsRecorder> recorder = config.metricsRecorder();
+			if (recorder != null) {
+				ChannelMetricsRecorder metricsRecorder = recorder.get();
+				if (metricsRecorder instanceof HttpClientMetricsRecorder) {
+					HttpClientConnect.HttpClientHandler target = new HttpClientConnect.HttpClientHandler(config);
+					String path = HttpOperations.resolvePath(target.toURI.getPathAndQuery());
+					String uri = config.uriTagValue == null ? path : config.uriTagValue.apply(path);
+					if (won) {
+						((HttpClientMetricsRecorder) metricsRecorder).incrementHedgesWon(target.toURI.getRemoteAddress(), uri);
+					}
+					else {
+						((HttpClientMetricsRecorder) metricsRecorder).incrementHedgesSent(target.toURI.getRemoteAddress(), uri);
+					}
+				}
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (Operators.validate(n)) {
+				requested = true;
+				tryEmit();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			if (done.compareAndSet(false, true)) {
+				dispose(timer);
+				dispose(primary);
+				dispose(hedge);
+			}
+			else {
+				// The winner may not be emitted yet
+				tryEmit();
+			}
+		}
+
+		static void dispose(@Nullable Disposable disposable) {
+			if (disposable != null) {
+				disposable.dispose();
+			}
+		}
+	}
+
+	static final class Attempt extends BaseSubscriber<Connection> {
+
+		final HedgedSubscription parent;
+		final boolean hedged;
+
+		Attempt(HedgedSubscription parent, boolean hedged) {
+			this.parent = parent;
+			this.hedged = hedged;
+		}
+
+		@Override
+		public Context currentContext() {
+			return parent.actual.currentContext();
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		protected void hookOnNext(Connection connection) {
+			parent.onWinner(this, connection);
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+			parent.onError(throwable);
+		}
+	}
+}
@@ -27,6 +27,26 @@ import io.micrometer.core.instrument.docs.DocumentedMeter;
  */
 enum HttpClientMeters implements DocumentedMeter {
 
+	/**
+	 * The number of lookups in the client cache, per result.
+	 */
+	HTTP_CLIENT_CACHE_REQUESTS {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.client.cache.requests";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return CacheRequestsTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
 	/**
 	 * Time spent in consuming incoming data on the client.
 	 */
@@ -65,8 +85,81 @@ enum HttpClientMeters implements DocumentedMeter {
 		public Meter.Type getType() {
 			return Meter.Type.TIMER;
 		}
+	},
+
+	/**
+	 * The number of hedged requests sent by the client.
+	 */
+	HTTP_CLIENT_HEDGES_SENT {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.client.hedges.sent";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return HedgesTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
+	/**
+	 * The number of hedged requests whose response was received before the response to the original request.
+	 */
+	HTTP_CLIENT_HEDGES_WON {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.client.hedges.won";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return HedgesTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
 	};
 
+	enum CacheRequestsTags implements KeyName {
+
+		/**
+		 * Remote address.
+		 */
+		REMOTE_ADDRESS {
+			@Override
+			public String asString() {
+				return "remote.address";
+			}
+		},
+
+		/**
+		 * The result of the lookup, {@code hit}, {@code miss} or {@code revalidated}.
+		 */
+		RESULT {
+			@Override
+			public String asString() {
+				return "result";
+			}
+		},
+
+		/**
+		 * URI.
+		 */
+		URI {
+			@Override
+			public String asString() {
+				return "uri";
+			}
+		}
+	}
+
 	enum DataReceivedTimeTags implements KeyName {
 
 		/**
@@ -142,4 +235,27 @@ enum HttpClientMeters implements DocumentedMeter {
 			}
 		}
 	}
+
+	enum HedgesTags implements KeyName {
+
+		/**
+		 * Remote address.
+		 */
+		REMOTE_ADDRESS {
+			@Override
+			public String asString() {
+				return "remote.address";
+			}
+		},
+
+		/**
+		 * URI.
+		 */
+		URI {
+			@Override
+			public String asString() {
+				return "uri";
+			}
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2019-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,4 +58,32 @@ public interface HttpClientMetricsRecorder extends HttpMetricsRecorder {
 	 * @param time the total time in nanoseconds for the request/response
 	 */
 	void recordResponseTime(SocketAddress remoteAddress, String uri, String method, String status, Duration time);
+
+	/**
+	 * Records the outcome of a lookup in the {@link HttpClientCache}
+	 *
+	 * @param remoteAddress The remote peer
+	 * @param uri the requested URI
+	 * @param result {@link HttpClientCache#HIT}, {@link HttpClientCache#MISS} or {@link HttpClientCache#REVALIDATED}
+	 * @since 1.1.0
+	 */
+	default void recordCacheResult(SocketAddress remoteAddress, String uri, String result) { }
+
+	/**
+	 * Increments the number of hedged requests sent
+	 *
+	 * @param remoteAddress The remote peer
+	 * @param uri the requested URI
+	 * @since 1.1.0
+	 */
+	default void incrementHedgesSent(SocketAddress remoteAddress, String uri) { }
+
+	/**
+	 * Increments the number of hedged requests whose response was received first
+	 *
+	 * @param remoteAddress The remote peer
+	 * @param uri the requested URI
+	 * @since 1.1.0
+	 */
+	default void incrementHedgesWon(SocketAddress remoteAddress, String uri) { }
 }
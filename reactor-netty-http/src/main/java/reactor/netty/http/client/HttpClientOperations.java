@@ -36,9 +36,11 @@ import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
@@ -62,7 +64,7 @@ import io.netty.handler.codec.http.multipart.HttpDataFactory;
 import io.netty.handler.codec.http.multipart.HttpPostRequestEncoder;
 import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketClientCompressionHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
-import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.util.ReferenceCountUtil;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
@@ -81,8 +83,11 @@ import reactor.netty.NettyOutbound;
 import reactor.netty.NettyPipeline;
 import reactor.netty.channel.AbortedException;
 import reactor.netty.channel.ChannelOperations;
+import reactor.netty.channel.FlushPolicy;
 import reactor.netty.http.Cookies;
 import reactor.netty.http.HttpOperations;
+import reactor.netty.internal.util.TimeoutWheel;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 import reactor.util.annotation.Nullable;
@@ -95,7 +100,7 @@ import static reactor.netty.ReactorNetty.format;
  * @author Simon Baslé
  */
 class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
-		implements HttpClientResponse, HttpClientRequest {
+		implements HttpClientResponse, HttpClientRequest, ConnectionProvider.ExchangeOutcome {
 
 	final boolean                isSecure;
 	final HttpRequest            nettyRequest;
@@ -108,6 +113,7 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 	String                      resourceUrl;
 	String                      path;
 	Duration                    responseTimeout;
+	ResponseTimeout             responseTimeoutTask;
 
 	volatile ResponseState responseState;
 
@@ -278,6 +284,7 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 
 	@Override
 	protected void onInboundClose() {
+		cancelResponseTimeout();
 		if (isInboundCancelled() || isInboundDisposed()) {
 			listener().onStateChange(this, ConnectionObserver.State.DISCONNECTING);
 			return;
@@ -300,6 +307,7 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 
 	@Override
 	protected void afterInboundComplete() {
+		cancelResponseTimeout();
 		if (redirecting != null) {
 			listener().onUncaughtException(this, redirecting);
 		}
@@ -403,6 +411,15 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 		throw new IllegalStateException("Response headers cannot be accessed without " + "server response");
 	}
 
+	@Override
+	public NettyOutbound send(Publisher<? extends ByteBuf> source, FlushPolicy flushPolicy) {
+		// GET and HEAD requests aggregate the content into a single full message
+		if (Objects.equals(method(), HttpMethod.GET) || Objects.equals(method(), HttpMethod.HEAD)) {
+			return send(source);
+		}
+		return super.send(source, flushPolicy);
+	}
+
 	@Override
 	public NettyOutbound send(Publisher<? extends ByteBuf> source) {
 		if (!channel().isActive()) {
@@ -476,6 +493,12 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 		return uri;
 	}
 
+	@Override
+	public boolean isRemoteFailure() {
+		ResponseState responseState = this.responseState;
+		return responseState != null && responseState.response.status().code() >= 500;
+	}
+
 	@Override
 	public HttpResponseStatus status() {
 		ResponseState responseState = this.responseState;
@@ -562,9 +585,9 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 			channel().writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
 		}
 		listener().onStateChange(this, HttpClientState.REQUEST_SENT);
-		if (responseTimeout != null) {
-			addHandlerFirst(NettyPipeline.ResponseTimeoutHandler,
-					new ReadTimeoutHandler(responseTimeout.toMillis(), TimeUnit.MILLISECONDS));
+		if (responseTimeout != null && !responseTimeout.isZero() && !responseTimeout.isNegative()) {
+			// less than 1ms is rounded up to 1ms
+			startResponseTimeout(Math.max(responseTimeout.toMillis(), 1));
 		}
 		channel().read();
 		if (channel().parent() != null) {
@@ -590,6 +613,10 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 
 	@Override
 	protected void onInboundNext(ChannelHandlerContext ctx, Object msg) {
+		ResponseTimeout responseTimeoutTask = this.responseTimeoutTask;
+		if (responseTimeoutTask != null) {
+			responseTimeoutTask.lastReadNanos = System.nanoTime();
+		}
 		if (msg instanceof HttpResponse) {
 			HttpResponse response = (HttpResponse) msg;
 			if (response.decoderResult()
@@ -789,6 +816,57 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 		}
 	}
 
+	/**
+	 * Starts tracking the response timeout. The timeout is reset on every read and it is
+	 * tracked by the {@link TimeoutWheel} of the event loop, the pipeline is not modified.
+	 *
+	 * @param timeoutMillis the maximum interval between two reads in milliseconds
+	 */
+	final void startResponseTimeout(long timeoutMillis) {
+		EventLoop eventLoop = channel().eventLoop();
+		if (eventLoop.inEventLoop()) {
+			scheduleResponseTimeout(eventLoop, timeoutMillis);
+		}
+		else {
+			eventLoop.execute(() -> scheduleResponseTimeout(eventLoop, timeoutMillis));
+		}
+	}
+
+	final void cancelResponseTimeout() {
+		ResponseTimeout responseTimeoutTask = this.responseTimeoutTask;
+		if (responseTimeoutTask != null) {
+			EventLoop eventLoop = channel().eventLoop();
+			if (eventLoop.inEventLoop()) {
+				responseTimeoutTask.cancel();
+			}
+			else {
+				eventLoop.execute(responseTimeoutTask::cancel);
+			}
+		}
+	}
+
+	/**
+	 * Returns the response timeout in milliseconds if it is tracked, otherwise {@code -1}.
+	 *
+	 * @return the response timeout in milliseconds if it is tracked, otherwise {@code -1}
+	 */
+	final long responseTimeoutMillis() {
+		ResponseTimeout responseTimeoutTask = this.responseTimeoutTask;
+		return responseTimeoutTask != null && responseTimeoutTask.isScheduled() ?
+				TimeUnit.NANOSECONDS.toMillis(responseTimeoutTask.timeoutNanos) : -1;
+	}
+
+	final void scheduleResponseTimeout(EventLoop eventLoop, long timeoutMillis) {
+		ResponseTimeout responseTimeoutTask = this.responseTimeoutTask;
+		if (responseTimeoutTask == null) {
+			responseTimeoutTask = new ResponseTimeout();
+			this.responseTimeoutTask = responseTimeoutTask;
+		}
+		responseTimeoutTask.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		responseTimeoutTask.lastReadNanos = System.nanoTime();
+		TimeoutWheel.get(eventLoop).schedule(responseTimeoutTask, responseTimeoutTask.timeoutNanos);
+	}
+
 	@SuppressWarnings("FutureReturnValueIgnored")
 	final void withWebsocketSupport(WebsocketClientSpec websocketClientSpec, boolean compress) {
 		URI url = websocketUri();
@@ -818,6 +896,33 @@ class HttpClientOperations extends HttpOperations<NettyInbound, NettyOutbound>
 		}
 	}
 
+	/**
+	 * Fails the response with {@link ReadTimeoutException} and closes the channel when there is no read
+	 * during the configured interval, the same way {@link io.netty.handler.timeout.ReadTimeoutHandler} does.
+	 */
+	final class ResponseTimeout extends TimeoutWheel.Timeout {
+
+		long timeoutNanos;
+		long lastReadNanos;
+
+		@Override
+		@SuppressWarnings("FutureReturnValueIgnored")
+		protected void expire() {
+			Channel channel = channel();
+			long remaining = timeoutNanos - (System.nanoTime() - lastReadNanos);
+			if (remaining > 0) {
+				// there were reads since the timeout has been scheduled
+				TimeoutWheel.get(channel.eventLoop()).schedule(this, remaining);
+				return;
+			}
+			if (channel.isActive()) {
+				channel.pipeline().fireExceptionCaught(ReadTimeoutException.INSTANCE);
+				//"FutureReturnValueIgnored" this is deliberate
+				channel.close();
+			}
+		}
+	}
+
 	static final class ResponseState {
 
 		final HttpResponse response;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2011-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -75,8 +75,11 @@ public interface HttpClientRequest extends HttpClientInfos {
 
 	/**
 	 * Specifies the maximum duration allowed between each network-level read operation while reading a given response
-	 * (resolution: ms). In other words, {@link io.netty.handler.timeout.ReadTimeoutHandler} is added to the channel
-	 * pipeline after sending the request and is removed when the response is fully received.
+	 * (resolution: ms). The timeout starts after sending the request, it is reset on every read and stops when
+	 * the response is fully received. When it expires, the response fails with
+	 * {@link io.netty.handler.timeout.ReadTimeoutException} and the connection is closed.
+	 * The timeouts of all requests served by an event loop are tracked by a single timer wheel, the channel
+	 * pipeline is not modified.
 	 * If the {@code maxReadOperationInterval} is {@code null}, any previous setting will be removed and no
 	 * {@code maxReadOperationInterval} will be applied.
 	 * If the {@code maxReadOperationInterval} is less than {@code 1ms}, then {@code 1ms} will be the
@@ -88,7 +91,7 @@ public interface HttpClientRequest extends HttpClientInfos {
 	 *                                 (resolution: ms).
 	 * @return this outbound
 	 * @since 0.9.11
-	 * @see io.netty.handler.timeout.ReadTimeoutHandler
+	 * @see io.netty.handler.timeout.ReadTimeoutException
 	 */
 	HttpClientRequest responseTimeout(Duration maxReadOperationInterval);
 }
@@ -56,6 +56,15 @@ final class HttpConnectionProvider implements ConnectionProvider {
 		}
 	}
 
+	@Override
+	public Mono<Void> warmup(TransportConfig config, AddressResolverGroup<?> resolverGroup) {
+		if (((HttpClientConfig) config)._protocols == HttpClientConfig.h11) {
+			return http1ConnectionProvider().warmup(config, resolverGroup);
+		}
+		// HTTP/2 connections are kept warm by Http2AllocationStrategy#minConnections
+		return Mono.empty();
+	}
+
 	@Override
 	public void disposeWhen(SocketAddress address) {
 		http1ConnectionProvider().disposeWhen(address);
@@ -73,6 +73,11 @@ final class MicrometerHttpClientMetricsHandler extends AbstractHttpClientMetrics
 		return recorder;
 	}
 
+	@Override
+	String resolveUriTag(String uri) {
+		return recorder.uriTag(uri);
+	}
+
 	@Override
 	protected void recordRead(SocketAddress address) {
 		recorder().recordDataReceivedTime(address,
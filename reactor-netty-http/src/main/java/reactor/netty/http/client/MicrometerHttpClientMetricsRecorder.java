@@ -15,6 +15,7 @@
  */
 package reactor.netty.http.client;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import reactor.netty.Metrics;
 import reactor.netty.channel.MeterKey;
@@ -24,6 +25,8 @@ import reactor.util.annotation.Nullable;
 
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static reactor.netty.Metrics.DATA_RECEIVED_TIME;
 import static reactor.netty.Metrics.DATA_SENT_TIME;
@@ -34,6 +37,9 @@ import static reactor.netty.Metrics.REMOTE_ADDRESS;
 import static reactor.netty.Metrics.RESPONSE_TIME;
 import static reactor.netty.Metrics.STATUS;
 import static reactor.netty.Metrics.URI;
+import static reactor.netty.http.client.HttpClientMeters.HTTP_CLIENT_CACHE_REQUESTS;
+import static reactor.netty.http.client.HttpClientMeters.HTTP_CLIENT_HEDGES_SENT;
+import static reactor.netty.http.client.HttpClientMeters.HTTP_CLIENT_HEDGES_WON;
 
 /**
  * @author Violeta Georgieva
@@ -43,6 +49,12 @@ final class MicrometerHttpClientMetricsRecorder extends MicrometerHttpMetricsRec
 
 	final static MicrometerHttpClientMetricsRecorder INSTANCE = new MicrometerHttpClientMetricsRecorder();
 
+	private final ConcurrentMap<MeterKey, Counter> cacheRequestsCache = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<MeterKey, Counter> hedgesSentCache = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<MeterKey, Counter> hedgesWonCache = new ConcurrentHashMap<>();
+
 	private MicrometerHttpClientMetricsRecorder() {
 		super(HTTP_CLIENT_PREFIX, "http");
 	}
@@ -50,11 +62,12 @@ final class MicrometerHttpClientMetricsRecorder extends MicrometerHttpMetricsRec
 	@Override
 	public void recordDataReceivedTime(SocketAddress remoteAddress, String uri, String method, String status, Duration time) {
 		String address = Metrics.formatSocketAddress(remoteAddress);
-		MeterKey meterKey = new MeterKey(uri, address, method, status);
+		String uriTag = uriTag(uri);
+		MeterKey meterKey = new MeterKey(uriTag, address, method, status);
 		Timer dataReceivedTime = MapUtils.computeIfAbsent(dataReceivedTimeCache, meterKey,
 				key -> filter(Timer.builder(name() + DATA_RECEIVED_TIME)
 				                   .tags(HttpClientMeters.DataReceivedTimeTags.REMOTE_ADDRESS.asString(), address,
-				                         HttpClientMeters.DataReceivedTimeTags.URI.asString(), uri,
+				                         HttpClientMeters.DataReceivedTimeTags.URI.asString(), uriTag,
 				                         HttpClientMeters.DataReceivedTimeTags.METHOD.asString(), method,
 				                         HttpClientMeters.DataReceivedTimeTags.STATUS.asString(), status)
 				                   .register(REGISTRY)));
@@ -66,11 +79,12 @@ final class MicrometerHttpClientMetricsRecorder extends MicrometerHttpMetricsRec
 	@Override
 	public void recordDataSentTime(SocketAddress remoteAddress, String uri, String method, Duration time) {
 		String address = Metrics.formatSocketAddress(remoteAddress);
-		MeterKey meterKey = new MeterKey(uri, address, method, null);
+		String uriTag = uriTag(uri);
+		MeterKey meterKey = new MeterKey(uriTag, address, method, null);
 		Timer dataSentTime = MapUtils.computeIfAbsent(dataSentTimeCache, meterKey,
 				key -> filter(Timer.builder(name() + DATA_SENT_TIME)
 				                   .tags(HttpClientMeters.DataSentTimeTags.REMOTE_ADDRESS.asString(), address,
-				                         HttpClientMeters.DataSentTimeTags.URI.asString(), uri,
+				                         HttpClientMeters.DataSentTimeTags.URI.asString(), uriTag,
 				                         HttpClientMeters.DataSentTimeTags.METHOD.asString(), method)
 				                   .register(REGISTRY)));
 		if (dataSentTime != null) {
@@ -81,12 +95,56 @@ final class MicrometerHttpClientMetricsRecorder extends MicrometerHttpMetricsRec
 	@Override
 	public void recordResponseTime(SocketAddress remoteAddress, String uri, String method, String status, Duration time) {
 		String address = Metrics.formatSocketAddress(remoteAddress);
-		Timer responseTime = getResponseTimeTimer(name() + RESPONSE_TIME, address, uri, method, status);
+		Timer responseTime = getResponseTimeTimer(name() + RESPONSE_TIME, address, uriTag(uri), method, status);
 		if (responseTime != null) {
 			responseTime.record(time);
 		}
 	}
 
+	@Override
+	public void recordCacheResult(SocketAddress remoteAddress, String uri, String result) {
+		String address = Metrics.formatSocketAddress(remoteAddress);
+		String uriTag = uriTag(uri);
+		MeterKey meterKey = new MeterKey(uriTag, address, result, null);
+		Counter cacheRequests = MapUtils.computeIfAbsent(cacheRequestsCache, meterKey,
+				key -> filter(Counter.builder(HTTP_CLIENT_CACHE_REQUESTS.getName())
+				                     .tags(HttpClientMeters.CacheRequestsTags.REMOTE_ADDRESS.asString(), address,
+				                           HttpClientMeters.CacheRequestsTags.URI.asString(), uriTag,
+				                           HttpClientMeters.CacheRequestsTags.RESULT.asString(), result)
+				                     .register(REGISTRY)));
+		if (cacheRequests != null) {
+			cacheRequests.increment();
+		}
+	}
+
+	@Override
+	public void incrementHedgesSent(SocketAddress remoteAddress, String uri) {
+		Counter hedgesSent = getHedgesCounter(hedgesSentCache, HTTP_CLIENT_HEDGES_SENT.getName(), remoteAddress, uri);
+		if (hedgesSent != null) {
+			hedgesSent.increment();
+		}
+	}
+
+	@Override
+	public void incrementHedgesWon(SocketAddress remoteAddress, String uri) {
+		Counter hedgesWon = getHedgesCounter(hedgesWonCache, HTTP_CLIENT_HEDGES_WON.getName(), remoteAddress, uri);
+		if (hedgesWon != null) {
+			hedgesWon.increment();
+		}
+	}
+
+	@Nullable
+	final Counter getHedgesCounter(ConcurrentMap<MeterKey, Counter> cache, String name, SocketAddress remoteAddress, String uri) {
+		String address = Metrics.formatSocketAddress(remoteAddress);
+		String uriTag = uriTag(uri);
+		MeterKey meterKey = new MeterKey(uriTag, address, null, null);
+		return MapUtils.computeIfAbsent(cache, meterKey,
+				key -> filter(Counter.builder(name)
+				                     .tags(HttpClientMeters.HedgesTags.REMOTE_ADDRESS.asString(), address,
+				                           HttpClientMeters.HedgesTags.URI.asString(), uriTag)
+				                     .register(REGISTRY)));
+	}
+
 	@Nullable
 	final Timer getResponseTimeTimer(String name, String address, String uri, String method, String status) {
 		MeterKey meterKey = new MeterKey(uri, address, method, status);
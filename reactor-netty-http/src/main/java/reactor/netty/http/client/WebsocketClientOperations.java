@@ -41,6 +41,7 @@ import reactor.core.publisher.Sinks;
 import reactor.netty.FutureMono;
 import reactor.netty.NettyOutbound;
 import reactor.netty.ReactorNetty;
+import reactor.netty.channel.FlushPolicy;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
 import reactor.util.annotation.Nullable;
@@ -200,6 +201,11 @@ final class WebsocketClientOperations extends HttpClientOperations
 		return sendObject(Flux.from(dataStream).map(bytebufToWebsocketFrame));
 	}
 
+	@Override
+	public NettyOutbound send(Publisher<? extends ByteBuf> dataStream, FlushPolicy flushPolicy) {
+		return sendObject(Flux.from(dataStream).map(bytebufToWebsocketFrame), flushPolicy);
+	}
+
 	@Override
 	public Mono<Void> sendClose() {
 		return sendClose(new CloseWebSocketFrame());
@@ -17,6 +17,7 @@ package reactor.netty.http.server;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
@@ -51,6 +52,10 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 
 	final Function<String, String> uriTagValue;
 
+	// The URI tag value of the current request, resolved once per request
+	HttpServerOperations uriTagOps;
+	String uriTag;
+
 	protected AbstractHttpServerMetricsHandler(@Nullable Function<String, String> uriTagValue) {
 		this.uriTagValue = uriTagValue;
 	}
@@ -61,6 +66,8 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 		this.dataSent = copy.dataSent;
 		this.dataSentTime = copy.dataSentTime;
 		this.uriTagValue = copy.uriTagValue;
+		this.uriTagOps = copy.uriTagOps;
+		this.uriTag = copy.uriTag;
 	}
 
 	@Override
@@ -68,7 +75,7 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 		// For custom user recorders, we don't propagate the channelActive event, because this will be done
 		// by the ChannelMetricsHandler itself. ChannelMetricsHandler is only present when the recorder is
 		// not our MicrometerHttpServerMetricsRecorder. See HttpServerConfig class.
-		if (!(ctx.channel() instanceof Http2StreamChannel) && recorder() instanceof MicrometerHttpServerMetricsRecorder) {
+		if (!isStream(ctx.channel()) && recorder() instanceof MicrometerHttpServerMetricsRecorder) {
 			try {
 				recorder().recordServerConnectionOpened(ctx.channel().localAddress());
 			}
@@ -82,7 +89,7 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 
 	@Override
 	public void channelInactive(ChannelHandlerContext ctx) {
-		if (!(ctx.channel() instanceof Http2StreamChannel) && recorder() instanceof MicrometerHttpServerMetricsRecorder) {
+		if (!isStream(ctx.channel()) && recorder() instanceof MicrometerHttpServerMetricsRecorder) {
 			try {
 				recorder().recordServerConnectionClosed(ctx.channel().localAddress());
 			}
@@ -108,7 +115,7 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 				ChannelOperations<?, ?> channelOps = ChannelOperations.get(ctx.channel());
 				if (channelOps instanceof HttpServerOperations) {
 					HttpServerOperations ops = (HttpServerOperations) channelOps;
-					startWrite(ops, uriTagValue == null ? ops.path : uriTagValue.apply(ops.path),
+					startWrite(ops, uriTag(ops),
 							ops.method().name(), ops.status().codeAsText().toString());
 				}
 			}
@@ -121,7 +128,7 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 					if (channelOps instanceof HttpServerOperations) {
 						HttpServerOperations ops = (HttpServerOperations) channelOps;
 						try {
-							recordWrite(ops, uriTagValue == null ? ops.path : uriTagValue.apply(ops.path),
+							recordWrite(ops, uriTag(ops),
 									ops.method().name(), ops.status().codeAsText().toString());
 						}
 						catch (RuntimeException e) {
@@ -173,7 +180,7 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 					else {
 						recordActiveConnection(ops);
 					}
-					startRead(ops, uriTagValue == null ? ops.path : uriTagValue.apply(ops.path), ops.method().name());
+					startRead(ops, uriTag(ops), ops.method().name());
 				}
 			}
 
@@ -183,7 +190,7 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 				ChannelOperations<?, ?> channelOps = ChannelOperations.get(ctx.channel());
 				if (channelOps instanceof HttpServerOperations) {
 					HttpServerOperations ops = (HttpServerOperations) channelOps;
-					recordRead(ops, uriTagValue == null ? ops.path : uriTagValue.apply(ops.path), ops.method().name());
+					recordRead(ops, uriTag(ops), ops.method().name());
 				}
 
 				dataReceived = 0;
@@ -204,7 +211,7 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 			if (channelOps instanceof HttpServerOperations) {
 				HttpServerOperations ops = (HttpServerOperations) channelOps;
 				// Always take the remote address from the operations in order to consider proxy information
-				recordException(ops, uriTagValue == null ? ops.path : uriTagValue.apply(ops.path));
+				recordException(ops, uriTag(ops));
 			}
 		}
 		catch (RuntimeException e) {
@@ -227,6 +234,44 @@ abstract class AbstractHttpServerMetricsHandler extends ChannelDuplexHandler {
 
 	protected abstract HttpServerMetricsRecorder recorder();
 
+	/**
+	 * Returns the URI tag value of the request, resolved once and reused by all meters of the request.
+	 *
+	 * @param ops the operations of the request
+	 * @return the URI tag value of the request
+	 */
+	final String uriTag(HttpServerOperations ops) {
+		if (ops != uriTagOps) {
+			uriTag = resolveUriTag(uriTagValue == null ? ops.path : uriTagValue.apply(ops.path));
+			uriTagOps = ops;
+		}
+		return uriTag;
+	}
+
+	/**
+	 * Returns the URI tag value recorded for the given URI.
+	 *
+	 * @param uri the URI, possibly templated
+	 * @return the URI tag value recorded for the given URI
+	 */
+	String resolveUriTag(String uri) {
+		return uri;
+	}
+
+	/**
+	 * Returns a handler with the same configuration and without any recorded state.
+	 *
+	 * @return a handler with the same configuration and without any recorded state
+	 */
+	abstract AbstractHttpServerMetricsHandler newHandler();
+
+	/**
+	 * Returns {@code true} if the channel carries a single request and not a connection.
+	 */
+	static boolean isStream(Channel channel) {
+		return channel instanceof Http2StreamChannel || channel instanceof PipelinedRequestChannel;
+	}
+
 	protected void recordException(HttpServerOperations ops, String path) {
 		// Always take the remote address from the operations in order to consider proxy information
 		recorder().incrementErrorsCount(ops.remoteAddress(), path);
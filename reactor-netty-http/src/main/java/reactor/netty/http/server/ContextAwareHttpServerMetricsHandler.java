@@ -45,6 +45,11 @@ final class ContextAwareHttpServerMetricsHandler extends AbstractHttpServerMetri
 		return recorder;
 	}
 
+	@Override
+	ContextAwareHttpServerMetricsHandler newHandler() {
+		return new ContextAwareHttpServerMetricsHandler(recorder, uriTagValue);
+	}
+
 	@Override
 	protected void recordException(HttpServerOperations ops, String path) {
 		// Always take the remote address from the operations in order to consider proxy information
@@ -20,7 +20,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,6 +46,11 @@ final class DefaultHttpServerRoutes implements HttpServerRoutes {
 
 	private Comparator<HttpRouteHandlerMetadata> comparator;
 
+	/**
+	 * The compiled routes, lazily built on the first request and reset on each routes mutation.
+	 */
+	private volatile HttpRouteIndex index;
+
 	@Override
 	public HttpServerRoutes directory(String uri, Path directory,
 			@Nullable Function<HttpServerResponse, HttpServerResponse> interceptor) {
@@ -79,7 +83,10 @@ final class DefaultHttpServerRoutes implements HttpServerRoutes {
 	public HttpServerRoutes removeIf(Predicate<? super HttpRouteHandlerMetadata> condition) {
 		Objects.requireNonNull(condition, "condition");
 
-		handlers.removeIf(condition);
+		synchronized (this) {
+			handlers.removeIf(condition);
+			index = null;
+		}
 
 		return this;
 	}
@@ -90,23 +97,24 @@ final class DefaultHttpServerRoutes implements HttpServerRoutes {
 		Objects.requireNonNull(condition, "condition");
 		Objects.requireNonNull(handler, "handler");
 
+		HttpRouteHandler httpRouteHandler;
 		if (condition instanceof HttpPredicate) {
 			HttpPredicate predicate = (HttpPredicate) condition;
-			HttpRouteHandler httpRouteHandler = new HttpRouteHandler(condition,
+			httpRouteHandler = new HttpRouteHandler(condition,
 					handler, predicate, predicate.uri, predicate.method);
-
-			handlers.add(httpRouteHandler);
-			initialOrderHandlers.add(httpRouteHandler);
-
 		}
 		else {
-			HttpRouteHandler httpRouteHandler = new HttpRouteHandler(condition, handler, null, null, null);
+			httpRouteHandler = new HttpRouteHandler(condition, handler, null, null, null);
+		}
+
+		synchronized (this) {
 			handlers.add(httpRouteHandler);
 			initialOrderHandlers.add(httpRouteHandler);
-		}
 
-		if (this.comparator != null) {
-			handlers.sort(this.comparator);
+			if (this.comparator != null) {
+				handlers.sort(this.comparator);
+			}
+			index = null;
 		}
 
 		return this;
@@ -115,30 +123,36 @@ final class DefaultHttpServerRoutes implements HttpServerRoutes {
 	@Override
 	public HttpServerRoutes comparator(Comparator<HttpRouteHandlerMetadata> comparator) {
 		Objects.requireNonNull(comparator, "comparator");
-		this.comparator = comparator;
-		handlers.sort(comparator);
+		synchronized (this) {
+			this.comparator = comparator;
+			handlers.sort(comparator);
+			index = null;
+		}
 		return this;
 	}
 
 	@Override
 	public HttpServerRoutes noComparator() {
-		handlers.clear();
-		handlers.addAll(initialOrderHandlers);
+		synchronized (this) {
+			handlers.clear();
+			handlers.addAll(initialOrderHandlers);
+			index = null;
+		}
 		return this;
 	}
 
 	@Override
 	public Publisher<Void> apply(HttpServerRequest request, HttpServerResponse response) {
 		// find I/0 handler to process this request
-		final Iterator<HttpRouteHandler> iterator = handlers.iterator();
-		HttpRouteHandler cursor;
+		HttpRouteIndex index = this.index;
+		if (index == null) {
+			index = index();
+		}
 
 		try {
-			while (iterator.hasNext()) {
-				cursor = iterator.next();
-				if (cursor.test(request)) {
-					return cursor.apply(request, response);
-				}
+			Publisher<Void> result = index.apply(request, response);
+			if (result != null) {
+				return result;
 			}
 		}
 		catch (Throwable t) {
@@ -149,6 +163,15 @@ final class DefaultHttpServerRoutes implements HttpServerRoutes {
 		return response.sendNotFound();
 	}
 
+	synchronized HttpRouteIndex index() {
+		HttpRouteIndex index = this.index;
+		if (index == null) {
+			index = HttpRouteIndex.build(handlers);
+			this.index = index;
+		}
+		return index;
+	}
+
 	static final class HttpRouteHandler
 			implements BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>>,
 			Predicate<HttpServerRequest>, HttpRouteHandlerMetadata {
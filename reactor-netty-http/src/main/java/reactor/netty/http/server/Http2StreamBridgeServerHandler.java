@@ -37,6 +37,7 @@ import io.netty.util.ReferenceCountUtil;
 import reactor.core.publisher.Mono;
 import reactor.netty.Connection;
 import reactor.netty.ConnectionObserver;
+import reactor.netty.http.server.compression.HttpCompressionOptionsSpec;
 import reactor.util.annotation.Nullable;
 
 import static reactor.netty.ReactorNetty.format;
@@ -50,6 +51,8 @@ import static reactor.netty.ReactorNetty.format;
  */
 final class Http2StreamBridgeServerHandler extends ChannelDuplexHandler implements ChannelFutureListener {
 
+	final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+	                                                              compressionOptions;
 	final BiPredicate<HttpServerRequest, HttpServerResponse>      compress;
 	final ServerCookieDecoder                                     cookieDecoder;
 	final ServerCookieEncoder                                     cookieEncoder;
@@ -69,6 +72,7 @@ final class Http2StreamBridgeServerHandler extends ChannelDuplexHandler implemen
 	boolean pendingResponse;
 
 	Http2StreamBridgeServerHandler(
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 			@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compress,
 			ServerCookieDecoder decoder,
 			ServerCookieEncoder encoder,
@@ -76,6 +80,7 @@ final class Http2StreamBridgeServerHandler extends ChannelDuplexHandler implemen
 			@Nullable BiFunction<ConnectionInfo, HttpRequest, ConnectionInfo> forwardedHeaderHandler,
 			ConnectionObserver listener,
 			@Nullable BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>> mapHandle) {
+		this.compressionOptions = compressionOptions;
 		this.compress = compress;
 		this.cookieDecoder = decoder;
 		this.cookieEncoder = encoder;
@@ -111,6 +116,7 @@ final class Http2StreamBridgeServerHandler extends ChannelDuplexHandler implemen
 				ops = new HttpServerOperations(Connection.from(ctx.channel()),
 						listener,
 						request,
+						compressionOptions,
 						compress,
 						ConnectionInfo.from(ctx.channel().parent(),
 						                    request,
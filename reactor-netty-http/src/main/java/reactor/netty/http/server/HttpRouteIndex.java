@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.netty.handler.codec.http.HttpMethod;
+import org.reactivestreams.Publisher;
+import reactor.netty.http.server.DefaultHttpServerRoutes.HttpRouteHandler;
+import reactor.netty.http.server.HttpPredicate.UriPathTemplate;
+import reactor.util.annotation.Nullable;
+
+/**
+ * A compiled view of the routes registered with {@link DefaultHttpServerRoutes}.
+ * <p>
+ * Routes declared with {@link HttpPredicate} URI templates are stored in a per {@link HttpMethod}
+ * prefix tree keyed by path segment. Literal segments, {@code {param}} segments and trailing
+ * {@code **} / {@code {param}**} segments are supported, the path parameters are captured
+ * during the tree walk, so the lookup cost depends on the request path depth and not on the number
+ * of routes. Any other route (custom {@link java.util.function.Predicate}, prefix predicates,
+ * templates that use regular expression constructs) is kept in declaration order and is tested
+ * with its own predicate. The route that is selected is always the first one (in the routes order)
+ * whose condition matches the request, exactly as with a linear scan.
+ *
+ * @since 1.1.0
+ */
+final class HttpRouteIndex {
+
+	/**
+	 * Builds an index for the given routes, the list order is the matching order.
+	 *
+	 * @param handlers the routes in matching order
+	 * @return a new {@link HttpRouteIndex}
+	 */
+	static HttpRouteIndex build(List<HttpRouteHandler> handlers) {
+		Map<HttpMethod, Node> roots = new HashMap<>();
+		List<Entry> fallbacks = new ArrayList<>();
+		int maxCaptures = 0;
+		int order = 0;
+		for (HttpRouteHandler handler : handlers) {
+			Entry entry = null;
+			if (handler.condition instanceof HttpPredicate) {
+				HttpPredicate predicate = (HttpPredicate) handler.condition;
+				String[] segments = segments(predicate.uri);
+				if (segments != null) {
+					Node node = roots.computeIfAbsent(predicate.method, m -> new Node());
+					List<String> names = new ArrayList<>();
+					for (String segment : segments) {
+						if (isSplat(segment)) {
+							if (node.splat == null) {
+								node.splat = new Node();
+							}
+							node = node.splat;
+							names.add(segment.charAt(0) == '{' ? segment.substring(1, segment.length() - 3) : null);
+						}
+						else if (isParam(segment)) {
+							if (node.param == null) {
+								node.param = new Node();
+							}
+							node = node.param;
+							names.add(segment.substring(1, segment.length() - 1));
+						}
+						else {
+							node = node.literals.computeIfAbsent(segment, s -> new Node());
+						}
+					}
+					entry = new Entry(handler, order, predicate, names.toArray(new String[0]));
+					node.add(entry);
+					maxCaptures = Math.max(maxCaptures, names.size());
+				}
+			}
+			if (entry == null) {
+				fallbacks.add(new Entry(handler, order, null, null));
+			}
+			order++;
+		}
+		for (Node root : roots.values()) {
+			root.seal();
+		}
+		return new HttpRouteIndex(roots, fallbacks.toArray(new Entry[0]), maxCaptures);
+	}
+
+	final Map<HttpMethod, Node> roots;
+	final Entry[]               fallbacks;
+	final int                   maxCaptures;
+
+	HttpRouteIndex(Map<HttpMethod, Node> roots, Entry[] fallbacks, int maxCaptures) {
+		this.roots = roots;
+		this.fallbacks = fallbacks;
+		this.maxCaptures = maxCaptures;
+	}
+
+	/**
+	 * Invokes the first route matching the request.
+	 *
+	 * @param request the request
+	 * @param response the response
+	 * @return the route result or {@code null} when there is no matching route
+	 */
+	@Nullable
+	Publisher<Void> apply(HttpServerRequest request, HttpServerResponse response) {
+		Lookup lookup = null;
+		Node root = roots.isEmpty() ? null : roots.get(request.method());
+		if (root != null) {
+			lookup = new Lookup(request, path(request.uri()), maxCaptures);
+			lookup.walk(root, 1, 0);
+		}
+
+		int bound = lookup != null && lookup.best != null ? lookup.best.order : Integer.MAX_VALUE;
+		for (Entry fallback : fallbacks) {
+			if (fallback.order >= bound) {
+				break;
+			}
+			if (fallback.handler.test(request)) {
+				return fallback.handler.apply(request, response);
+			}
+		}
+
+		if (lookup != null && lookup.best != null) {
+			Map<String, String> params = lookup.params();
+			return lookup.best.handler.handler.apply(request.paramsResolver(params == null ? null : uri -> params), response);
+		}
+		return null;
+	}
+
+	static boolean isParam(String segment) {
+		int length = segment.length();
+		return length > 2 && segment.charAt(0) == '{' && segment.charAt(length - 1) == '}' &&
+				segment.indexOf('{', 1) == -1 && segment.indexOf('}') == length - 1;
+	}
+
+	static boolean isSplat(String segment) {
+		return "**".equals(segment) ||
+				(segment.endsWith("**") && isParam(segment.substring(0, segment.length() - 2)));
+	}
+
+	static String path(String uri) {
+		return UriPathTemplate.filterQueryParams(UriPathTemplate.filterHostAndPort(uri));
+	}
+
+	/**
+	 * Splits a URI template into path segments or returns {@code null} if the template
+	 * cannot be represented in the tree and has to be matched with its regular expression.
+	 */
+	@Nullable
+	static String[] segments(String uri) {
+		if (!uri.startsWith("/")) {
+			return null;
+		}
+		String path = UriPathTemplate.filterQueryParams(uri);
+		String[] segments = path.substring(1).split("/", -1);
+		for (int i = 0; i < segments.length; i++) {
+			String segment = segments[i];
+			if (isSplat(segment)) {
+				if (i != segments.length - 1) {
+					return null;
+				}
+			}
+			else if (!isParam(segment) && !isLiteral(segment)) {
+				return null;
+			}
+		}
+		return segments;
+	}
+
+	static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			if (REGEX_META_CHARS.indexOf(segment.charAt(i)) != -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+	static final Comparator<Entry> ORDER = Comparator.comparingInt(e -> e.order);
+
+	static final class Entry {
+
+		final HttpRouteHandler handler;
+		final int order;
+		final HttpPredicate predicate;
+		final String[] names;
+
+		Entry(HttpRouteHandler handler, int order, @Nullable HttpPredicate predicate, @Nullable String[] names) {
+			this.handler = handler;
+			this.order = order;
+			this.predicate = predicate;
+			this.names = names;
+		}
+	}
+
+	static final class Node {
+
+		final Map<String, Node> literals = new HashMap<>();
+
+		Node param;
+
+		Node splat;
+
+		Entry[] entries = EMPTY;
+
+		/**
+		 * The smallest route order in this subtree, used to prune the walk.
+		 */
+		int minOrder = Integer.MAX_VALUE;
+
+		void add(Entry entry) {
+			entries = Arrays.copyOf(entries, entries.length + 1);
+			entries[entries.length - 1] = entry;
+		}
+
+		int seal() {
+			Arrays.sort(entries, ORDER);
+			int min = entries.length > 0 ? entries[0].order : Integer.MAX_VALUE;
+			for (Node child : literals.values()) {
+				min = Math.min(min, child.seal());
+			}
+			if (param != null) {
+				min = Math.min(min, param.seal());
+			}
+			if (splat != null) {
+				min = Math.min(min, splat.seal());
+			}
+			minOrder = min;
+			return min;
+		}
+
+		static final Entry[] EMPTY = new Entry[0];
+	}
+
+	static final class Lookup {
+
+		final HttpServerRequest request;
+		final String path;
+		final int[] captures;
+
+		Entry best;
+		int[] bestCaptures;
+
+		Lookup(HttpServerRequest request, String path, int maxCaptures) {
+			this.request = request;
+			this.path = path;
+			this.captures = new int[maxCaptures * 2];
+		}
+
+		/**
+		 * Walks the tree from the given node, {@code start} is the index of the current
+		 * segment in the path, a value greater than the path length means that all segments are consumed.
+		 */
+		void walk(Node node, int start, int depth) {
+			if (best != null && node.minOrder >= best.order) {
+				return;
+			}
+			int length = path.length();
+			if (start > length) {
+				select(node, depth);
+				return;
+			}
+			int end = path.indexOf('/', start);
+			if (end == -1) {
+				end = length;
+			}
+			if (!node.literals.isEmpty()) {
+				Node child = node.literals.get(path.substring(start, end));
+				if (child != null) {
+					walk(child, end + 1, depth);
+				}
+			}
+			if (node.param != null) {
+				captures[2 * depth] = start;
+				captures[2 * depth + 1] = end;
+				walk(node.param, end + 1, depth + 1);
+			}
+			if (node.splat != null) {
+				captures[2 * depth] = start;
+				captures[2 * depth + 1] = length;
+				select(node.splat, depth + 1);
+			}
+		}
+
+		void select(Node node, int depth) {
+			for (Entry entry : node.entries) {
+				if (best != null && entry.order >= best.order) {
+					return;
+				}
+				if (entry.predicate.protocol == null || entry.predicate.protocol.equals(request.version())) {
+					best = entry;
+					bestCaptures = Arrays.copyOf(captures, 2 * depth);
+					return;
+				}
+			}
+		}
+
+		@Nullable
+		Map<String, String> params() {
+			Map<String, String> params = null;
+			String[] names = best.names;
+			for (int i = 0; i < names.length; i++) {
+				if (names[i] != null) {
+					if (params == null) {
+						params = new HashMap<>(names.length);
+					}
+					params.put(names[i], path.substring(bestCaptures[2 * i], bestCaptures[2 * i + 1]));
+				}
+			}
+			return params;
+		}
+	}
+}
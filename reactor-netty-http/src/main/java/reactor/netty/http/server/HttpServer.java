@@ -40,6 +40,8 @@ import reactor.netty.ConnectionObserver;
 import reactor.netty.channel.ChannelMetricsRecorder;
 import reactor.netty.http.Http2SettingsSpec;
 import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.compression.HttpCompressionOption;
+import reactor.netty.http.server.compression.HttpCompressionOptionsSpec;
 import reactor.netty.http.server.logging.AccessLog;
 import reactor.netty.http.server.logging.AccessLogArgProvider;
 import reactor.netty.http.server.logging.AccessLogFactory;
@@ -327,6 +329,56 @@ public abstract class HttpServer extends ServerTransport<HttpServer, HttpServerC
 		return dup;
 	}
 
+	/**
+	 * Specifies the content codings that can be negotiated for the compressed responses and their settings,
+	 * in the order of preference of the server. The content coding with the highest q-value in
+	 * the {@code Accept-Encoding} request header is selected, the order of preference breaks the ties.
+	 * By default, {@code gzip} and {@code deflate} are negotiated with their default settings.
+	 * <p>
+	 * This configures only how a response is compressed, whether it is compressed is configured
+	 * with {@link #compress(boolean)}, {@link #compress(int)} and {@link #compress(BiPredicate)}.
+	 * <pre>
+	 * {@code
+	 * HttpServer.create()
+	 *           .compress(true)
+	 *           .compressOptions(ZstdOption.builder().compressionLevel(3).build(),
+	 *                            BrotliOption.builder().quality(4).build(),
+	 *                            GzipOption.builder().compressionLevel(6).build())
+	 * }
+	 * </pre>
+	 *
+	 * @param compressionOptions the content codings, in the order of preference of the server
+	 * @return a new {@link HttpServer}
+	 * @see HttpCompressionOptionsSpec
+	 * @since 1.1.0
+	 */
+	public final HttpServer compressOptions(HttpCompressionOption... compressionOptions) {
+		HttpCompressionOptionsSpec spec = HttpCompressionOptionsSpec.of(compressionOptions);
+		return compressOptions((req, res) -> spec);
+	}
+
+	/**
+	 * Specifies a function that selects, per response, the content codings that can be negotiated and their settings,
+	 * e.g. based on the route or on the content type of the response. The function is invoked when the response
+	 * headers are sent, when it returns {@code null} the default content codings apply.
+	 * The selected {@link HttpCompressionOptionsSpec} instances are expected to be created once and reused.
+	 * <p>
+	 * Note: the passed {@link HttpServerRequest} and {@link HttpServerResponse}
+	 * should be considered read-only and the implement SHOULD NOT consume or
+	 * write the request/response in this function.
+	 *
+	 * @param compressionOptions the function that selects the content codings for a response
+	 * @return a new {@link HttpServer}
+	 * @since 1.1.0
+	 */
+	public final HttpServer compressOptions(
+			BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions) {
+		Objects.requireNonNull(compressionOptions, "compressionOptions");
+		HttpServer dup = duplicate();
+		dup.configuration().compressionOptions = compressionOptions;
+		return dup;
+	}
+
 	/**
 	 * Configure the
 	 * {@link ServerCookieEncoder}; {@link ServerCookieDecoder} will be
@@ -421,6 +473,40 @@ public abstract class HttpServer extends ServerTransport<HttpServer, HttpServerC
 		return childObserve(new HttpServerHandle(handler));
 	}
 
+	/**
+	 * Attach an I/O handler which may block, e.g. calling JDBC or a blocking SDK. The handler is invoked,
+	 * and the returned {@link Publisher} is subscribed, on a new virtual thread per request when running on JDK 21+,
+	 * otherwise on {@link reactor.core.scheduler.Schedulers#boundedElastic()}.
+	 * The request body is received and the response is written by the event loop.
+	 *
+	 * @param handler an I/O handler which may block
+	 * @return a new {@link HttpServer}
+	 * @see HttpServerBlockingExecutor#shared()
+	 * @since 1.1.0
+	 */
+	public final HttpServer handleBlocking(
+			BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends Publisher<Void>> handler) {
+		return handleBlocking(HttpServerBlockingExecutor.shared(), handler);
+	}
+
+	/**
+	 * Attach an I/O handler which may block, e.g. calling JDBC or a blocking SDK. The handler is invoked,
+	 * and the returned {@link Publisher} is subscribed, on a thread of the provided {@link HttpServerBlockingExecutor}.
+	 * The request body is received and the response is written by the event loop.
+	 * To offload only some routes, decorate their handlers with {@link HttpServerBlockingExecutor#offload(BiFunction)}.
+	 *
+	 * @param executor the executor running the handler
+	 * @param handler an I/O handler which may block
+	 * @return a new {@link HttpServer}
+	 * @since 1.1.0
+	 */
+	public final HttpServer handleBlocking(HttpServerBlockingExecutor executor,
+			BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends Publisher<Void>> handler) {
+		Objects.requireNonNull(executor, "executor");
+		Objects.requireNonNull(handler, "handler");
+		return handle(executor.offload(handler));
+	}
+
 	@Override
 	public final HttpServer host(String host) {
 		return super.host(host);
@@ -488,6 +574,8 @@ public abstract class HttpServer extends ServerTransport<HttpServer, HttpServerC
 	/**
 	 * Specifies an idle timeout on the connection when it is waiting for an HTTP request (resolution: ms).
 	 * Once the timeout is reached the connection will be closed.
+	 * The idle timeouts of all connections served by an event loop are tracked by a single timer wheel,
+	 * the channel pipeline is not modified between the requests.
 	 * <p>If an {@code idleTimeout} is not specified, this indicates no timeout (i.e. infinite),
 	 * which means the connection will be closed only if one of the peers decides to close it.
 	 * <p>If the {@code idleTimeout} is less than {@code 1ms}, then {@code 1ms} will be the idle timeout.
@@ -642,6 +730,38 @@ public abstract class HttpServer extends ServerTransport<HttpServer, HttpServerC
 		return this;
 	}
 
+	/**
+	 * Enables the concurrent processing of pipelined HTTP/1.1 requests.
+	 * By default, a pipelined request is processed only once the response to the previous one has been sent.
+	 * When enabled, up to {@code maxConcurrentRequests} requests with a safe method ({@code GET} and {@code HEAD})
+	 * are processed at the same time on a connection, as allowed by
+	 * <a href="https://datatracker.ietf.org/doc/html/rfc7230#section-6.3.2">RFC 7230 Section 6.3.2</a>.
+	 * The responses are still sent in the order in which the requests were received, a response that is ready before
+	 * the previous ones is buffered. When a buffered response exceeds {@code maxBufferedResponseBytes},
+	 * it becomes not writable until its turn comes.
+	 * Requests with another method are processed one at a time, as without this option.
+	 * <p><strong>Note:</strong> This configuration is applicable only for HTTP/1.1.
+	 *
+	 * @param maxConcurrentRequests the maximum number of pipelined requests processed at the same time on a connection,
+	 * {@code 1} disables the concurrent processing
+	 * @param maxBufferedResponseBytes the number of bytes of a response that can be buffered while waiting
+	 * for the previous responses to be sent
+	 * @return a new {@link HttpServer}
+	 * @since 1.1.0
+	 */
+	public final HttpServer pipelining(int maxConcurrentRequests, int maxBufferedResponseBytes) {
+		if (maxConcurrentRequests < 1) {
+			throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+		}
+		if (maxBufferedResponseBytes < 1) {
+			throw new IllegalArgumentException("maxBufferedResponseBytes must be positive");
+		}
+		HttpServer dup = duplicate();
+		dup.configuration().maxConcurrentPipelinedRequests = maxConcurrentRequests;
+		dup.configuration().maxBufferedPipelinedResponseBytes = maxBufferedResponseBytes;
+		return dup;
+	}
+
 	@Override
 	public final HttpServer port(int port) {
 		return super.port(port);
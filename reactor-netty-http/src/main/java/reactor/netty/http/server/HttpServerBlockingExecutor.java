@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.internal.util.Metrics;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Runs the {@link HttpServer} handlers which call blocking code (JDBC, blocking SDKs, etc.) away from the event loop.
+ * <p>
+ * A handler decorated with {@link #offload(BiFunction)} is invoked, and the {@link Publisher} it returns is
+ * subscribed, on a new virtual thread per request when running on JDK 21+, otherwise on a bounded pool of
+ * platform threads. The handler may block, e.g. {@code request.receive().aggregate().asString().block()},
+ * while the request body is still received and the response is still written by the event loop.
+ * <pre>
+ * {@code
+ * HttpServerBlockingExecutor executor =
+ *         HttpServerBlockingExecutor.builder()
+ *                                   .name("jdbc")
+ *                                   .metrics(true)
+ *                                   .build();
+ *
+ * HttpServer.create()
+ *           .route(routes -> routes.get("/users", executor.offload((req, res) -> res.sendString(Mono.just(findUsers())))))
+ * }
+ * </pre>
+ *
+ * @since 1.1.0
+ */
+public final class HttpServerBlockingExecutor implements Disposable {
+
+	static final Logger log = Loggers.getLogger(HttpServerBlockingExecutor.class);
+
+	/**
+	 * Default executor name, used as a tag of the meters and as a prefix of the thread names.
+	 */
+	public static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Default maximum number of platform threads when virtual threads are not available.
+	 */
+	public static final int DEFAULT_MAX_THREADS = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE;
+
+	static final String THREAD_NAME_PREFIX = "reactor-http-blocking-";
+
+	/**
+	 * Creates a builder for {@link HttpServerBlockingExecutor}.
+	 *
+	 * @return a new {@link HttpServerBlockingExecutor.Builder}
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Return the shared {@link HttpServerBlockingExecutor} used by {@link HttpServer#handleBlocking(BiFunction)}.
+	 * Without virtual threads, it runs the handlers on {@link Schedulers#boundedElastic()}.
+	 * Its meters are not registered.
+	 *
+	 * @return the shared {@link HttpServerBlockingExecutor}
+	 */
+	public static HttpServerBlockingExecutor shared() {
+		return SharedHolder.SHARED;
+	}
+
+	final String name;
+	final boolean virtual;
+	final Scheduler scheduler;
+	final boolean disposable;
+	final AtomicInteger inFlight = new AtomicInteger();
+
+	@Nullable
+	final Disposable meters;
+
+	HttpServerBlockingExecutor(Builder builder) {
+		this.name = builder.name;
+		ExecutorService virtualExecutor = builder.virtualThreads ? newVirtualThreadExecutor(THREAD_NAME_PREFIX + name + "-") : null;
+		this.virtual = virtualExecutor != null;
+		if (virtualExecutor != null) {
+			this.scheduler = Schedulers.fromExecutorService(virtualExecutor, THREAD_NAME_PREFIX + name);
+			// the shared executor outlives any server, it is never shut down
+			this.disposable = !builder.shared;
+		}
+		else if (builder.shared) {
+			this.scheduler = Schedulers.boundedElastic();
+			this.disposable = false;
+		}
+		else {
+			this.scheduler = Schedulers.newBoundedElastic(builder.maxThreads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+					THREAD_NAME_PREFIX + name, 60, true);
+			this.disposable = true;
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Blocking handlers of executor [{}] run on {}", name,
+					virtual ? "virtual threads" : "a bounded pool of platform threads");
+		}
+		if (builder.metrics) {
+			if (!Metrics.isMicrometerAvailable()) {
+				dispose();
+				throw new UnsupportedOperationException(
+						"To enable metrics, you must add the dependency `io.micrometer:micrometer-core`" +
+								" to the class path first");
+			}
+			this.meters = MicrometerHttpServerBlockingExecutorMetrics.registerMetrics(this);
+		}
+		else {
+			this.meters = null;
+		}
+	}
+
+	/**
+	 * Decorates a handler so that it is invoked, and the {@link Publisher} it returns is subscribed,
+	 * on a thread of this executor.
+	 *
+	 * @param handler the handler to decorate, it may block
+	 * @return the decorated handler
+	 */
+	public BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> offload(
+			BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends Publisher<Void>> handler) {
+		Objects.requireNonNull(handler, "handler");
+		return (request, response) ->
+				Mono.using(inFlight::incrementAndGet,
+				           count -> Mono.from(handler.apply(request, response)),
+				           count -> inFlight.decrementAndGet())
+				    .subscribeOn(scheduler);
+	}
+
+	/**
+	 * Return the number of the handlers currently running on this executor.
+	 *
+	 * @return the number of the handlers currently running on this executor
+	 */
+	public int inFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Return {@code true} if the handlers run on virtual threads.
+	 *
+	 * @return {@code true} if the handlers run on virtual threads
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	/**
+	 * Return the name of this executor.
+	 *
+	 * @return the name of this executor
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Shuts down the threads of this executor and removes its meters.
+	 * The {@link #shared()} executor is never shut down.
+	 */
+	@Override
+	public void dispose() {
+		if (disposable) {
+			scheduler.dispose();
+		}
+		if (meters != null) {
+			meters.dispose();
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return scheduler.isDisposed();
+	}
+
+	@Override
+	public String toString() {
+		return "HttpServerBlockingExecutor{name=" + name + ", virtual=" + virtual + '}';
+	}
+
+	/**
+	 * Creates an executor starting a new named virtual thread per task, available on JDK 21+.
+	 * The API is accessed reflectively as this module targets Java 8.
+	 *
+	 * @param prefix the prefix of the thread names
+	 * @return the executor or {@code null} if virtual threads are not available
+	 */
+	@Nullable
+	static ExecutorService newVirtualThreadExecutor(String prefix) {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+			ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+			Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			// not JDK 21+, or virtual threads are a preview feature which is not enabled
+			if (log.isDebugEnabled()) {
+				log.debug("Virtual threads are not available, falling back to platform threads.", e);
+			}
+			return null;
+		}
+	}
+
+	static final class SharedHolder {
+
+		static final HttpServerBlockingExecutor SHARED = builder().shared().build();
+	}
+
+	/**
+	 * Builder for {@link HttpServerBlockingExecutor}.
+	 */
+	public static final class Builder {
+
+		String name = DEFAULT_NAME;
+		boolean virtualThreads = true;
+		int maxThreads = DEFAULT_MAX_THREADS;
+		boolean metrics;
+		boolean shared;
+
+		Builder() {
+		}
+
+		/**
+		 * Configures the name of the executor, used as a tag of the meters and in the thread names.
+		 * Default to {@link #DEFAULT_NAME}.
+		 *
+		 * @param name the name of the executor
+		 * @return {@code this}
+		 */
+		public Builder name(String name) {
+			this.name = Objects.requireNonNull(name, "name");
+			return this;
+		}
+
+		/**
+		 * Whether to run the handlers on virtual threads when running on JDK 21+. Default to {@code true}.
+		 *
+		 * @param enable {@code false} to always run the handlers on platform threads
+		 * @return {@code this}
+		 */
+		public Builder virtualThreads(boolean enable) {
+			this.virtualThreads = enable;
+			return this;
+		}
+
+		/**
+		 * Configures the maximum number of platform threads, used when virtual threads are not available
+		 * or not enabled. Default to {@link #DEFAULT_MAX_THREADS}.
+		 *
+		 * @param maxThreads the maximum number of platform threads
+		 * @return {@code this}
+		 */
+		public Builder maxThreads(int maxThreads) {
+			if (maxThreads <= 0) {
+				throw new IllegalArgumentException("maxThreads must be positive");
+			}
+			this.maxThreads = maxThreads;
+			return this;
+		}
+
+		/**
+		 * Whether to register the in-flight handlers meter of the executor with Micrometer.
+		 * The meter is tagged with the name of the executor.
+		 *
+		 * @param enable {@code true} to register the meter
+		 * @return {@code this}
+		 */
+		public Builder metrics(boolean enable) {
+			this.metrics = enable;
+			return this;
+		}
+
+		Builder shared() {
+			this.shared = true;
+			return this;
+		}
+
+		/**
+		 * Builds a new {@link HttpServerBlockingExecutor}.
+		 *
+		 * @return a new {@link HttpServerBlockingExecutor}
+		 */
+		public HttpServerBlockingExecutor build() {
+			return new HttpServerBlockingExecutor(this);
+		}
+	}
+}
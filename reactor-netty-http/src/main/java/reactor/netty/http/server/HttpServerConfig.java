@@ -56,6 +56,7 @@ import reactor.netty.channel.ChannelOperations;
 import reactor.netty.http.Http2SettingsSpec;
 import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.HttpResources;
+import reactor.netty.http.server.compression.HttpCompressionOptionsSpec;
 import reactor.netty.http.server.logging.AccessLog;
 import reactor.netty.http.server.logging.AccessLogArgProvider;
 import reactor.netty.http.server.logging.AccessLogHandlerFactory;
@@ -89,6 +90,17 @@ import static reactor.netty.http.server.HttpServerFormDecoderProvider.DEFAULT_FO
  */
 public final class HttpServerConfig extends ServerTransportConfig<HttpServerConfig> {
 
+	/**
+	 * Return the configured compression options selector or null.
+	 *
+	 * @return the configured compression options selector or null
+	 * @since 1.1.0
+	 */
+	@Nullable
+	public BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions() {
+		return compressionOptions;
+	}
+
 	/**
 	 * Return the configured compression predicate or null.
 	 *
@@ -175,6 +187,29 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		return sslProvider != null;
 	}
 
+	/**
+	 * Returns the number of bytes of a pipelined response that can be buffered while waiting
+	 * for the previous responses to be sent.
+	 *
+	 * @return the number of bytes of a pipelined response that can be buffered
+	 * @see HttpServer#pipelining(int, int)
+	 * @since 1.1.0
+	 */
+	public int maxBufferedPipelinedResponseBytes() {
+		return maxBufferedPipelinedResponseBytes;
+	}
+
+	/**
+	 * Returns the maximum number of pipelined HTTP/1.1 requests processed at the same time on a connection.
+	 *
+	 * @return the maximum number of pipelined HTTP/1.1 requests processed at the same time on a connection
+	 * @see HttpServer#pipelining(int, int)
+	 * @since 1.1.0
+	 */
+	public int maxConcurrentPipelinedRequests() {
+		return maxConcurrentPipelinedRequests;
+	}
+
 	/**
 	 * The configured maximum number of HTTP/1.1 requests which can be served until the connection is closed by the server.
 	 *
@@ -256,6 +291,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 
 	boolean                                                 accessLogEnabled;
 	Function<AccessLogArgProvider, AccessLog>               accessLog;
+	BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+	                                                        compressionOptions;
 	BiPredicate<HttpServerRequest, HttpServerResponse>      compressPredicate;
 	ServerCookieDecoder                                     cookieDecoder;
 	ServerCookieEncoder                                     cookieEncoder;
@@ -266,6 +303,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 	Duration                                                idleTimeout;
 	BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>>
 	                                                        mapHandle;
+	int                                                     maxBufferedPipelinedResponseBytes;
+	int                                                     maxConcurrentPipelinedRequests;
 	int                                                     maxKeepAliveRequests;
 	int                                                     minCompressionSize;
 	HttpProtocol[]                                          protocols;
@@ -281,6 +320,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		this.cookieEncoder = ServerCookieEncoder.STRICT;
 		this.decoder = new HttpRequestDecoderSpec();
 		this.formDecoderProvider = DEFAULT_FORM_DECODER_SPEC;
+		this.maxBufferedPipelinedResponseBytes = DEFAULT_MAX_BUFFERED_PIPELINED_RESPONSE_BYTES;
+		this.maxConcurrentPipelinedRequests = 1;
 		this.maxKeepAliveRequests = -1;
 		this.minCompressionSize = -1;
 		this.protocols = new HttpProtocol[]{HttpProtocol.HTTP11};
@@ -293,6 +334,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		super(parent);
 		this.accessLogEnabled = parent.accessLogEnabled;
 		this.accessLog = parent.accessLog;
+		this.compressionOptions = parent.compressionOptions;
 		this.compressPredicate = parent.compressPredicate;
 		this.cookieDecoder = parent.cookieDecoder;
 		this.cookieEncoder = parent.cookieEncoder;
@@ -302,6 +344,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		this.http2Settings = parent.http2Settings;
 		this.idleTimeout = parent.idleTimeout;
 		this.mapHandle = parent.mapHandle;
+		this.maxBufferedPipelinedResponseBytes = parent.maxBufferedPipelinedResponseBytes;
+		this.maxConcurrentPipelinedRequests = parent.maxConcurrentPipelinedRequests;
 		this.maxKeepAliveRequests = parent.maxKeepAliveRequests;
 		this.minCompressionSize = parent.minCompressionSize;
 		this.protocols = parent.protocols;
@@ -399,6 +443,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 	static void addStreamHandlers(Channel ch,
 			boolean accessLogEnabled,
 			@Nullable Function<AccessLogArgProvider, AccessLog> accessLog,
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 			@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compressPredicate,
 			ServerCookieDecoder decoder,
 			ServerCookieEncoder encoder,
@@ -416,13 +461,13 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		}
 		pipeline.addLast(NettyPipeline.H2ToHttp11Codec, HTTP2_STREAM_FRAME_TO_HTTP_OBJECT)
 		        .addLast(NettyPipeline.HttpTrafficHandler,
-		                 new Http2StreamBridgeServerHandler(compressPredicate, decoder, encoder, formDecoderProvider,
-		                         forwardedHeaderHandler, listener, mapHandle));
+		                 new Http2StreamBridgeServerHandler(compressionOptions, compressPredicate, decoder, encoder,
+		                         formDecoderProvider, forwardedHeaderHandler, listener, mapHandle));
 
 		boolean alwaysCompress = compressPredicate == null && minCompressionSize == 0;
 
 		if (alwaysCompress) {
-			pipeline.addLast(NettyPipeline.CompressionHandler, new SimpleCompressionHandler());
+			pipeline.addLast(NettyPipeline.CompressionHandler, new SimpleCompressionHandler(compressionOptions));
 		}
 
 		ChannelOperations.addReactiveBridge(ch, opsFactory, listener);
@@ -506,6 +551,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 	static void configureH2Pipeline(ChannelPipeline p,
 			boolean accessLogEnabled,
 			@Nullable Function<AccessLogArgProvider, AccessLog> accessLog,
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 			@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compressPredicate,
 			ServerCookieDecoder cookieDecoder,
 			ServerCookieEncoder cookieEncoder,
@@ -533,8 +579,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 
 		p.addLast(NettyPipeline.HttpCodec, http2FrameCodecBuilder.build())
 		 .addLast(NettyPipeline.H2MultiplexHandler,
-		          new Http2MultiplexHandler(new H2Codec(accessLogEnabled, accessLog, compressPredicate, cookieDecoder,
-		                  cookieEncoder, formDecoderProvider, forwardedHeaderHandler, listener, mapHandle,
+		          new Http2MultiplexHandler(new H2Codec(accessLogEnabled, accessLog, compressionOptions, compressPredicate,
+		                  cookieDecoder, cookieEncoder, formDecoderProvider, forwardedHeaderHandler, listener, mapHandle,
 		                  metricsRecorder, minCompressionSize, opsFactory, uriTagValue)));
 
 		if (metricsRecorder != null) {
@@ -551,6 +597,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 	static void configureHttp11OrH2CleartextPipeline(ChannelPipeline p,
 			boolean accessLogEnabled,
 			@Nullable Function<AccessLogArgProvider, AccessLog> accessLog,
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 			@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compressPredicate,
 			ServerCookieDecoder cookieDecoder,
 			ServerCookieEncoder cookieEncoder,
@@ -561,6 +608,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 			@Nullable Duration idleTimeout,
 			ConnectionObserver listener,
 			@Nullable BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>> mapHandle,
+			int maxBufferedPipelinedResponseBytes,
+			int maxConcurrentPipelinedRequests,
 			int maxKeepAliveRequests,
 			@Nullable ChannelMetricsRecorder metricsRecorder,
 			int minCompressionSize,
@@ -571,8 +620,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 						decoder.maxChunkSize(), decoder.validateHeaders(), decoder.initialBufferSize(),
 						decoder.allowDuplicateContentLengths());
 
-		Http11OrH2CleartextCodec upgrader = new Http11OrH2CleartextCodec(accessLogEnabled, accessLog, compressPredicate,
-				cookieDecoder, cookieEncoder, p.get(NettyPipeline.LoggingHandler) != null, formDecoderProvider,
+		Http11OrH2CleartextCodec upgrader = new Http11OrH2CleartextCodec(accessLogEnabled, accessLog, compressionOptions,
+				compressPredicate, cookieDecoder, cookieEncoder, p.get(NettyPipeline.LoggingHandler) != null, formDecoderProvider,
 				forwardedHeaderHandler, http2Settings, listener, mapHandle, metricsRecorder, minCompressionSize, opsFactory,
 				uriTagValue, decoder.validateHeaders());
 
@@ -586,8 +635,9 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		            NettyPipeline.H2CUpgradeHandler, h2cUpgradeHandler)
 		 .addBefore(NettyPipeline.ReactiveBridge,
 		            NettyPipeline.HttpTrafficHandler,
-		            new HttpTrafficHandler(compressPredicate, cookieDecoder, cookieEncoder, formDecoderProvider,
-		                    forwardedHeaderHandler, idleTimeout, listener, mapHandle, maxKeepAliveRequests));
+		            new HttpTrafficHandler(compressionOptions, compressPredicate, cookieDecoder, cookieEncoder, formDecoderProvider,
+		                    forwardedHeaderHandler, idleTimeout, listener, mapHandle, maxBufferedPipelinedResponseBytes,
+		                    maxConcurrentPipelinedRequests, maxKeepAliveRequests));
 
 		if (accessLogEnabled) {
 			p.addBefore(NettyPipeline.HttpTrafficHandler, NettyPipeline.AccessLogHandler, AccessLogHandlerFactory.H1.create(accessLog));
@@ -596,7 +646,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		boolean alwaysCompress = compressPredicate == null && minCompressionSize == 0;
 
 		if (alwaysCompress) {
-			p.addBefore(NettyPipeline.HttpTrafficHandler, NettyPipeline.CompressionHandler, new SimpleCompressionHandler());
+			p.addBefore(NettyPipeline.HttpTrafficHandler, NettyPipeline.CompressionHandler, new SimpleCompressionHandler(compressionOptions));
 		}
 
 		if (metricsRecorder != null) {
@@ -625,6 +675,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 	static void configureHttp11Pipeline(ChannelPipeline p,
 			boolean accessLogEnabled,
 			@Nullable Function<AccessLogArgProvider, AccessLog> accessLog,
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 			@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compressPredicate,
 			ServerCookieDecoder cookieDecoder,
 			ServerCookieEncoder cookieEncoder,
@@ -634,6 +685,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 			@Nullable Duration idleTimeout,
 			ConnectionObserver listener,
 			@Nullable BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>> mapHandle,
+			int maxBufferedPipelinedResponseBytes,
+			int maxConcurrentPipelinedRequests,
 			int maxKeepAliveRequests,
 			@Nullable ChannelMetricsRecorder metricsRecorder,
 			int minCompressionSize,
@@ -645,8 +698,9 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		                    decoder.allowDuplicateContentLengths()))
 		 .addBefore(NettyPipeline.ReactiveBridge,
 		            NettyPipeline.HttpTrafficHandler,
-		            new HttpTrafficHandler(compressPredicate, cookieDecoder, cookieEncoder, formDecoderProvider,
-		                    forwardedHeaderHandler, idleTimeout, listener, mapHandle, maxKeepAliveRequests));
+		            new HttpTrafficHandler(compressionOptions, compressPredicate, cookieDecoder, cookieEncoder, formDecoderProvider,
+		                    forwardedHeaderHandler, idleTimeout, listener, mapHandle, maxBufferedPipelinedResponseBytes,
+		                    maxConcurrentPipelinedRequests, maxKeepAliveRequests));
 
 		if (accessLogEnabled) {
 			p.addAfter(NettyPipeline.HttpCodec, NettyPipeline.AccessLogHandler, AccessLogHandlerFactory.H1.create(accessLog));
@@ -655,7 +709,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		boolean alwaysCompress = compressPredicate == null && minCompressionSize == 0;
 
 		if (alwaysCompress) {
-			p.addBefore(NettyPipeline.HttpTrafficHandler, NettyPipeline.CompressionHandler, new SimpleCompressionHandler());
+			p.addBefore(NettyPipeline.HttpTrafficHandler, NettyPipeline.CompressionHandler, new SimpleCompressionHandler(compressionOptions));
 		}
 
 		if (metricsRecorder != null) {
@@ -682,6 +736,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 
 	static final boolean ACCESS_LOG = Boolean.parseBoolean(System.getProperty(ACCESS_LOG_ENABLED, "false"));
 
+	static final int DEFAULT_MAX_BUFFERED_PIPELINED_RESPONSE_BYTES = 64 * 1024;
+
 	static final int h2 = 0b010;
 
 	static final int h2c = 0b001;
@@ -815,6 +871,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 
 		final boolean                                                 accessLogEnabled;
 		final Function<AccessLogArgProvider, AccessLog>               accessLog;
+		final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+		                                                              compressionOptions;
 		final BiPredicate<HttpServerRequest, HttpServerResponse>      compressPredicate;
 		final ServerCookieDecoder                                     cookieDecoder;
 		final ServerCookieEncoder                                     cookieEncoder;
@@ -831,6 +889,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		H2Codec(
 				boolean accessLogEnabled,
 				@Nullable Function<AccessLogArgProvider, AccessLog> accessLog,
+				@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 				@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compressPredicate,
 				ServerCookieDecoder decoder,
 				ServerCookieEncoder encoder,
@@ -844,6 +903,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 				@Nullable Function<String, String> uriTagValue) {
 			this.accessLogEnabled = accessLogEnabled;
 			this.accessLog = accessLog;
+			this.compressionOptions = compressionOptions;
 			this.compressPredicate = compressPredicate;
 			this.cookieDecoder = decoder;
 			this.cookieEncoder = encoder;
@@ -860,8 +920,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		@Override
 		protected void initChannel(Channel ch) {
 			ch.pipeline().remove(this);
-			addStreamHandlers(ch, accessLogEnabled, accessLog, compressPredicate, cookieDecoder, cookieEncoder,
-					formDecoderProvider, forwardedHeaderHandler, listener, mapHandle, metricsRecorder,
+			addStreamHandlers(ch, accessLogEnabled, accessLog, compressionOptions, compressPredicate, cookieDecoder,
+					cookieEncoder, formDecoderProvider, forwardedHeaderHandler, listener, mapHandle, metricsRecorder,
 					minCompressionSize, opsFactory, uriTagValue);
 		}
 	}
@@ -871,6 +931,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 
 		final boolean                                                 accessLogEnabled;
 		final Function<AccessLogArgProvider, AccessLog>               accessLog;
+		final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+		                                                              compressionOptions;
 		final BiPredicate<HttpServerRequest, HttpServerResponse>      compressPredicate;
 		final ServerCookieDecoder                                     cookieDecoder;
 		final ServerCookieEncoder                                     cookieEncoder;
@@ -888,6 +950,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		Http11OrH2CleartextCodec(
 				boolean accessLogEnabled,
 				@Nullable Function<AccessLogArgProvider, AccessLog> accessLog,
+				@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 				@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compressPredicate,
 				ServerCookieDecoder cookieDecoder,
 				ServerCookieEncoder cookieEncoder,
@@ -904,6 +967,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 				boolean validate) {
 			this.accessLogEnabled = accessLogEnabled;
 			this.accessLog = accessLog;
+			this.compressionOptions = compressionOptions;
 			this.compressPredicate = compressPredicate;
 			this.cookieDecoder = cookieDecoder;
 			this.cookieEncoder = cookieEncoder;
@@ -934,8 +998,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		@Override
 		protected void initChannel(Channel ch) {
 			ch.pipeline().remove(this);
-			addStreamHandlers(ch, accessLogEnabled, accessLog, compressPredicate, cookieDecoder, cookieEncoder,
-					formDecoderProvider, forwardedHeaderHandler, listener, mapHandle, metricsRecorder,
+			addStreamHandlers(ch, accessLogEnabled, accessLog, compressionOptions, compressPredicate, cookieDecoder,
+					cookieEncoder, formDecoderProvider, forwardedHeaderHandler, listener, mapHandle, metricsRecorder,
 					minCompressionSize, opsFactory, uriTagValue);
 		}
 
@@ -955,6 +1019,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 
 		final boolean                                                 accessLogEnabled;
 		final Function<AccessLogArgProvider, AccessLog>               accessLog;
+		final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+		                                                              compressionOptions;
 		final BiPredicate<HttpServerRequest, HttpServerResponse>      compressPredicate;
 		final ServerCookieDecoder                                     cookieDecoder;
 		final ServerCookieEncoder                                     cookieEncoder;
@@ -966,6 +1032,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		final ConnectionObserver                                      listener;
 		final BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>>
 		                                                              mapHandle;
+		final int                                                     maxBufferedPipelinedResponseBytes;
+		final int                                                     maxConcurrentPipelinedRequests;
 		final int                                                     maxKeepAliveRequests;
 		final ChannelMetricsRecorder                                  metricsRecorder;
 		final int                                                     minCompressionSize;
@@ -976,6 +1044,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 			super(ApplicationProtocolNames.HTTP_1_1);
 			this.accessLogEnabled = initializer.accessLogEnabled;
 			this.accessLog = initializer.accessLog;
+			this.compressionOptions = initializer.compressionOptions;
 			this.compressPredicate = compressPredicate(initializer.compressPredicate, initializer.minCompressionSize);
 			this.cookieDecoder = initializer.cookieDecoder;
 			this.cookieEncoder = initializer.cookieEncoder;
@@ -986,6 +1055,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 			this.idleTimeout = initializer.idleTimeout;
 			this.listener = listener;
 			this.mapHandle = initializer.mapHandle;
+			this.maxBufferedPipelinedResponseBytes = initializer.maxBufferedPipelinedResponseBytes;
+			this.maxConcurrentPipelinedRequests = initializer.maxConcurrentPipelinedRequests;
 			this.maxKeepAliveRequests = initializer.maxKeepAliveRequests;
 			this.metricsRecorder = initializer.metricsRecorder;
 			this.minCompressionSize = initializer.minCompressionSize;
@@ -1002,16 +1073,17 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 			ChannelPipeline p = ctx.pipeline();
 
 			if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
-				configureH2Pipeline(p, accessLogEnabled, accessLog, compressPredicate, cookieDecoder, cookieEncoder,
+				configureH2Pipeline(p, accessLogEnabled, accessLog, compressionOptions, compressPredicate, cookieDecoder, cookieEncoder,
 						formDecoderProvider, forwardedHeaderHandler, http2Settings, listener, mapHandle,
 						metricsRecorder, minCompressionSize, opsFactory, uriTagValue, decoder.validateHeaders());
 				return;
 			}
 
 			if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
-				configureHttp11Pipeline(p, accessLogEnabled, accessLog, compressPredicate, cookieDecoder, cookieEncoder,
+				configureHttp11Pipeline(p, accessLogEnabled, accessLog, compressionOptions, compressPredicate, cookieDecoder, cookieEncoder,
 						decoder, formDecoderProvider, forwardedHeaderHandler, idleTimeout, listener, mapHandle,
-						maxKeepAliveRequests, metricsRecorder, minCompressionSize, uriTagValue);
+						maxBufferedPipelinedResponseBytes, maxConcurrentPipelinedRequests, maxKeepAliveRequests,
+						metricsRecorder, minCompressionSize, uriTagValue);
 				return;
 			}
 
@@ -1023,6 +1095,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 
 		final boolean                                                 accessLogEnabled;
 		final Function<AccessLogArgProvider, AccessLog>               accessLog;
+		final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+		                                                              compressionOptions;
 		final BiPredicate<HttpServerRequest, HttpServerResponse>      compressPredicate;
 		final ServerCookieDecoder                                     cookieDecoder;
 		final ServerCookieEncoder                                     cookieEncoder;
@@ -1033,6 +1107,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		final Duration                                                idleTimeout;
 		final BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>>
 		                                                              mapHandle;
+		final int                                                     maxBufferedPipelinedResponseBytes;
+		final int                                                     maxConcurrentPipelinedRequests;
 		final int                                                     maxKeepAliveRequests;
 		final ChannelMetricsRecorder                                  metricsRecorder;
 		final int                                                     minCompressionSize;
@@ -1046,6 +1122,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 		HttpServerChannelInitializer(HttpServerConfig config) {
 			this.accessLogEnabled = config.accessLogEnabled;
 			this.accessLog = config.accessLog;
+			this.compressionOptions = config.compressionOptions;
 			this.compressPredicate = config.compressPredicate;
 			this.cookieDecoder = config.cookieDecoder;
 			this.cookieEncoder = config.cookieEncoder;
@@ -1055,6 +1132,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 			this.http2Settings = config.http2Settings();
 			this.idleTimeout = config.idleTimeout;
 			this.mapHandle = config.mapHandle;
+			this.maxBufferedPipelinedResponseBytes = config.maxBufferedPipelinedResponseBytes;
+			this.maxConcurrentPipelinedRequests = config.maxConcurrentPipelinedRequests;
 			this.maxKeepAliveRequests = config.maxKeepAliveRequests;
 			this.metricsRecorder = config.metricsRecorderInternal();
 			this.minCompressionSize = config.minCompressionSize;
@@ -1093,6 +1172,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 							channel.pipeline(),
 							accessLogEnabled,
 							accessLog,
+							compressionOptions,
 							compressPredicate(compressPredicate, minCompressionSize),
 							cookieDecoder,
 							cookieEncoder,
@@ -1102,6 +1182,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 							idleTimeout,
 							observer,
 							mapHandle,
+							maxBufferedPipelinedResponseBytes,
+							maxConcurrentPipelinedRequests,
 							maxKeepAliveRequests,
 							metricsRecorder,
 							minCompressionSize,
@@ -1112,6 +1194,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 							channel.pipeline(),
 							accessLogEnabled,
 							accessLog,
+							compressionOptions,
 							compressPredicate(compressPredicate, minCompressionSize),
 							cookieDecoder,
 							cookieEncoder,
@@ -1133,6 +1216,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 							channel.pipeline(),
 							accessLogEnabled,
 							accessLog,
+							compressionOptions,
 							compressPredicate(compressPredicate, minCompressionSize),
 							cookieDecoder,
 							cookieEncoder,
@@ -1143,6 +1227,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 							idleTimeout,
 							observer,
 							mapHandle,
+							maxBufferedPipelinedResponseBytes,
+							maxConcurrentPipelinedRequests,
 							maxKeepAliveRequests,
 							metricsRecorder,
 							minCompressionSize,
@@ -1154,6 +1240,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 							channel.pipeline(),
 							accessLogEnabled,
 							accessLog,
+							compressionOptions,
 							compressPredicate(compressPredicate, minCompressionSize),
 							cookieDecoder,
 							cookieEncoder,
@@ -1163,6 +1250,8 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 							idleTimeout,
 							observer,
 							mapHandle,
+							maxBufferedPipelinedResponseBytes,
+							maxConcurrentPipelinedRequests,
 							maxKeepAliveRequests,
 							metricsRecorder,
 							minCompressionSize,
@@ -1173,6 +1262,7 @@ public final class HttpServerConfig extends ServerTransportConfig<HttpServerConf
 							channel.pipeline(),
 							accessLogEnabled,
 							accessLog,
+							compressionOptions,
 							compressPredicate(compressPredicate, minCompressionSize),
 							cookieDecoder,
 							cookieEncoder,
@@ -92,6 +92,201 @@ enum HttpServerMeters implements DocumentedMeter {
 		}
 	},
 
+	/**
+	 * Amount of the response data after the compression, in bytes.
+	 */
+	HTTP_SERVER_COMPRESSION_DATA_COMPRESSED {
+		@Override
+		public String getBaseUnit() {
+			return "bytes";
+		}
+
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.compression.data.compressed";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return CompressionTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.DISTRIBUTION_SUMMARY;
+		}
+	},
+
+	/**
+	 * Time spent in compressing the response data.
+	 */
+	HTTP_SERVER_COMPRESSION_TIME {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.compression.time";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return CompressionTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.TIMER;
+		}
+	},
+
+	/**
+	 * Amount of the response data before the compression, in bytes.
+	 */
+	HTTP_SERVER_COMPRESSION_DATA_UNCOMPRESSED {
+		@Override
+		public String getBaseUnit() {
+			return "bytes";
+		}
+
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.compression.data.uncompressed";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return CompressionTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.DISTRIBUTION_SUMMARY;
+		}
+	},
+
+	/**
+	 * The number of requests served from the response cache.
+	 */
+	RESPONSE_CACHE_HITS {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.response.cache.hits";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ResponseCacheTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
+	/**
+	 * The number of cacheable requests that invoked the handler.
+	 */
+	RESPONSE_CACHE_MISSES {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.response.cache.misses";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ResponseCacheTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
+	/**
+	 * The number of cached responses evicted because they expired or the memory limit was exceeded.
+	 */
+	RESPONSE_CACHE_EVICTIONS {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.response.cache.evictions";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ResponseCacheTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.COUNTER;
+		}
+	},
+
+	/**
+	 * The number of cached responses.
+	 */
+	RESPONSE_CACHE_ENTRIES {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.response.cache.entries";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ResponseCacheTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.GAUGE;
+		}
+	},
+
+	/**
+	 * The memory used by the cached response bodies, in bytes.
+	 */
+	RESPONSE_CACHE_MEMORY_USED {
+		@Override
+		public String getBaseUnit() {
+			return "bytes";
+		}
+
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.response.cache.memory.used";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return ResponseCacheTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.GAUGE;
+		}
+	},
+
+	/**
+	 * The number of blocking handlers currently running on a {@link HttpServerBlockingExecutor}.
+	 */
+	BLOCKING_HANDLERS_IN_FLIGHT {
+		@Override
+		public String getName() {
+			return "reactor.netty.http.server.blocking.handlers.in.flight";
+		}
+
+		@Override
+		public KeyName[] getKeyNames() {
+			return BlockingHandlersTags.values();
+		}
+
+		@Override
+		public Meter.Type getType() {
+			return Meter.Type.GAUGE;
+		}
+	},
+
 	/**
 	 * Time spent in consuming incoming data on the server.
 	 */
@@ -223,6 +418,55 @@ enum HttpServerMeters implements DocumentedMeter {
 		}
 	}
 
+	enum CompressionTags implements KeyName {
+
+		/**
+		 * Content coding.
+		 */
+		CONTENT_ENCODING {
+			@Override
+			public String asString() {
+				return "content.encoding";
+			}
+		}
+	}
+
+	enum ResponseCacheTags implements KeyName {
+
+		/**
+		 * The name of the cache.
+		 */
+		NAME {
+			@Override
+			public String asString() {
+				return "name";
+			}
+		}
+	}
+
+	enum BlockingHandlersTags implements KeyName {
+
+		/**
+		 * The name of the executor.
+		 */
+		NAME {
+			@Override
+			public String asString() {
+				return "name";
+			}
+		},
+
+		/**
+		 * The kind of threads, {@code virtual} or {@code platform}.
+		 */
+		THREADS {
+			@Override
+			public String asString() {
+				return "threads";
+			}
+		}
+	}
+
 	enum DataReceivedTimeTags implements KeyName {
 
 		/**
@@ -40,4 +40,9 @@ final class HttpServerMetricsHandler extends AbstractHttpServerMetricsHandler {
 	protected HttpServerMetricsRecorder recorder() {
 		return recorder;
 	}
+
+	@Override
+	HttpServerMetricsHandler newHandler() {
+		return new HttpServerMetricsHandler(recorder, uriTagValue);
+	}
 }
@@ -88,4 +88,16 @@ public interface HttpServerMetricsRecorder extends HttpMetricsRecorder {
 	 */
 	default void recordStreamClosed(SocketAddress localAddress) { }
 
+	/**
+	 * Records the compression of a response body
+	 *
+	 * @param contentEncoding the content coding, e.g. {@code gzip}, {@code br}, {@code zstd}
+	 * @param uncompressedBytes the number of bytes before the compression
+	 * @param compressedBytes the number of bytes after the compression
+	 * @param time the time that is spent in compressing the response body
+	 * @since 1.1.0
+	 */
+	default void recordResponseCompression(String contentEncoding, long uncompressedBytes, long compressedBytes,
+			Duration time) { }
+
 }
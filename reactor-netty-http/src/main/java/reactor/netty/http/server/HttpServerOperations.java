@@ -79,6 +79,7 @@ import reactor.netty.NettyPipeline;
 import reactor.netty.channel.AbortedException;
 import reactor.netty.channel.ChannelOperations;
 import reactor.netty.http.HttpOperations;
+import reactor.netty.http.server.compression.HttpCompressionOptionsSpec;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
 import reactor.util.Logger;
@@ -100,6 +101,7 @@ import static reactor.netty.http.server.HttpServerState.REQUEST_DECODING_FAILED;
 class HttpServerOperations extends HttpOperations<HttpServerRequest, HttpServerResponse>
 		implements HttpServerRequest, HttpServerResponse {
 
+	final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions;
 	final BiPredicate<HttpServerRequest, HttpServerResponse> compressionPredicate;
 	final ConnectionInfo connectionInfo;
 	final ServerCookieDecoder cookieDecoder;
@@ -120,6 +122,7 @@ class HttpServerOperations extends HttpOperations<HttpServerRequest, HttpServerR
 
 	HttpServerOperations(HttpServerOperations replaced) {
 		super(replaced);
+		this.compressionOptions = replaced.compressionOptions;
 		this.compressionPredicate = replaced.compressionPredicate;
 		this.connectionInfo = replaced.connectionInfo;
 		this.cookieDecoder = replaced.cookieDecoder;
@@ -138,6 +141,7 @@ class HttpServerOperations extends HttpOperations<HttpServerRequest, HttpServerR
 	}
 
 	HttpServerOperations(Connection c, ConnectionObserver listener, HttpRequest nettyRequest,
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 			@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compressionPredicate,
 			@Nullable ConnectionInfo connectionInfo,
 			ServerCookieDecoder decoder,
@@ -145,11 +149,12 @@ class HttpServerOperations extends HttpOperations<HttpServerRequest, HttpServerR
 			HttpServerFormDecoderProvider formDecoderProvider,
 			@Nullable BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>> mapHandle,
 			boolean secured) {
-		this(c, listener, nettyRequest, compressionPredicate, connectionInfo, decoder, encoder, formDecoderProvider,
-				mapHandle, true, secured);
+		this(c, listener, nettyRequest, compressionOptions, compressionPredicate, connectionInfo, decoder, encoder,
+				formDecoderProvider, mapHandle, true, secured);
 	}
 
 	HttpServerOperations(Connection c, ConnectionObserver listener, HttpRequest nettyRequest,
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 			@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compressionPredicate,
 			@Nullable ConnectionInfo connectionInfo,
 			ServerCookieDecoder decoder,
@@ -159,6 +164,7 @@ class HttpServerOperations extends HttpOperations<HttpServerRequest, HttpServerR
 			boolean resolvePath,
 			boolean secured) {
 		super(c, listener);
+		this.compressionOptions = compressionOptions;
 		this.compressionPredicate = compressionPredicate;
 		this.connectionInfo = connectionInfo;
 		this.cookieDecoder = decoder;
@@ -549,7 +555,7 @@ class HttpServerOperations extends HttpOperations<HttpServerRequest, HttpServerR
 		}
 		else if (channel().pipeline()
 		                  .get(NettyPipeline.CompressionHandler) == null) {
-			SimpleCompressionHandler handler = new SimpleCompressionHandler();
+			SimpleCompressionHandler handler = new SimpleCompressionHandler(compressionOptions);
 			try {
 				//Do not invoke handler.channelRead as it will trigger ctx.fireChannelRead
 				handler.decode(channel().pipeline().context(NettyPipeline.ReactiveBridge), nettyRequest);
@@ -924,7 +930,7 @@ class HttpServerOperations extends HttpOperations<HttpServerRequest, HttpServerR
 				HttpRequest nettyRequest,
 				HttpResponse nettyResponse,
 				boolean secure) {
-			super(c, listener, nettyRequest, null, null, ServerCookieDecoder.STRICT, ServerCookieEncoder.STRICT,
+			super(c, listener, nettyRequest, null, null, null, ServerCookieDecoder.STRICT, ServerCookieEncoder.STRICT,
 					DEFAULT_FORM_DECODER_SPEC, null, false, secure);
 			this.customResponse = nettyResponse;
 			String tempPath = "";
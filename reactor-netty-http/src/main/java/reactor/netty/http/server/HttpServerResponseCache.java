@@ -0,0 +1,669 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.reactivestreams.Publisher;
+import reactor.netty.Connection;
+import reactor.netty.NettyPipeline;
+import reactor.netty.internal.util.Metrics;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * An in-memory cache of the responses of {@link HttpServer} handlers.
+ * <p>
+ * A handler decorated with {@link #cached(BiFunction)} is invoked only when there is no fresh cached response for
+ * the request, the cached responses are sent without invoking the handler. The responses are keyed by the request
+ * URI and the values of the request headers named by the {@code Vary} response header. Only the {@code GET}
+ * requests without {@code Authorization} are cached, and only the {@code 200 OK} responses whose body does not
+ * exceed the maximum entry size, without {@code Set-Cookie}, trailers, {@code Vary: *} or a {@code Cache-Control}
+ * directive among {@code no-store}, {@code no-cache} and {@code private}.
+ * <p>
+ * The bodies are copied, when first sent, into buffers of the channel allocator (pooled direct buffers by default)
+ * and sent as {@link ByteBuf#retainedDuplicate()} of these buffers. The least recently used responses are evicted
+ * when the memory used by the cached bodies exceeds the limit. A response expires after the configured time to live,
+ * or earlier when the response has a shorter {@code s-maxage} or {@code max-age} directive.
+ * The response compression, if enabled, applies to the cached responses as for the others.
+ * <pre>
+ * {@code
+ * HttpServerResponseCache cache =
+ *         HttpServerResponseCache.builder()
+ *                                .maxMemory(64 * 1024 * 1024)
+ *                                .timeToLive(Duration.ofSeconds(5))
+ *                                .metrics(true)
+ *                                .build();
+ *
+ * HttpServer.create()
+ *           .route(routes -> routes.get("/catalog", cache.cached((req, res) -> res.sendString(catalog()))))
+ * }
+ * </pre>
+ *
+ * @since 1.1.0
+ */
+public final class HttpServerResponseCache {
+
+	static final Logger log = Loggers.getLogger(HttpServerResponseCache.class);
+
+	/**
+	 * Default cache name, used as a tag of the meters.
+	 */
+	public static final String DEFAULT_NAME = "default";
+
+	/**
+	 * Default maximum memory used by the cached bodies (32MB).
+	 */
+	public static final long DEFAULT_MAX_MEMORY = 32 * 1024 * 1024;
+
+	/**
+	 * Default maximum size of a cached body (1MB).
+	 */
+	public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+	/**
+	 * Default time to live of a cached response.
+	 */
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(1);
+
+	static final String CAPTURE_HANDLER = NettyPipeline.LEFT + "httpResponseCache";
+
+	/**
+	 * The headers that describe the connection or the transfer and are not cached.
+	 */
+	static final List<CharSequence> UNCACHED_HEADERS = Collections.unmodifiableList(Arrays.asList(
+			HttpHeaderNames.CONNECTION, HttpHeaderNames.KEEP_ALIVE, HttpHeaderNames.TRANSFER_ENCODING,
+			HttpHeaderNames.TRAILER, HttpHeaderNames.UPGRADE, HttpHeaderNames.PROXY_AUTHENTICATE,
+			HttpHeaderNames.CONTENT_LENGTH, HttpHeaderNames.AGE));
+
+	/**
+	 * Creates a builder for {@link HttpServerResponseCache}.
+	 *
+	 * @return a new {@link HttpServerResponseCache.Builder}
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	final String name;
+	final long maxMemory;
+	final int maxEntrySize;
+	final long timeToLiveNanos;
+
+	/**
+	 * The cached responses, in access order, and the variants of the cached responses per URI,
+	 * guarded by {@code responses}.
+	 */
+	final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(64, 0.75f, true);
+	final Map<String, Variants> variants = new HashMap<>();
+
+	final LongAdder hits = new LongAdder();
+	final LongAdder misses = new LongAdder();
+	final LongAdder evictions = new LongAdder();
+
+	long memoryUsed;
+
+	HttpServerResponseCache(Builder builder) {
+		this.name = builder.name;
+		this.maxMemory = builder.maxMemory;
+		this.maxEntrySize = builder.maxEntrySize;
+		this.timeToLiveNanos = builder.timeToLive.toNanos();
+		if (builder.metrics) {
+			if (!Metrics.isMicrometerAvailable()) {
+				throw new UnsupportedOperationException(
+						"To enable metrics, you must add the dependency `io.micrometer:micrometer-core`" +
+								" to the class path first");
+			}
+			MicrometerHttpServerResponseCacheMetrics.registerMetrics(this);
+		}
+	}
+
+	/**
+	 * Decorates a handler so that its responses are cached and sent without invoking it
+	 * while they are fresh.
+	 *
+	 * @param handler the handler to decorate
+	 * @return the decorated handler
+	 */
+	public BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> cached(
+			BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends Publisher<Void>> handler) {
+		Objects.requireNonNull(handler, "handler");
+		return (request, response) -> {
+			if (!HttpMethod.GET.equals(request.method()) ||
+					request.requestHeaders().contains(HttpHeaderNames.AUTHORIZATION)) {
+				return handler.apply(request, response);
+			}
+
+			String uri = request.uri();
+			if (!noCache(request.requestHeaders())) {
+				CachedResponse cached = lookup(uri, request.requestHeaders());
+				if (cached != null) {
+					return send(response, cached);
+				}
+			}
+			misses.increment();
+
+			if (response instanceof Connection) {
+				Connection connection = (Connection) response;
+				ResponseCaptureHandler capture = new ResponseCaptureHandler(this, uri, request.requestHeaders());
+				connection.addHandlerLast(CAPTURE_HANDLER, capture);
+				if (connection.channel().pipeline().context(capture) == null && log.isDebugEnabled()) {
+					log.debug("The response to {} cannot be cached, the capture handler is already present", uri);
+				}
+			}
+			return handler.apply(request, response);
+		};
+	}
+
+	/**
+	 * Removes all the cached responses.
+	 */
+	public void clear() {
+		synchronized (responses) {
+			for (CachedResponse cached : responses.values()) {
+				cached.body.release();
+			}
+			responses.clear();
+			variants.clear();
+			memoryUsed = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of cached responses, including the expired responses not yet evicted.
+	 *
+	 * @return the number of cached responses
+	 */
+	public int size() {
+		synchronized (responses) {
+			return responses.size();
+		}
+	}
+
+	/**
+	 * Returns the memory used by the cached bodies, in bytes.
+	 *
+	 * @return the memory used by the cached bodies, in bytes
+	 */
+	public long memoryUsed() {
+		synchronized (responses) {
+			return memoryUsed;
+		}
+	}
+
+	/**
+	 * Returns the name of this cache.
+	 *
+	 * @return the name of this cache
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns a fresh cached response with a retained duplicate of the body, {@code null} if there is none.
+	 */
+	@Nullable
+	CachedResponse lookup(String uri, HttpHeaders requestHeaders) {
+		long now = System.nanoTime();
+		synchronized (responses) {
+			Variants uriVariants = variants.get(uri);
+			if (uriVariants == null) {
+				return null;
+			}
+			String key = key(uri, uriVariants.varyNames, requestHeaders);
+			CachedResponse cached = responses.get(key);
+			if (cached == null) {
+				return null;
+			}
+			if (now - cached.expiresNanos >= 0) {
+				remove(key, cached);
+				return null;
+			}
+			hits.increment();
+			return new CachedResponse(cached, cached.body.retainedDuplicate());
+		}
+	}
+
+	void store(String uri, HttpHeaders requestHeaders, List<String> varyNames, CachedResponse response) {
+		String key = key(uri, varyNames, requestHeaders);
+		synchronized (responses) {
+			Variants uriVariants = variants.get(uri);
+			if (uriVariants == null || !uriVariants.varyNames.equals(varyNames)) {
+				// the responses cached with other Vary headers are no longer reachable, they are evicted as usual
+				uriVariants = new Variants(varyNames);
+				variants.put(uri, uriVariants);
+			}
+			CachedResponse previous = responses.put(key, response);
+			if (previous != null) {
+				released(previous);
+			}
+			response.variants = uriVariants;
+			uriVariants.count++;
+			memoryUsed += response.body.capacity();
+			Iterator<CachedResponse> it = responses.values().iterator();
+			while (memoryUsed > maxMemory && it.hasNext()) {
+				CachedResponse eldest = it.next();
+				it.remove();
+				released(eldest);
+				evictions.increment();
+			}
+		}
+	}
+
+	void remove(String key, CachedResponse cached) {
+		responses.remove(key);
+		released(cached);
+		evictions.increment();
+	}
+
+	void released(CachedResponse cached) {
+		memoryUsed -= cached.body.capacity();
+		cached.body.release();
+		Variants uriVariants = cached.variants;
+		if (uriVariants != null && --uriVariants.count == 0 && variants.get(cached.uri) == uriVariants) {
+			variants.remove(cached.uri);
+		}
+	}
+
+	static Publisher<Void> send(HttpServerResponse response, CachedResponse cached) {
+		long age = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - cached.storedNanos);
+		response.status(cached.status)
+		        .headers(cached.headers)
+		        .header(HttpHeaderNames.AGE, Long.toString(age));
+		return response.sendObject(cached.body).then();
+	}
+
+	static boolean noCache(HttpHeaders requestHeaders) {
+		String cacheControl = requestHeaders.get(HttpHeaderNames.CACHE_CONTROL);
+		return (cacheControl != null && cacheControl.contains(HttpHeaderValues.NO_CACHE)) ||
+				requestHeaders.contains(HttpHeaderNames.PRAGMA, HttpHeaderValues.NO_CACHE, true);
+	}
+
+	static String key(String uri, List<String> varyNames, HttpHeaders requestHeaders) {
+		if (varyNames.isEmpty()) {
+			return uri;
+		}
+		StringBuilder key = new StringBuilder(uri);
+		for (String name : varyNames) {
+			key.append('\u0000');
+			List<String> values = requestHeaders.getAll(name);
+			for (int i = 0; i < values.size(); i++) {
+				if (i > 0) {
+					key.append(',');
+				}
+				key.append(values.get(i));
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Returns the request headers named by the {@code Vary} response header, {@code null} if the response varies
+	 * on {@code *} and cannot be cached.
+	 */
+	@Nullable
+	static List<String> varyNames(HttpHeaders responseHeaders) {
+		List<String> values = responseHeaders.getAll(HttpHeaderNames.VARY);
+		if (values.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> names = new ArrayList<>();
+		for (String value : values) {
+			for (String name : value.split(",")) {
+				name = name.trim().toLowerCase(Locale.ROOT);
+				if ("*".equals(name)) {
+					return null;
+				}
+				if (!name.isEmpty() && !names.contains(name)) {
+					names.add(name);
+				}
+			}
+		}
+		Collections.sort(names);
+		return names;
+	}
+
+	/**
+	 * Returns the time to live of the response, {@code -1} if the response cannot be cached.
+	 */
+	long timeToLiveNanos(HttpResponse response) {
+		if (response.status().code() != HttpResponseStatus.OK.code() ||
+				response.headers().contains(HttpHeaderNames.SET_COOKIE)) {
+			return -1;
+		}
+		long ttl = timeToLiveNanos;
+		for (String cacheControl : response.headers().getAll(HttpHeaderNames.CACHE_CONTROL)) {
+			for (String directive : cacheControl.split(",")) {
+				directive = directive.trim().toLowerCase(Locale.ROOT);
+				if (directive.startsWith(HttpHeaderValues.NO_STORE.toString()) ||
+						directive.startsWith(HttpHeaderValues.NO_CACHE.toString()) ||
+						directive.startsWith(HttpHeaderValues.PRIVATE.toString())) {
+					return -1;
+				}
+				if (directive.startsWith(HttpHeaderValues.S_MAXAGE.toString()) ||
+						directive.startsWith(HttpHeaderValues.MAX_AGE.toString())) {
+					int equals = directive.indexOf('=');
+					if (equals != -1) {
+						try {
+							ttl = Math.min(ttl, TimeUnit.SECONDS.toNanos(Long.parseLong(directive.substring(equals + 1).trim())));
+						}
+						catch (NumberFormatException e) {
+							return -1;
+						}
+					}
+				}
+			}
+		}
+		return ttl > 0 ? ttl : -1;
+	}
+
+	/**
+	 * Builder for {@link HttpServerResponseCache}.
+	 */
+	public static final class Builder {
+
+		String name = DEFAULT_NAME;
+		long maxMemory = DEFAULT_MAX_MEMORY;
+		int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+		Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+		boolean metrics;
+
+		Builder() {
+		}
+
+		/**
+		 * Configures the name of the cache, used as a tag of the meters.
+		 * Default to {@link #DEFAULT_NAME}.
+		 *
+		 * @param name the name of the cache
+		 * @return {@code this}
+		 */
+		public Builder name(String name) {
+			this.name = Objects.requireNonNull(name, "name");
+			return this;
+		}
+
+		/**
+		 * Configures the maximum memory used by the cached bodies, in bytes. The least recently used
+		 * responses are evicted when it is exceeded. Default to {@link #DEFAULT_MAX_MEMORY}.
+		 *
+		 * @param maxMemory the maximum memory used by the cached bodies, in bytes
+		 * @return {@code this}
+		 */
+		public Builder maxMemory(long maxMemory) {
+			if (maxMemory <= 0) {
+				throw new IllegalArgumentException("maxMemory must be positive");
+			}
+			this.maxMemory = maxMemory;
+			return this;
+		}
+
+		/**
+		 * Configures the maximum size of a cached body, in bytes. The larger responses are not cached.
+		 * Default to {@link #DEFAULT_MAX_ENTRY_SIZE}.
+		 *
+		 * @param maxEntrySize the maximum size of a cached body, in bytes
+		 * @return {@code this}
+		 */
+		public Builder maxEntrySize(int maxEntrySize) {
+			if (maxEntrySize <= 0) {
+				throw new IllegalArgumentException("maxEntrySize must be positive");
+			}
+			this.maxEntrySize = maxEntrySize;
+			return this;
+		}
+
+		/**
+		 * Configures the time to live of the cached responses. A shorter {@code s-maxage} or {@code max-age}
+		 * directive of a response takes precedence. Default to {@link #DEFAULT_TIME_TO_LIVE}.
+		 *
+		 * @param timeToLive the time to live of the cached responses
+		 * @return {@code this}
+		 */
+		public Builder timeToLive(Duration timeToLive) {
+			Objects.requireNonNull(timeToLive, "timeToLive");
+			if (timeToLive.isNegative() || timeToLive.isZero()) {
+				throw new IllegalArgumentException("timeToLive must be positive");
+			}
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * Whether to register the hits, misses, evictions and memory meters of the cache with Micrometer.
+		 * The meters are tagged with the name of the cache.
+		 *
+		 * @param enable {@code true} to register the meters
+		 * @return {@code this}
+		 */
+		public Builder metrics(boolean enable) {
+			this.metrics = enable;
+			return this;
+		}
+
+		/**
+		 * Builds a new {@link HttpServerResponseCache}.
+		 *
+		 * @return a new {@link HttpServerResponseCache}
+		 */
+		public HttpServerResponseCache build() {
+			if (maxEntrySize > maxMemory) {
+				throw new IllegalArgumentException("maxEntrySize must not exceed maxMemory");
+			}
+			return new HttpServerResponseCache(this);
+		}
+	}
+
+	/**
+	 * A cached response, the headers are shared and must not be mutated.
+	 */
+	static final class CachedResponse {
+
+		final String uri;
+		final HttpResponseStatus status;
+		final HttpHeaders headers;
+		final ByteBuf body;
+		final long storedNanos;
+		final long expiresNanos;
+
+		/**
+		 * The variants the response is counted in, set when the response is stored.
+		 */
+		Variants variants;
+
+		CachedResponse(String uri, HttpResponseStatus status, HttpHeaders headers, ByteBuf body,
+				long storedNanos, long expiresNanos) {
+			this.uri = uri;
+			this.status = status;
+			this.headers = headers;
+			this.body = body;
+			this.storedNanos = storedNanos;
+			this.expiresNanos = expiresNanos;
+		}
+
+		CachedResponse(CachedResponse cached, ByteBuf body) {
+			this(cached.uri, cached.status, cached.headers, body, cached.storedNanos, cached.expiresNanos);
+		}
+	}
+
+	/**
+	 * The request headers named by the {@code Vary} header of the responses cached for an URI,
+	 * and the number of these responses.
+	 */
+	static final class Variants {
+
+		final List<String> varyNames;
+
+		int count;
+
+		Variants(List<String> varyNames) {
+			this.varyNames = varyNames;
+		}
+	}
+
+	/**
+	 * Copies the response written by the handler, then stores it once its last content is written.
+	 * The copy is abandoned as soon as the response turns out not to be cacheable.
+	 */
+	static final class ResponseCaptureHandler extends ChannelOutboundHandlerAdapter {
+
+		final HttpServerResponseCache cache;
+		final String uri;
+		final HttpHeaders requestHeaders;
+
+		HttpResponse response;
+		HttpHeaders headers;
+		List<String> varyNames;
+		long timeToLiveNanos;
+		ByteBuf body;
+		boolean done;
+
+		ResponseCaptureHandler(HttpServerResponseCache cache, String uri, HttpHeaders requestHeaders) {
+			this.cache = cache;
+			this.uri = uri;
+			this.requestHeaders = requestHeaders;
+		}
+
+		@Override
+		public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+			if (!done) {
+				try {
+					capture(ctx, msg);
+				}
+				catch (Throwable t) {
+					log.debug("Failed to cache the response to {}", uri, t);
+					abandon();
+				}
+			}
+			ctx.write(msg, promise);
+		}
+
+		@Override
+		public void handlerRemoved(ChannelHandlerContext ctx) {
+			abandon();
+		}
+
+		void capture(ChannelHandlerContext ctx, Object msg) {
+			if (msg instanceof HttpResponse) {
+				HttpResponse httpResponse = (HttpResponse) msg;
+				if (HttpUtil.isInformational(httpResponse)) {
+					return;
+				}
+				long ttl = cache.timeToLiveNanos(httpResponse);
+				List<String> names = ttl > 0 ? varyNames(httpResponse.headers()) : null;
+				long contentLength = HttpUtil.getContentLength(httpResponse, -1L);
+				if (names == null || contentLength > cache.maxEntrySize) {
+					abandon();
+					return;
+				}
+				this.response = httpResponse;
+				this.varyNames = names;
+				this.timeToLiveNanos = ttl;
+				this.headers = headers(httpResponse.headers());
+				int initialCapacity = contentLength >= 0 ? (int) contentLength : 256;
+				this.body = ctx.alloc().directBuffer(initialCapacity, cache.maxEntrySize);
+			}
+			else if (response == null) {
+				abandon();
+				return;
+			}
+
+			// a streamed body is written as ByteBuf, see MonoSendMany, not as HttpContent
+			ByteBuf content;
+			if (msg instanceof ByteBufHolder) {
+				content = ((ByteBufHolder) msg).content();
+			}
+			else if (msg instanceof ByteBuf) {
+				content = (ByteBuf) msg;
+			}
+			else if (msg instanceof HttpResponse) {
+				content = null;
+			}
+			else {
+				// e.g. a FileRegion
+				abandon();
+				return;
+			}
+
+			if (content != null) {
+				if (content.readableBytes() > body.maxWritableBytes()) {
+					abandon();
+					return;
+				}
+				body.writeBytes(content, content.readerIndex(), content.readableBytes());
+			}
+
+			if (msg instanceof LastHttpContent) {
+				if (!((LastHttpContent) msg).trailingHeaders().isEmpty()) {
+					abandon();
+					return;
+				}
+				done = true;
+				long now = System.nanoTime();
+				ByteBuf captured = body;
+				body = null;
+				headers.setInt(HttpHeaderNames.CONTENT_LENGTH, captured.readableBytes());
+				cache.store(uri, requestHeaders, varyNames,
+						new CachedResponse(uri, response.status(), headers, captured, now, now + timeToLiveNanos));
+			}
+		}
+
+		static HttpHeaders headers(HttpHeaders responseHeaders) {
+			HttpHeaders headers = new DefaultHttpHeaders(false).set(responseHeaders);
+			for (CharSequence name : UNCACHED_HEADERS) {
+				headers.remove(name);
+			}
+			return headers;
+		}
+
+		void abandon() {
+			done = true;
+			if (body != null) {
+				body.release();
+				body = null;
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2011-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,6 +101,47 @@ public interface HttpServerRoutes extends
 	HttpServerRoutes directory(String uri, Path directory,
 			@Nullable Function<HttpServerResponse, HttpServerResponse> interceptor);
 
+	/**
+	 * Listens for HTTP GET and HEAD on the passed path prefix to be used as a routing condition.
+	 * The files of the provided {@link Path directory} will be served with the default {@link StaticResourceSpec}.
+	 *
+	 * @param uri The path prefix used by clients
+	 * @param directory the root prefix to serve from the file system, e.g.
+	 * "/Users/me/resources"
+	 *
+	 * @return this {@link HttpServerRoutes}
+	 * @see #resources(String, Path, Function)
+	 * @since 1.1.0
+	 */
+	default HttpServerRoutes resources(String uri, Path directory) {
+		return resources(uri, directory, Function.identity());
+	}
+
+	/**
+	 * Listens for HTTP GET and HEAD on the passed path prefix to be used as a routing condition.
+	 * The files of the provided {@link Path directory} will be served.
+	 * <p>Unlike {@link #directory(String, Path)}, the open files and their metadata are cached, the {@code .br} and
+	 * {@code .gz} siblings of a file are served when the client accepts them and the {@code Range},
+	 * {@code If-Range}, {@code If-None-Match} and {@code If-Modified-Since} request headers are supported.
+	 * The files are transferred with zero-copy when TLS and the response compression are not enabled.</p>
+	 *
+	 * @param uri The path prefix used by clients
+	 * @param directory the root prefix to serve from the file system, e.g.
+	 * "/Users/me/resources"
+	 * @param spec the configuration of the served files
+	 *
+	 * @return this {@link HttpServerRoutes}
+	 * @since 1.1.0
+	 */
+	default HttpServerRoutes resources(String uri, Path directory,
+			Function<StaticResourceSpec, StaticResourceSpec> spec) {
+		Objects.requireNonNull(uri, "uri");
+		Objects.requireNonNull(directory, "directory");
+		Objects.requireNonNull(spec, "spec");
+		StaticResourceHandler handler = new StaticResourceHandler(uri, directory, spec.apply(new StaticResourceSpec()));
+		return route(HttpPredicate.prefix(uri).or(HttpPredicate.prefix(uri, HttpMethod.HEAD)), handler);
+	}
+
 	/**
 	 * Listens for HTTP GET on the passed path to be used as a routing condition. The
 	 * provided {@link java.io.File} will be served.
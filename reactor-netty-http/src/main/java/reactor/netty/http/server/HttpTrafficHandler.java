@@ -17,6 +17,7 @@ package reactor.netty.http.server;
 
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
@@ -28,11 +29,13 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.DecoderResultProvider;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -43,15 +46,16 @@ import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
 import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
 import io.netty.handler.ssl.SslHandler;
-import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
-import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.ReferenceCountUtil;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 import reactor.netty.Connection;
 import reactor.netty.ConnectionObserver;
 import reactor.netty.NettyPipeline;
+import reactor.netty.channel.ChannelOperations;
+import reactor.netty.http.server.compression.HttpCompressionOptionsSpec;
+import reactor.netty.internal.util.TimeoutWheel;
 import reactor.util.annotation.Nullable;
 import reactor.util.concurrent.Queues;
 
@@ -73,6 +77,8 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 
 	static final HttpVersion H2 = HttpVersion.valueOf("HTTP/2.0");
 
+	final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+	                                                              compressionOptions;
 	final BiPredicate<HttpServerRequest, HttpServerResponse>      compress;
 	final ServerCookieDecoder                                     cookieDecoder;
 	final ServerCookieEncoder                                     cookieEncoder;
@@ -82,10 +88,14 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 	final ConnectionObserver                                      listener;
 	final BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>>
 	                                                              mapHandle;
+	final int                                                     maxBufferedPipelinedResponseBytes;
+	final int                                                     maxConcurrentPipelinedRequests;
 	final int                                                     maxKeepAliveRequests;
 
 	ChannelHandlerContext ctx;
 
+	IdleTimeoutHandler idleTimeoutHandler;
+
 	boolean nonInformationalResponse;
 	boolean overflow;
 
@@ -95,11 +105,24 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 
 	Queue<Object> pipelined;
 
+	// Pipelined requests processed while the previous responses are pending, in the order of the requests,
+	// see HttpServer#pipelining(int, int)
+	ArrayDeque<PipelinedRequestChannel> pipelinedRequests;
+	// Receives the content of the last request dispatched to a pipelined request channel
+	PipelinedRequestChannel pipelinedRequestReading;
+	// The pipelined request channel whose response is being written
+	PipelinedRequestChannel pipelinedRequestWriting;
+	// Track the request processed on the connection itself, when pipelined requests can be processed concurrently
+	boolean requestInFlight;
+	boolean requestInFlightSafe;
+	long responsesSent;
+
 	SocketAddress remoteAddress;
 
 	Boolean secure;
 
 	HttpTrafficHandler(
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec> compressionOptions,
 			@Nullable BiPredicate<HttpServerRequest, HttpServerResponse> compress,
 			ServerCookieDecoder decoder,
 			ServerCookieEncoder encoder,
@@ -108,15 +131,20 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 			@Nullable Duration idleTimeout,
 			ConnectionObserver listener,
 			@Nullable BiFunction<? super Mono<Void>, ? super Connection, ? extends Mono<Void>> mapHandle,
+			int maxBufferedPipelinedResponseBytes,
+			int maxConcurrentPipelinedRequests,
 			int maxKeepAliveRequests) {
 		this.listener = listener;
 		this.formDecoderProvider = formDecoderProvider;
 		this.forwardedHeaderHandler = forwardedHeaderHandler;
+		this.compressionOptions = compressionOptions;
 		this.compress = compress;
 		this.cookieEncoder = encoder;
 		this.cookieDecoder = decoder;
 		this.idleTimeout = idleTimeout;
 		this.mapHandle = mapHandle;
+		this.maxBufferedPipelinedResponseBytes = maxBufferedPipelinedResponseBytes;
+		this.maxConcurrentPipelinedRequests = maxConcurrentPipelinedRequests;
 		this.maxKeepAliveRequests = maxKeepAliveRequests;
 	}
 
@@ -132,7 +160,7 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 
 	@Override
 	public void channelActive(ChannelHandlerContext ctx) {
-		IdleTimeoutHandler.addIdleTimeoutHandler(ctx.pipeline(), idleTimeout);
+		armIdleTimeout(ctx.pipeline());
 
 		ctx.fireChannelActive();
 	}
@@ -149,7 +177,9 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 		}
 		// read message and track if it was keepAlive
 		if (msg instanceof HttpRequest) {
-			IdleTimeoutHandler.removeIdleTimeoutHandler(ctx.pipeline());
+			if (idleTimeoutHandler != null) {
+				idleTimeoutHandler.disarm();
+			}
 
 			final HttpRequest request = (HttpRequest) msg;
 
@@ -176,6 +206,11 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 				return;
 			}
 			if (pendingResponses > 1) {
+				if ((pipelined == null || pipelined.isEmpty()) && canProcessPipelined(request)) {
+					overflow = false;
+					processPipelined(ctx, request);
+					return;
+				}
 				if (HttpServerOperations.log.isDebugEnabled()) {
 					HttpServerOperations.log.debug(format(ctx.channel(), "Buffering pipelined HTTP request, " +
 									"pending response count: {}, queue: {}"),
@@ -200,6 +235,7 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 					ops = new HttpServerOperations(Connection.from(ctx.channel()),
 							listener,
 							request,
+							compressionOptions,
 							compress,
 							ConnectionInfo.from(ctx.channel(),
 							                    request,
@@ -219,6 +255,11 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 				ops.bind();
 				listener.onStateChange(ops, ConnectionObserver.State.CONFIGURED);
 
+				if (maxConcurrentPipelinedRequests > 1) {
+					requestInFlight = true;
+					requestInFlightSafe = isSafe(request);
+				}
+
 				ctx.fireChannelRead(msg);
 				return;
 
@@ -254,6 +295,10 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 			doPipeline(ctx, msg);
 			return;
 		}
+		else if (pipelinedRequestReading != null) {
+			readPipelined(ctx, pipelinedRequestReading, msg);
+			return;
+		}
 
 		if (msg instanceof DecoderResultProvider) {
 			DecoderResult decoderResult = ((DecoderResultProvider) msg).decoderResult();
@@ -266,6 +311,16 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 		ctx.fireChannelRead(msg);
 	}
 
+	void armIdleTimeout(ChannelPipeline pipeline) {
+		if (idleTimeoutHandler == null) {
+			// the handler stays in the pipeline for the connection's lifetime
+			idleTimeoutHandler = IdleTimeoutHandler.addIdleTimeoutHandler(pipeline, idleTimeout);
+		}
+		if (idleTimeoutHandler != null) {
+			idleTimeoutHandler.arm();
+		}
+	}
+
 	void sendDecodingFailures(Throwable t, Object msg) {
 		persistentConnection = false;
 		HttpServerOperations.sendDecodingFailures(ctx, listener, secure, t, msg);
@@ -289,7 +344,7 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 			final HttpResponse response = (HttpResponse) msg;
 			nonInformationalResponse = !isInformational(response);
 			// Assume the response writer knows if they can persist or not and sets isKeepAlive on the response
-			boolean maxKeepAliveRequestsReached = maxKeepAliveRequests != -1 && HttpServerOperations.requestsCounter(ctx.channel()) == maxKeepAliveRequests;
+			boolean maxKeepAliveRequestsReached = maxKeepAliveRequests != -1 && requestsCounter(ctx) == maxKeepAliveRequests;
 			if (maxKeepAliveRequestsReached || !isKeepAlive(response) || !isSelfDefinedMessageLength(response)) {
 				// No longer keep alive as the client can't tell when the message is done unless we close connection
 				pendingResponses = 0;
@@ -314,13 +369,13 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 							pendingResponses);
 				}
 				ctx.write(msg, promise.unvoid())
-				   .addListener(this)
+				   .addListener(lastContentListener())
 				   .addListener(ChannelFutureListener.CLOSE);
 				return;
 			}
 
 			ctx.write(msg, promise.unvoid())
-			   .addListener(this);
+			   .addListener(lastContentListener());
 
 			if (!persistentConnection) {
 				return;
@@ -333,6 +388,9 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 					HttpServerOperations.log.debug(format(ctx.channel(), "Decreasing pending responses, now {}"),
 							pendingResponses);
 				}
+				if (maxConcurrentPipelinedRequests > 1) {
+					pipelinedResponseSent(ctx);
+				}
 			}
 
 			if (pipelined != null && !pipelined.isEmpty()) {
@@ -368,13 +426,19 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 		HttpRequest nextRequest = null;
 		while ((next = pipelined.peek()) != null) {
 			if (next instanceof HttpRequest) {
-				if (nextRequest != null) {
+				boolean previousResponsesPending = nextRequest != null || requestInFlight ||
+						(pipelinedRequests != null && !pipelinedRequests.isEmpty());
+				if (previousResponsesPending && !canProcessPipelined((HttpRequest) next)) {
 					return;
 				}
 				if (!persistentConnection) {
 					discard();
 					return;
 				}
+				if (previousResponsesPending) {
+					processPipelined(ctx, (HttpRequest) pipelined.poll());
+					continue;
+				}
 
 				nextRequest = (HttpRequest) next;
 
@@ -388,6 +452,7 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 				HttpServerOperations ops = new HttpServerOperations(Connection.from(ctx.channel()),
 						listener,
 						nextRequest,
+						compressionOptions,
 						compress,
 						ConnectionInfo.from(ctx.channel(),
 						                    nextRequest,
@@ -401,12 +466,34 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 						secure);
 				ops.bind();
 				listener.onStateChange(ops, ConnectionObserver.State.CONFIGURED);
+
+				if (maxConcurrentPipelinedRequests > 1) {
+					requestInFlight = true;
+					requestInFlightSafe = isSafe(nextRequest);
+				}
+			}
+			else if (pipelinedRequestReading != null) {
+				readPipelined(ctx, pipelinedRequestReading, pipelined.poll());
+				continue;
 			}
 			ctx.fireChannelRead(pipelined.poll());
 		}
 		overflow = false;
 	}
 
+	@Override
+	@SuppressWarnings("FutureReturnValueIgnored")
+	public void channelInactive(ChannelHandlerContext ctx) {
+		if (pipelinedRequests != null) {
+			PipelinedRequestChannel channel;
+			while ((channel = pipelinedRequests.poll()) != null) {
+				//"FutureReturnValueIgnored" this is deliberate
+				channel.close();
+			}
+		}
+		ctx.fireChannelInactive();
+	}
+
 	@Override
 	public void operationComplete(ChannelFuture future) {
 		if (!future.isSuccess()) {
@@ -423,7 +510,9 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 			}
 		}
 
-		IdleTimeoutHandler.addIdleTimeoutHandler(future.channel().pipeline(), idleTimeout);
+		if (pipelinedRequests == null || pipelinedRequests.isEmpty()) {
+			armIdleTimeout(future.channel().pipeline());
+		}
 
 		HttpServerOperations.cleanHandlerTerminate(future.channel());
 	}
@@ -447,6 +536,210 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 		return pendingResponses != 0 && persistentConnection;
 	}
 
+	long requestsCounter(ChannelHandlerContext ctx) {
+		// the requests processed on the pipelined request channels are not counted by the connection
+		return maxConcurrentPipelinedRequests > 1 ? responsesSent + 1 : HttpServerOperations.requestsCounter(ctx.channel());
+	}
+
+	/**
+	 * Whether the request can be processed while the responses to the previous requests are pending.
+	 * Only safe methods are processed concurrently, see <a href="https://tools.ietf.org/html/rfc7230#section-6.3.2"/>.
+	 *
+	 * @param request the pipelined request
+	 * @return true if the request can be processed on a {@link PipelinedRequestChannel}
+	 */
+	boolean canProcessPipelined(HttpRequest request) {
+		if (maxConcurrentPipelinedRequests <= 1 || (requestInFlight && !requestInFlightSafe) ||
+				!isSafe(request) || request.decoderResult().isFailure()) {
+			return false;
+		}
+		int inFlight = (requestInFlight ? 1 : 0) + (pipelinedRequests != null ? pipelinedRequests.size() : 0);
+		return inFlight < maxConcurrentPipelinedRequests;
+	}
+
+	@SuppressWarnings("FutureReturnValueIgnored")
+	void processPipelined(ChannelHandlerContext ctx, HttpRequest request) {
+		if (pipelinedRequests == null) {
+			pipelinedRequests = new ArrayDeque<>(maxConcurrentPipelinedRequests);
+		}
+		if (HttpServerOperations.log.isDebugEnabled()) {
+			HttpServerOperations.log.debug(format(ctx.channel(), "Processing pipelined HTTP request " +
+							"concurrently, pending response count: {}"),
+					pendingResponses);
+		}
+
+		PipelinedRequestChannel channel =
+				new PipelinedRequestChannel(ctx.channel(), this, maxBufferedPipelinedResponseBytes);
+		ChannelOperations.addReactiveBridge(channel, ChannelOperations.OnSetup.empty(), listener);
+		ChannelHandler metricsHandler = ctx.pipeline().get(NettyPipeline.HttpMetricsHandler);
+		if (metricsHandler instanceof AbstractHttpServerMetricsHandler) {
+			channel.pipeline().addBefore(NettyPipeline.ReactiveBridge, NettyPipeline.HttpMetricsHandler,
+					((AbstractHttpServerMetricsHandler) metricsHandler).newHandler());
+		}
+		pipelinedRequests.add(channel);
+		pipelinedRequestReading = request instanceof LastHttpContent ? null : channel;
+		//"FutureReturnValueIgnored" this is deliberate
+		ctx.channel().eventLoop().register(channel);
+		if (!requestInFlight && pipelinedRequests.peek() == channel) {
+			channel.activate();
+		}
+
+		HttpServerOperations ops;
+		try {
+			ops = new HttpServerOperations(Connection.from(channel),
+					listener,
+					request,
+					compressionOptions,
+					compress,
+					ConnectionInfo.from(ctx.channel(),
+					                    request,
+					                    secure,
+					                    remoteAddress,
+					                    forwardedHeaderHandler),
+					cookieDecoder,
+					cookieEncoder,
+					formDecoderProvider,
+					mapHandle,
+					secure);
+		}
+		catch (RuntimeException e) {
+			// the response is sent in order, it closes the connection
+			HttpServerOperations.sendDecodingFailures(channel.pipeline().firstContext(), listener, secure, e, request);
+			return;
+		}
+		ops.bind();
+		listener.onStateChange(ops, ConnectionObserver.State.CONFIGURED);
+
+		channel.pipeline().fireChannelRead(request);
+		if (request instanceof LastHttpContent) {
+			channel.pipeline().fireChannelReadComplete();
+			ctx.read();
+		}
+	}
+
+	void readPipelined(ChannelHandlerContext ctx, PipelinedRequestChannel channel, Object msg) {
+		boolean last = msg instanceof LastHttpContent;
+		if (last) {
+			pipelinedRequestReading = null;
+		}
+		if (!channel.isOpen()) {
+			ReferenceCountUtil.release(msg);
+		}
+		else if (msg instanceof DecoderResultProvider && ((DecoderResultProvider) msg).decoderResult().isFailure()) {
+			HttpServerOperations.sendDecodingFailures(channel.pipeline().firstContext(), listener, secure,
+					((DecoderResultProvider) msg).decoderResult().cause(), msg);
+		}
+		else {
+			channel.pipeline().fireChannelRead(msg);
+			if (last) {
+				channel.pipeline().fireChannelReadComplete();
+			}
+		}
+		if (last) {
+			ctx.read();
+		}
+	}
+
+	/**
+	 * Writes a message of the response to a pipelined request, invoked by the {@link PipelinedRequestChannel}
+	 * once the responses to the previous requests have been sent.
+	 *
+	 * @param channel the pipelined request channel
+	 * @param msg the message
+	 */
+	void writePipelined(PipelinedRequestChannel channel, Object msg) {
+		pipelinedRequestWriting = channel;
+		try {
+			write(ctx, msg, ctx.newPromise());
+		}
+		finally {
+			pipelinedRequestWriting = null;
+		}
+	}
+
+	void pipelinedResponseSent(ChannelHandlerContext ctx) {
+		responsesSent++;
+		if (pipelinedRequestWriting == null) {
+			requestInFlight = false;
+		}
+		else {
+			pipelinedRequests.remove(pipelinedRequestWriting);
+		}
+		PipelinedRequestChannel next = pipelinedRequests != null ? pipelinedRequests.peek() : null;
+		if (next != null) {
+			// invoked while writing, the buffered response of the next request is written afterwards
+			ctx.executor()
+			   .execute(next::activate);
+		}
+	}
+
+	ChannelFutureListener lastContentListener() {
+		PipelinedRequestChannel channel = pipelinedRequestWriting;
+		if (channel == null) {
+			return this;
+		}
+		boolean responseSent = channel.responseSent;
+		return future -> {
+			if (responseSent) {
+				pipelinedOperationComplete(future, channel);
+			}
+		};
+	}
+
+	@SuppressWarnings("FutureReturnValueIgnored")
+	void pipelinedOperationComplete(ChannelFuture future, PipelinedRequestChannel channel) {
+		if (!future.isSuccess()) {
+			if (HttpServerOperations.log.isDebugEnabled()) {
+				HttpServerOperations.log.debug(format(channel,
+				        "Sending last HTTP packet was not successful, terminating the channel"),
+				        future.cause());
+			}
+		}
+		else {
+			if (HttpServerOperations.log.isDebugEnabled()) {
+				HttpServerOperations.log.debug(format(channel,
+				        "Last HTTP packet was sent, terminating the channel"));
+			}
+		}
+
+		if (pipelinedRequests.isEmpty() && !requestInFlight) {
+			armIdleTimeout(future.channel().pipeline());
+		}
+
+		HttpServerOperations.cleanHandlerTerminate(channel);
+		// closed after the deferred termination of the operations
+		channel.eventLoop()
+		       .execute(() -> {
+		           //"FutureReturnValueIgnored" this is deliberate
+		           channel.close();
+		       });
+	}
+
+	/**
+	 * Invoked when a {@link PipelinedRequestChannel} is closed. The connection is closed when the response
+	 * has not been sent, the responses to the next requests cannot be sent in order anymore.
+	 *
+	 * @param channel the pipelined request channel
+	 */
+	@SuppressWarnings("FutureReturnValueIgnored")
+	void pipelinedRequestClosed(PipelinedRequestChannel channel) {
+		if (pipelinedRequests != null && pipelinedRequests.remove(channel) && !channel.responseSent) {
+			if (HttpServerOperations.log.isDebugEnabled()) {
+				HttpServerOperations.log.debug(format(ctx.channel(), "Pipelined HTTP request was closed " +
+						"before its response was sent, closing the connection"));
+			}
+			//"FutureReturnValueIgnored" this is deliberate
+			ctx.close();
+		}
+	}
+
+	static boolean isSafe(HttpRequest request) {
+		HttpMethod method = request.method();
+		// the upgrade requests change the connection
+		return (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)) &&
+				!request.headers().contains(HttpHeaderNames.UPGRADE);
+	}
+
 	/**
 	 * Keep-alive only works if the client can detect when the message has ended without
 	 * relying on the connection being closed.
@@ -482,32 +775,93 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 				MULTIPART_PREFIX.length());
 	}
 
-	static final class IdleTimeoutHandler extends IdleStateHandler {
+	/**
+	 * Closes the connection when it stays idle while waiting for an HTTP request. The handler is added
+	 * once per connection, in front of the HTTP codec, and is armed after a response has been sent and
+	 * disarmed when a request is received. The timeout is tracked by the {@link TimeoutWheel} of the event loop,
+	 * so arming and disarming neither modify the pipeline nor schedule a task.
+	 */
+	static final class IdleTimeoutHandler extends ChannelInboundHandlerAdapter {
 
 		final long idleTimeout;
+		final long idleTimeoutNanos;
+		final IdleTimeout timeout = new IdleTimeout();
+
+		ChannelHandlerContext ctx;
+		long lastReadNanos;
 
 		IdleTimeoutHandler(long idleTimeout) {
-			super(idleTimeout, 0, 0, TimeUnit.MILLISECONDS);
 			this.idleTimeout = idleTimeout;
+			this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+		}
+
+		@Override
+		public void handlerAdded(ChannelHandlerContext ctx) {
+			this.ctx = ctx;
+		}
+
+		@Override
+		public void handlerRemoved(ChannelHandlerContext ctx) {
+			timeout.cancel();
+		}
+
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) {
+			timeout.cancel();
+			ctx.fireChannelInactive();
 		}
 
 		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			if (timeout.isScheduled()) {
+				lastReadNanos = System.nanoTime();
+			}
+			ctx.fireChannelRead(msg);
+		}
+
+		/**
+		 * Starts tracking the idle time, this is a no-op when the channel is not active anymore.
+		 */
+		void arm() {
+			if (ctx.channel().isActive()) {
+				lastReadNanos = System.nanoTime();
+				TimeoutWheel.get(ctx.channel().eventLoop()).schedule(timeout, idleTimeoutNanos);
+			}
+		}
+
+		/**
+		 * Stops tracking the idle time.
+		 */
+		void disarm() {
+			timeout.cancel();
+		}
+
 		@SuppressWarnings("FutureReturnValueIgnored")
-		protected void channelIdle(ChannelHandlerContext ctx, IdleStateEvent evt) {
-			if (evt.state() == IdleState.READER_IDLE) {
-				if (HttpServerOperations.log.isDebugEnabled()) {
-					HttpServerOperations.log.debug(format(ctx.channel(),
-							"Connection was idle for [{}ms], as per configuration the connection will be closed."),
-							idleTimeout);
-				}
-				// FutureReturnValueIgnored is deliberate
-				ctx.close();
+		void channelIdle() {
+			long remaining = idleTimeoutNanos - (System.nanoTime() - lastReadNanos);
+			if (remaining > 0) {
+				// there were reads since the timeout has been scheduled
+				TimeoutWheel.get(ctx.channel().eventLoop()).schedule(timeout, remaining);
+				return;
+			}
+			if (HttpServerOperations.log.isDebugEnabled()) {
+				HttpServerOperations.log.debug(format(ctx.channel(),
+						"Connection was idle for [{}ms], as per configuration the connection will be closed."),
+						idleTimeout);
 			}
-			ctx.fireUserEventTriggered(evt);
+			// FutureReturnValueIgnored is deliberate
+			ctx.close();
+			ctx.fireUserEventTriggered(IdleStateEvent.FIRST_READER_IDLE_STATE_EVENT);
 		}
 
-		static void addIdleTimeoutHandler(ChannelPipeline pipeline, @Nullable Duration idleTimeout) {
+		@Nullable
+		static IdleTimeoutHandler addIdleTimeoutHandler(ChannelPipeline pipeline, @Nullable Duration idleTimeout) {
 			if (idleTimeout != null) {
+				IdleTimeoutHandler handler = (IdleTimeoutHandler) pipeline.get(NettyPipeline.IdleTimeoutHandler);
+				if (handler != null) {
+					return handler;
+				}
+
 				String baseName = null;
 				if (pipeline.get(NettyPipeline.HttpCodec) != null) {
 					baseName = NettyPipeline.HttpCodec;
@@ -522,15 +876,19 @@ final class HttpTrafficHandler extends ChannelDuplexHandler
 					}
 				}
 
-				pipeline.addBefore(baseName,
-				                   NettyPipeline.IdleTimeoutHandler,
-				                   new IdleTimeoutHandler(idleTimeout.toMillis()));
+				// less than 1ms is rounded up to 1ms
+				handler = new IdleTimeoutHandler(Math.max(idleTimeout.toMillis(), 1));
+				pipeline.addBefore(baseName, NettyPipeline.IdleTimeoutHandler, handler);
+				return handler;
 			}
+			return null;
 		}
 
-		static void removeIdleTimeoutHandler(ChannelPipeline pipeline) {
-			if (pipeline.get(NettyPipeline.IdleTimeoutHandler) != null) {
-				pipeline.remove(NettyPipeline.IdleTimeoutHandler);
+		final class IdleTimeout extends TimeoutWheel.Timeout {
+
+			@Override
+			protected void expire() {
+				channelIdle();
 			}
 		}
 	}
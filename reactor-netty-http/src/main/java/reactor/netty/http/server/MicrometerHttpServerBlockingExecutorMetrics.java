@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.Disposable;
+
+import static reactor.netty.Metrics.REGISTRY;
+import static reactor.netty.http.server.HttpServerMeters.BLOCKING_HANDLERS_IN_FLIGHT;
+import static reactor.netty.http.server.HttpServerMeters.BlockingHandlersTags.NAME;
+import static reactor.netty.http.server.HttpServerMeters.BlockingHandlersTags.THREADS;
+
+/**
+ * Registers the meters of a {@link HttpServerBlockingExecutor}, tagged with the name of the executor.
+ *
+ * @since 1.1.0
+ */
+final class MicrometerHttpServerBlockingExecutorMetrics {
+
+	private MicrometerHttpServerBlockingExecutorMetrics() {}
+
+	/**
+	 * Registers the meters of the executor.
+	 *
+	 * @param executor the executor
+	 * @return a {@link Disposable} removing the meters from the registry
+	 */
+	static Disposable registerMetrics(HttpServerBlockingExecutor executor) {
+		Gauge inFlight =
+				Gauge.builder(BLOCKING_HANDLERS_IN_FLIGHT.getName(), executor, HttpServerBlockingExecutor::inFlight)
+				     .tags(Tags.of(NAME.asString(), executor.name(),
+				                   THREADS.asString(), executor.isVirtual() ? "virtual" : "platform"))
+				     .register(REGISTRY);
+		return () -> REGISTRY.remove(inFlight);
+	}
+}
@@ -30,6 +30,7 @@ import java.util.function.Function;
 
 import static reactor.netty.Metrics.OBSERVATION_REGISTRY;
 import static reactor.netty.Metrics.RESPONSE_TIME;
+import static reactor.netty.ReactorNetty.HTTP_SERVER_PREBOUND_METERS;
 import static reactor.netty.http.server.HttpServerObservations.ResponseTimeHighCardinalityTags.REACTOR_NETTY_PROTOCOL;
 import static reactor.netty.http.server.HttpServerObservations.ResponseTimeHighCardinalityTags.REACTOR_NETTY_STATUS;
 import static reactor.netty.http.server.HttpServerObservations.ResponseTimeHighCardinalityTags.REACTOR_NETTY_TYPE;
@@ -43,26 +44,55 @@ import static reactor.netty.http.server.HttpServerObservations.ResponseTimeLowCa
  * @since 1.1.0
  */
 final class MicrometerHttpServerMetricsHandler extends AbstractHttpServerMetricsHandler {
+	static final boolean PREBOUND_METERS =
+			Boolean.parseBoolean(System.getProperty(HTTP_SERVER_PREBOUND_METERS, "false"));
+
+	/**
+	 * The number of the distinct URI, method and status combinations whose meters are kept on a connection.
+	 */
+	static final int PREBOUND_METERS_SIZE = 8;
+
 	final MicrometerHttpServerMetricsRecorder recorder;
 	final String responseTimeName;
+	final boolean preboundMeters;
 
 	ResponseTimeHandlerContext responseTimeHandlerContext;
 	Observation responseTimeObservation;
 
+	// The meters of the last requests, the least recently resolved ones are replaced first
+	final MicrometerHttpServerMetricsRecorder.RequestMeters[] requestMeters;
+	final MicrometerHttpServerMetricsRecorder.ResponseMeters[] responseMeters;
+	int requestMetersIndex;
+	int responseMetersIndex;
+
 	MicrometerHttpServerMetricsHandler(MicrometerHttpServerMetricsRecorder recorder,
 			@Nullable Function<String, String> uriTagValue) {
+		this(recorder, uriTagValue, PREBOUND_METERS);
+	}
+
+	MicrometerHttpServerMetricsHandler(MicrometerHttpServerMetricsRecorder recorder,
+			@Nullable Function<String, String> uriTagValue, boolean preboundMeters) {
 		super(uriTagValue);
 		this.recorder = recorder;
 		this.responseTimeName = recorder.name() + RESPONSE_TIME;
+		this.preboundMeters = preboundMeters;
+		this.requestMeters = new MicrometerHttpServerMetricsRecorder.RequestMeters[preboundMeters ? PREBOUND_METERS_SIZE : 0];
+		this.responseMeters = new MicrometerHttpServerMetricsRecorder.ResponseMeters[preboundMeters ? PREBOUND_METERS_SIZE : 0];
 	}
 
 	MicrometerHttpServerMetricsHandler(MicrometerHttpServerMetricsHandler copy) {
 		super(copy);
 		this.recorder = copy.recorder;
 		this.responseTimeName = copy.responseTimeName;
+		this.preboundMeters = copy.preboundMeters;
 
 		this.responseTimeHandlerContext = copy.responseTimeHandlerContext;
 		this.responseTimeObservation = copy.responseTimeObservation;
+
+		this.requestMeters = copy.requestMeters.clone();
+		this.responseMeters = copy.responseMeters.clone();
+		this.requestMetersIndex = copy.requestMetersIndex;
+		this.responseMetersIndex = copy.responseMetersIndex;
 	}
 
 	@Override
@@ -70,13 +100,55 @@ final class MicrometerHttpServerMetricsHandler extends AbstractHttpServerMetrics
 		return recorder;
 	}
 
+	@Override
+	MicrometerHttpServerMetricsHandler newHandler() {
+		return new MicrometerHttpServerMetricsHandler(recorder, uriTagValue, preboundMeters);
+	}
+
+	@Override
+	String resolveUriTag(String uri) {
+		return recorder.uriTag(uri);
+	}
+
+	@Override
+	protected void recordException(HttpServerOperations ops, String path) {
+		if (preboundMeters) {
+			requestMeters(path, ops.method().name()).incrementErrorsCount();
+		}
+		else {
+			super.recordException(ops, path);
+		}
+	}
+
+	@Override
+	protected void recordRead(HttpServerOperations ops, String path, String method) {
+		if (preboundMeters) {
+			MicrometerHttpServerMetricsRecorder.RequestMeters meters = requestMeters(path, method);
+			meters.recordDataReceivedTime(System.nanoTime() - dataReceivedTime);
+			meters.recordDataReceived(dataReceived);
+		}
+		else {
+			super.recordRead(ops, path, method);
+		}
+	}
+
 	@Override
 	protected void recordWrite(HttpServerOperations ops, String path, String method, String status) {
-		Duration dataSentTimeDuration = Duration.ofNanos(System.nanoTime() - dataSentTime);
-		recorder().recordDataSentTime(path, method, status, dataSentTimeDuration);
+		if (preboundMeters) {
+			MicrometerHttpServerMetricsRecorder.ResponseMeters meters = responseMeters(path, method, status);
+			meters.recordDataSentTime(System.nanoTime() - dataSentTime);
+
+			requestMeters(path, method).recordDataSent(dataSent);
+
+			responseTimeHandlerContext.responseMeters = meters;
+		}
+		else {
+			Duration dataSentTimeDuration = Duration.ofNanos(System.nanoTime() - dataSentTime);
+			recorder().recordDataSentTime(path, method, status, dataSentTimeDuration);
 
-		// Always take the remote address from the operations in order to consider proxy information
-		recorder().recordDataSent(ops.remoteAddress(), path, dataSent);
+			// Always take the remote address from the operations in order to consider proxy information
+			recorder().recordDataSent(ops.remoteAddress(), path, dataSent);
+		}
 
 		// Cannot invoke the recorder anymore:
 		// 1. The recorder is one instance only, it is invoked for all requests that can happen
@@ -110,6 +182,30 @@ final class MicrometerHttpServerMetricsHandler extends AbstractHttpServerMetrics
 		responseTimeHandlerContext.status = status;
 	}
 
+	MicrometerHttpServerMetricsRecorder.RequestMeters requestMeters(String path, String method) {
+		for (MicrometerHttpServerMetricsRecorder.RequestMeters meters : requestMeters) {
+			if (meters != null && meters.matches(path, method)) {
+				return meters;
+			}
+		}
+		MicrometerHttpServerMetricsRecorder.RequestMeters meters = recorder.requestMeters(path, method);
+		requestMeters[requestMetersIndex] = meters;
+		requestMetersIndex = (requestMetersIndex + 1) % requestMeters.length;
+		return meters;
+	}
+
+	MicrometerHttpServerMetricsRecorder.ResponseMeters responseMeters(String path, String method, String status) {
+		for (MicrometerHttpServerMetricsRecorder.ResponseMeters meters : responseMeters) {
+			if (meters != null && meters.matches(path, method, status)) {
+				return meters;
+			}
+		}
+		MicrometerHttpServerMetricsRecorder.ResponseMeters meters = recorder.responseMeters(path, method, status);
+		responseMeters[responseMetersIndex] = meters;
+		responseMetersIndex = (responseMetersIndex + 1) % responseMeters.length;
+		return meters;
+	}
+
 	static final class ResponseTimeHandlerContext extends RequestReplyReceiverContext<HttpRequest, HttpResponse>
 			implements ReactorNettyHandlerContext {
 		static final String TYPE = "server";
@@ -120,6 +216,8 @@ final class MicrometerHttpServerMetricsHandler extends AbstractHttpServerMetrics
 
 		// status might not be known beforehand
 		String status;
+		// resolved when the meters are prebound
+		MicrometerHttpServerMetricsRecorder.ResponseMeters responseMeters;
 
 		ResponseTimeHandlerContext(MicrometerHttpServerMetricsRecorder recorder, String path, HttpRequest request) {
 			super((carrier, key) -> Objects.requireNonNull(carrier).headers().get(key));
@@ -133,6 +231,9 @@ final class MicrometerHttpServerMetricsHandler extends AbstractHttpServerMetrics
 
 		@Override
 		public Timer getTimer() {
+			if (responseMeters != null) {
+				return responseMeters.responseTime;
+			}
 			return recorder.getResponseTimeTimer(getName(), path, method, status);
 		}
 
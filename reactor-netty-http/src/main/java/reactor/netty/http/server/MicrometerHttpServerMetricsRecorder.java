@@ -28,6 +28,7 @@ import java.net.SocketAddress;
 import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 
 import static reactor.netty.Metrics.DATA_RECEIVED;
@@ -42,6 +43,9 @@ import static reactor.netty.Metrics.RESPONSE_TIME;
 import static reactor.netty.Metrics.STATUS;
 import static reactor.netty.Metrics.URI;
 import static reactor.netty.http.server.HttpServerMeters.CONNECTIONS_ACTIVE;
+import static reactor.netty.http.server.HttpServerMeters.HTTP_SERVER_COMPRESSION_DATA_COMPRESSED;
+import static reactor.netty.http.server.HttpServerMeters.HTTP_SERVER_COMPRESSION_DATA_UNCOMPRESSED;
+import static reactor.netty.http.server.HttpServerMeters.HTTP_SERVER_COMPRESSION_TIME;
 import static reactor.netty.http.server.HttpServerMeters.STREAMS_ACTIVE;
 
 /**
@@ -56,6 +60,7 @@ final class MicrometerHttpServerMetricsRecorder extends MicrometerHttpMetricsRec
 	private final LongAdder activeStreamsAdder = new LongAdder();
 	private final ConcurrentMap<String, LongAdder> activeConnectionsCache = new ConcurrentHashMap<>();
 	private final ConcurrentMap<String, LongAdder> activeStreamsCache = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, CompressionMeters> compressionCache = new ConcurrentHashMap<>();
 	private final ConcurrentMap<String, DistributionSummary> dataReceivedCache = new ConcurrentHashMap<>();
 	private final ConcurrentMap<String, DistributionSummary> dataSentCache = new ConcurrentHashMap<>();
 	private final ConcurrentMap<String, Counter> errorsCache = new ConcurrentHashMap<>();
@@ -66,34 +71,44 @@ final class MicrometerHttpServerMetricsRecorder extends MicrometerHttpMetricsRec
 
 	@Override
 	public void recordDataReceivedTime(String uri, String method, Duration time) {
+		Timer dataReceivedTime = getDataReceivedTimeTimer(uriTag(uri), method);
+		if (dataReceivedTime != null) {
+			dataReceivedTime.record(time);
+		}
+	}
+
+	@Nullable
+	final Timer getDataReceivedTimeTimer(String uri, String method) {
 		MeterKey meterKey = new MeterKey(uri, null, method, null);
-		Timer dataReceivedTime = MapUtils.computeIfAbsent(dataReceivedTimeCache, meterKey,
+		return MapUtils.computeIfAbsent(dataReceivedTimeCache, meterKey,
 				key -> filter(Timer.builder(name() + DATA_RECEIVED_TIME)
 				                   .tags(HttpServerMeters.DataReceivedTimeTags.URI.asString(), uri,
 				                         HttpServerMeters.DataReceivedTimeTags.METHOD.asString(), method)
 				                   .register(REGISTRY)));
-		if (dataReceivedTime != null) {
-			dataReceivedTime.record(time);
-		}
 	}
 
 	@Override
 	public void recordDataSentTime(String uri, String method, String status, Duration time) {
+		Timer dataSentTime = getDataSentTimeTimer(uriTag(uri), method, status);
+		if (dataSentTime != null) {
+			dataSentTime.record(time);
+		}
+	}
+
+	@Nullable
+	final Timer getDataSentTimeTimer(String uri, String method, String status) {
 		MeterKey meterKey = new MeterKey(uri, null, method, status);
-		Timer dataSentTime = MapUtils.computeIfAbsent(dataSentTimeCache, meterKey,
+		return MapUtils.computeIfAbsent(dataSentTimeCache, meterKey,
 				key -> filter(Timer.builder(name() + DATA_SENT_TIME)
 				                   .tags(HttpServerMeters.DataSentTimeTags.URI.asString(), uri,
 				                         HttpServerMeters.DataSentTimeTags.METHOD.asString(), method,
 				                         HttpServerMeters.DataSentTimeTags.STATUS.asString(), status)
 				                   .register(REGISTRY)));
-		if (dataSentTime != null) {
-			dataSentTime.record(time);
-		}
 	}
 
 	@Override
 	public void recordResponseTime(String uri, String method, String status, Duration time) {
-		Timer responseTime = getResponseTimeTimer(name() + RESPONSE_TIME, uri, method, status);
+		Timer responseTime = getResponseTimeTimer(name() + RESPONSE_TIME, uriTag(uri), method, status);
 		if (responseTime != null) {
 			responseTime.record(time);
 		}
@@ -110,39 +125,81 @@ final class MicrometerHttpServerMetricsRecorder extends MicrometerHttpMetricsRec
 
 	@Override
 	public void recordDataReceived(SocketAddress remoteAddress, String uri, long bytes) {
-		DistributionSummary dataReceived = MapUtils.computeIfAbsent(dataReceivedCache, uri,
+		DistributionSummary dataReceived = getDataReceivedSummary(uriTag(uri));
+		if (dataReceived != null) {
+			dataReceived.record(bytes);
+		}
+	}
+
+	@Nullable
+	final DistributionSummary getDataReceivedSummary(String uri) {
+		return MapUtils.computeIfAbsent(dataReceivedCache, uri,
 				key -> filter(DistributionSummary.builder(name() + DATA_RECEIVED)
 				                                 .baseUnit(HttpServerMeters.HTTP_SERVER_DATA_RECEIVED.getBaseUnit())
 				                                 .tags(HttpServerMeters.HttpServerMetersTags.URI.asString(), uri)
 				                                 .register(REGISTRY)));
-		if (dataReceived != null) {
-			dataReceived.record(bytes);
-		}
 	}
 
 	@Override
 	public void recordDataSent(SocketAddress remoteAddress, String uri, long bytes) {
-		DistributionSummary dataSent = MapUtils.computeIfAbsent(dataSentCache, uri,
+		DistributionSummary dataSent = getDataSentSummary(uriTag(uri));
+		if (dataSent != null) {
+			dataSent.record(bytes);
+		}
+	}
+
+	@Nullable
+	final DistributionSummary getDataSentSummary(String uri) {
+		return MapUtils.computeIfAbsent(dataSentCache, uri,
 				key -> filter(DistributionSummary.builder(name() + DATA_SENT)
 				                                 .baseUnit(HttpServerMeters.HTTP_SERVER_DATA_SENT.getBaseUnit())
 				                                 .tags(HttpServerMeters.HttpServerMetersTags.URI.asString(), uri)
 				                                 .register(REGISTRY)));
-		if (dataSent != null) {
-			dataSent.record(bytes);
-		}
 	}
 
 	@Override
 	public void incrementErrorsCount(SocketAddress remoteAddress, String uri) {
-		Counter errors = MapUtils.computeIfAbsent(errorsCache, uri,
-				key -> filter(Counter.builder(name() + ERRORS)
-				                     .tags(HttpServerMeters.HttpServerMetersTags.URI.asString(), uri)
-				                     .register(REGISTRY)));
+		Counter errors = getErrorsCounter(uriTag(uri));
 		if (errors != null) {
 			errors.increment();
 		}
 	}
 
+	@Nullable
+	final Counter getErrorsCounter(String uri) {
+		return MapUtils.computeIfAbsent(errorsCache, uri,
+				key -> filter(Counter.builder(name() + ERRORS)
+				                     .tags(HttpServerMeters.HttpServerMetersTags.URI.asString(), uri)
+				                     .register(REGISTRY)));
+	}
+
+	/**
+	 * Resolves the meters that depend only on the request, so that they can be recorded without further lookups.
+	 *
+	 * @param uri the URI tag value
+	 * @param method the method tag value
+	 * @return the resolved meters
+	 */
+	final RequestMeters requestMeters(String uri, String method) {
+		String uriTag = uriTag(uri);
+		return new RequestMeters(uri, method, getDataReceivedTimeTimer(uriTag, method), getDataReceivedSummary(uriTag),
+				getDataSentSummary(uriTag), getErrorsCounter(uriTag));
+	}
+
+	/**
+	 * Resolves the meters that depend on the response status, so that they can be recorded without further lookups.
+	 *
+	 * @param uri the URI tag value
+	 * @param method the method tag value
+	 * @param status the status tag value
+	 * @return the resolved meters
+	 */
+	final ResponseMeters responseMeters(String uri, String method, String status) {
+		String uriTag = uriTag(uri);
+		return new ResponseMeters(uri, method, status, getDataSentTimeTimer(uriTag, method, status),
+				getResponseTimeTimer(name() + RESPONSE_TIME, uriTag, method, status));
+	}
+
 	@Override
 	public void recordServerConnectionActive(SocketAddress localAddress) {
 		LongAdder adder = getServerConnectionAdder(localAddress);
@@ -175,6 +232,21 @@ final class MicrometerHttpServerMetricsRecorder extends MicrometerHttpMetricsRec
 		}
 	}
 
+	@Override
+	public void recordResponseCompression(String contentEncoding, long uncompressedBytes, long compressedBytes,
+			Duration time) {
+		CompressionMeters meters = MapUtils.computeIfAbsent(compressionCache, contentEncoding, CompressionMeters::new);
+		if (meters.uncompressed != null) {
+			meters.uncompressed.record(uncompressedBytes);
+		}
+		if (meters.compressed != null) {
+			meters.compressed.record(compressedBytes);
+		}
+		if (meters.time != null) {
+			meters.time.record(time);
+		}
+	}
+
 	@Override
 	public void recordDataReceived(SocketAddress remoteAddress, long bytes) {
 		// noop
@@ -232,4 +304,114 @@ final class MicrometerHttpServerMetricsRecorder extends MicrometerHttpMetricsRec
 					return gauge != null ? activeConnectionsAdder : null;
 				});
 	}
+
+	/**
+	 * The compression meters of a content coding. A {@code null} meter is denied by a meter filter.
+	 */
+	static final class CompressionMeters {
+
+		final DistributionSummary uncompressed;
+		final DistributionSummary compressed;
+		final Timer time;
+
+		CompressionMeters(String contentEncoding) {
+			String tag = HttpServerMeters.CompressionTags.CONTENT_ENCODING.asString();
+			this.uncompressed = filter(DistributionSummary.builder(HTTP_SERVER_COMPRESSION_DATA_UNCOMPRESSED.getName())
+			                                              .baseUnit(HTTP_SERVER_COMPRESSION_DATA_UNCOMPRESSED.getBaseUnit())
+			                                              .tags(tag, contentEncoding)
+			                                              .register(REGISTRY));
+			this.compressed = filter(DistributionSummary.builder(HTTP_SERVER_COMPRESSION_DATA_COMPRESSED.getName())
+			                                            .baseUnit(HTTP_SERVER_COMPRESSION_DATA_COMPRESSED.getBaseUnit())
+			                                            .tags(tag, contentEncoding)
+			                                            .register(REGISTRY));
+			this.time = filter(Timer.builder(HTTP_SERVER_COMPRESSION_TIME.getName())
+			                        .tags(tag, contentEncoding)
+			                        .register(REGISTRY));
+		}
+	}
+
+	/**
+	 * The meters of a request that are resolved once for a given URI and method.
+	 * A {@code null} meter is denied by a meter filter.
+	 */
+	static final class RequestMeters {
+
+		final String uri;
+		final String method;
+		final Timer dataReceivedTime;
+		final DistributionSummary dataReceived;
+		final DistributionSummary dataSent;
+		final Counter errors;
+
+		RequestMeters(String uri, String method, @Nullable Timer dataReceivedTime,
+				@Nullable DistributionSummary dataReceived, @Nullable DistributionSummary dataSent,
+				@Nullable Counter errors) {
+			this.uri = uri;
+			this.method = method;
+			this.dataReceivedTime = dataReceivedTime;
+			this.dataReceived = dataReceived;
+			this.dataSent = dataSent;
+			this.errors = errors;
+		}
+
+		boolean matches(String uri, String method) {
+			return this.uri.equals(uri) && this.method.equals(method);
+		}
+
+		void recordDataReceivedTime(long nanos) {
+			if (dataReceivedTime != null) {
+				dataReceivedTime.record(nanos, TimeUnit.NANOSECONDS);
+			}
+		}
+
+		void recordDataReceived(long bytes) {
+			if (dataReceived != null) {
+				dataReceived.record(bytes);
+			}
+		}
+
+		void recordDataSent(long bytes) {
+			if (dataSent != null) {
+				dataSent.record(bytes);
+			}
+		}
+
+		void incrementErrorsCount() {
+			if (errors != null) {
+				errors.increment();
+			}
+		}
+	}
+
+	/**
+	 * The meters of a response that are resolved once for a given URI, method and status.
+	 * A {@code null} meter is denied by a meter filter.
+	 */
+	static final class ResponseMeters {
+
+		final String uri;
+		final String method;
+		final String status;
+		final Timer dataSentTime;
+		final Timer responseTime;
+
+		ResponseMeters(String uri, String method, String status, @Nullable Timer dataSentTime,
+				@Nullable Timer responseTime) {
+			this.uri = uri;
+			this.method = method;
+			this.status = status;
+			this.dataSentTime = dataSentTime;
+			this.responseTime = responseTime;
+		}
+
+		boolean matches(String uri, String method, String status) {
+			return this.uri.equals(uri) && this.method.equals(method) && this.status.equals(status);
+		}
+
+		void recordDataSentTime(long nanos) {
+			if (dataSentTime != null) {
+				dataSentTime.record(nanos, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+
+import static reactor.netty.Metrics.REGISTRY;
+import static reactor.netty.http.server.HttpServerMeters.RESPONSE_CACHE_ENTRIES;
+import static reactor.netty.http.server.HttpServerMeters.RESPONSE_CACHE_EVICTIONS;
+import static reactor.netty.http.server.HttpServerMeters.RESPONSE_CACHE_HITS;
+import static reactor.netty.http.server.HttpServerMeters.RESPONSE_CACHE_MEMORY_USED;
+import static reactor.netty.http.server.HttpServerMeters.RESPONSE_CACHE_MISSES;
+import static reactor.netty.http.server.HttpServerMeters.ResponseCacheTags.NAME;
+
+/**
+ * Registers the meters of a {@link HttpServerResponseCache}, tagged with the name of the cache.
+ *
+ * @since 1.1.0
+ */
+final class MicrometerHttpServerResponseCacheMetrics {
+
+	private MicrometerHttpServerResponseCacheMetrics() {}
+
+	static void registerMetrics(HttpServerResponseCache cache) {
+		Tags tags = Tags.of(NAME.asString(), cache.name());
+		FunctionCounter.builder(RESPONSE_CACHE_HITS.getName(), cache.hits, LongAdder::sum)
+		               .tags(tags)
+		               .register(REGISTRY);
+
+		FunctionCounter.builder(RESPONSE_CACHE_MISSES.getName(), cache.misses, LongAdder::sum)
+		               .tags(tags)
+		               .register(REGISTRY);
+
+		FunctionCounter.builder(RESPONSE_CACHE_EVICTIONS.getName(), cache.evictions, LongAdder::sum)
+		               .tags(tags)
+		               .register(REGISTRY);
+
+		Gauge.builder(RESPONSE_CACHE_ENTRIES.getName(), cache, HttpServerResponseCache::size)
+		     .tags(tags)
+		     .register(REGISTRY);
+
+		Gauge.builder(RESPONSE_CACHE_MEMORY_USED.getName(), cache, HttpServerResponseCache::memoryUsed)
+		     .baseUnit(RESPONSE_CACHE_MEMORY_USED.getBaseUnit())
+		     .tags(tags)
+		     .register(REGISTRY);
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.net.SocketAddress;
+
+import io.netty.channel.AbstractChannel;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelMetadata;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelConfig;
+import io.netty.channel.EventLoop;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * A {@link Channel} that carries one pipelined HTTP/1.1 request which is processed while the responses
+ * to the previous requests are still pending. The request is pushed by the {@link HttpTrafficHandler}
+ * of the connection. The response is buffered in the {@link ChannelOutboundBuffer} of this channel until
+ * the responses to the previous requests have been sent, then it is written to the connection.
+ * The channel is closed once the response has been written to the connection.
+ *
+ * @since 1.1.0
+ */
+final class PipelinedRequestChannel extends AbstractChannel {
+
+	static final ChannelMetadata METADATA = new ChannelMetadata(false);
+
+	final HttpTrafficHandler owner;
+	final ChannelConfig      config;
+
+	boolean open = true;
+
+	/**
+	 * {@code true} when the responses to the previous requests have been sent.
+	 */
+	boolean head;
+
+	/**
+	 * {@code true} when the last content of the response has been written to the connection.
+	 */
+	boolean responseSent;
+
+	PipelinedRequestChannel(Channel parent, HttpTrafficHandler owner, int maxBufferedResponseBytes) {
+		super(parent);
+		this.owner = owner;
+		this.config = new DefaultChannelConfig(this);
+		// the writers are paused when the buffered response exceeds the limit
+		config.setWriteBufferWaterMark(
+				new WriteBufferWaterMark(Math.max(maxBufferedResponseBytes / 2, 1), maxBufferedResponseBytes));
+	}
+
+	@Override
+	public ChannelConfig config() {
+		return config;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public boolean isActive() {
+		return open;
+	}
+
+	@Override
+	public ChannelMetadata metadata() {
+		return METADATA;
+	}
+
+	/**
+	 * Writes the buffered response to the connection and the remaining writes as they come,
+	 * invoked once the responses to the previous requests have been sent.
+	 */
+	void activate() {
+		head = true;
+		if (open) {
+			unsafe().flush();
+		}
+	}
+
+	@Override
+	protected AbstractUnsafe newUnsafe() {
+		return new PipelinedRequestUnsafe();
+	}
+
+	@Override
+	protected boolean isCompatible(EventLoop loop) {
+		return loop == parent().eventLoop();
+	}
+
+	@Override
+	protected SocketAddress localAddress0() {
+		return parent().localAddress();
+	}
+
+	@Override
+	protected SocketAddress remoteAddress0() {
+		return parent().remoteAddress();
+	}
+
+	@Override
+	protected void doBind(SocketAddress localAddress) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected void doDisconnect() {
+		doClose();
+	}
+
+	@Override
+	protected void doClose() {
+		if (open) {
+			open = false;
+			owner.pipelinedRequestClosed(this);
+		}
+	}
+
+	@Override
+	protected void doBeginRead() {
+		// the request is pushed by the HttpTrafficHandler
+	}
+
+	@Override
+	protected void doWrite(ChannelOutboundBuffer in) {
+		if (!head) {
+			// keep the response in the outbound buffer until the previous responses have been sent
+			return;
+		}
+		boolean written = false;
+		Object msg;
+		while ((msg = in.current()) != null) {
+			boolean last = msg instanceof LastHttpContent &&
+					!(msg instanceof HttpResponse && HttpTrafficHandler.isInformational((HttpResponse) msg));
+			if (last) {
+				responseSent = true;
+			}
+			// the outbound buffer releases the message when it is removed
+			ReferenceCountUtil.retain(msg);
+			owner.writePipelined(this, msg);
+			written = true;
+			in.remove();
+			if (last) {
+				break;
+			}
+		}
+		if (written) {
+			owner.ctx.flush();
+		}
+	}
+
+	final class PipelinedRequestUnsafe extends AbstractUnsafe {
+
+		@Override
+		public void connect(SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) {
+			promise.setFailure(new UnsupportedOperationException());
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2018-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,82 @@
 package reactor.netty.http.server;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.compression.BrotliEncoder;
+import io.netty.handler.codec.compression.BrotliOptions;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.DeflateOptions;
+import io.netty.handler.codec.compression.GzipOptions;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.compression.ZstdEncoder;
+import io.netty.handler.codec.compression.ZstdOptions;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpContentCompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.ReferenceCountUtil;
+import reactor.netty.NettyPipeline;
+import reactor.netty.channel.ChannelOperations;
+import reactor.netty.http.server.compression.HttpCompressionOptionsSpec;
+import reactor.util.annotation.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.BiFunction;
+
+import static reactor.netty.ReactorNetty.format;
 
 /**
+ * Compresses the responses with the content coding negotiated with the {@code Accept-Encoding} request header.
+ * When {@link HttpServer#compressOptions} are configured, the content codings and their settings are selected
+ * per response, otherwise the {@link HttpContentCompressor} defaults apply.
+ *
  * @author Stephane Maldini
  */
 final class SimpleCompressionHandler extends HttpContentCompressor {
 
+	final BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+			compressionOptions;
+
+	ChannelHandlerContext ctx;
+
+	// The content coding of the response being compressed
+	String contentEncoding;
+	long uncompressedBytes;
+	long compressedBytes;
+	long compressionTimeNanos;
+
+	SimpleCompressionHandler() {
+		this(null);
+	}
+
+	SimpleCompressionHandler(
+			@Nullable BiFunction<? super HttpServerRequest, ? super HttpServerResponse, ? extends HttpCompressionOptionsSpec>
+					compressionOptions) {
+		this.compressionOptions = compressionOptions;
+	}
+
+	@Override
+	public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+		super.handlerAdded(ctx);
+		this.ctx = ctx;
+	}
+
 	@Override
 	public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
 			throws Exception {
@@ -46,6 +104,100 @@ final class SimpleCompressionHandler extends HttpContentCompressor {
 		}
 	}
 
+	@Override
+	protected void encode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+		int uncompressed = msg instanceof HttpContent ? ((HttpContent) msg).content().readableBytes() : 0;
+		int index = out.size();
+		long start = System.nanoTime();
+		super.encode(ctx, msg, out);
+		if (contentEncoding == null) {
+			return;
+		}
+		compressionTimeNanos += System.nanoTime() - start;
+		uncompressedBytes += uncompressed;
+		for (int i = index; i < out.size(); i++) {
+			Object o = out.get(i);
+			if (o instanceof ByteBufHolder) {
+				compressedBytes += ((ByteBufHolder) o).content().readableBytes();
+			}
+		}
+		if (msg instanceof LastHttpContent) {
+			recordCompression(ctx);
+		}
+	}
+
+	@Override
+	@Nullable
+	protected Result beginEncode(HttpResponse httpResponse, String acceptEncoding) throws Exception {
+		HttpCompressionOptionsSpec options = null;
+		if (compressionOptions != null) {
+			ChannelOperations<?, ?> ops = ChannelOperations.get(requestChannel());
+			if (ops instanceof HttpServerOperations) {
+				options = compressionOptions.apply((HttpServerOperations) ops, (HttpServerOperations) ops);
+			}
+		}
+		Result result = options == null ?
+				super.beginEncode(httpResponse, acceptEncoding) :
+				beginEncode(options, httpResponse, acceptEncoding);
+		contentEncoding = result != null ? result.targetContentEncoding() : null;
+		return result;
+	}
+
+	/**
+	 * Returns the channel of the request whose response is being written. With HTTP/1.1 pipelining,
+	 * the response to a pipelined request is written to the connection by the {@link HttpTrafficHandler}
+	 * on behalf of the {@link PipelinedRequestChannel} that carries the request and its operations.
+	 */
+	Channel requestChannel() {
+		ChannelHandler handler = ctx.pipeline().get(NettyPipeline.HttpTrafficHandler);
+		if (handler instanceof HttpTrafficHandler) {
+			PipelinedRequestChannel writing = ((HttpTrafficHandler) handler).pipelinedRequestWriting;
+			if (writing != null) {
+				return writing;
+			}
+		}
+		return ctx.channel();
+	}
+
+	@Nullable
+	Result beginEncode(HttpCompressionOptionsSpec options, HttpResponse httpResponse, String acceptEncoding) {
+		if (httpResponse.headers().contains(HttpHeaderNames.CONTENT_ENCODING)) {
+			// Content-Encoding was set, either as something specific or as the IDENTITY encoding
+			return null;
+		}
+		String targetContentEncoding = negotiate(options.contentEncodings(), acceptEncoding);
+		if (targetContentEncoding == null) {
+			return null;
+		}
+		CompressionOptions compressionOptions = options.compressionOptions(targetContentEncoding);
+		if (compressionOptions == null) {
+			return null;
+		}
+		return new Result(targetContentEncoding,
+				new EmbeddedChannel(ctx.channel().id(), ctx.channel().metadata().hasDisconnect(),
+						ctx.channel().config(), newEncoder(compressionOptions)));
+	}
+
+	void recordCompression(ChannelHandlerContext ctx) {
+		ChannelHandler handler = ctx.pipeline().get(NettyPipeline.HttpMetricsHandler);
+		if (handler instanceof AbstractHttpServerMetricsHandler) {
+			try {
+				((AbstractHttpServerMetricsHandler) handler).recorder()
+						.recordResponseCompression(contentEncoding, uncompressedBytes, compressedBytes,
+								Duration.ofNanos(compressionTimeNanos));
+			}
+			catch (RuntimeException e) {
+				if (HttpServerOperations.log.isWarnEnabled()) {
+					HttpServerOperations.log.warn(format(ctx.channel(), "Exception caught while recording metrics."), e);
+				}
+			}
+		}
+		contentEncoding = null;
+		uncompressedBytes = 0;
+		compressedBytes = 0;
+		compressionTimeNanos = 0;
+	}
+
 	void decode(ChannelHandlerContext ctx, HttpRequest msg) {
 		List<Object> out = new ArrayList<>();
 		HttpRequest request = msg;
@@ -70,4 +222,78 @@ final class SimpleCompressionHandler extends HttpContentCompressor {
 			out.clear();
 		}
 	}
+
+	/**
+	 * Selects the content coding with the highest q-value in the {@code Accept-Encoding} request header,
+	 * the order of the content codings breaks the ties.
+	 *
+	 * @param contentEncodings the available content codings, in the order of preference
+	 * @param acceptEncoding the {@code Accept-Encoding} request header
+	 * @return the selected content coding, {@code null} if none is acceptable
+	 */
+	@Nullable
+	static String negotiate(List<String> contentEncodings, String acceptEncoding) {
+		float starQ = -1.0f;
+		float[] q = new float[contentEncodings.size()];
+		Arrays.fill(q, -1.0f);
+		for (String token : acceptEncoding.split(",")) {
+			String coding = token;
+			float value = 1.0f;
+			int semicolon = token.indexOf(';');
+			if (semicolon != -1) {
+				coding = token.substring(0, semicolon);
+				int equals = token.indexOf('=', semicolon);
+				try {
+					value = equals != -1 ? Float.parseFloat(token.substring(equals + 1).trim()) : 1.0f;
+				}
+				catch (NumberFormatException e) {
+					// malformed q-value
+					value = 0.0f;
+				}
+			}
+			coding = coding.trim();
+			if ("*".equals(coding)) {
+				starQ = value;
+				continue;
+			}
+			for (int i = 0; i < q.length; i++) {
+				if (contentEncodings.get(i).equalsIgnoreCase(coding)) {
+					q[i] = Math.max(q[i], value);
+					break;
+				}
+			}
+		}
+		String selected = null;
+		float selectedQ = 0.0f;
+		for (int i = 0; i < q.length; i++) {
+			float value = q[i] != -1.0f ? q[i] : starQ;
+			if (value > selectedQ) {
+				selected = contentEncodings.get(i);
+				selectedQ = value;
+			}
+		}
+		return selected;
+	}
+
+	static ChannelHandler newEncoder(CompressionOptions options) {
+		// GzipOptions extends DeflateOptions
+		if (options instanceof GzipOptions) {
+			GzipOptions gzip = (GzipOptions) options;
+			return ZlibCodecFactory.newZlibEncoder(ZlibWrapper.GZIP, gzip.compressionLevel(), gzip.windowBits(),
+					gzip.memLevel());
+		}
+		else if (options instanceof DeflateOptions) {
+			DeflateOptions deflate = (DeflateOptions) options;
+			return ZlibCodecFactory.newZlibEncoder(ZlibWrapper.ZLIB, deflate.compressionLevel(), deflate.windowBits(),
+					deflate.memLevel());
+		}
+		else if (options instanceof BrotliOptions) {
+			return new BrotliEncoder(((BrotliOptions) options).parameters());
+		}
+		else if (options instanceof ZstdOptions) {
+			ZstdOptions zstd = (ZstdOptions) options;
+			return new ZstdEncoder(zstd.compressionLevel(), zstd.blockSize(), zstd.maxEncodeSize());
+		}
+		throw new IllegalArgumentException("Unsupported compression options: " + options);
+	}
 }
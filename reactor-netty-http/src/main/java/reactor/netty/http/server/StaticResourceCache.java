@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.util.AbstractReferenceCounted;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Caches the open {@link FileChannel} and the metadata of the files served by a {@link StaticResourceHandler}.
+ * <p>
+ * The least recently used file is closed when the number of cached files exceeds the limit. The files that
+ * do not exist are cached as well, so that the missing precompressed siblings are not looked up on every request.
+ * A cached file is checked again against the file system once the revalidate interval has elapsed, a modified file
+ * is opened again. A file that is evicted or replaced is closed once the responses that transfer it complete.
+ *
+ * @since 1.1.0
+ */
+final class StaticResourceCache {
+
+	static final Logger log = Loggers.getLogger(StaticResourceCache.class);
+
+	final Map<Path, CachedFile> files;
+	final long revalidateIntervalNanos;
+	final Function<? super Path, ? extends String> contentType;
+
+	StaticResourceCache(int maxCachedFiles, long revalidateIntervalNanos,
+			Function<? super Path, ? extends String> contentType) {
+		this.files = new LinkedHashMap<Path, CachedFile>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Path, CachedFile> eldest) {
+				if (size() > maxCachedFiles) {
+					eldest.getValue().release();
+					return true;
+				}
+				return false;
+			}
+		};
+		this.revalidateIntervalNanos = revalidateIntervalNanos;
+		this.contentType = contentType;
+	}
+
+	/**
+	 * Returns the cached file, opening it if needed. The returned file is retained and must be released
+	 * once the response completes.
+	 *
+	 * @param path the path of the file
+	 * @param original the file that is precompressed, {@code null} if {@code path} is not a precompressed sibling
+	 * @param contentEncoding the content coding of the precompressed sibling, {@code null} if {@code path} is not
+	 * a precompressed sibling
+	 * @return the retained file, {@code null} if the file does not exist or is not a regular file
+	 * @throws IOException if the file cannot be opened
+	 */
+	@Nullable
+	CachedFile get(Path path, @Nullable CachedFile original, @Nullable String contentEncoding) throws IOException {
+		long now = System.nanoTime();
+		CachedFile cached;
+		synchronized (this) {
+			cached = files.get(path);
+			if (cached != null && now - cached.validatedNanos < revalidateIntervalNanos) {
+				return cached.channel != null ? cached.retain() : null;
+			}
+		}
+
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(path, BasicFileAttributes.class);
+		}
+		catch (NoSuchFileException | NotDirectoryException e) {
+			attributes = null;
+		}
+
+		if (attributes == null || !attributes.isRegularFile()) {
+			put(path, new CachedFile(path, now));
+			return null;
+		}
+
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		if (cached != null && cached.channel != null &&
+				cached.size == attributes.size() && cached.lastModified == lastModified) {
+			synchronized (this) {
+				// still cached, hence not released
+				if (files.get(path) == cached) {
+					cached.validatedNanos = now;
+					return cached.retain();
+				}
+			}
+		}
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		String type = original != null ? original.contentType : contentType.apply(path);
+		CachedFile file = new CachedFile(path, channel, attributes.size(), lastModified, type, contentEncoding, now);
+		if (log.isDebugEnabled()) {
+			log.debug("Opened static resource {}, size: {}", path, file.size);
+		}
+		return put(path, file).retain();
+	}
+
+	synchronized CachedFile put(Path path, CachedFile file) {
+		CachedFile previous = files.put(path, file);
+		if (previous != null) {
+			previous.release();
+		}
+		return file;
+	}
+
+	/**
+	 * An open file and its metadata. The file is closed when it is no longer cached and all the
+	 * responses that transfer it complete.
+	 */
+	static final class CachedFile extends AbstractReferenceCounted {
+
+		final Path path;
+
+		/**
+		 * The open file, {@code null} when the file does not exist.
+		 */
+		final FileChannel channel;
+		final long size;
+		final long lastModified;
+		final String etag;
+		final String lastModifiedHeader;
+		final String contentType;
+		final String contentEncoding;
+		final boolean defaultFileSystem;
+
+		volatile long validatedNanos;
+
+		CachedFile(Path path, long validatedNanos) {
+			this(path, null, 0, 0, null, null, validatedNanos);
+		}
+
+		CachedFile(Path path, @Nullable FileChannel channel, long size, long lastModified,
+				@Nullable String contentType, @Nullable String contentEncoding, long validatedNanos) {
+			this.path = path;
+			this.channel = channel;
+			this.size = size;
+			this.lastModified = lastModified;
+			this.contentType = contentType;
+			this.contentEncoding = contentEncoding;
+			this.defaultFileSystem = "file".equals(path.toUri().getScheme());
+			this.validatedNanos = validatedNanos;
+			if (channel != null) {
+				StringBuilder etag = new StringBuilder(32)
+						.append('"')
+						.append(Long.toHexString(lastModified))
+						.append('-')
+						.append(Long.toHexString(size));
+				if (contentEncoding != null) {
+					etag.append('-').append(contentEncoding);
+				}
+				this.etag = etag.append('"').toString();
+				this.lastModifiedHeader = DateFormatter.format(new Date(lastModified));
+			}
+			else {
+				this.etag = null;
+				this.lastModifiedHeader = null;
+			}
+		}
+
+		@Override
+		public CachedFile retain() {
+			super.retain();
+			return this;
+		}
+
+		@Override
+		public CachedFile touch(Object hint) {
+			return this;
+		}
+
+		@Override
+		protected void deallocate() {
+			if (channel != null) {
+				try {
+					channel.close();
+				}
+				catch (Throwable e) {
+					if (log.isTraceEnabled()) {
+						log.trace("", e);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns a zero-copy transfer of a range of the file, the file is retained until the transfer completes.
+		 */
+		DefaultFileRegion region(long position, long count) {
+			return new CachedFileRegion(this, position, count);
+		}
+
+		/**
+		 * Returns a chunked transfer of a range of the file, the file is retained until the transfer completes.
+		 */
+		ChunkedNioFile chunked(long position, long count, int chunkSize) throws IOException {
+			return new CachedChunkedFile(this, position, count, chunkSize);
+		}
+	}
+
+	/**
+	 * A {@link DefaultFileRegion} that releases the shared {@link CachedFile} instead of closing its channel.
+	 */
+	static final class CachedFileRegion extends DefaultFileRegion {
+
+		final CachedFile file;
+
+		CachedFileRegion(CachedFile file, long position, long count) {
+			super(file.channel, position, count);
+			this.file = file.retain();
+		}
+
+		@Override
+		protected void deallocate() {
+			file.release();
+		}
+	}
+
+	/**
+	 * A {@link ChunkedNioFile} that releases the shared {@link CachedFile} instead of closing its channel.
+	 * The chunks are read with positional reads, so that the channel can be shared.
+	 */
+	static final class CachedChunkedFile extends ChunkedNioFile {
+
+		final CachedFile file;
+
+		boolean closed;
+
+		CachedChunkedFile(CachedFile file, long position, long count, int chunkSize) throws IOException {
+			super(file.channel, position, count, chunkSize);
+			this.file = file.retain();
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				file.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.nio.NioEventLoop;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import org.reactivestreams.Publisher;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.NettyPipeline;
+import reactor.netty.http.server.StaticResourceCache.CachedFile;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Serves the files of a directory, see {@link HttpServerRoutes#resources(String, Path, java.util.function.Function)}.
+ * <p>
+ * The open files and their metadata are cached by a {@link StaticResourceCache}. The {@code .br} and {@code .gz}
+ * siblings of a file are served when the client accepts them, {@code Range}, {@code If-Range},
+ * {@code If-None-Match} and {@code If-Modified-Since} are supported. The files are transferred with
+ * {@link io.netty.channel.DefaultFileRegion} when the connection allows zero-copy, i.e. without TLS, without
+ * response compression and not on an HTTP/2 stream, otherwise they are transferred in chunks.
+ *
+ * @since 1.1.0
+ */
+final class StaticResourceHandler implements BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> {
+
+	static final int CHUNK_SIZE = 8192;
+
+	static final String BYTES_UNIT = "bytes=";
+
+	static final long[] UNSATISFIABLE = new long[0];
+
+	/**
+	 * The precompressed content codings, in the order of preference, and the extensions of the siblings.
+	 */
+	static final List<String> PRECOMPRESSED_ENCODINGS = Collections.unmodifiableList(Arrays.asList("br", "gzip"));
+	static final List<String> PRECOMPRESSED_EXTENSIONS = Collections.unmodifiableList(Arrays.asList(".br", ".gz"));
+
+	final String prefix;
+	final Path directory;
+	final boolean precompressed;
+	final StaticResourceCache cache;
+
+	StaticResourceHandler(String prefix, Path directory, StaticResourceSpec spec) {
+		this.prefix = prefix.startsWith("/") ? prefix : "/".concat(prefix);
+		this.directory = directory.toAbsolutePath().normalize();
+		this.precompressed = spec.precompressed;
+		this.cache = new StaticResourceCache(spec.maxCachedFiles, spec.revalidateInterval.toNanos(), spec.contentType);
+	}
+
+	@Override
+	public Publisher<Void> apply(HttpServerRequest request, HttpServerResponse response) {
+		String path;
+		try {
+			path = URI.create(request.uri()).getPath();
+		}
+		catch (IllegalArgumentException e) {
+			return response.status(HttpResponseStatus.BAD_REQUEST).send();
+		}
+		Path file = resolve(path);
+		if (file == null) {
+			return response.sendNotFound();
+		}
+		return Mono.defer(() -> {
+			CachedFile resource;
+			try {
+				resource = lookup(file, request.requestHeaders().get(HttpHeaderNames.ACCEPT_ENCODING));
+			}
+			catch (IOException e) {
+				if (HttpServerOperations.log.isDebugEnabled()) {
+					HttpServerOperations.log.debug("Static resource " + file + " cannot be opened", e);
+				}
+				return response.sendNotFound();
+			}
+			if (resource == null) {
+				return response.sendNotFound();
+			}
+			try {
+				return Mono.from(send(request, response, resource))
+				           .doFinally(s -> resource.release());
+			}
+			catch (Throwable t) {
+				resource.release();
+				throw Exceptions.propagate(t);
+			}
+		});
+	}
+
+	/**
+	 * Resolves the path of the request against the directory, {@code null} if it is outside the directory.
+	 */
+	@Nullable
+	Path resolve(@Nullable String path) {
+		if (path == null || !path.startsWith(prefix)) {
+			return null;
+		}
+		int start = prefix.length();
+		while (start < path.length() && path.charAt(start) == '/') {
+			start++;
+		}
+		Path file = directory.resolve(path.substring(start)).normalize();
+		return file.startsWith(directory) ? file : null;
+	}
+
+	/**
+	 * Returns the retained file to serve, the negotiated precompressed sibling when there is one.
+	 */
+	@Nullable
+	CachedFile lookup(Path file, @Nullable String acceptEncoding) throws IOException {
+		CachedFile original = cache.get(file, null, null);
+		if (original == null || !precompressed || acceptEncoding == null) {
+			return original;
+		}
+		try {
+			List<String> encodings = PRECOMPRESSED_ENCODINGS;
+			String encoding;
+			while ((encoding = SimpleCompressionHandler.negotiate(encodings, acceptEncoding)) != null) {
+				String extension = PRECOMPRESSED_EXTENSIONS.get(PRECOMPRESSED_ENCODINGS.indexOf(encoding));
+				CachedFile sibling = cache.get(file.resolveSibling(file.getFileName() + extension), original, encoding);
+				if (sibling != null) {
+					original.release();
+					return sibling;
+				}
+				if (encodings == PRECOMPRESSED_ENCODINGS) {
+					encodings = new ArrayList<>(PRECOMPRESSED_ENCODINGS);
+				}
+				encodings.remove(encoding);
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			original.release();
+			throw e;
+		}
+		return original;
+	}
+
+	Publisher<Void> send(HttpServerRequest request, HttpServerResponse response, CachedFile resource) {
+		HttpHeaders requestHeaders = request.requestHeaders();
+		HttpHeaders headers = response.responseHeaders();
+		headers.set(HttpHeaderNames.ETAG, resource.etag)
+		       .set(HttpHeaderNames.LAST_MODIFIED, resource.lastModifiedHeader);
+		if (precompressed) {
+			headers.set(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+		}
+		if (resource.contentType != null && !headers.contains(HttpHeaderNames.CONTENT_TYPE)) {
+			headers.set(HttpHeaderNames.CONTENT_TYPE, resource.contentType);
+		}
+
+		if (notModified(requestHeaders, resource)) {
+			return response.status(HttpResponseStatus.NOT_MODIFIED).send();
+		}
+
+		if (resource.contentEncoding != null) {
+			headers.set(HttpHeaderNames.CONTENT_ENCODING, resource.contentEncoding);
+		}
+
+		long position = 0;
+		long count = resource.size;
+		// a range of the identity content cannot be compressed on the fly
+		boolean ranges = resource.contentEncoding != null ||
+				!requestHeaders.contains(HttpHeaderNames.ACCEPT_ENCODING) ||
+				!mayCompress(response);
+		if (ranges) {
+			headers.set(HttpHeaderNames.ACCEPT_RANGES, HttpHeaderValues.BYTES);
+			String range = requestHeaders.get(HttpHeaderNames.RANGE);
+			if (range != null && ifRange(requestHeaders.get(HttpHeaderNames.IF_RANGE), resource)) {
+				long[] bounds = range(range, resource.size);
+				if (bounds == UNSATISFIABLE) {
+					headers.set(HttpHeaderNames.CONTENT_RANGE, "bytes */" + resource.size);
+					return response.status(HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE).send();
+				}
+				if (bounds != null) {
+					position = bounds[0];
+					count = bounds[1] - bounds[0] + 1;
+					headers.set(HttpHeaderNames.CONTENT_RANGE,
+							"bytes " + bounds[0] + '-' + bounds[1] + '/' + resource.size);
+					response.status(HttpResponseStatus.PARTIAL_CONTENT);
+				}
+			}
+		}
+
+		headers.remove(HttpHeaderNames.TRANSFER_ENCODING)
+		       .set(HttpHeaderNames.CONTENT_LENGTH, count);
+		if (count == 0 || HttpMethod.HEAD.equals(request.method())) {
+			return response.send();
+		}
+
+		long transferPosition = position;
+		long transferCount = count;
+		return response.sendUsing(() -> resource, (c, r) -> transfer(c, r, transferPosition, transferCount), r -> {})
+		               .then();
+	}
+
+	static Object transfer(Connection connection, CachedFile resource, long position, long count) {
+		Channel channel = connection.channel();
+		if (!mustChunk(channel, resource)) {
+			return resource.region(position, count);
+		}
+		if (channel.pipeline().get(ChunkedWriteHandler.class) == null) {
+			connection.addHandlerLast(NettyPipeline.ChunkedWriter, new ChunkedWriteHandler());
+		}
+		try {
+			return resource.chunked(position, count, CHUNK_SIZE);
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+
+	static boolean mustChunk(Channel channel, CachedFile resource) {
+		if (channel instanceof Http2StreamChannel) {
+			return true;
+		}
+		if (hasHandler(channel, SslHandler.class, NettyPipeline.CompressionHandler)) {
+			return true;
+		}
+		// the native transports can transfer only the files of the default file system
+		return !(channel.eventLoop() instanceof NioEventLoop) && !resource.defaultFileSystem;
+	}
+
+	static boolean mayCompress(HttpServerResponse response) {
+		if (!(response instanceof HttpServerOperations)) {
+			return true;
+		}
+		HttpServerOperations ops = (HttpServerOperations) response;
+		return ops.compressionPredicate != null ||
+				hasHandler(ops.channel(), null, NettyPipeline.CompressionHandler);
+	}
+
+	/**
+	 * Checks the pipeline of the channel and, for a pipelined request, the pipeline of the connection.
+	 */
+	static boolean hasHandler(Channel channel, @Nullable Class<? extends ChannelHandler> type, String name) {
+		for (Channel c = channel; c != null; c = c instanceof PipelinedRequestChannel ? c.parent() : null) {
+			if ((type != null && c.pipeline().get(type) != null) || c.pipeline().get(name) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	static boolean notModified(HttpHeaders requestHeaders, CachedFile resource) {
+		String ifNoneMatch = requestHeaders.get(HttpHeaderNames.IF_NONE_MATCH);
+		if (ifNoneMatch != null) {
+			return matches(ifNoneMatch, resource.etag);
+		}
+		String ifModifiedSince = requestHeaders.get(HttpHeaderNames.IF_MODIFIED_SINCE);
+		if (ifModifiedSince != null) {
+			Date date = DateFormatter.parseHttpDate(ifModifiedSince);
+			return date != null && resource.lastModified / 1000 <= date.getTime() / 1000;
+		}
+		return false;
+	}
+
+	/**
+	 * Weak comparison of the entity tags of {@code If-None-Match} with the entity tag of the file.
+	 */
+	static boolean matches(String ifNoneMatch, String etag) {
+		int start = 0;
+		int length = ifNoneMatch.length();
+		while (start < length) {
+			int end = ifNoneMatch.indexOf(',', start);
+			if (end == -1) {
+				end = length;
+			}
+			String tag = ifNoneMatch.substring(start, end).trim();
+			if ("*".equals(tag)) {
+				return true;
+			}
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals(etag)) {
+				return true;
+			}
+			start = end + 1;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns {@code true} if the {@code Range} applies, i.e. there is no {@code If-Range} or it matches,
+	 * using the strong comparison, the entity tag or the last modified time of the file.
+	 */
+	static boolean ifRange(@Nullable String ifRange, CachedFile resource) {
+		if (ifRange == null) {
+			return true;
+		}
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+			return ifRange.equals(resource.etag);
+		}
+		Date date = DateFormatter.parseHttpDate(ifRange);
+		return date != null && date.getTime() / 1000 == resource.lastModified / 1000;
+	}
+
+	/**
+	 * Parses a single byte range. Multiple ranges and malformed ranges are ignored, the whole file is served.
+	 *
+	 * @return the first and the last position of the range, {@code null} if the range is ignored,
+	 * {@link #UNSATISFIABLE} if the range cannot be satisfied
+	 */
+	@Nullable
+	static long[] range(String range, long size) {
+		if (!range.startsWith(BYTES_UNIT) || range.indexOf(',') != -1) {
+			return null;
+		}
+		int dash = range.indexOf('-', BYTES_UNIT.length());
+		if (dash == -1) {
+			return null;
+		}
+		String first = range.substring(BYTES_UNIT.length(), dash).trim();
+		String last = range.substring(dash + 1).trim();
+		try {
+			if (first.isEmpty()) {
+				// suffix range, the last bytes of the file
+				long suffix = Long.parseLong(last);
+				if (suffix < 0) {
+					return null;
+				}
+				if (suffix == 0 || size == 0) {
+					return UNSATISFIABLE;
+				}
+				return new long[] {Math.max(size - suffix, 0), size - 1};
+			}
+			long start = Long.parseLong(first);
+			long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+			if (start < 0 || end < start) {
+				return null;
+			}
+			if (start >= size) {
+				return UNSATISFIABLE;
+			}
+			return new long[] {start, Math.min(end, size - 1)};
+		}
+		catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
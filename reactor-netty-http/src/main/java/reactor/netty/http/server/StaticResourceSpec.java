@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A configuration builder to fine tune the static resources served with
+ * {@link HttpServerRoutes#resources(String, Path, Function)}.
+ * <p>
+ * Defaults are accessible as constants
+ * <table>
+ *     <tr><td>{@link #DEFAULT_MAX_CACHED_FILES}</td><td>1024</td></tr>
+ *     <tr><td>{@link #DEFAULT_REVALIDATE_INTERVAL}</td><td>1s</td></tr>
+ *     <tr><td>{@link #DEFAULT_PRECOMPRESSED}</td><td>true</td></tr>
+ * </table>
+ *
+ * @since 1.1.0
+ */
+public final class StaticResourceSpec {
+
+	/**
+	 * Default maximum number of files whose descriptor and metadata are cached.
+	 */
+	public static final int DEFAULT_MAX_CACHED_FILES = 1024;
+
+	/**
+	 * Default interval after which the metadata of a cached file is checked again against the file system.
+	 */
+	public static final Duration DEFAULT_REVALIDATE_INTERVAL = Duration.ofSeconds(1);
+
+	/**
+	 * Default for serving the {@code .br} and {@code .gz} siblings of the files.
+	 */
+	public static final boolean DEFAULT_PRECOMPRESSED = true;
+
+	int maxCachedFiles = DEFAULT_MAX_CACHED_FILES;
+	Duration revalidateInterval = DEFAULT_REVALIDATE_INTERVAL;
+	boolean precompressed = DEFAULT_PRECOMPRESSED;
+	Function<? super Path, ? extends String> contentType = StaticResourceSpec::probeContentType;
+
+	StaticResourceSpec() {
+	}
+
+	/**
+	 * Configures the maximum number of files whose open descriptor and metadata are cached.
+	 * The least recently used file is closed when the limit is exceeded.
+	 * Default to {@link #DEFAULT_MAX_CACHED_FILES}.
+	 *
+	 * @param maxCachedFiles the maximum number of cached files
+	 * @return {@code this}
+	 */
+	public StaticResourceSpec maxCachedFiles(int maxCachedFiles) {
+		if (maxCachedFiles <= 0) {
+			throw new IllegalArgumentException("maxCachedFiles must be positive");
+		}
+		this.maxCachedFiles = maxCachedFiles;
+		return this;
+	}
+
+	/**
+	 * Configures the interval after which the size and the last modified time of a cached file
+	 * are checked again against the file system. Within that interval, a modified file is served
+	 * with its previous content. {@link Duration#ZERO} checks the metadata on every request.
+	 * Default to {@link #DEFAULT_REVALIDATE_INTERVAL}.
+	 *
+	 * @param revalidateInterval the interval after which the metadata of a cached file is checked again
+	 * @return {@code this}
+	 */
+	public StaticResourceSpec revalidateInterval(Duration revalidateInterval) {
+		Objects.requireNonNull(revalidateInterval, "revalidateInterval");
+		if (revalidateInterval.isNegative()) {
+			throw new IllegalArgumentException("revalidateInterval must be positive or zero");
+		}
+		this.revalidateInterval = revalidateInterval;
+		return this;
+	}
+
+	/**
+	 * Configures whether the {@code .br} and {@code .gz} siblings of a file are served, with
+	 * the corresponding {@code Content-Encoding}, when the client accepts them.
+	 * Default to {@link #DEFAULT_PRECOMPRESSED}.
+	 *
+	 * @param precompressed {@code true} to serve the precompressed siblings of the files
+	 * @return {@code this}
+	 */
+	public StaticResourceSpec precompressed(boolean precompressed) {
+		this.precompressed = precompressed;
+		return this;
+	}
+
+	/**
+	 * Configures the function that resolves the {@code Content-Type} of a file, the result is cached
+	 * with the file. When the function returns {@code null}, no {@code Content-Type} is set.
+	 * By default, the content type is resolved with {@link Files#probeContentType(Path)}.
+	 *
+	 * @param contentType the function that resolves the {@code Content-Type} of a file
+	 * @return {@code this}
+	 */
+	public StaticResourceSpec contentType(Function<? super Path, ? extends String> contentType) {
+		this.contentType = Objects.requireNonNull(contentType, "contentType");
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of cached files.
+	 *
+	 * @return the maximum number of cached files
+	 */
+	public int maxCachedFiles() {
+		return maxCachedFiles;
+	}
+
+	/**
+	 * Returns the interval after which the metadata of a cached file is checked again.
+	 *
+	 * @return the interval after which the metadata of a cached file is checked again
+	 */
+	public Duration revalidateInterval() {
+		return revalidateInterval;
+	}
+
+	/**
+	 * Returns whether the precompressed siblings of the files are served.
+	 *
+	 * @return whether the precompressed siblings of the files are served
+	 */
+	public boolean precompressed() {
+		return precompressed;
+	}
+
+	@Nullable
+	static String probeContentType(Path path) {
+		try {
+			return Files.probeContentType(path);
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+}
@@ -42,6 +42,7 @@ import reactor.netty.FutureMono;
 import reactor.netty.NettyOutbound;
 import reactor.netty.NettyPipeline;
 import reactor.netty.ReactorNetty;
+import reactor.netty.channel.FlushPolicy;
 import reactor.netty.http.HttpOperations;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
@@ -135,6 +136,11 @@ final class WebsocketServerOperations extends HttpServerOperations
 		return sendObject(Flux.from(dataStream).map(bytebufToWebsocketFrame));
 	}
 
+	@Override
+	public NettyOutbound send(Publisher<? extends ByteBuf> dataStream, FlushPolicy flushPolicy) {
+		return sendObject(Flux.from(dataStream).map(bytebufToWebsocketFrame), flushPolicy);
+	}
+
 	@Override
 	public HttpHeaders headers() {
 		return requestHeaders();
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server.compression;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+
+/**
+ * The {@code br} content coding (RFC 7932) settings.
+ * <p><strong>Note:</strong> The {@code com.aayushatharva.brotli4j:brotli4j} library and its native library
+ * for the platform must be available, otherwise this content coding is not negotiated.
+ *
+ * @since 1.1.0
+ */
+public final class BrotliOption implements HttpCompressionOption {
+
+	/**
+	 * Creates a builder with the default settings:<br>
+	 * quality = 4
+	 * <br>
+	 * window = 22
+	 *
+	 * @return {@link BrotliOption.Builder}
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	final int quality;
+	final int window;
+
+	BrotliOption(Builder builder) {
+		this.quality = builder.quality;
+		this.window = builder.window;
+	}
+
+	@Override
+	public String contentEncoding() {
+		return "br";
+	}
+
+	/**
+	 * Returns the compression quality.
+	 *
+	 * @return the compression quality
+	 */
+	public int quality() {
+		return quality;
+	}
+
+	/**
+	 * Returns the base two logarithm of the size of the sliding window.
+	 *
+	 * @return the base two logarithm of the size of the sliding window
+	 */
+	public int window() {
+		return window;
+	}
+
+	CompressionOptions adapt() {
+		return StandardCompressionOptions.brotli(new Encoder.Parameters().setQuality(quality).setWindow(window));
+	}
+
+	public static final class Builder {
+
+		int quality = 4;
+		int window = 22;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the compression quality, {@code 0} yields the fastest compression and {@code 11} yields
+		 * the best compression. Default to {@code 4}.
+		 *
+		 * @param quality the compression quality, between {@code 0} and {@code 11}
+		 * @return {@code this}
+		 */
+		public Builder quality(int quality) {
+			if (quality < 0 || quality > 11) {
+				throw new IllegalArgumentException("quality: " + quality + " (expected: 0-11)");
+			}
+			this.quality = quality;
+			return this;
+		}
+
+		/**
+		 * Sets the base two logarithm of the size of the sliding window, a larger value results in a better
+		 * compression at the expense of memory usage. Default to {@code 22}.
+		 *
+		 * @param window the base two logarithm of the size of the sliding window, between {@code 10} and {@code 24}
+		 * @return {@code this}
+		 */
+		public Builder window(int window) {
+			if (window < 10 || window > 24) {
+				throw new IllegalArgumentException("window: " + window + " (expected: 10-24)");
+			}
+			this.window = window;
+			return this;
+		}
+
+		/**
+		 * Builds new {@link BrotliOption}
+		 *
+		 * @return builds new {@link BrotliOption}
+		 */
+		public BrotliOption build() {
+			return new BrotliOption(this);
+		}
+	}
+}
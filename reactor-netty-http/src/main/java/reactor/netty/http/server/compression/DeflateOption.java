@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server.compression;
+
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+
+/**
+ * The {@code deflate} content coding (RFC 1950) settings.
+ *
+ * @since 1.1.0
+ */
+public final class DeflateOption implements HttpCompressionOption {
+
+	/**
+	 * Creates a builder with the default settings:<br>
+	 * compressionLevel = 6
+	 * <br>
+	 * windowBits = 15
+	 * <br>
+	 * memoryLevel = 8
+	 *
+	 * @return {@link DeflateOption.Builder}
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	final int compressionLevel;
+	final int windowBits;
+	final int memoryLevel;
+
+	DeflateOption(Builder builder) {
+		this.compressionLevel = builder.compressionLevel;
+		this.windowBits = builder.windowBits;
+		this.memoryLevel = builder.memoryLevel;
+	}
+
+	/**
+	 * Returns the compression level.
+	 *
+	 * @return the compression level
+	 */
+	public int compressionLevel() {
+		return compressionLevel;
+	}
+
+	@Override
+	public String contentEncoding() {
+		return "deflate";
+	}
+
+	/**
+	 * Returns the base two logarithm of the size of the history buffer.
+	 *
+	 * @return the base two logarithm of the size of the history buffer
+	 */
+	public int windowBits() {
+		return windowBits;
+	}
+
+	/**
+	 * Returns how much memory is allocated for the internal compression state.
+	 *
+	 * @return how much memory is allocated for the internal compression state
+	 */
+	public int memoryLevel() {
+		return memoryLevel;
+	}
+
+	CompressionOptions adapt() {
+		return StandardCompressionOptions.deflate(compressionLevel, windowBits, memoryLevel);
+	}
+
+	public static final class Builder {
+
+		int compressionLevel = 6;
+		int windowBits = 15;
+		int memoryLevel = 8;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the compression level, {@code 1} yields the fastest compression and {@code 9} yields the best
+		 * compression, {@code 0} means no compression. Default to {@code 6}.
+		 *
+		 * @param compressionLevel the compression level, between {@code 0} and {@code 9}
+		 * @return {@code this}
+		 */
+		public Builder compressionLevel(int compressionLevel) {
+			if (compressionLevel < 0 || compressionLevel > 9) {
+				throw new IllegalArgumentException("compressionLevel: " + compressionLevel + " (expected: 0-9)");
+			}
+			this.compressionLevel = compressionLevel;
+			return this;
+		}
+
+		/**
+		 * Sets the base two logarithm of the size of the history buffer, a larger value results in a better
+		 * compression at the expense of memory usage. Default to {@code 15}.
+		 *
+		 * @param windowBits the base two logarithm of the size of the history buffer, between {@code 9} and {@code 15}
+		 * @return {@code this}
+		 */
+		public Builder windowBits(int windowBits) {
+			if (windowBits < 9 || windowBits > 15) {
+				throw new IllegalArgumentException("windowBits: " + windowBits + " (expected: 9-15)");
+			}
+			this.windowBits = windowBits;
+			return this;
+		}
+
+		/**
+		 * Sets how much memory is allocated for the internal compression state, {@code 1} uses the minimum memory and
+		 * {@code 9} uses the maximum memory. Default to {@code 8}.
+		 *
+		 * @param memoryLevel how much memory is allocated for the internal compression state, between {@code 1} and {@code 9}
+		 * @return {@code this}
+		 */
+		public Builder memoryLevel(int memoryLevel) {
+			if (memoryLevel < 1 || memoryLevel > 9) {
+				throw new IllegalArgumentException("memoryLevel: " + memoryLevel + " (expected: 1-9)");
+			}
+			this.memoryLevel = memoryLevel;
+			return this;
+		}
+
+		/**
+		 * Builds new {@link DeflateOption}
+		 *
+		 * @return builds new {@link DeflateOption}
+		 */
+		public DeflateOption build() {
+			return new DeflateOption(this);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server.compression;
+
+/**
+ * A content coding that can be negotiated for the responses, together with its settings.
+ *
+ * @see GzipOption
+ * @see DeflateOption
+ * @see BrotliOption
+ * @see ZstdOption
+ * @see HttpCompressionOptionsSpec
+ * @since 1.1.0
+ */
+public interface HttpCompressionOption {
+
+	/**
+	 * Returns the content coding, as used in the {@code Accept-Encoding} and {@code Content-Encoding} headers.
+	 *
+	 * @return the content coding
+	 */
+	String contentEncoding();
+}
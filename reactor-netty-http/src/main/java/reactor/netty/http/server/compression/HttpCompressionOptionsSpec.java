@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server.compression;
+
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.Zstd;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The content codings that can be negotiated for the responses, in the order of preference of the server,
+ * together with their settings.
+ * <p>
+ * The content coding is selected based on the {@code Accept-Encoding} request header, the coding with the highest
+ * q-value wins, when several codings have the same q-value the first one in the order of preference wins.
+ * The content codings that require a library which is not available are ignored.
+ *
+ * @since 1.1.0
+ */
+public final class HttpCompressionOptionsSpec {
+
+	static final Logger log = Loggers.getLogger(HttpCompressionOptionsSpec.class);
+
+	/**
+	 * Creates the content codings, in the order of preference of the server.
+	 *
+	 * @param options the content codings, in the order of preference of the server
+	 * @return a new {@link HttpCompressionOptionsSpec}
+	 * @throws IllegalArgumentException if a content coding is configured more than once
+	 */
+	public static HttpCompressionOptionsSpec of(HttpCompressionOption... options) {
+		Objects.requireNonNull(options, "options");
+		return new HttpCompressionOptionsSpec(options);
+	}
+
+	final List<String> contentEncodings;
+	final Map<String, CompressionOptions> compressionOptions;
+
+	HttpCompressionOptionsSpec(HttpCompressionOption[] options) {
+		List<String> contentEncodings = new ArrayList<>(options.length);
+		Map<String, CompressionOptions> compressionOptions = new HashMap<>();
+		for (HttpCompressionOption option : options) {
+			Objects.requireNonNull(option, "option");
+			String contentEncoding = option.contentEncoding();
+			if (contentEncodings.contains(contentEncoding)) {
+				throw new IllegalArgumentException("Content coding " + contentEncoding + " is configured more than once");
+			}
+			CompressionOptions adapted = adapt(option);
+			if (adapted != null) {
+				contentEncodings.add(contentEncoding);
+				compressionOptions.put(contentEncoding, adapted);
+			}
+		}
+		this.contentEncodings = Collections.unmodifiableList(contentEncodings);
+		this.compressionOptions = compressionOptions;
+	}
+
+	/**
+	 * Returns the settings of the content coding, {@code null} if the content coding is not configured.
+	 *
+	 * @param contentEncoding the content coding
+	 * @return the settings of the content coding, {@code null} if the content coding is not configured
+	 */
+	@Nullable
+	public CompressionOptions compressionOptions(String contentEncoding) {
+		return compressionOptions.get(contentEncoding);
+	}
+
+	/**
+	 * Returns the available content codings, in the order of preference of the server.
+	 *
+	 * @return the available content codings, in the order of preference of the server
+	 */
+	public List<String> contentEncodings() {
+		return contentEncodings;
+	}
+
+	@Nullable
+	static CompressionOptions adapt(HttpCompressionOption option) {
+		if (option instanceof GzipOption) {
+			return ((GzipOption) option).adapt();
+		}
+		else if (option instanceof DeflateOption) {
+			return ((DeflateOption) option).adapt();
+		}
+		else if (option instanceof BrotliOption) {
+			if (!Brotli.isAvailable()) {
+				if (log.isDebugEnabled()) {
+					log.debug("Brotli is not available, the br content coding is ignored", Brotli.cause());
+				}
+				return null;
+			}
+			return ((BrotliOption) option).adapt();
+		}
+		else if (option instanceof ZstdOption) {
+			if (!Zstd.isAvailable()) {
+				if (log.isDebugEnabled()) {
+					log.debug("Zstd is not available, the zstd content coding is ignored", Zstd.cause());
+				}
+				return null;
+			}
+			return ((ZstdOption) option).adapt();
+		}
+		throw new IllegalArgumentException("Unsupported content coding: " + option.contentEncoding());
+	}
+}
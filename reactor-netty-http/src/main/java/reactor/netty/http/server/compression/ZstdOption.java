@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server.compression;
+
+import io.netty.handler.codec.compression.CompressionOptions;
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+
+/**
+ * The {@code zstd} content coding (RFC 8878) settings.
+ * <p><strong>Note:</strong> The {@code com.github.luben:zstd-jni} library must be available,
+ * otherwise this content coding is not negotiated.
+ *
+ * @since 1.1.0
+ */
+public final class ZstdOption implements HttpCompressionOption {
+
+	/**
+	 * Creates a builder with the default settings:<br>
+	 * compressionLevel = 3
+	 * <br>
+	 * blockSize = 65536
+	 * <br>
+	 * maxEncodeSize = 33554432
+	 *
+	 * @return {@link ZstdOption.Builder}
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	final int blockSize;
+	final int compressionLevel;
+	final int maxEncodeSize;
+
+	ZstdOption(Builder builder) {
+		this.blockSize = builder.blockSize;
+		this.compressionLevel = builder.compressionLevel;
+		this.maxEncodeSize = builder.maxEncodeSize;
+	}
+
+	/**
+	 * Returns the number of bytes that are compressed at once.
+	 *
+	 * @return the number of bytes that are compressed at once
+	 */
+	public int blockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * Returns the compression level.
+	 *
+	 * @return the compression level
+	 */
+	public int compressionLevel() {
+		return compressionLevel;
+	}
+
+	@Override
+	public String contentEncoding() {
+		return "zstd";
+	}
+
+	/**
+	 * Returns the maximum number of bytes of a single write that can be compressed.
+	 *
+	 * @return the maximum number of bytes of a single write that can be compressed
+	 */
+	public int maxEncodeSize() {
+		return maxEncodeSize;
+	}
+
+	CompressionOptions adapt() {
+		return StandardCompressionOptions.zstd(compressionLevel, blockSize, maxEncodeSize);
+	}
+
+	public static final class Builder {
+
+		int blockSize = 1 << 16;
+		int compressionLevel = 3;
+		int maxEncodeSize = 1 << 25;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the number of bytes that are compressed at once. Default to {@code 65536}.
+		 *
+		 * @param blockSize the number of bytes that are compressed at once
+		 * @return {@code this}
+		 */
+		public Builder blockSize(int blockSize) {
+			if (blockSize <= 0) {
+				throw new IllegalArgumentException("blockSize must be positive");
+			}
+			this.blockSize = blockSize;
+			return this;
+		}
+
+		/**
+		 * Sets the compression level, a higher level yields a better compression at the expense of speed.
+		 * Default to {@code 3}.
+		 *
+		 * @param compressionLevel the compression level, between {@code 0} and {@code 22}
+		 * @return {@code this}
+		 */
+		public Builder compressionLevel(int compressionLevel) {
+			if (compressionLevel < 0 || compressionLevel > 22) {
+				throw new IllegalArgumentException("compressionLevel: " + compressionLevel + " (expected: 0-22)");
+			}
+			this.compressionLevel = compressionLevel;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of bytes of a single write that can be compressed. Default to {@code 33554432}.
+		 *
+		 * @param maxEncodeSize the maximum number of bytes of a single write that can be compressed
+		 * @return {@code this}
+		 */
+		public Builder maxEncodeSize(int maxEncodeSize) {
+			if (maxEncodeSize <= 0) {
+				throw new IllegalArgumentException("maxEncodeSize must be positive");
+			}
+			this.maxEncodeSize = maxEncodeSize;
+			return this;
+		}
+
+		/**
+		 * Builds new {@link ZstdOption}
+		 *
+		 * @return builds new {@link ZstdOption}
+		 */
+		public ZstdOption build() {
+			return new ZstdOption(this);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import reactor.netty.ReactorNetty;
 import reactor.util.annotation.Nullable;
 
 import java.net.SocketAddress;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
@@ -37,6 +38,8 @@ abstract class AbstractAccessLogArgProvider<SELF extends AbstractAccessLogArgPro
 			DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z");
 	static final String MISSING = "-";
 
+	static volatile FormattedDateTime formattedDateTime;
+
 	final SocketAddress remoteAddress;
 	final String user = MISSING;
 	String zonedDateTime;
@@ -57,12 +60,18 @@ abstract class AbstractAccessLogArgProvider<SELF extends AbstractAccessLogArgPro
 	@Nullable
 	@Deprecated
 	public String zonedDateTime() {
+		if (zonedDateTime == null && startTime != 0) {
+			zonedDateTime = formatDateTime(startTime);
+		}
 		return zonedDateTime;
 	}
 
 	@Override
 	@Nullable
 	public ZonedDateTime accessDateTime() {
+		if (accessDateTime == null && startTime != 0) {
+			accessDateTime = Instant.ofEpochMilli(startTime).atZone(ReactorNetty.ZONE_ID_SYSTEM);
+		}
 		return accessDateTime;
 	}
 
@@ -113,12 +122,13 @@ abstract class AbstractAccessLogArgProvider<SELF extends AbstractAccessLogArgPro
 	}
 
 	/**
-	 * Initialize some fields (e.g. ZonedDateTime startTime).
+	 * Initialize some fields (e.g. startTime).
 	 * Should be called when a new request is received.
+	 * The access date time is derived from the start time when it is requested.
 	 */
 	void onRequest() {
-		this.accessDateTime = ZonedDateTime.now(ReactorNetty.ZONE_ID_SYSTEM);
-		this.zonedDateTime = accessDateTime.format(DATE_TIME_FORMATTER);
+		this.accessDateTime = null;
+		this.zonedDateTime = null;
 		this.startTime = System.currentTimeMillis();
 	}
 
@@ -157,4 +167,33 @@ abstract class AbstractAccessLogArgProvider<SELF extends AbstractAccessLogArgPro
 		return get();
 	}
 
+	/**
+	 * Formats the given time with {@link #DATE_TIME_FORMATTER}.
+	 * The formatted value is cached for the current second as many requests share it.
+	 *
+	 * @param epochMillis the time in milliseconds since the epoch
+	 * @return the formatted time
+	 */
+	static String formatDateTime(long epochMillis) {
+		long epochSecond = Math.floorDiv(epochMillis, 1000L);
+		FormattedDateTime formatted = formattedDateTime;
+		if (formatted == null || formatted.epochSecond != epochSecond) {
+			formatted = new FormattedDateTime(epochSecond,
+					Instant.ofEpochSecond(epochSecond).atZone(ReactorNetty.ZONE_ID_SYSTEM).format(DATE_TIME_FORMATTER));
+			formattedDateTime = formatted;
+		}
+		return formatted.value;
+	}
+
+	static final class FormattedDateTime {
+
+		final long epochSecond;
+		final String value;
+
+		FormattedDateTime(long epochSecond, String value) {
+			this.epochSecond = epochSecond;
+			this.value = value;
+		}
+	}
+
 }
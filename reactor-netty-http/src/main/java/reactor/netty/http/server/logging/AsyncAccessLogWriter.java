@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server.logging;
+
+import io.netty.util.internal.MathUtil;
+import reactor.netty.ReactorNetty;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static reactor.netty.http.server.logging.AbstractAccessLogArgProvider.MISSING;
+import static reactor.netty.http.server.logging.AccessLog.LOG;
+
+/**
+ * Moves the formatting and the writing of the access log entries off the event loops.
+ * <p>
+ * The event loops copy the fields of an entry into a preallocated record of a bounded lock-free ring buffer,
+ * a dedicated daemon thread formats the records and writes them to {@link AccessLog#LOG}.
+ * The entries that do not fit in the buffer are dropped and counted, the count is reported at WARN level.
+ * <p>
+ * The entries built with the default format are formatted with a reused {@link StringBuilder} and
+ * a timestamp string that is cached per second. The entries built by a custom {@link AccessLogFactory}
+ * are handed over as is, only their writing happens on the dedicated thread.
+ *
+ * @since 1.1.0
+ */
+final class AsyncAccessLogWriter implements Runnable {
+
+	static final Logger log = Loggers.getLogger(AsyncAccessLogWriter.class);
+
+	static final boolean ASYNC = Boolean.parseBoolean(System.getProperty(ReactorNetty.ACCESS_LOG_ASYNC, "false"));
+
+	static final int BUFFER_SIZE =
+			Integer.parseInt(System.getProperty(ReactorNetty.ACCESS_LOG_ASYNC_BUFFER_SIZE, "8192"));
+
+	/**
+	 * The shared writer, {@code null} unless {@link ReactorNetty#ACCESS_LOG_ASYNC} is enabled.
+	 */
+	@Nullable
+	static final AsyncAccessLogWriter INSTANCE = ASYNC ? new AsyncAccessLogWriter(BUFFER_SIZE).start() : null;
+
+	static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	static final long DROPPED_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	final Entry[] entries;
+	final AtomicLongArray sequences;
+	final int mask;
+	final AtomicLong producerIndex = new AtomicLong();
+	final AtomicLong dropped = new AtomicLong();
+	final StringBuilder buffer = new StringBuilder(256);
+
+	long consumerIndex;
+	long reportedDropped;
+	long lastDroppedReportNanos;
+	volatile boolean sleeping;
+	Thread thread;
+
+	AsyncAccessLogWriter(int bufferSize) {
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize must be positive, was: " + bufferSize);
+		}
+		int capacity = MathUtil.safeFindNextPositivePowerOfTwo(bufferSize);
+		this.entries = new Entry[capacity];
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			entries[i] = new Entry();
+			sequences.set(i, i);
+		}
+		this.mask = capacity - 1;
+	}
+
+	AsyncAccessLogWriter start() {
+		Thread thread = new Thread(this, "reactor-http-access-log");
+		thread.setDaemon(true);
+		this.thread = thread;
+		thread.start();
+		return this;
+	}
+
+	/**
+	 * Captures the fields of the default format. Must be invoked before the provider is cleared.
+	 *
+	 * @param args the provider of the current request
+	 * @return {@code true} if the entry was accepted, {@code false} if it was dropped
+	 */
+	boolean offer(AbstractAccessLogArgProvider<?> args) {
+		long index = claim();
+		if (index < 0) {
+			return false;
+		}
+		Entry entry = entries[(int) (index & mask)];
+		entry.remoteHost = BaseAccessLogHandler.applyAddress(args.remoteAddress());
+		entry.user = args.user();
+		entry.startTime = args.startTime;
+		entry.method = args.method();
+		entry.uri = args.uri();
+		entry.protocol = args.protocol();
+		entry.status = args.status();
+		entry.contentLength = args.contentLength();
+		entry.duration = args.duration();
+		publish(index);
+		return true;
+	}
+
+	/**
+	 * Hands over an access log built by a custom {@link AccessLogFactory}.
+	 *
+	 * @param accessLog the access log
+	 * @return {@code true} if the entry was accepted, {@code false} if it was dropped
+	 */
+	boolean offer(AccessLog accessLog) {
+		long index = claim();
+		if (index < 0) {
+			return false;
+		}
+		entries[(int) (index & mask)].accessLog = accessLog;
+		publish(index);
+		return true;
+	}
+
+	/**
+	 * Returns the number of entries dropped because the buffer was full.
+	 *
+	 * @return the number of entries dropped because the buffer was full
+	 */
+	long dropped() {
+		return dropped.get();
+	}
+
+	@Override
+	public void run() {
+		for (;;) {
+			try {
+				int written = drain();
+				reportDropped();
+				if (written == 0) {
+					sleeping = true;
+					// an entry might have been published before the flag was visible,
+					// a wake-up missed because of that is bounded by PARK_NANOS
+					if (!available()) {
+						LockSupport.parkNanos(this, PARK_NANOS);
+					}
+					sleeping = false;
+				}
+			}
+			catch (Throwable t) {
+				log.warn("Unexpected error while writing the access log", t);
+			}
+		}
+	}
+
+	long claim() {
+		long index = producerIndex.get();
+		for (;;) {
+			long sequence = sequences.get((int) (index & mask));
+			long diff = sequence - index;
+			if (diff == 0) {
+				if (producerIndex.compareAndSet(index, index + 1)) {
+					return index;
+				}
+				index = producerIndex.get();
+			}
+			else if (diff < 0) {
+				// the slot still holds the entry published one lap ago
+				dropped.incrementAndGet();
+				return -1;
+			}
+			else {
+				index = producerIndex.get();
+			}
+		}
+	}
+
+	void publish(long index) {
+		sequences.lazySet((int) (index & mask), index + 1);
+		if (sleeping) {
+			Thread thread = this.thread;
+			if (thread != null) {
+				LockSupport.unpark(thread);
+			}
+		}
+	}
+
+	boolean available() {
+		long index = consumerIndex;
+		return sequences.get((int) (index & mask)) == index + 1;
+	}
+
+	/**
+	 * Writes all published entries, must be invoked from a single thread.
+	 *
+	 * @return the number of written entries
+	 */
+	int drain() {
+		int count = 0;
+		while (available()) {
+			long index = consumerIndex;
+			int slot = (int) (index & mask);
+			Entry entry = entries[slot];
+			try {
+				write(entry);
+			}
+			finally {
+				entry.clear();
+				consumerIndex = index + 1;
+				sequences.lazySet(slot, index + entries.length);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	void write(Entry entry) {
+		AccessLog accessLog = entry.accessLog;
+		if (accessLog != null) {
+			accessLog.log();
+			return;
+		}
+		if (!LOG.isInfoEnabled()) {
+			return;
+		}
+		// same layout as BaseAccessLogHandler#DEFAULT_LOG_FORMAT
+		StringBuilder buffer = this.buffer;
+		buffer.setLength(0);
+		buffer.append(entry.remoteHost)
+		      .append(" - ")
+		      .append(entry.user)
+		      .append(" [")
+		      .append(AbstractAccessLogArgProvider.formatDateTime(entry.startTime))
+		      .append("] \"")
+		      .append(entry.method)
+		      .append(' ')
+		      .append(entry.uri)
+		      .append(' ')
+		      .append(entry.protocol)
+		      .append("\" ")
+		      .append(entry.status)
+		      .append(' ');
+		if (entry.contentLength > -1) {
+			buffer.append(entry.contentLength);
+		}
+		else {
+			buffer.append(MISSING);
+		}
+		buffer.append(' ')
+		      .append(entry.duration);
+		LOG.info(buffer.toString());
+	}
+
+	void reportDropped() {
+		long dropped = this.dropped.get();
+		if (dropped == reportedDropped) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (lastDroppedReportNanos != 0 && now - lastDroppedReportNanos < DROPPED_REPORT_INTERVAL_NANOS) {
+			return;
+		}
+		lastDroppedReportNanos = now;
+		log.warn("Dropped {} access log entries because the buffer of {} entries was full, {} in total",
+				dropped - reportedDropped, entries.length, dropped);
+		reportedDropped = dropped;
+	}
+
+	/**
+	 * A reusable record holding the fields of one access log entry.
+	 */
+	static final class Entry {
+
+		AccessLog accessLog;
+		String remoteHost;
+		String user;
+		long startTime;
+		CharSequence method;
+		CharSequence uri;
+		String protocol;
+		CharSequence status;
+		long contentLength;
+		long duration;
+
+		void clear() {
+			accessLog = null;
+			remoteHost = null;
+			user = null;
+			method = null;
+			uri = null;
+			protocol = null;
+			status = null;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2020-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.net.SocketAddress;
 import java.util.function.Function;
 
 import static reactor.netty.http.server.logging.AbstractAccessLogArgProvider.MISSING;
+import static reactor.netty.http.server.logging.AccessLog.LOG;
 
 /**
  * @author limaoning
@@ -44,6 +45,34 @@ class BaseAccessLogHandler extends ChannelDuplexHandler {
 		this.accessLog = accessLog == null ? DEFAULT_ACCESS_LOG : accessLog;
 	}
 
+	/**
+	 * Logs the access of the current request. When {@link AsyncAccessLogWriter} is enabled, the entry is handed over
+	 * to it, otherwise it is written on the calling thread. Must be invoked before the provider is cleared.
+	 *
+	 * @param args the provider of the current request
+	 */
+	void log(AbstractAccessLogArgProvider<?> args) {
+		AsyncAccessLogWriter writer = AsyncAccessLogWriter.INSTANCE;
+		if (writer != null) {
+			if (accessLog == DEFAULT_ACCESS_LOG) {
+				// capture the fields only, the entry is formatted by the writer
+				if (LOG.isInfoEnabled()) {
+					writer.offer(args);
+				}
+				return;
+			}
+			AccessLog log = accessLog.apply(args);
+			if (log != null) {
+				writer.offer(log);
+			}
+			return;
+		}
+		AccessLog log = accessLog.apply(args);
+		if (log != null) {
+			log.log();
+		}
+	}
+
 	static String applyAddress(@Nullable SocketAddress socketAddress) {
 		return socketAddress instanceof InetSocketAddress ? ((InetSocketAddress) socketAddress).getHostString() : MISSING;
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017-2021 VMware, Inc. or its affiliates, All Rights Reserved.
+ * Copyright (c) 2017-2022 VMware, Inc. or its affiliates, All Rights Reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,10 +22,21 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.nio.charset.Charset;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 import org.junit.jupiter.api.Test;
@@ -35,14 +46,21 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import reactor.netty.BaseHttpTest;
+import reactor.netty.Connection;
 import reactor.netty.DisposableServer;
 import reactor.netty.SocketUtils;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.compression.DeflateOption;
+import reactor.netty.http.server.compression.GzipOption;
+import reactor.netty.http.server.compression.HttpCompressionOptionsSpec;
+import reactor.netty.http.server.compression.ZstdOption;
+import reactor.netty.tcp.TcpClient;
 import reactor.test.StepVerifier;
 import reactor.util.function.Tuple2;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * @author mostroverkhov
@@ -446,6 +464,148 @@ class HttpCompressionClientServerTests extends BaseHttpTest {
 		            .verify(Duration.ofSeconds(10));
 	}
 
+	@ParameterizedCompressionTest
+	void serverCompressionOptionsQValueNegotiation(HttpServer server, HttpClient client) throws Exception {
+		disposableServer =
+				server.compress(true)
+				      .compressOptions(GzipOption.builder().compressionLevel(9).build(),
+				                       DeflateOption.builder().compressionLevel(1).build())
+				      .handle((in, out) -> out.sendString(Mono.just("reply")))
+				      .bindNow(Duration.ofSeconds(10));
+
+		Tuple2<byte[], HttpHeaders> resp =
+				client.port(disposableServer.port())
+				      .headers(h -> h.add("Accept-Encoding", "gzip;q=0.5, deflate;q=0.8, br;q=0"))
+				      .get()
+				      .uri("/test")
+				      .responseSingle((res, buf) -> buf.asByteArray()
+				                                       .zipWith(Mono.just(res.responseHeaders())))
+				      .block(Duration.ofSeconds(10));
+
+		assertThat(resp).isNotNull();
+		assertThat(resp.getT2().get("content-encoding")).isEqualTo("deflate");
+		assertThat(inflate(new InflaterInputStream(new ByteArrayInputStream(resp.getT1())))).isEqualTo("reply");
+	}
+
+	@ParameterizedCompressionTest
+	void serverCompressionOptionsPerResponse(HttpServer server, HttpClient client) throws Exception {
+		HttpCompressionOptionsSpec deflateOnly = HttpCompressionOptionsSpec.of(DeflateOption.builder().build());
+		disposableServer =
+				server.compress(true)
+				      .compressOptions((req, res) -> req.uri().startsWith("/deflate") ? deflateOnly : null)
+				      .handle((in, out) -> out.sendString(Mono.just("reply")))
+				      .bindNow(Duration.ofSeconds(10));
+
+		HttpClient localClient = client.port(disposableServer.port())
+		                               .headers(h -> h.add("Accept-Encoding", "gzip, deflate"));
+
+		Tuple2<byte[], HttpHeaders> resp =
+				localClient.get()
+				           .uri("/deflate")
+				           .responseSingle((res, buf) -> buf.asByteArray()
+				                                            .zipWith(Mono.just(res.responseHeaders())))
+				           .block(Duration.ofSeconds(10));
+
+		assertThat(resp).isNotNull();
+		assertThat(resp.getT2().get("content-encoding")).isEqualTo("deflate");
+		assertThat(inflate(new InflaterInputStream(new ByteArrayInputStream(resp.getT1())))).isEqualTo("reply");
+
+		// no options selected, the default content codings are used
+		resp = localClient.get()
+		                  .uri("/default")
+		                  .responseSingle((res, buf) -> buf.asByteArray()
+		                                                   .zipWith(Mono.just(res.responseHeaders())))
+		                  .block(Duration.ofSeconds(10));
+
+		assertThat(resp).isNotNull();
+		assertThat(resp.getT2().get("content-encoding")).isEqualTo("gzip");
+		assertThat(inflate(new GZIPInputStream(new ByteArrayInputStream(resp.getT1())))).isEqualTo("reply");
+	}
+
+	@Test
+	void serverCompressionOptionsPerPipelinedResponse() throws Exception {
+		HttpCompressionOptionsSpec deflateOnly = HttpCompressionOptionsSpec.of(DeflateOption.builder().build());
+		disposableServer =
+				createServer()
+				        .pipelining(2, 1024)
+				        .compress(true)
+				        .compressOptions((req, res) -> req.uri().startsWith("/deflate") ? deflateOnly : null)
+				        // the response to the second request is buffered until the first one is sent
+				        .handle((in, out) -> out.sendString(in.uri().startsWith("/deflate") ?
+				                Mono.just("reply") : Mono.delay(Duration.ofMillis(500)).map(l -> "reply")))
+				        .bindNow(Duration.ofSeconds(10));
+
+		DefaultFullHttpRequest defaultRequest =
+				new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/default");
+		defaultRequest.headers().set(HttpHeaderNames.ACCEPT_ENCODING, "gzip, deflate");
+		DefaultFullHttpRequest deflateRequest =
+				new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/deflate");
+		deflateRequest.headers().set(HttpHeaderNames.ACCEPT_ENCODING, "gzip, deflate");
+
+		CountDownLatch latch = new CountDownLatch(2);
+		List<String> contentEncodings = new CopyOnWriteArrayList<>();
+		Connection client =
+				TcpClient.create()
+				         .port(disposableServer.port())
+				         .handle((in, out) -> {
+				             in.withConnection(x -> x.addHandlerFirst(new HttpClientCodec()))
+				               .receiveObject()
+				               .ofType(HttpResponse.class)
+				               .subscribe(res -> {
+				                   contentEncodings.add(res.headers().get(HttpHeaderNames.CONTENT_ENCODING));
+				                   latch.countDown();
+				               });
+
+				             return out.sendObject(Flux.just(defaultRequest, deflateRequest))
+				                       .neverComplete();
+				         })
+				         .wiretap(true)
+				         .connectNow();
+
+		try {
+			assertThat(latch.await(30, TimeUnit.SECONDS)).as("latch await").isTrue();
+			assertThat(contentEncodings).containsExactly("gzip", "deflate");
+		}
+		finally {
+			client.disposeNow();
+		}
+	}
+
+	@ParameterizedCompressionTest
+	void serverCompressionOptionsZstd(HttpServer server, HttpClient client) {
+		disposableServer =
+				server.compress(true)
+				      .compressOptions(ZstdOption.builder().compressionLevel(1).build(),
+				                       GzipOption.builder().build())
+				      .handle((in, out) -> out.sendString(Mono.just("reply")))
+				      .bindNow(Duration.ofSeconds(10));
+
+		HttpHeaders headers =
+				client.port(disposableServer.port())
+				      .headers(h -> h.add("Accept-Encoding", "gzip, zstd"))
+				      .get()
+				      .uri("/test")
+				      .responseSingle((res, buf) -> buf.then(Mono.just(res.responseHeaders())))
+				      .block(Duration.ofSeconds(10));
+
+		assertThat(headers).isNotNull();
+		assertThat(headers.get("content-encoding")).isEqualTo("zstd");
+	}
+
+	@Test
+	void compressionOptionsDuplicateContentEncoding() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> HttpCompressionOptionsSpec.of(GzipOption.builder().build(), GzipOption.builder().build()));
+	}
+
+	private static String inflate(InflaterInputStream in) throws Exception {
+		byte[] buf = new byte[1024];
+		int readable = in.read(buf);
+		in.close();
+		assertThat(readable).isGreaterThan(0);
+		return new String(buf, 0, readable, Charset.defaultCharset());
+	}
+
 	@Test
 	void testIssue825_1() {
 		int port1 = SocketUtils.findAvailableTcpPort();
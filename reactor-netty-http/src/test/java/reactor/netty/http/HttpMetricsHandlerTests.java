@@ -726,6 +726,30 @@ class HttpMetricsHandlerTests extends BaseHttpTest {
 		checkExpectationsBadRequest(sa.getHostString() + ":" + sa.getPort(), serverCtx != null);
 	}
 
+	@Test
+	void testResponseCompression() {
+		disposableServer =
+				httpServer.compress(true)
+				          .route(r -> r.get("/6", (req, res) -> res.sendString(Mono.just("Hello World!"))))
+				          .bindNow();
+
+		httpClient.compress(true)
+		          .get()
+		          .uri("/6")
+		          .responseContent()
+		          .aggregate()
+		          .asString()
+		          .as(StepVerifier::create)
+		          .expectNext("Hello World!")
+		          .expectComplete()
+		          .verify(Duration.ofSeconds(30));
+
+		String[] tags = new String[] {"content.encoding", "gzip"};
+		checkDistributionSummary(SERVER_COMPRESSION_DATA_UNCOMPRESSED, tags, 1, 12);
+		checkDistributionSummary(SERVER_COMPRESSION_DATA_COMPRESSED, tags, 1, 1);
+		checkTimer(SERVER_COMPRESSION_TIME, tags, 1);
+	}
+
 	private ConnectionObserver observeDisconnect(AtomicReference<CountDownLatch> latchRef) {
 		return (connection, state) -> {
 			if (state == ConnectionObserver.State.DISCONNECTING) {
@@ -952,6 +976,9 @@ class HttpMetricsHandlerTests extends BaseHttpTest {
 	private static final String SERVER_DATA_SENT = HTTP_SERVER_PREFIX + DATA_SENT;
 	private static final String SERVER_DATA_RECEIVED = HTTP_SERVER_PREFIX + DATA_RECEIVED;
 	private static final String SERVER_ERRORS = HTTP_SERVER_PREFIX + ERRORS;
+	private static final String SERVER_COMPRESSION_DATA_UNCOMPRESSED = HTTP_SERVER_PREFIX + ".compression.data.uncompressed";
+	private static final String SERVER_COMPRESSION_DATA_COMPRESSED = HTTP_SERVER_PREFIX + ".compression.data.compressed";
+	private static final String SERVER_COMPRESSION_TIME = HTTP_SERVER_PREFIX + ".compression.time";
 
 	private static final String CLIENT_CONNECTIONS_ACTIVE = HTTP_CLIENT_PREFIX + CONNECTIONS_ACTIVE;
 	private static final String CLIENT_CONNECTIONS_TOTAL = HTTP_CLIENT_PREFIX + CONNECTIONS_TOTAL;
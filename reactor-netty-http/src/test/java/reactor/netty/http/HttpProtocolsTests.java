@@ -26,7 +26,6 @@ import io.netty.channel.ChannelHandler;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
-import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.util.concurrent.DefaultPromise;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -43,6 +42,7 @@ import reactor.netty.Connection;
 import reactor.netty.NettyPipeline;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.http.client.HttpClientConfig;
+import reactor.netty.http.client.HttpClientOperationsTestUtils;
 import reactor.netty.http.server.HttpServer;
 import reactor.netty.http.server.HttpServerConfig;
 import reactor.netty.resources.ConnectionProvider;
@@ -396,18 +396,20 @@ class HttpProtocolsTests extends BaseHttpTest {
 		AtomicBoolean onResponse = new AtomicBoolean();
 		AtomicBoolean onDisconnected = new AtomicBoolean();
 		AtomicLong timeout = new AtomicLong();
-		Predicate<Connection> handlerAvailable =
-				conn -> conn.channel().pipeline().get(NettyPipeline.ResponseTimeoutHandler) != null;
+		AtomicReference<Connection> request = new AtomicReference<>();
+		Predicate<Connection> timeoutTracked = conn -> HttpClientOperationsTestUtils.responseTimeoutMillis(conn) > -1;
 		HttpClient localClient =
-				client.doOnRequest((req, conn) -> onRequest.set(handlerAvailable.test(conn)))
+				client.doOnRequest((req, conn) -> {
+				          request.set(conn);
+				          onRequest.set(timeoutTracked.test(conn));
+				      })
 				      .doOnResponse((req, conn) -> {
-				          if (handlerAvailable.test(conn)) {
-				              ChannelHandler handler = conn.channel().pipeline().get(NettyPipeline.ResponseTimeoutHandler);
+				          if (timeoutTracked.test(conn)) {
 				              onResponse.set(true);
-				              timeout.set(((ReadTimeoutHandler) handler).getReaderIdleTimeInMillis());
+				              timeout.set(HttpClientOperationsTestUtils.responseTimeoutMillis(conn));
 				          }
 				      })
-				      .doOnDisconnected(conn -> onDisconnected.set(conn.channel().isActive() && handlerAvailable.test(conn)));
+				      .doOnDisconnected(conn -> onDisconnected.set(timeoutTracked.test(request.get())));
 
 		Mono<String> response =
 				localClient.get()
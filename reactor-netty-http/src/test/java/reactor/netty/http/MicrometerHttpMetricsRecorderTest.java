@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactor.netty.Metrics.DATA_RECEIVED;
+import static reactor.netty.Metrics.OVERFLOW;
+import static reactor.netty.Metrics.URI;
+import static reactor.netty.Metrics.URI_TAGS_REJECTED;
+
+class MicrometerHttpMetricsRecorderTest {
+
+	static final String NAME = "reactor.netty.test.uri.tags";
+
+	MeterRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		Metrics.removeRegistry(registry);
+		registry.clear();
+		registry.close();
+	}
+
+	@Test
+	void uriTagValuesAreBounded() {
+		MicrometerHttpMetricsRecorder recorder = new MicrometerHttpMetricsRecorder(NAME, "http", 2) {};
+		SocketAddress address = InetSocketAddress.createUnresolved("127.0.0.1", 8080);
+
+		recorder.recordDataReceived(address, "/1", 1);
+		recorder.recordDataReceived(address, "/2", 1);
+		recorder.recordDataReceived(address, "/3", 1);
+		recorder.recordDataReceived(address, "/4", 1);
+		// known values are still recorded once the limit is reached
+		recorder.recordDataReceived(address, "/1", 1);
+
+		assertThat(summary("/1").count()).isEqualTo(2);
+		assertThat(summary("/2").count()).isEqualTo(1);
+		assertThat(summary(OVERFLOW).count()).isEqualTo(2);
+		assertThat(registry.find(NAME + DATA_RECEIVED).tags(URI, "/3").summary()).isNull();
+		assertThat(registry.find(NAME + DATA_RECEIVED).tags(URI, "/4").summary()).isNull();
+
+		Counter rejected = registry.find(NAME + URI_TAGS_REJECTED).counter();
+		assertThat(rejected).isNotNull();
+		assertThat(rejected.count()).isEqualTo(2);
+
+		// A resolved URI tag value is recorded by all meters of a request without counting another rejection
+		String uriTag = recorder.uriTag("/5");
+		assertThat(uriTag).isEqualTo(OVERFLOW);
+		recorder.recordDataReceived(address, uriTag, 1);
+		recorder.recordDataSent(address, uriTag, 1);
+		recorder.incrementErrorsCount(address, uriTag);
+		assertThat(rejected.count()).isEqualTo(3);
+	}
+
+	@Test
+	void uriTagValuesAreBoundedByDefault() {
+		assertThat(MicrometerHttpMetricsRecorder.MAX_URI_TAGS).isEqualTo(2000);
+	}
+
+	@Test
+	void uriTagValuesAreNotBoundedWhenTheLimitIsNegative() {
+		MicrometerHttpMetricsRecorder recorder = new MicrometerHttpMetricsRecorder(NAME, "http", -1) {};
+		for (int i = 0; i < 100; i++) {
+			assertThat(recorder.uriTag("/" + i)).isEqualTo("/" + i);
+		}
+		assertThat(registry.find(NAME + URI_TAGS_REJECTED).counter()).isNull();
+	}
+
+	DistributionSummary summary(String uri) {
+		DistributionSummary summary = registry.find(NAME + DATA_RECEIVED).tags(URI, uri).summary();
+		assertThat(summary).isNotNull();
+		return summary;
+	}
+}
@@ -37,6 +37,7 @@ import reactor.util.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
@@ -136,6 +137,97 @@ class Http2PoolTest {
 		}
 	}
 
+	@Test
+	void acquireConnectionWithMostAvailableStreams() {
+		PoolBuilder<Connection, PoolConfig<Connection>> poolBuilder =
+				PoolBuilder.from(Mono.fromSupplier(() -> {
+				               Channel channel = new EmbeddedChannel(
+				                   new TestChannelId(),
+				                   Http2FrameCodecBuilder.forClient().build(),
+				                   new Http2MultiplexHandler(new ChannelHandlerAdapter() {}));
+				               return Connection.from(channel);
+				           }))
+				           .idleResourceReuseLruOrder()
+				           .maxPendingAcquireUnbounded()
+				           .sizeBetween(0, 2);
+		Http2AllocationStrategy strategy = Http2AllocationStrategy.builder()
+				.maxConcurrentStreams(2)
+				.maxConnections(2)
+				.build();
+		Http2Pool http2Pool = poolBuilder.build(config -> new Http2Pool(config, strategy, -1, -1));
+
+		List<PooledRef<Connection>> acquired = new ArrayList<>();
+		try {
+			for (int i = 0; i < 4; i++) {
+				http2Pool.acquire().subscribe(acquired::add);
+			}
+			runPendingTasks(http2Pool);
+
+			assertThat(acquired).hasSize(4);
+			assertThat(http2Pool.activeStreams()).isEqualTo(4);
+			assertThat(http2Pool.connections.size()).isEqualTo(2);
+			assertThat(http2Pool.totalMaxConcurrentStreams).isEqualTo(4);
+
+			Connection connection1 = http2Pool.connections.array[0].connection;
+			Connection connection2 = http2Pool.connections.array[1].connection;
+
+			// one available stream on the first connection, two available streams on the second connection
+			release(acquired, connection1, 1);
+			release(acquired, connection2, 2);
+
+			assertThat(http2Pool.activeStreams()).isEqualTo(1);
+
+			List<PooledRef<Connection>> next = new ArrayList<>();
+			http2Pool.acquire().subscribe(next::add);
+			runPendingTasks(http2Pool);
+
+			assertThat(next).hasSize(1);
+			assertThat(next.get(0).poolable()).isSameAs(connection2);
+
+			// both connections have one available stream
+			http2Pool.acquire().subscribe(next::add);
+			runPendingTasks(http2Pool);
+
+			assertThat(next).hasSize(2);
+			assertThat(next.get(1).poolable()).isSameAs(connection1);
+			assertThat(http2Pool.activeStreams()).isEqualTo(3);
+			assertThat(http2Pool.connections.size()).isEqualTo(2);
+
+			acquired.addAll(next);
+			for (PooledRef<Connection> ref : acquired) {
+				ref.release().block(Duration.ofSeconds(1));
+			}
+
+			assertThat(http2Pool.activeStreams()).isEqualTo(0);
+			assertThat(http2Pool.connections.size()).isEqualTo(2);
+		}
+		finally {
+			for (Http2Pool.Slot slot : http2Pool.connections.array) {
+				((EmbeddedChannel) slot.connection.channel()).finishAndReleaseAll();
+				slot.connection.dispose();
+			}
+		}
+	}
+
+	static void release(List<PooledRef<Connection>> acquired, Connection connection, int streams) {
+		int released = 0;
+		Iterator<PooledRef<Connection>> it = acquired.iterator();
+		while (it.hasNext() && released < streams) {
+			PooledRef<Connection> ref = it.next();
+			if (ref.poolable() == connection) {
+				ref.release().block(Duration.ofSeconds(1));
+				it.remove();
+				released++;
+			}
+		}
+	}
+
+	static void runPendingTasks(Http2Pool http2Pool) {
+		for (Http2Pool.Slot slot : http2Pool.connections.array) {
+			((EmbeddedChannel) slot.connection.channel()).runPendingTasks();
+		}
+	}
+
 	@Test
 	void evictClosedConnection() throws Exception {
 		PoolBuilder<Connection, PoolConfig<Connection>> poolBuilder =
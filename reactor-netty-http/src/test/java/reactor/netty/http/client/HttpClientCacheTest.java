@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.client;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.BaseHttpTest;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientCacheTest extends BaseHttpTest {
+
+	MeterRegistry registry;
+	HttpClientCache cache;
+	AtomicInteger invocations;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+		cache = HttpClientCache.builder().build();
+		invocations = new AtomicInteger();
+	}
+
+	@AfterEach
+	void tearDown() {
+		cache.clear();
+		Metrics.removeRegistry(registry);
+		registry.clear();
+		registry.close();
+	}
+
+	@Test
+	void freshResponseIsReceivedWithoutConnecting() {
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/fresh", (req, res) ->
+				                res.header(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+				                   .sendString(Mono.just("fresh " + invocations.incrementAndGet()))))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port()).cache(cache)
+		                                                          .metrics(true, Function.identity());
+
+		assertThat(get(client, "/fresh").getT2()).isEqualTo("fresh 1");
+
+		Tuple2<HttpHeaders, String> cached = get(client, "/fresh");
+		assertThat(cached.getT2()).isEqualTo("fresh 1");
+		assertThat(cached.getT1().get(HttpHeaderNames.AGE)).isNotNull();
+
+		assertThat(client.get().uri("/fresh").responseContent().aggregate().asString().block(Duration.ofSeconds(5)))
+				.isEqualTo("fresh 1");
+		HttpClientResponse response = client.get().uri("/fresh").response().block(Duration.ofSeconds(5));
+		assertThat(response).isNotNull();
+		assertThat(response.status()).isEqualTo(HttpResponseStatus.OK);
+		assertThat(response.resourceUrl()).endsWith("/fresh");
+
+		assertThat(invocations.get()).isEqualTo(1);
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cacheRequests("/fresh", HttpClientCache.MISS)).isEqualTo(1);
+		assertThat(cacheRequests("/fresh", HttpClientCache.HIT)).isEqualTo(3);
+
+		// the request asks for a fresh response
+		assertThat(get(client.headers(h -> h.set(HttpHeaderNames.CACHE_CONTROL, "no-store")), "/fresh").getT2())
+				.isEqualTo("fresh 2");
+	}
+
+	@Test
+	void staleResponseIsRevalidated() {
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/etag", (req, res) -> {
+				            invocations.incrementAndGet();
+				            res.header(HttpHeaderNames.CACHE_CONTROL, "no-cache")
+				               .header(HttpHeaderNames.ETAG, "\"v1\"");
+				            if ("\"v1\"".equals(req.requestHeaders().get(HttpHeaderNames.IF_NONE_MATCH))) {
+				                return res.status(HttpResponseStatus.NOT_MODIFIED).send();
+				            }
+				            return res.sendString(Mono.just("etag"));
+				        }))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port()).cache(cache)
+		                                                          .metrics(true, Function.identity());
+
+		assertThat(get(client, "/etag").getT2()).isEqualTo("etag");
+		Tuple2<HttpHeaders, String> revalidated = get(client, "/etag");
+		assertThat(revalidated.getT2()).isEqualTo("etag");
+		assertThat(revalidated.getT1().get(HttpHeaderNames.ETAG)).isEqualTo("\"v1\"");
+
+		assertThat(invocations.get()).isEqualTo(2);
+		assertThat(cacheRequests("/etag", HttpClientCache.REVALIDATED)).isEqualTo(1);
+	}
+
+	@Test
+	void responsesAreKeyedByTheVaryHeaders() {
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/vary", (req, res) -> {
+				            invocations.incrementAndGet();
+				            return res.header(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+				                      .header(HttpHeaderNames.VARY, "Accept-Language")
+				                      .sendString(Mono.just(req.requestHeaders().get(HttpHeaderNames.ACCEPT_LANGUAGE, "en")));
+				        }))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port()).cache(cache);
+		HttpClient french = client.headers(h -> h.set(HttpHeaderNames.ACCEPT_LANGUAGE, "fr"));
+
+		assertThat(get(client, "/vary").getT2()).isEqualTo("en");
+		assertThat(get(french, "/vary").getT2()).isEqualTo("fr");
+		assertThat(get(client, "/vary").getT2()).isEqualTo("en");
+		assertThat(get(french, "/vary").getT2()).isEqualTo("fr");
+		assertThat(invocations.get()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void uncacheableResponsesAreNotStored() {
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/no-store", (req, res) -> {
+				                        invocations.incrementAndGet();
+				                        return res.header(HttpHeaderNames.CACHE_CONTROL, "no-store, max-age=60")
+				                                  .sendString(Mono.just("no-store"));
+				                    })
+				                     .get("/no-validator", (req, res) -> {
+				                        invocations.incrementAndGet();
+				                        return res.sendString(Mono.just("no-validator"));
+				                    }))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port()).cache(cache);
+
+		get(client, "/no-store");
+		get(client, "/no-store");
+		get(client, "/no-validator");
+		get(client, "/no-validator");
+		assertThat(invocations.get()).isEqualTo(4);
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void unsafeRequestInvalidatesTheCachedResponses() {
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/resource", (req, res) ->
+				                        res.header(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+				                           .sendString(Mono.just("resource " + invocations.incrementAndGet())))
+				                     .post("/resource", (req, res) -> res.send()))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port()).cache(cache);
+
+		assertThat(get(client, "/resource").getT2()).isEqualTo("resource 1");
+		assertThat(get(client, "/resource").getT2()).isEqualTo("resource 1");
+
+		client.post()
+		      .uri("/resource")
+		      .send(Mono.just(Unpooled.wrappedBuffer(new byte[] {1})))
+		      .responseSingle((res, bytes) -> Mono.just(res.status().code()))
+		      .block(Duration.ofSeconds(5));
+		assertThat(cache.size()).isEqualTo(0);
+
+		assertThat(get(client, "/resource").getT2()).isEqualTo("resource 2");
+	}
+
+	@Test
+	void leastRecentlyUsedResponsesAreEvicted() {
+		cache = HttpClientCache.builder().maxMemory(2048).maxEntrySize(1024).build();
+		String body = new String(new char[1000]).replace('\0', 'a');
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/{id}", (req, res) ->
+				                res.header(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+				                   .sendString(Mono.just(body))))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port()).cache(cache);
+		for (int i = 0; i < 4; i++) {
+			assertThat(get(client, "/" + i).getT2()).isEqualTo(body);
+		}
+		assertThat(cache.memoryUsed()).isLessThanOrEqualTo(2048);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void largeStreamedResponsesAreReceivedWithoutBeingStored() {
+		cache = HttpClientCache.builder().maxEntrySize(1024).build();
+		String chunk = new String(new char[500]).replace('\0', 'a');
+		disposableServer =
+				createServer()
+				        // without Content-Length, the size of the body is known only once it is received
+				        .route(r -> r.get("/{chunks}", (req, res) ->
+				                res.header(HttpHeaderNames.CACHE_CONTROL, "max-age=60")
+				                   .sendString(Flux.range(0, Integer.parseInt(req.param("chunks")))
+				                                   .map(i -> chunk))))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port()).cache(cache);
+
+		assertThat(get(client, "/3").getT2()).hasSize(1500);
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.memoryUsed()).isEqualTo(0);
+
+		assertThat(get(client, "/2").getT2()).hasSize(1000);
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.memoryUsed()).isEqualTo(1000);
+	}
+
+	@Test
+	void freshnessLifetime() {
+		long now = System.currentTimeMillis();
+		long nanos = System.nanoTime();
+
+		HttpHeaders headers = new DefaultHttpHeaders()
+				.set(HttpHeaderNames.DATE, DateFormatter.format(new Date(now)))
+				.set(HttpHeaderNames.EXPIRES, DateFormatter.format(new Date(now + 30_000)));
+		assertThat(entry(headers, now, nanos).freshnessLifetimeNanos).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+
+		headers.set(HttpHeaderNames.CACHE_CONTROL, "max-age=10");
+		HttpClientCache.CacheEntry entry = entry(headers, now, nanos);
+		assertThat(entry.freshnessLifetimeNanos).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+		assertThat(entry.isFresh(nanos, -1)).isTrue();
+		assertThat(entry.isFresh(nanos + TimeUnit.SECONDS.toNanos(10), -1)).isFalse();
+
+		// the age given by the origin counts
+		headers.set(HttpHeaderNames.AGE, "8");
+		entry = entry(headers, now, nanos);
+		assertThat(entry.isFresh(nanos + TimeUnit.SECONDS.toNanos(1), -1)).isTrue();
+		assertThat(entry.isFresh(nanos + TimeUnit.SECONDS.toNanos(3), -1)).isFalse();
+		assertThat(entry.isFresh(nanos, TimeUnit.SECONDS.toNanos(5))).isFalse();
+
+		// heuristic freshness, 10% of the time since the last modification
+		headers = new DefaultHttpHeaders()
+				.set(HttpHeaderNames.DATE, DateFormatter.format(new Date(now)))
+				.set(HttpHeaderNames.LAST_MODIFIED, DateFormatter.format(new Date(now - 100_000)));
+		assertThat(entry(headers, now, nanos).freshnessLifetimeNanos).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+
+		headers.set(HttpHeaderNames.EXPIRES, "0");
+		assertThat(entry(headers, now, nanos).freshnessLifetimeNanos).isEqualTo(0);
+	}
+
+	static HttpClientCache.CacheEntry entry(HttpHeaders headers, long nowMillis, long nowNanos) {
+		return new HttpClientCache.CacheEntry("http://localhost/", Collections.emptyList(), new DefaultHttpHeaders(),
+				HttpResponseStatus.OK, headers, Unpooled.EMPTY_BUFFER, HttpClientCache.CacheControl.parse(headers),
+				nowNanos, nowNanos, nowMillis);
+	}
+
+	double cacheRequests(String uri, String result) {
+		Counter counter = registry.find("reactor.netty.http.client.cache.requests")
+		                          .tags("uri", uri, "result", result)
+		                          .counter();
+		return counter != null ? counter.count() : 0;
+	}
+
+	static Tuple2<HttpHeaders, String> get(HttpClient client, String uri) {
+		Tuple2<HttpHeaders, String> response =
+				client.get()
+				      .uri(uri)
+				      .responseSingle((res, bytes) -> bytes.asString()
+				                                           .defaultIfEmpty("")
+				                                           .map(s -> Tuples.of(res.responseHeaders(), s)))
+				      .block(Duration.ofSeconds(5));
+		assertThat(response).isNotNull();
+		return response;
+	}
+}
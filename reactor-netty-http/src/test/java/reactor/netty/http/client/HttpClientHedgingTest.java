@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.BaseHttpTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HttpClientHedgingTest extends BaseHttpTest {
+
+	MeterRegistry registry;
+	AtomicInteger invocations;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+		invocations = new AtomicInteger();
+	}
+
+	@AfterEach
+	void tearDown() {
+		Metrics.removeRegistry(registry);
+		registry.clear();
+		registry.close();
+	}
+
+	@Test
+	void slowResponseIsWonByTheHedgedRequest() {
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/slow", (req, res) -> {
+				            int invocation = invocations.incrementAndGet();
+				            Duration delay = invocation == 1 ? Duration.ofSeconds(5) : Duration.ZERO;
+				            return res.sendString(Mono.delay(delay).map(l -> "response " + invocation));
+				        }))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port())
+				.hedging(spec -> spec.delay(Duration.ofMillis(100)).maxExtraLoad(1))
+				.metrics(true, Function.identity());
+
+		long start = System.nanoTime();
+		String response = client.get()
+		                        .uri("/slow")
+		                        .responseContent()
+		                        .aggregate()
+		                        .asString()
+		                        .block(Duration.ofSeconds(5));
+
+		assertThat(response).isEqualTo("response 2");
+		assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(3));
+		assertThat(invocations.get()).isEqualTo(2);
+		assertThat(counter("reactor.netty.http.client.hedges.sent")).isEqualTo(1);
+		assertThat(counter("reactor.netty.http.client.hedges.won")).isEqualTo(1);
+	}
+
+	@Test
+	void budgetLimitsTheHedgedRequests() {
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/delayed", (req, res) -> {
+				            invocations.incrementAndGet();
+				            return res.sendString(Mono.delay(Duration.ofMillis(300)).map(l -> "delayed"));
+				        }))
+				        .bindNow();
+
+		// Every second request can be hedged
+		HttpClient client = createClient(disposableServer.port())
+				.hedging(spec -> spec.delay(Duration.ofMillis(50)).maxExtraLoad(0.5))
+				.metrics(true, Function.identity());
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(client.get()
+			                 .uri("/delayed")
+			                 .responseContent()
+			                 .aggregate()
+			                 .asString()
+			                 .block(Duration.ofSeconds(5))).isEqualTo("delayed");
+		}
+
+		assertThat(counter("reactor.netty.http.client.hedges.sent")).isEqualTo(2);
+		assertThat(invocations.get()).isEqualTo(6);
+	}
+
+	@Test
+	void nonIdempotentRequestIsNotHedged() {
+		disposableServer =
+				createServer()
+				        .route(r -> r.post("/order", (req, res) -> {
+				            invocations.incrementAndGet();
+				            return res.sendString(Mono.delay(Duration.ofMillis(300)).map(l -> "ordered"));
+				        }))
+				        .bindNow();
+
+		HttpClient client = createClient(disposableServer.port())
+				.hedging(spec -> spec.delay(Duration.ofMillis(50)).maxExtraLoad(1));
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(client.post()
+			                 .uri("/order")
+			                 .responseContent()
+			                 .aggregate()
+			                 .asString()
+			                 .block(Duration.ofSeconds(5))).isEqualTo("ordered");
+		}
+
+		assertThat(invocations.get()).isEqualTo(2);
+	}
+
+	@Test
+	void percentileDelayIsDerivedFromTheObservedLatencies() {
+		HttpClientHedging hedging =
+				new HttpClientHedging(HedgingSpec.builder().delay(Duration.ofSeconds(1)).percentile(0.9).build());
+		assertThat(hedging.delayNanos()).isEqualTo(Duration.ofSeconds(1).toNanos());
+
+		for (int i = 1; i <= HttpClientHedging.SAMPLES; i++) {
+			hedging.recordLatency(Duration.ofMillis(i).toNanos());
+		}
+		// ceil(0.9 * 256) = 231
+		assertThat(hedging.delayNanos()).isEqualTo(Duration.ofMillis(231).toNanos());
+	}
+
+	@Test
+	void hedgingSpecValidatesTheConfiguration() {
+		HedgingSpec spec = HedgingSpec.builder().build();
+		assertThat(spec.delay()).isEqualTo(HedgingSpec.DEFAULT_DELAY);
+		assertThat(spec.percentile()).isNull();
+		assertThat(spec.maxExtraLoad()).isEqualTo(HedgingSpec.DEFAULT_MAX_EXTRA_LOAD);
+
+		HttpClient client = HttpClient.create().hedging(s -> s.maxExtraLoad(0.1));
+		assertThat(client.hedging(s -> s.maxExtraLoad(0.1))).isSameAs(client);
+		assertThat(client.configuration().hedgingSpec()).isEqualTo(HedgingSpec.builder().maxExtraLoad(0.1).build());
+
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> HedgingSpec.builder().percentile(1));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> HedgingSpec.builder().maxExtraLoad(1.5));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> HedgingSpec.builder().delay(Duration.ofMillis(-1)));
+	}
+
+	double counter(String name) {
+		Counter counter = registry.find(name).counter();
+		return counter == null ? 0 : counter.count();
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.client;
+
+import reactor.netty.Connection;
+
+/**
+ * Gives the tests outside of this package access to the {@link HttpClientOperations} state.
+ */
+public final class HttpClientOperationsTestUtils {
+
+	/**
+	 * Returns the response timeout in milliseconds if it is tracked for the given request, otherwise {@code -1}.
+	 *
+	 * @param connection the request connection
+	 * @return the response timeout in milliseconds if it is tracked for the given request, otherwise {@code -1}
+	 */
+	public static long responseTimeoutMillis(Connection connection) {
+		HttpClientOperations ops = connection.as(HttpClientOperations.class);
+		return ops != null ? ops.responseTimeoutMillis() : -1;
+	}
+
+	private HttpClientOperationsTestUtils() {
+	}
+}
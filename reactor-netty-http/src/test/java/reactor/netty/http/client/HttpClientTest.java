@@ -60,7 +60,6 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
-import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerAdapter;
 import io.netty.channel.ChannelId;
 import io.netty.channel.EventLoopGroup;
@@ -84,7 +83,6 @@ import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
-import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.resolver.AddressResolverGroup;
 import io.netty.resolver.dns.DnsAddressResolverGroup;
 import io.netty.util.CharsetUtil;
@@ -101,7 +99,6 @@ import reactor.netty.ByteBufFlux;
 import reactor.netty.ByteBufMono;
 import reactor.netty.Connection;
 import reactor.netty.FutureMono;
-import reactor.netty.NettyPipeline;
 import reactor.netty.SocketUtils;
 import reactor.netty.http.Http11SslContextSpec;
 import reactor.netty.http.Http2SslContextSpec;
@@ -2562,23 +2559,25 @@ class HttpClientTest extends BaseHttpTest {
 		AtomicBoolean onResponse = new AtomicBoolean();
 		AtomicBoolean onDisconnected = new AtomicBoolean();
 		AtomicLong timeout = new AtomicLong();
+		AtomicReference<Connection> request = new AtomicReference<>();
 		String response =
 				createHttpClientForContextWithAddress()
 				        .doOnRequest((req, conn) -> {
 				            if (onHttpRequestLevel) {
 				                req.responseTimeout(Duration.ofMillis(200));
 				            }
-				            onRequest.set(conn.channel().pipeline().get(NettyPipeline.ResponseTimeoutHandler) != null);
+				            request.set(conn);
+				            onRequest.set(((HttpClientOperations) conn).responseTimeoutMillis() > -1);
 				        })
 				        .doOnResponse((req, conn) -> {
-				            ChannelHandler handler = conn.channel().pipeline().get(NettyPipeline.ResponseTimeoutHandler);
-				            if (handler != null) {
+				            long responseTimeoutMillis = ((HttpClientOperations) conn).responseTimeoutMillis();
+				            if (responseTimeoutMillis > -1) {
 				                onResponse.set(true);
-				                timeout.set(((ReadTimeoutHandler) handler).getReaderIdleTimeInMillis());
+				                timeout.set(responseTimeoutMillis);
 				            }
 				        })
 				        .doOnDisconnected(conn ->
-				            onDisconnected.set(conn.channel().pipeline().get(NettyPipeline.ResponseTimeoutHandler) != null))
+				            onDisconnected.set(((HttpClientOperations) request.get()).responseTimeoutMillis() > -1))
 				        .responseTimeout(Duration.ofMillis(100))
 				        .post()
 				        .uri("/")
@@ -3028,14 +3027,17 @@ class HttpClientTest extends BaseHttpTest {
 		AtomicBoolean onRequest = new AtomicBoolean();
 		AtomicBoolean onResponse = new AtomicBoolean();
 		AtomicBoolean onDisconnected = new AtomicBoolean();
+		AtomicReference<Connection> request = new AtomicReference<>();
 		HttpClient client =
 				createHttpClientForContextWithAddress()
-				        .doOnRequest((req, conn) ->
-				            onRequest.set(conn.channel().pipeline().get(NettyPipeline.ResponseTimeoutHandler) != null))
+				        .doOnRequest((req, conn) -> {
+				            request.set(conn);
+				            onRequest.set(((HttpClientOperations) conn).responseTimeoutMillis() > -1);
+				        })
 				        .doOnResponse((req, conn) ->
-				            onResponse.set(conn.channel().pipeline().get(NettyPipeline.ResponseTimeoutHandler) != null))
+				            onResponse.set(((HttpClientOperations) conn).responseTimeoutMillis() > -1))
 				        .doOnDisconnected(conn ->
-				            onDisconnected.set(conn.channel().pipeline().get(NettyPipeline.ResponseTimeoutHandler) != null))
+				            onDisconnected.set(((HttpClientOperations) request.get()).responseTimeoutMillis() > -1))
 						.responseTimeout(Duration.ofMillis(100));
 
 		doTestIssue1697(client, true, onRequest, onResponse, onDisconnected);
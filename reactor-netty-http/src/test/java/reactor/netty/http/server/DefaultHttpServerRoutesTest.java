@@ -21,6 +21,7 @@ import org.mockito.Mockito;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
+import reactor.core.publisher.Mono;
 import reactor.netty.NettyOutbound;
 import reactor.test.StepVerifier;
 
@@ -28,6 +29,11 @@ import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -77,4 +83,115 @@ class DefaultHttpServerRoutesTest {
 				.verify(Duration.ofMillis(200));
 
 	}
-}
\ No newline at end of file
+
+	@Test
+	void indexedRoutesMatchInDeclarationOrder() {
+		AtomicReference<String> matched = new AtomicReference<>();
+		HttpServerRoutes routes = new DefaultHttpServerRoutes()
+				.get("/users/{id}", handler(matched, "param"))
+				.get("/users/me", handler(matched, "literal"))
+				.route(req -> req.uri().startsWith("/users/"), handler(matched, "custom"))
+				.get("/users/{id}/**", handler(matched, "splat"));
+
+		assertThat(apply(routes, HttpMethod.GET, "/users/me", matched)).isEqualTo("param");
+		assertThat(apply(routes, HttpMethod.GET, "/users/42?q=1", matched)).isEqualTo("param");
+		assertThat(apply(routes, HttpMethod.GET, "/users/42/orders/1", matched)).isEqualTo("custom");
+		assertThat(apply(routes, HttpMethod.POST, "/users/42", matched)).isEqualTo("custom");
+		assertThat(apply(routes, HttpMethod.POST, "/orders", matched)).isNull();
+	}
+
+	@Test
+	void indexedRoutesResolveParams() {
+		AtomicReference<Map<String, String>> params = new AtomicReference<>();
+		HttpServerRoutes routes = new DefaultHttpServerRoutes()
+				.get("/{collection}/{id}", (req, res) -> {
+					params.set(req.params());
+					return Mono.empty();
+				})
+				.get("/files/{path}**", (req, res) -> {
+					params.set(req.params());
+					return Mono.empty();
+				})
+				.get("/static/**", (req, res) -> {
+					params.set(req.params());
+					return Mono.empty();
+				});
+
+		apply(routes, HttpMethod.GET, "/comments/v1.0.0", null);
+		assertThat(params.get()).containsEntry("collection", "comments")
+				.containsEntry("id", "v1.0.0");
+
+		apply(routes, HttpMethod.GET, "/files/a/b/c.txt", null);
+		assertThat(params.get()).containsOnlyKeys("path")
+				.containsEntry("path", "a/b/c.txt");
+
+		apply(routes, HttpMethod.GET, "/static/css/main.css", null);
+		assertThat(params.get()).isNull();
+	}
+
+	@Test
+	void indexedRoutesBehaveAsTemplates() {
+		String[] templates = {"/", "/a", "/a/", "/a/{b}", "/a/{b}/c", "/{a}/{b}", "/a/**", "/{a}**", "/1.0/a"};
+		String[] uris = {"/", "/a", "/a/", "/a/b", "/a/b/", "/a/b/c", "/a//c", "/b/c", "/1.0/a", "/1x0/a", "/a?x=/a/b"};
+		for (String template : templates) {
+			HttpPredicate.UriPathTemplate uriPathTemplate = new HttpPredicate.UriPathTemplate(template);
+			AtomicReference<String> matched = new AtomicReference<>();
+			HttpServerRoutes routes = new DefaultHttpServerRoutes().get(template, handler(matched, template));
+			for (String uri : uris) {
+				assertThat(apply(routes, HttpMethod.GET, uri, matched) != null)
+						.as("template %s, uri %s", template, uri)
+						.isEqualTo(uriPathTemplate.matches(uri));
+			}
+		}
+	}
+
+	@Test
+	void indexIsRebuiltWhenRoutesChange() {
+		AtomicReference<String> matched = new AtomicReference<>();
+		HttpServerRoutes routes = new DefaultHttpServerRoutes()
+				.get("/{p}", handler(matched, "param"))
+				.get("/a", handler(matched, "literal"));
+
+		assertThat(apply(routes, HttpMethod.GET, "/a", matched)).isEqualTo("param");
+
+		routes.comparator(Comparator.comparing(HttpRouteHandlerMetadata::getPath));
+		assertThat(apply(routes, HttpMethod.GET, "/a", matched)).isEqualTo("literal");
+
+		routes.noComparator();
+		assertThat(apply(routes, HttpMethod.GET, "/a", matched)).isEqualTo("param");
+
+		routes.get("/b", handler(matched, "third"));
+		assertThat(apply(routes, HttpMethod.GET, "/b", matched)).isEqualTo("third");
+
+		routes.removeIf(metadata -> "/a".equals(metadata.getPath()));
+		// the literal route is removed, the template route still matches
+		assertThat(apply(routes, HttpMethod.GET, "/a", matched)).isEqualTo("param");
+		assertThat(apply(routes, HttpMethod.GET, "/a/c", matched)).isNull();
+	}
+
+	static BiFunction<HttpServerRequest, HttpServerResponse, Publisher<Void>> handler(AtomicReference<String> matched, String name) {
+		return (req, res) -> {
+			matched.set(name);
+			return Mono.empty();
+		};
+	}
+
+	static String apply(HttpServerRoutes routes, HttpMethod method, String uri, AtomicReference<String> matched) {
+		if (matched != null) {
+			matched.set(null);
+		}
+		HttpServerRequest request = Mockito.mock(HttpServerRequest.class);
+		AtomicReference<Function<? super String, Map<String, String>>> resolver = new AtomicReference<>();
+		Mockito.when(request.paramsResolver(Mockito.any())).thenAnswer(invocation -> {
+			resolver.set(invocation.getArgument(0));
+			return request;
+		});
+		Mockito.when(request.params()).thenAnswer(invocation -> resolver.get() == null ? null : resolver.get().apply(uri));
+		Mockito.when(request.uri()).thenReturn(uri);
+		Mockito.when(request.method()).thenReturn(method);
+		HttpServerResponse response = Mockito.mock(HttpServerResponse.class);
+		Mockito.when(response.sendNotFound()).thenReturn(Mono.empty());
+		Mono.from(routes.apply(request, response)).block(Duration.ofSeconds(5));
+		return matched != null ? matched.get() : null;
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.BaseHttpTest;
+import reactor.netty.ByteBufFlux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HttpServerBlockingExecutorTests extends BaseHttpTest {
+
+	MeterRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		Metrics.removeRegistry(registry);
+		registry.clear();
+		registry.close();
+	}
+
+	@Test
+	void blockingHandlerRunsOffTheEventLoop() throws Exception {
+		HttpServerBlockingExecutor executor = HttpServerBlockingExecutor.builder()
+		                                                                .name("blockingTest")
+		                                                                .metrics(true)
+		                                                                .build();
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<String> threadName = new AtomicReference<>();
+		try {
+			disposableServer =
+					createServer()
+					        .route(r -> r.post("/echo", executor.offload((req, res) -> {
+					            threadName.set(Thread.currentThread().getName());
+					            // blocking calls are allowed on the threads of the executor
+					            String body = req.receive().aggregate().asString().block(Duration.ofSeconds(5));
+					            invoked.countDown();
+					            try {
+					                release.await(5, TimeUnit.SECONDS);
+					            }
+					            catch (InterruptedException e) {
+					                Thread.currentThread().interrupt();
+					            }
+					            return res.sendString(Mono.just("echo " + body));
+					        })))
+					        .bindNow();
+
+			Mono<String> response =
+					createClient(disposableServer.port())
+					        .post()
+					        .uri("/echo")
+					        .send(ByteBufFlux.fromString(Mono.just("hello")))
+					        .responseContent()
+					        .aggregate()
+					        .asString()
+					        .cache();
+			response.subscribe();
+
+			assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(executor.inFlight()).isEqualTo(1);
+			Gauge inFlight = registry.find("reactor.netty.http.server.blocking.handlers.in.flight")
+			                         .tags("name", "blockingTest")
+			                         .gauge();
+			assertThat(inFlight).isNotNull();
+			assertThat(inFlight.value()).isEqualTo(1);
+
+			release.countDown();
+			assertThat(response.block(Duration.ofSeconds(5))).isEqualTo("echo hello");
+			assertThat(threadName.get()).startsWith(HttpServerBlockingExecutor.THREAD_NAME_PREFIX + "blockingTest");
+			assertThat(awaitNoneInFlight(executor)).isTrue();
+		}
+		finally {
+			release.countDown();
+			executor.dispose();
+		}
+		assertThat(registry.find("reactor.netty.http.server.blocking.handlers.in.flight")
+		                   .tags("name", "blockingTest")
+		                   .gauge()).isNull();
+	}
+
+	@Test
+	void handleBlockingUsesTheSharedExecutor() throws Exception {
+		AtomicReference<String> threadName = new AtomicReference<>();
+		disposableServer =
+				createServer()
+				        .handleBlocking((req, res) -> {
+				            threadName.set(Thread.currentThread().getName());
+				            return res.sendString(Mono.just("blocking"));
+				        })
+				        .bindNow();
+
+		String response =
+				createClient(disposableServer.port())
+				        .get()
+				        .uri("/")
+				        .responseContent()
+				        .aggregate()
+				        .asString()
+				        .block(Duration.ofSeconds(5));
+
+		assertThat(response).isEqualTo("blocking");
+		HttpServerBlockingExecutor shared = HttpServerBlockingExecutor.shared();
+		assertThat(threadName.get()).startsWith(shared.isVirtual() ?
+				HttpServerBlockingExecutor.THREAD_NAME_PREFIX : "boundedElastic");
+		assertThat(awaitNoneInFlight(shared)).isTrue();
+
+		shared.dispose();
+		assertThat(shared.isDisposed()).isFalse();
+	}
+
+	@Test
+	void handlerErrorDecrementsInFlight() throws Exception {
+		HttpServerBlockingExecutor executor = HttpServerBlockingExecutor.builder()
+		                                                                .virtualThreads(false)
+		                                                                .maxThreads(1)
+		                                                                .build();
+		try {
+			assertThat(executor.isVirtual()).isFalse();
+			disposableServer =
+					createServer()
+					        .handleBlocking(executor, (req, res) -> {
+					            throw new IllegalStateException("handlerErrorDecrementsInFlight");
+					        })
+					        .bindNow();
+
+			Integer status =
+					createClient(disposableServer.port())
+					        .get()
+					        .uri("/")
+					        .response((res, bytes) -> Mono.just(res.status().code()))
+					        .blockLast(Duration.ofSeconds(5));
+
+			assertThat(status).isEqualTo(500);
+			assertThat(awaitNoneInFlight(executor)).isTrue();
+		}
+		finally {
+			executor.dispose();
+		}
+		assertThat(executor.isDisposed()).isTrue();
+	}
+
+	@Test
+	void builderValidatesTheMaxThreads() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> HttpServerBlockingExecutor.builder().maxThreads(0));
+	}
+
+	/**
+	 * The client may receive the response before the handler termination is signalled on the server.
+	 */
+	static boolean awaitNoneInFlight(HttpServerBlockingExecutor executor) throws InterruptedException {
+		for (int i = 0; i < 50 && executor.inFlight() != 0; i++) {
+			Thread.sleep(100);
+		}
+		return executor.inFlight() == 0;
+	}
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.BaseHttpTest;
+import reactor.util.function.Tuple3;
+import reactor.util.function.Tuples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HttpServerResponseCacheTests extends BaseHttpTest {
+
+	MeterRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		Metrics.removeRegistry(registry);
+		registry.clear();
+		registry.close();
+	}
+
+	@Test
+	void cachedResponseIsSentWithoutInvokingTheHandler() {
+		HttpServerResponseCache cache = HttpServerResponseCache.builder()
+		                                                       .name("cachedResponse")
+		                                                       .timeToLive(Duration.ofMinutes(1))
+		                                                       .metrics(true)
+		                                                       .build();
+		AtomicInteger invocations = new AtomicInteger();
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/catalog", cache.cached((req, res) ->
+				                res.header("X-Invocation", Integer.toString(invocations.incrementAndGet()))
+				                   .sendString(Mono.just("catalog")))))
+				        .bindNow();
+
+		Tuple3<Integer, HttpHeaders, String> response = get("/catalog", h -> {});
+		assertThat(response.getT1()).isEqualTo(200);
+		assertThat(response.getT3()).isEqualTo("catalog");
+		assertThat(response.getT2().get(HttpHeaderNames.AGE)).isNull();
+
+		response = get("/catalog", h -> {});
+		assertThat(response.getT1()).isEqualTo(200);
+		assertThat(response.getT3()).isEqualTo("catalog");
+		assertThat(response.getT2().get("X-Invocation")).isEqualTo("1");
+		assertThat(response.getT2().get(HttpHeaderNames.AGE)).isNotNull();
+		assertThat(response.getT2().get(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo("7");
+
+		// the request explicitly asks for a fresh response
+		response = get("/catalog", h -> h.set(HttpHeaderNames.CACHE_CONTROL, "no-cache"));
+		assertThat(response.getT2().get("X-Invocation")).isEqualTo("2");
+		assertThat(invocations.get()).isEqualTo(2);
+
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.memoryUsed()).isGreaterThanOrEqualTo(7);
+		assertThat(counter("reactor.netty.http.server.response.cache.hits", "cachedResponse")).isEqualTo(1);
+		assertThat(counter("reactor.netty.http.server.response.cache.misses", "cachedResponse")).isEqualTo(2);
+		Gauge entries = registry.find("reactor.netty.http.server.response.cache.entries").tags("name", "cachedResponse").gauge();
+		assertThat(entries).isNotNull();
+		assertThat(entries.value()).isEqualTo(1);
+
+		cache.clear();
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.memoryUsed()).isEqualTo(0);
+	}
+
+	@Test
+	void streamedResponseIsCached() {
+		HttpServerResponseCache cache = HttpServerResponseCache.builder()
+		                                                       .timeToLive(Duration.ofMinutes(1))
+		                                                       .build();
+		AtomicInteger invocations = new AtomicInteger();
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/stream", cache.cached((req, res) ->
+				                res.header("X-Invocation", Integer.toString(invocations.incrementAndGet()))
+				                   .sendString(Flux.just("first", "second", "third")))))
+				        .bindNow();
+
+		Tuple3<Integer, HttpHeaders, String> response = get("/stream", h -> {});
+		assertThat(response.getT1()).isEqualTo(200);
+		assertThat(response.getT3()).isEqualTo("firstsecondthird");
+
+		response = get("/stream", h -> {});
+		assertThat(response.getT1()).isEqualTo(200);
+		assertThat(response.getT3()).isEqualTo("firstsecondthird");
+		assertThat(response.getT2().get("X-Invocation")).isEqualTo("1");
+		assertThat(response.getT2().get(HttpHeaderNames.AGE)).isNotNull();
+		assertThat(response.getT2().get(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo("16");
+		assertThat(invocations.get()).isEqualTo(1);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void responsesAreKeyedByTheVaryHeaders() {
+		HttpServerResponseCache cache = HttpServerResponseCache.builder()
+		                                                       .timeToLive(Duration.ofMinutes(1))
+		                                                       .build();
+		AtomicInteger invocations = new AtomicInteger();
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/greeting", cache.cached((req, res) -> {
+				            invocations.incrementAndGet();
+				            String language = req.requestHeaders().get(HttpHeaderNames.ACCEPT_LANGUAGE, "en");
+				            return res.header(HttpHeaderNames.VARY, "Accept-Language")
+				                      .sendString(Mono.just("fr".equals(language) ? "bonjour" : "hello"));
+				        })))
+				        .bindNow();
+
+		assertThat(get("/greeting", h -> h.set(HttpHeaderNames.ACCEPT_LANGUAGE, "fr")).getT3()).isEqualTo("bonjour");
+		assertThat(get("/greeting", h -> h.set(HttpHeaderNames.ACCEPT_LANGUAGE, "en")).getT3()).isEqualTo("hello");
+		assertThat(get("/greeting", h -> h.set(HttpHeaderNames.ACCEPT_LANGUAGE, "fr")).getT3()).isEqualTo("bonjour");
+		assertThat(get("/greeting", h -> h.set(HttpHeaderNames.ACCEPT_LANGUAGE, "en")).getT3()).isEqualTo("hello");
+		assertThat(invocations.get()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void uncacheableResponsesAreNotCached() {
+		HttpServerResponseCache cache = HttpServerResponseCache.builder()
+		                                                       .timeToLive(Duration.ofMinutes(1))
+		                                                       .build();
+		AtomicInteger invocations = new AtomicInteger();
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/no-store", cache.cached((req, res) -> {
+				                        invocations.incrementAndGet();
+				                        return res.header(HttpHeaderNames.CACHE_CONTROL, "no-store")
+				                                  .sendString(Mono.just("no-store"));
+				                    }))
+				                     .get("/not-found", cache.cached((req, res) -> {
+				                        invocations.incrementAndGet();
+				                        return res.status(HttpResponseStatus.NOT_FOUND).send();
+				                    })))
+				        .bindNow();
+
+		get("/no-store", h -> {});
+		get("/no-store", h -> {});
+		assertThat(get("/not-found", h -> {}).getT1()).isEqualTo(404);
+		assertThat(get("/not-found", h -> {}).getT1()).isEqualTo(404);
+		assertThat(invocations.get()).isEqualTo(4);
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.memoryUsed()).isEqualTo(0);
+	}
+
+	@Test
+	void leastRecentlyUsedResponsesAreEvicted() {
+		HttpServerResponseCache cache = HttpServerResponseCache.builder()
+		                                                       .name("eviction")
+		                                                       .maxMemory(2048)
+		                                                       .maxEntrySize(1024)
+		                                                       .timeToLive(Duration.ofMinutes(1))
+		                                                       .metrics(true)
+		                                                       .build();
+		String body = new String(new char[1000]).replace('\0', 'a');
+		disposableServer =
+				createServer()
+				        .route(r -> r.get("/{id}", cache.cached((req, res) -> res.sendString(Mono.just(body)))))
+				        .bindNow();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(get("/" + i, h -> {}).getT3()).isEqualTo(body);
+		}
+		assertThat(cache.memoryUsed()).isLessThanOrEqualTo(2048);
+		assertThat(cache.size()).isLessThan(4);
+		assertThat(counter("reactor.netty.http.server.response.cache.evictions", "eviction")).isGreaterThan(0);
+	}
+
+	@Test
+	void timeToLiveHonoursCacheControl() {
+		HttpServerResponseCache cache = HttpServerResponseCache.builder()
+		                                                       .timeToLive(Duration.ofMinutes(1))
+		                                                       .build();
+
+		assertThat(cache.timeToLiveNanos(response(null))).isEqualTo(Duration.ofMinutes(1).toNanos());
+		assertThat(cache.timeToLiveNanos(response("public, max-age=10"))).isEqualTo(Duration.ofSeconds(10).toNanos());
+		assertThat(cache.timeToLiveNanos(response("max-age=10, s-maxage=5"))).isEqualTo(Duration.ofSeconds(5).toNanos());
+		assertThat(cache.timeToLiveNanos(response("max-age=600"))).isEqualTo(Duration.ofMinutes(1).toNanos());
+		assertThat(cache.timeToLiveNanos(response("max-age=0"))).isEqualTo(-1);
+		assertThat(cache.timeToLiveNanos(response("private"))).isEqualTo(-1);
+		assertThat(cache.timeToLiveNanos(response("no-store"))).isEqualTo(-1);
+		assertThat(cache.timeToLiveNanos(response("max-age=abc"))).isEqualTo(-1);
+	}
+
+	@Test
+	void builderValidatesTheLimits() {
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> HttpServerResponseCache.builder().maxMemory(1024).maxEntrySize(2048).build());
+		assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> HttpServerResponseCache.builder().timeToLive(Duration.ZERO));
+	}
+
+	double counter(String name, String cacheName) {
+		FunctionCounter counter = registry.find(name).tags("name", cacheName).functionCounter();
+		assertThat(counter).isNotNull();
+		return counter.count();
+	}
+
+	static DefaultHttpResponse response(String cacheControl) {
+		DefaultHttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+		if (cacheControl != null) {
+			response.headers().set(HttpHeaderNames.CACHE_CONTROL, cacheControl);
+		}
+		return response;
+	}
+
+	Tuple3<Integer, HttpHeaders, String> get(String uri, Consumer<HttpHeaders> headers) {
+		Tuple3<Integer, HttpHeaders, String> response =
+				createClient(disposableServer.port())
+				        .headers(headers)
+				        .get()
+				        .uri(uri)
+				        .responseSingle((res, bytes) -> bytes.asString(StandardCharsets.UTF_8)
+				                                             .defaultIfEmpty("")
+				                                             .map(s -> Tuples.of(res.status().code(), res.responseHeaders(), s)))
+				        .block(Duration.ofSeconds(5));
+		assertThat(response).isNotNull();
+		return response;
+	}
+}
@@ -27,6 +27,7 @@ import java.nio.file.Paths;
 import java.security.cert.CertificateException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -51,6 +52,7 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOption;
@@ -64,6 +66,7 @@ import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
@@ -72,10 +75,12 @@ import io.netty.handler.codec.http.HttpMessage;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpObjectDecoder;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
 import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
 import io.netty.handler.codec.http.websocketx.WebSocketCloseStatus;
@@ -318,6 +323,231 @@ class HttpServerTests extends BaseHttpTest {
 		client.disposeNow();
 	}
 
+	@Test
+	void httpPipeliningConcurrentRequests() throws Exception {
+		AtomicInteger i = new AtomicInteger();
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		disposableServer = createServer()
+		                             .pipelining(3, 1024)
+		                             .handle((req, resp) -> {
+		                                 maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+		                                 return resp.header(HttpHeaderNames.CONTENT_LENGTH, "1")
+		                                            .sendString(Mono.just(i.incrementAndGet())
+		                                                            .flatMap(d ->
+		                                                                    Mono.delay(Duration.ofSeconds(4 - d))
+		                                                                        .map(x -> d + "")))
+		                                            .then()
+		                                            .doFinally(s -> inFlight.decrementAndGet());
+		                             })
+		                             .bindNow();
+
+		DefaultFullHttpRequest request =
+				new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
+				                           HttpMethod.GET,
+				                           "/plaintext");
+
+		CountDownLatch latch = new CountDownLatch(3);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+
+		Connection client =
+				TcpClient.create()
+				         .port(disposableServer.port())
+				         .handle((in, out) -> {
+				                 in.withConnection(x ->
+				                         x.addHandlerFirst(new HttpClientCodec()))
+				                   .receiveObject()
+				                   .ofType(DefaultHttpContent.class)
+				                   .as(ByteBufFlux::fromInbound)
+				                   .asString()
+				                   .map(Integer::parseInt)
+				                   .subscribe(d -> {
+				                       received.add(d);
+				                       latch.countDown();
+				                   });
+
+				                 return out.sendObject(Flux.just(request.retain(),
+				                                                 request.retain(),
+				                                                 request.retain()))
+				                           .neverComplete();
+				         })
+				         .wiretap(true)
+				         .connectNow();
+
+		assertThat(latch.await(30, TimeUnit.SECONDS)).as("latch await").isTrue();
+		// the last request completes first, the responses are still sent in order
+		assertThat(received).containsExactly(1, 2, 3);
+		assertThat(maxInFlight.get()).isEqualTo(3);
+
+		client.disposeNow();
+	}
+
+	@Test
+	void httpPipeliningBufferedResponseExceedingTheLimitIsNotWritable() throws Exception {
+		AtomicReference<Channel> bufferedChannel = new AtomicReference<>();
+		AtomicReference<Boolean> writableWhileBuffered = new AtomicReference<>();
+		byte[] body = new byte[4096];
+		Arrays.fill(body, (byte) 'a');
+
+		disposableServer = createServer()
+		                             .pipelining(2, 1024)
+		                             .handle((req, resp) -> {
+		                                 if ("/first".equals(req.uri())) {
+		                                     return resp.header(HttpHeaderNames.CONTENT_LENGTH, "5")
+		                                                .sendString(Mono.delay(Duration.ofSeconds(1))
+		                                                                .map(x -> {
+		                                                                    Channel channel = bufferedChannel.get();
+		                                                                    writableWhileBuffered.set(channel != null ? channel.isWritable() : null);
+		                                                                    return "first";
+		                                                                }));
+		                                 }
+		                                 // the response is buffered until the response to the first request is sent
+		                                 return resp.header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(body.length))
+		                                            .withConnection(c -> bufferedChannel.set(c.channel()))
+		                                            .sendByteArray(Mono.just(body));
+		                             })
+		                             .bindNow();
+
+		CountDownLatch latch = new CountDownLatch(2);
+		List<String> received = new CopyOnWriteArrayList<>();
+
+		Connection client =
+				TcpClient.create()
+				         .port(disposableServer.port())
+				         .handle((in, out) -> {
+				                 StringBuilder response = new StringBuilder();
+				                 in.withConnection(x ->
+				                         x.addHandlerFirst(new HttpClientCodec()))
+				                   .receiveObject()
+				                   .ofType(HttpContent.class)
+				                   .subscribe(content -> {
+				                       response.append(content.content().toString(Charset.defaultCharset()));
+				                       if (content instanceof LastHttpContent) {
+				                           received.add(response.toString());
+				                           response.setLength(0);
+				                           latch.countDown();
+				                       }
+				                   });
+
+				                 return out.sendObject(Flux.just(
+				                                   new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/first"),
+				                                   new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/second")))
+				                           .neverComplete();
+				         })
+				         .wiretap(true)
+				         .connectNow();
+
+		assertThat(latch.await(30, TimeUnit.SECONDS)).as("latch await").isTrue();
+		// the writer of the second response is paused once the buffered bytes exceed the limit
+		assertThat(writableWhileBuffered.get()).isFalse();
+		assertThat(received).containsExactly("first", new String(body, Charset.defaultCharset()));
+
+		client.disposeNow();
+	}
+
+	@Test
+	void httpPipeliningUnsafeRequestsAreProcessedOneAtATime() throws Exception {
+		AtomicInteger i = new AtomicInteger();
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		disposableServer = createServer()
+		                             .pipelining(3, 1024)
+		                             .handle((req, resp) -> {
+		                                 maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+		                                 return resp.header(HttpHeaderNames.CONTENT_LENGTH, "1")
+		                                            .sendString(Mono.just(i.incrementAndGet())
+		                                                            .delayElement(Duration.ofMillis(300))
+		                                                            .map(d -> d + ""))
+		                                            .then()
+		                                            .doFinally(s -> inFlight.decrementAndGet());
+		                             })
+		                             .bindNow();
+
+		DefaultFullHttpRequest request =
+				new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
+				                           HttpMethod.POST,
+				                           "/plaintext");
+		request.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+
+		CountDownLatch latch = new CountDownLatch(3);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+
+		Connection client =
+				TcpClient.create()
+				         .port(disposableServer.port())
+				         .handle((in, out) -> {
+				                 in.withConnection(x ->
+				                         x.addHandlerFirst(new HttpClientCodec()))
+				                   .receiveObject()
+				                   .ofType(DefaultHttpContent.class)
+				                   .as(ByteBufFlux::fromInbound)
+				                   .asString()
+				                   .map(Integer::parseInt)
+				                   .subscribe(d -> {
+				                       received.add(d);
+				                       latch.countDown();
+				                   });
+
+				                 return out.sendObject(Flux.just(request.retain(),
+				                                                 request.retain(),
+				                                                 request.retain()))
+				                           .neverComplete();
+				         })
+				         .wiretap(true)
+				         .connectNow();
+
+		assertThat(latch.await(30, TimeUnit.SECONDS)).as("latch await").isTrue();
+		assertThat(received).containsExactly(1, 2, 3);
+		// the requests with a method other than GET and HEAD are not processed concurrently
+		assertThat(maxInFlight.get()).isEqualTo(1);
+
+		client.disposeNow();
+	}
+
+	@Test
+	void httpPipeliningConnectionIsClosedWhenAnEarlierResponseEndsEarly() throws Exception {
+		disposableServer = createServer()
+		                             .pipelining(3, 1024)
+		                             .handle((req, resp) -> {
+		                                 if ("/abort".equals(req.uri())) {
+		                                     // the response to the next request cannot be sent in order anymore
+		                                     resp.withConnection(Connection::dispose);
+		                                     return Mono.never();
+		                                 }
+		                                 return resp.header(HttpHeaderNames.CONTENT_LENGTH, "2")
+		                                            .sendString(Mono.just("OK")
+		                                                            .delayElement(Duration.ofSeconds("/slow".equals(req.uri()) ? 1 : 0)));
+		                             })
+		                             .bindNow();
+
+		List<HttpResponse> received = new CopyOnWriteArrayList<>();
+
+		Connection client =
+				TcpClient.create()
+				         .port(disposableServer.port())
+				         .handle((in, out) -> {
+				                 in.withConnection(x ->
+				                         x.addHandlerFirst(new HttpClientCodec()))
+				                   .receiveObject()
+				                   .ofType(HttpResponse.class)
+				                   .subscribe(received::add);
+
+				                 return out.sendObject(Flux.just(
+				                                   new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/slow"),
+				                                   new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/abort"),
+				                                   new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/next")))
+				                           .neverComplete();
+				         })
+				         .wiretap(true)
+				         .connectNow();
+
+		client.onDispose()
+		      .block(Duration.ofSeconds(30));
+		assertThat(received).isEmpty();
+	}
+
 	@Test
 	@SuppressWarnings("deprecation")
 	void flushOnComplete() {
@@ -1908,6 +2138,7 @@ class HttpServerTests extends BaseHttpTest {
 				new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/"),
 				null,
 				null,
+				null,
 				ServerCookieDecoder.STRICT,
 				ServerCookieEncoder.STRICT,
 				DEFAULT_FORM_DECODER_SPEC,
@@ -2461,6 +2692,52 @@ class HttpServerTests extends BaseHttpTest {
 		assertThat(latch.await(500, TimeUnit.MILLISECONDS)).isEqualTo(applyTimeout);
 	}
 
+	@Test
+	void testIdleTimeoutHandlerStaysInstalled() {
+		List<ChannelHandler> handlers = new CopyOnWriteArrayList<>();
+		AtomicBoolean armed = new AtomicBoolean();
+		disposableServer =
+				createServer()
+				          .idleTimeout(Duration.ofSeconds(30))
+				          .handle((req, resp) -> {
+				              req.withConnection(conn -> {
+				                  ChannelHandler handler = conn.channel().pipeline().get(NettyPipeline.IdleTimeoutHandler);
+				                  handlers.add(handler);
+				                  if (((HttpTrafficHandler.IdleTimeoutHandler) handler).timeout.isScheduled()) {
+				                      armed.set(true);
+				                  }
+				              });
+				              return resp.sendString(Mono.just("testIdleTimeoutHandlerStaysInstalled"));
+				          })
+				          .bindNow();
+
+		ConnectionProvider provider = ConnectionProvider.create("testIdleTimeoutHandlerStaysInstalled", 1);
+		try {
+			HttpClient client = createClient(provider, disposableServer.port());
+			Flux.range(0, 3)
+			    .concatMap(i -> client.get()
+			                          .uri("/")
+			                          .responseContent()
+			                          .aggregate()
+			                          .asString())
+			    .as(StepVerifier::create)
+			    .expectNext("testIdleTimeoutHandlerStaysInstalled", "testIdleTimeoutHandlerStaysInstalled",
+			            "testIdleTimeoutHandlerStaysInstalled")
+			    .expectComplete()
+			    .verify(Duration.ofSeconds(30));
+
+			// the same handler serves all requests on the connection and it is disarmed while a request is processed
+			assertThat(handlers).hasSize(3).doesNotContainNull();
+			assertThat(handlers.get(1)).isSameAs(handlers.get(0));
+			assertThat(handlers.get(2)).isSameAs(handlers.get(0));
+			assertThat(armed.get()).isFalse();
+		}
+		finally {
+			provider.disposeLater()
+			        .block(Duration.ofSeconds(5));
+		}
+	}
+
 	@Test
 	void testIdleTimeout_DelayFirstRequest_NoSSL() {
 		doTestIdleTimeout_DelayFirstRequest(false);
@@ -2815,6 +3092,7 @@ class HttpServerTests extends BaseHttpTest {
 				request,
 				null,
 				null,
+				null,
 				ServerCookieDecoder.STRICT,
 				ServerCookieEncoder.STRICT,
 				DEFAULT_FORM_DECODER_SPEC,
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactor.netty.Metrics.DATA_RECEIVED;
+import static reactor.netty.Metrics.DATA_SENT_TIME;
+import static reactor.netty.Metrics.HTTP_SERVER_PREFIX;
+import static reactor.netty.Metrics.METHOD;
+import static reactor.netty.Metrics.STATUS;
+import static reactor.netty.Metrics.URI;
+
+class MicrometerHttpServerMetricsHandlerTest {
+
+	MeterRegistry registry;
+	MicrometerHttpServerMetricsHandler handler;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+		handler = new MicrometerHttpServerMetricsHandler(MicrometerHttpServerMetricsRecorder.INSTANCE, null, true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		Metrics.removeRegistry(registry);
+		registry.clear();
+		registry.close();
+	}
+
+	@Test
+	void requestMetersAreReusedWhileTheTagsDoNotChange() {
+		MicrometerHttpServerMetricsRecorder.RequestMeters meters = handler.requestMeters("/prebound/1", "GET");
+		assertThat(handler.requestMeters("/prebound/1", "GET")).isSameAs(meters);
+
+		MicrometerHttpServerMetricsRecorder.RequestMeters other = handler.requestMeters("/prebound/2", "GET");
+		assertThat(other).isNotSameAs(meters);
+		assertThat(handler.requestMeters("/prebound/2", "POST")).isNotSameAs(other);
+		// The meters of the alternating requests are kept on the connection
+		assertThat(handler.requestMeters("/prebound/1", "GET")).isSameAs(meters);
+		assertThat(handler.requestMeters("/prebound/2", "GET")).isSameAs(other);
+
+		handler.requestMeters("/prebound/1", "GET").recordDataReceived(10);
+		handler.requestMeters("/prebound/1", "GET").recordDataReceived(20);
+
+		DistributionSummary summary =
+				registry.find(HTTP_SERVER_PREFIX + DATA_RECEIVED).tags(URI, "/prebound/1").summary();
+		assertThat(summary).isNotNull();
+		assertThat(summary.count()).isEqualTo(2);
+		assertThat(summary.totalAmount()).isEqualTo(30);
+	}
+
+	@Test
+	void responseMetersAreReusedWhileTheTagsDoNotChange() {
+		MicrometerHttpServerMetricsRecorder.ResponseMeters meters = handler.responseMeters("/prebound/3", "GET", "200");
+		assertThat(handler.responseMeters("/prebound/3", "GET", "200")).isSameAs(meters);
+		assertThat(handler.responseMeters("/prebound/3", "GET", "404")).isNotSameAs(meters);
+		assertThat(handler.responseMeters("/prebound/3", "GET", "200")).isSameAs(meters);
+
+		handler.responseMeters("/prebound/3", "GET", "200").recordDataSentTime(1_000_000);
+
+		Timer timer = registry.find(HTTP_SERVER_PREFIX + DATA_SENT_TIME)
+		                      .tags(URI, "/prebound/3", METHOD, "GET", STATUS, "200")
+		                      .timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isEqualTo(1);
+		assertThat(meters.responseTime).isSameAs(
+				MicrometerHttpServerMetricsRecorder.INSTANCE.getResponseTimeTimer(
+						handler.responseTimeName, "/prebound/3", "GET", "200"));
+	}
+
+	@Test
+	void preboundMetersAreBounded() {
+		MicrometerHttpServerMetricsRecorder.ResponseMeters first = handler.responseMeters("/prebound/0", "GET", "200");
+		for (int i = 1; i <= MicrometerHttpServerMetricsHandler.PREBOUND_METERS_SIZE; i++) {
+			handler.responseMeters("/prebound/" + i, "GET", "200");
+		}
+		// The least recently resolved meters are replaced
+		assertThat(handler.responseMeters).hasSize(MicrometerHttpServerMetricsHandler.PREBOUND_METERS_SIZE)
+		                                  .doesNotContain(first);
+	}
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.netty.BaseHttpTest;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.StaticResourceCache.CachedFile;
+import reactor.util.function.Tuple3;
+import reactor.util.function.Tuples;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticResourceHandlerTests extends BaseHttpTest {
+
+	static final String CONTENT = "0123456789abcdefghij";
+
+	@TempDir
+	Path directory;
+
+	byte[] gzipped;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		Files.write(directory.resolve("test.txt"), CONTENT.getBytes(StandardCharsets.UTF_8));
+		Files.write(directory.resolve("other.txt"), CONTENT.getBytes(StandardCharsets.UTF_8));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+		}
+		gzipped = out.toByteArray();
+		Files.write(directory.resolve("test.txt.gz"), gzipped);
+		Files.write(directory.getParent().resolve(directory.getFileName() + "-secret.txt"),
+				"secret".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void servesFileWithValidators() {
+		disposableServer = bind(Function.identity());
+
+		Tuple3<Integer, HttpHeaders, byte[]> response = get("/static/other.txt", h -> {});
+		assertThat(response.getT1()).isEqualTo(200);
+		assertThat(new String(response.getT3(), StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+		assertThat(response.getT2().get(HttpHeaderNames.CONTENT_LENGTH)).isEqualTo("20");
+		assertThat(response.getT2().get(HttpHeaderNames.ACCEPT_RANGES)).isEqualTo("bytes");
+		assertThat(response.getT2().get(HttpHeaderNames.ETAG)).startsWith("\"");
+		assertThat(response.getT2().get(HttpHeaderNames.LAST_MODIFIED)).isNotNull();
+
+		String etag = response.getT2().get(HttpHeaderNames.ETAG);
+		String lastModified = response.getT2().get(HttpHeaderNames.LAST_MODIFIED);
+
+		response = get("/static/other.txt", h -> h.set(HttpHeaderNames.IF_NONE_MATCH, "\"other\", W/" + etag));
+		assertThat(response.getT1()).isEqualTo(304);
+		assertThat(response.getT3()).isEmpty();
+
+		response = get("/static/other.txt", h -> h.set(HttpHeaderNames.IF_MODIFIED_SINCE, lastModified));
+		assertThat(response.getT1()).isEqualTo(304);
+
+		response = get("/static/other.txt", h -> h.set(HttpHeaderNames.IF_NONE_MATCH, "\"other\""));
+		assertThat(response.getT1()).isEqualTo(200);
+	}
+
+	@Test
+	void servesRanges() {
+		disposableServer = bind(Function.identity());
+
+		Tuple3<Integer, HttpHeaders, byte[]> response = get("/static/other.txt", h -> h.set(HttpHeaderNames.RANGE, "bytes=2-5"));
+		assertThat(response.getT1()).isEqualTo(206);
+		assertThat(new String(response.getT3(), StandardCharsets.UTF_8)).isEqualTo("2345");
+		assertThat(response.getT2().get(HttpHeaderNames.CONTENT_RANGE)).isEqualTo("bytes 2-5/20");
+
+		response = get("/static/other.txt", h -> h.set(HttpHeaderNames.RANGE, "bytes=-3"));
+		assertThat(response.getT1()).isEqualTo(206);
+		assertThat(new String(response.getT3(), StandardCharsets.UTF_8)).isEqualTo("hij");
+
+		response = get("/static/other.txt", h -> h.set(HttpHeaderNames.RANGE, "bytes=20-"));
+		assertThat(response.getT1()).isEqualTo(416);
+		assertThat(response.getT2().get(HttpHeaderNames.CONTENT_RANGE)).isEqualTo("bytes */20");
+
+		// If-Range does not match, the whole file is served
+		response = get("/static/other.txt", h -> h.set(HttpHeaderNames.RANGE, "bytes=2-5")
+		                                           .set(HttpHeaderNames.IF_RANGE, "\"other\""));
+		assertThat(response.getT1()).isEqualTo(200);
+		assertThat(new String(response.getT3(), StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void servesPrecompressedSibling() {
+		disposableServer = bind(Function.identity());
+
+		Tuple3<Integer, HttpHeaders, byte[]> response =
+				get("/static/test.txt", h -> h.set(HttpHeaderNames.ACCEPT_ENCODING, "br, gzip;q=0.8"));
+		assertThat(response.getT1()).isEqualTo(200);
+		assertThat(response.getT2().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(response.getT2().get(HttpHeaderNames.VARY)).isEqualTo("accept-encoding");
+		assertThat(response.getT3()).isEqualTo(gzipped);
+
+		response = get("/static/test.txt", h -> h.set(HttpHeaderNames.ACCEPT_ENCODING, "br"));
+		assertThat(response.getT2().get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+		assertThat(new String(response.getT3(), StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+
+		disposableServer.disposeNow();
+		disposableServer = bind(spec -> spec.precompressed(false));
+
+		response = get("/static/test.txt", h -> h.set(HttpHeaderNames.ACCEPT_ENCODING, "gzip"));
+		assertThat(response.getT2().get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+		assertThat(new String(response.getT3(), StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void doesNotServeOutsideTheDirectory() {
+		disposableServer = bind(Function.identity());
+
+		assertThat(get("/static/missing.txt", h -> {}).getT1()).isEqualTo(404);
+		assertThat(get("/static/%2e%2e/" + directory.getFileName() + "-secret.txt", h -> {}).getT1()).isEqualTo(404);
+	}
+
+	@Test
+	void cachesOpenFiles() throws IOException {
+		StaticResourceCache cache = new StaticResourceCache(1, Duration.ofMinutes(1).toNanos(), p -> "text/plain");
+		Path test = directory.resolve("test.txt");
+		Path other = directory.resolve("other.txt");
+
+		CachedFile first = cache.get(test, null, null);
+		assertThat(first).isNotNull();
+		assertThat(first.contentType).isEqualTo("text/plain");
+		CachedFile second = cache.get(test, null, null);
+		assertThat(second).isSameAs(first);
+		assertThat(first.refCnt()).isEqualTo(3);
+		second.release();
+
+		// evicted, the channel stays open until the pending response is released
+		CachedFile evicting = cache.get(other, null, null);
+		assertThat(evicting).isNotNull();
+		assertThat(first.refCnt()).isEqualTo(1);
+		assertThat(first.channel.isOpen()).isTrue();
+		first.release();
+		assertThat(first.channel.isOpen()).isFalse();
+		evicting.release();
+
+		assertThat(cache.get(directory.resolve("missing.txt"), null, null)).isNull();
+	}
+
+	@Test
+	void revalidatesModifiedFiles() throws IOException {
+		StaticResourceCache cache = new StaticResourceCache(16, 0, p -> null);
+		Path test = directory.resolve("test.txt");
+
+		CachedFile first = cache.get(test, null, null);
+		assertThat(first).isNotNull();
+		first.release();
+
+		Files.write(test, "modified".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(test, FileTime.fromMillis(first.lastModified + 10_000));
+
+		CachedFile second = cache.get(test, null, null);
+		assertThat(second).isNotNull();
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.size).isEqualTo(8);
+		assertThat(second.etag).isNotEqualTo(first.etag);
+		assertThat(first.channel.isOpen()).isFalse();
+		second.release();
+	}
+
+	@Test
+	void parsesRanges() {
+		assertThat(StaticResourceHandler.range("bytes=0-0", 10)).containsExactly(0, 0);
+		assertThat(StaticResourceHandler.range("bytes=5-", 10)).containsExactly(5, 9);
+		assertThat(StaticResourceHandler.range("bytes=5-100", 10)).containsExactly(5, 9);
+		assertThat(StaticResourceHandler.range("bytes=-100", 10)).containsExactly(0, 9);
+		assertThat(StaticResourceHandler.range("bytes=10-", 10)).isSameAs(StaticResourceHandler.UNSATISFIABLE);
+		assertThat(StaticResourceHandler.range("bytes=-0", 10)).isSameAs(StaticResourceHandler.UNSATISFIABLE);
+		assertThat(StaticResourceHandler.range("bytes=5-2", 10)).isNull();
+		assertThat(StaticResourceHandler.range("bytes=0-1,3-4", 10)).isNull();
+		assertThat(StaticResourceHandler.range("items=0-1", 10)).isNull();
+		assertThat(StaticResourceHandler.range("bytes=a-b", 10)).isNull();
+	}
+
+	DisposableServer bind(Function<StaticResourceSpec, StaticResourceSpec> spec) {
+		return createServer().route(r -> r.resources("/static", directory, spec))
+		                     .bindNow();
+	}
+
+	Tuple3<Integer, HttpHeaders, byte[]> get(String uri, Consumer<HttpHeaders> headers) {
+		Tuple3<Integer, HttpHeaders, byte[]> response =
+				createClient(disposableServer.port())
+				        .headers(headers)
+				        .get()
+				        .uri(uri)
+				        .responseSingle((res, bytes) -> bytes.asByteArray()
+				                                             .defaultIfEmpty(new byte[0])
+				                                             .map(b -> Tuples.of(res.status().code(), res.responseHeaders(), b)))
+				        .block(Duration.ofSeconds(5));
+		assertThat(response).isNotNull();
+		return response;
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 VMware, Inc. or its affiliates, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.netty.http.server.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactor.netty.http.server.logging.AccessLog.LOG;
+import static reactor.netty.http.server.logging.LoggingTests.URI;
+
+class AsyncAccessLogWriterTest {
+
+	static final Logger ROOT = (Logger) LoggerFactory.getLogger(LOG.getName());
+
+	private Appender<ILoggingEvent> mockedAppender;
+	private ArgumentCaptor<LoggingEvent> loggingEventArgumentCaptor;
+	private AccessLogArgProviderH1 accessLogArgProvider;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		mockedAppender = (Appender<ILoggingEvent>) Mockito.mock(Appender.class);
+		loggingEventArgumentCaptor = ArgumentCaptor.forClass(LoggingEvent.class);
+		Mockito.when(mockedAppender.getName()).thenReturn("MOCK");
+		ROOT.addAppender(mockedAppender);
+
+		accessLogArgProvider = new AccessLogArgProviderH1(new InetSocketAddress("127.0.0.1", 8080));
+		accessLogArgProvider.request(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, URI))
+				.response(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK))
+				.contentLength(100);
+	}
+
+	@AfterEach
+	void tearDown() {
+		ROOT.detachAppender(mockedAppender);
+	}
+
+	@Test
+	void defaultFormatIsTheSameAsTheSynchronousOne() {
+		// not started, the test drains the writer
+		AsyncAccessLogWriter writer = new AsyncAccessLogWriter(4);
+
+		AccessLog accessLog = BaseAccessLogHandler.DEFAULT_ACCESS_LOG.apply(accessLogArgProvider);
+		assertThat(accessLog).isNotNull();
+		accessLog.log();
+		assertThat(writer.offer(accessLogArgProvider)).isTrue();
+		accessLogArgProvider.clear();
+		assertThat(writer.drain()).isEqualTo(1);
+
+		Mockito.verify(mockedAppender, Mockito.times(2)).doAppend(loggingEventArgumentCaptor.capture());
+		List<LoggingEvent> events = loggingEventArgumentCaptor.getAllValues();
+		String expected = events.get(0).getFormattedMessage();
+		String actual = events.get(1).getFormattedMessage();
+		// the duration is the last field and might differ
+		assertThat(actual.substring(0, actual.lastIndexOf(' ')))
+				.isEqualTo(expected.substring(0, expected.lastIndexOf(' ')))
+				.startsWith("127.0.0.1 - - [")
+				.endsWith("] \"GET /hello HTTP/1.1\" 200 100");
+	}
+
+	@Test
+	void entriesAreDroppedWhenTheBufferIsFull() {
+		AsyncAccessLogWriter writer = new AsyncAccessLogWriter(3);
+		assertThat(writer.entries).hasSize(4);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(writer.offer(accessLogArgProvider)).isTrue();
+		}
+		assertThat(writer.offer(AccessLog.create("custom"))).isFalse();
+		assertThat(writer.offer(accessLogArgProvider)).isFalse();
+		assertThat(writer.dropped()).isEqualTo(2);
+
+		assertThat(writer.drain()).isEqualTo(4);
+		assertThat(writer.drain()).isZero();
+
+		// the records are reused once written
+		assertThat(writer.offer(AccessLog.create("custom"))).isTrue();
+		assertThat(writer.drain()).isEqualTo(1);
+		assertThat(writer.dropped()).isEqualTo(2);
+
+		Mockito.verify(mockedAppender, Mockito.times(5)).doAppend(loggingEventArgumentCaptor.capture());
+		assertThat(loggingEventArgumentCaptor.getAllValues().get(4).getFormattedMessage()).isEqualTo("custom");
+	}
+}